@@ -0,0 +1,182 @@
+package webapp.rediscodec;
+
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.databind.jsontype.BasicPolymorphicTypeValidator;
+import com.fasterxml.jackson.databind.jsontype.PolymorphicTypeValidator;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import net.jpountz.lz4.LZ4Compressor;
+import net.jpountz.lz4.LZ4Factory;
+import net.jpountz.lz4.LZ4FastDecompressor;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+/**
+ * Компактный сериализатор значений кэшей Redis: бинарный Smile вместо текстового JSON
+ * и сжатие LZ4 для значений, превышающих порог.
+ * <p>
+ * Первый байт значения — признак формата: {@link #SMILE} или {@link #SMILE_LZ4}
+ * (за ним длина исходных данных и блок LZ4). Значения без признака считаются JSON,
+ * записанным {@link GenericJackson2JsonRedisSerializer} до переключения кэша на этот
+ * формат, и читаются прежним сериализатором, так что смена кодека не требует очистки Redis.
+ * Значения финальных типов (например, {@code Map.of(...)}) JSON-сериализатор пишет без
+ * {@code @class} и сам прочитать не может; такие записи читаются без типов — картами и списками.
+ * <p>
+ * Тип пишется для корневого значения и для полей нефинальных типов, как в JSON-сериализаторе.
+ * Восстанавливаются только типы из пакетов приложения, переданных в конструктор, и коллекции,
+ * даты и числа JDK; остальные отклоняются.
+ * <p>
+ * Сериализатор общий для сервисов, которые хранят кэши в Redis, чтобы формат значений
+ * и чтение старых записей не расходились между копиями.
+ */
+public class CompactRedisSerializer implements RedisSerializer<Object> {
+
+    /**
+     * Признак значения в Smile без сжатия.
+     */
+    public static final byte SMILE = 1;
+
+    /**
+     * Признак значения в Smile, сжатого LZ4.
+     */
+    public static final byte SMILE_LZ4 = 2;
+
+    private static final byte[] EMPTY = new byte[0];
+
+    private final ObjectMapper mapper;
+
+    private final ObjectWriter writer;
+
+    private final RedisSerializer<Object> legacy = new GenericJackson2JsonRedisSerializer();
+
+    private final ObjectMapper untypedJson = JsonMapper.builder().findAndAddModules().build();
+
+    private final int compressThreshold;
+
+    private final LZ4Compressor compressor;
+
+    private final LZ4FastDecompressor decompressor;
+
+    /**
+     * Конструктор сериализатора.
+     *
+     * @param compressThreshold Размер значения в байтах, начиная с которого оно сжимается;
+     *                          отрицательное значение отключает сжатие.
+     * @param applicationPackages Пакеты приложения, типы которых восстанавливаются из значений,
+     *                            например {@code "webapp.resumegenerator."}.
+     */
+    public CompactRedisSerializer(int compressThreshold, String... applicationPackages) {
+        this.mapper = createMapper(typeValidator(applicationPackages));
+        this.writer = mapper.writerFor(Object.class);
+        this.compressThreshold = compressThreshold;
+        LZ4Factory factory = LZ4Factory.fastestInstance();
+        this.compressor = factory.fastCompressor();
+        this.decompressor = factory.fastDecompressor();
+    }
+
+    @Override
+    public byte[] serialize(Object value) throws SerializationException {
+        if (value == null) {
+            return EMPTY;
+        }
+        byte[] smile;
+        try {
+            smile = writer.writeValueAsBytes(value);
+        } catch (IOException e) {
+            throw new SerializationException("Не удалось сериализовать значение кэша", e);
+        }
+        if (compressThreshold >= 0 && smile.length >= compressThreshold) {
+            byte[] compressed = compress(smile);
+            if (compressed.length < smile.length) {
+                return compressed;
+            }
+        }
+        byte[] result = new byte[smile.length + 1];
+        result[0] = SMILE;
+        System.arraycopy(smile, 0, result, 1, smile.length);
+        return result;
+    }
+
+    @Override
+    public Object deserialize(byte[] bytes) throws SerializationException {
+        if (bytes == null || bytes.length == 0) {
+            return null;
+        }
+        try {
+            return switch (bytes[0]) {
+                case SMILE -> mapper.readValue(bytes, 1, bytes.length - 1, Object.class);
+                case SMILE_LZ4 -> mapper.readValue(decompress(bytes), Object.class);
+                default -> readLegacy(bytes);
+            };
+        } catch (IOException | RuntimeException e) {
+            throw new SerializationException("Не удалось прочитать значение кэша", e);
+        }
+    }
+
+    /**
+     * Читает значение, записанное {@link GenericJackson2JsonRedisSerializer}; значение без
+     * {@code @class} в корне читается без типов.
+     */
+    private Object readLegacy(byte[] bytes) {
+        try {
+            return legacy.deserialize(bytes);
+        } catch (SerializationException e) {
+            try {
+                return untypedJson.readValue(bytes, Object.class);
+            } catch (IOException untypedFailure) {
+                e.addSuppressed(untypedFailure);
+                throw e;
+            }
+        }
+    }
+
+    private byte[] compress(byte[] smile) {
+        int maxLength = compressor.maxCompressedLength(smile.length);
+        byte[] buffer = new byte[maxLength + 5];
+        buffer[0] = SMILE_LZ4;
+        ByteBuffer.wrap(buffer, 1, 4).putInt(smile.length);
+        int length = compressor.compress(smile, 0, smile.length, buffer, 5, maxLength);
+        byte[] result = new byte[length + 5];
+        System.arraycopy(buffer, 0, result, 0, result.length);
+        return result;
+    }
+
+    private byte[] decompress(byte[] bytes) {
+        int length = ByteBuffer.wrap(bytes, 1, 4).getInt();
+        byte[] smile = new byte[length];
+        decompressor.decompress(bytes, 5, smile, 0, length);
+        return smile;
+    }
+
+    private static PolymorphicTypeValidator typeValidator(String... applicationPackages) {
+        BasicPolymorphicTypeValidator.Builder builder = BasicPolymorphicTypeValidator.builder();
+        for (String applicationPackage : applicationPackages) {
+            builder.allowIfSubType(applicationPackage);
+        }
+        return builder
+                .allowIfSubType("java.util.")
+                .allowIfSubType("java.time.")
+                .allowIfSubType("java.lang.")
+                .allowIfSubType("java.math.")
+                .allowIfSubType("org.springframework.cache.support.NullValue")
+                .allowIfSubTypeIsArray()
+                .build();
+    }
+
+    private static ObjectMapper createMapper(PolymorphicTypeValidator typeValidator) {
+        ObjectMapper mapper = new SmileMapper();
+        mapper.findAndRegisterModules();
+        mapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+        mapper.configure(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS, false);
+        GenericJackson2JsonRedisSerializer.registerNullValueSerializer(mapper, null);
+        mapper.activateDefaultTyping(typeValidator, ObjectMapper.DefaultTyping.NON_FINAL, JsonTypeInfo.As.PROPERTY);
+        return mapper;
+    }
+}
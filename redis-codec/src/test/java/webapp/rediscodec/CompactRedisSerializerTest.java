@@ -0,0 +1,147 @@
+package webapp.rediscodec;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+class CompactRedisSerializerTest {
+
+    private final CompactRedisSerializer serializer = new CompactRedisSerializer(1024, "webapp.rediscodec.");
+
+    @Test
+    @DisplayName("Небольшое значение хранится в Smile без сжатия и восстанавливается с типом")
+    void serialize_shouldKeepSmallValuePlain() {
+        Sample sample = new Sample("Базовый", "<p>{{name}}</p>", LocalDateTime.of(2024, 12, 1, 10, 0));
+
+        byte[] value = serializer.serialize(sample);
+
+        assertEquals(CompactRedisSerializer.SMILE, value[0]);
+        assertEquals(sample, serializer.deserialize(value));
+    }
+
+    @Test
+    @DisplayName("Значение от порога сжимается LZ4 и занимает меньше JSON")
+    void serialize_shouldCompressLargeValue() {
+        Sample sample = new Sample("Базовый", "<section><p>{{experience}}</p></section>".repeat(200), null);
+        byte[] json = new GenericJackson2JsonRedisSerializer().serialize(sample);
+
+        byte[] value = serializer.serialize(sample);
+
+        assertEquals(CompactRedisSerializer.SMILE_LZ4, value[0]);
+        assertTrue(value.length < json.length / 5);
+        assertEquals(sample, serializer.deserialize(value));
+    }
+
+    @Test
+    @DisplayName("Записи в JSON без типа в корне, сделанные до смены формата, читаются без типов")
+    void deserialize_shouldReadUntypedLegacyJson() {
+        byte[] json = new GenericJackson2JsonRedisSerializer().serialize(Map.of("name", "Резюме"));
+
+        assertEquals(Map.of("name", "Резюме"), serializer.deserialize(json));
+    }
+
+    @Test
+    @DisplayName("Записи в JSON с типом в корне читаются с исходным типом")
+    void deserialize_shouldReadTypedLegacyJson() {
+        Sample sample = new Sample("Базовый", "<p>{{name}}</p>", null);
+        byte[] json = new GenericJackson2JsonRedisSerializer().serialize(sample);
+
+        assertEquals(sample, serializer.deserialize(json));
+    }
+
+    @Test
+    @DisplayName("Значения финальных типов восстанавливаются с типом корня и элементов")
+    void serialize_shouldKeepTypeOfFinalValues() {
+        List<Sample> samples = List.of(new Sample("a", "1", null), new Sample("b", "2", null));
+
+        assertEquals(samples, serializer.deserialize(serializer.serialize(samples)));
+        assertEquals(Map.of("name", "Резюме"), serializer.deserialize(serializer.serialize(Map.of("name", "Резюме"))));
+    }
+
+    @Test
+    @DisplayName("Типы вне разрешённых пакетов не восстанавливаются")
+    void deserialize_shouldRejectUnknownTypes() {
+        byte[] value = serializer.serialize(Map.of("name", "Резюме"));
+        byte[] forged = new String(value, StandardCharsets.ISO_8859_1)
+                .replace("java.util.ImmutableCollections$Map1", "javax.swing.text.html.HTMLEditorKit$1234")
+                .getBytes(StandardCharsets.ISO_8859_1);
+
+        assertThrows(SerializationException.class, () -> serializer.deserialize(forged));
+    }
+
+    @Test
+    @DisplayName("Типы приложения, не переданные в конструктор, не восстанавливаются")
+    void deserialize_shouldRejectTypesOfOtherApplications() {
+        byte[] value = serializer.serialize(new Sample("Базовый", "<p>{{name}}</p>", null));
+
+        assertThrows(SerializationException.class, () -> new CompactRedisSerializer(1024).deserialize(value));
+    }
+
+    @Test
+    @DisplayName("Отсутствующее значение сериализуется в пустой массив и обратно")
+    void serialize_shouldHandleNull() {
+        assertEquals(0, serializer.serialize(null).length);
+        assertNull(serializer.deserialize(new byte[0]));
+    }
+
+    static class Sample {
+
+        private String name;
+
+        private String content;
+
+        private LocalDateTime date;
+
+        Sample() {
+        }
+
+        Sample(String name, String content, LocalDateTime date) {
+            this.name = name;
+            this.content = content;
+            this.date = date;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public String getContent() {
+            return content;
+        }
+
+        public void setContent(String content) {
+            this.content = content;
+        }
+
+        public LocalDateTime getDate() {
+            return date;
+        }
+
+        public void setDate(LocalDateTime date) {
+            this.date = date;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof Sample sample && Objects.equals(name, sample.name)
+                    && Objects.equals(content, sample.content) && Objects.equals(date, sample.date);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(name, content, date);
+        }
+    }
+}
@@ -1,10 +1,15 @@
 package webapp.resumeanalyzer.config;
 
+import java.util.List;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.cache.RedisCacheManagerBuilderCustomizer;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.redis.cache.RedisCacheConfiguration;
 import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.RedisSerializationContext.SerializationPair;
+import org.springframework.util.unit.DataSize;
+import webapp.rediscodec.CompactRedisSerializer;
 
 @Configuration
 public class RedisConfig {
@@ -14,4 +19,18 @@ public class RedisConfig {
         return RedisCacheConfiguration.defaultCacheConfig()
                 .serializeValuesWith(SerializationPair.fromSerializer(new GenericJackson2JsonRedisSerializer()));
     }
-}
\ No newline at end of file
+
+    /**
+     * Перечисленные кэши хранят значения в компактном формате общего кодека (Smile, LZ4 от порога),
+     * остальные — в JSON из {@link #cacheConfiguration()}. Записи в JSON, сделанные до смены формата,
+     * кодек читает сам, поэтому Redis очищать не нужно.
+     */
+    @Bean
+    public RedisCacheManagerBuilderCustomizer compactCacheCodecs(RedisCacheConfiguration cacheConfiguration,
+            @Value("${analyzer.cache.codec.compact-caches:}") List<String> compactCacheNames,
+            @Value("${analyzer.cache.codec.compress-threshold:1KB}") DataSize compressThreshold) {
+        RedisCacheConfiguration compact = cacheConfiguration.serializeValuesWith(SerializationPair.fromSerializer(
+                new CompactRedisSerializer((int) compressThreshold.toBytes(), "webapp.resumeanalyzer.")));
+        return builder -> compactCacheNames.forEach(name -> builder.withCacheConfiguration(name, compact));
+    }
+}
@@ -0,0 +1,40 @@
+package webapp.resumegenerator.application.collab;
+
+import webapp.resumegenerator.domain.model.Layout;
+
+/**
+ * Новое положение элемента раскладки в сообщениях совместного редактирования.
+ *
+ * @param i Ключ элемента раскладки.
+ * @param x Столбец.
+ * @param y Строка.
+ * @param w Ширина в столбцах.
+ * @param h Высота в строках.
+ */
+public record LayoutMove(String i, int x, int y, int w, int h) {
+
+    /**
+     * Положение элемента раскладки.
+     *
+     * @param layout Элемент раскладки.
+     * @return Положение с ключом и координатами элемента.
+     */
+    public static LayoutMove of(Layout layout) {
+        return new LayoutMove(layout.getI(), layout.getX(), layout.getY(), layout.getW(), layout.getH());
+    }
+
+    /**
+     * Элемент раскладки с координатами перемещения, для сохранения через {@code LayoutDelta}.
+     *
+     * @return Элемент раскладки.
+     */
+    public Layout toLayout() {
+        Layout layout = new Layout();
+        layout.setI(i);
+        layout.setX(x);
+        layout.setY(y);
+        layout.setW(w);
+        layout.setH(h);
+        return layout;
+    }
+}
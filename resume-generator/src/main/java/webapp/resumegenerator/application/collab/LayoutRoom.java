@@ -0,0 +1,282 @@
+package webapp.resumegenerator.application.collab;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+/**
+ * Комната совместного редактирования раскладки одного дерева блока.
+ * <p>
+ * Перемещения всех участников упорядочиваются сервером: каждое получает следующий номер
+ * {@code seq} и рассылается всем сессиям комнаты, включая автора, в порядке номеров.
+ * Одновременные перемещения одного элемента сливаются по этому порядку — побеждает
+ * последнее, и все участники видят один и тот же итог. Сообщение сериализуется один раз
+ * на всю комнату.
+ * <p>
+ * Комната помнит последние положения перемещённых элементов, а несохранённые отмечает
+ * отдельно: {@link #drain()} забирает их для пакетной записи, поэтому частые перемещения
+ * одного элемента между сохранениями дают одну запись. Несохранёнными считаются только
+ * перемещения, последним автором которых была эта реплика: если элемент затем переместили
+ * на другой реплике, запись остаётся за ней, и устаревшее положение в БД не попадает.
+ */
+public class LayoutRoom {
+
+    private static final Logger log = LoggerFactory.getLogger(LayoutRoom.class);
+
+    private final UUID blockId;
+
+    private final ObjectMapper objectMapper;
+
+    private final Map<String, WebSocketSession> sessions = new LinkedHashMap<>();
+
+    private final Map<String, LayoutMove> positions = new LinkedHashMap<>();
+
+    private final Set<String> unsaved = new LinkedHashSet<>();
+
+    private final Set<String> keys = new HashSet<>();
+
+    private long sequence;
+
+    /**
+     * Конструктор комнаты.
+     *
+     * @param blockId Идентификатор корневого блока дерева.
+     * @param objectMapper Сериализация сообщений.
+     */
+    public LayoutRoom(UUID blockId, ObjectMapper objectMapper) {
+        this.blockId = blockId;
+        this.objectMapper = objectMapper;
+    }
+
+    public UUID getBlockId() {
+        return blockId;
+    }
+
+    /**
+     * Добавляет сессию в комнату.
+     *
+     * @param session Сессия участника; отправка сообщений в неё должна быть потокобезопасной.
+     */
+    public synchronized void add(WebSocketSession session) {
+        sessions.put(session.getId(), session);
+    }
+
+    /**
+     * Удаляет сессию из комнаты.
+     *
+     * @param sessionId Идентификатор сессии.
+     */
+    public synchronized void remove(String sessionId) {
+        sessions.remove(sessionId);
+    }
+
+    /**
+     * Отправляет участнику текущее состояние: сохранённые положения элементов,
+     * поверх которых наложены перемещения, ещё не дошедшие до БД или до его копии дерева.
+     *
+     * @param session Сессия участника.
+     * @param persisted Положения элементов в сохранённом дереве.
+     */
+    public synchronized void sendSnapshot(WebSocketSession session, Collection<LayoutMove> persisted) {
+        Map<String, LayoutMove> items = new LinkedHashMap<>();
+        persisted.forEach(move -> items.put(move.i(), move));
+        items.putAll(positions);
+        send(session, message("snapshot", null, new ArrayList<>(items.values())));
+    }
+
+    /**
+     * Запоминает ключи элементов сохранённого дерева блока.
+     *
+     * @param persisted Положения элементов в сохранённом дереве.
+     */
+    public synchronized void updateKeys(Collection<LayoutMove> persisted) {
+        keys.clear();
+        persisted.forEach(move -> keys.add(move.i()));
+    }
+
+    /**
+     * Перемещения элементов, которых нет в известном комнате дереве блока.
+     *
+     * @param moves Перемещения участника.
+     * @return Перемещения с неизвестными ключами.
+     */
+    public synchronized List<LayoutMove> unknown(List<LayoutMove> moves) {
+        return moves.stream().filter(move -> !keys.contains(move.i())).toList();
+    }
+
+    /**
+     * Сообщает автору, что его перемещения не приняты; остальным участникам они не рассылаются.
+     *
+     * @param sessionId Идентификатор сессии автора.
+     * @param rejected Непринятые перемещения.
+     * @param reason Причина.
+     */
+    public synchronized void reject(String sessionId, List<LayoutMove> rejected, String reason) {
+        WebSocketSession session = sessions.get(sessionId);
+        if (session != null) {
+            Map<String, Object> body = new LinkedHashMap<>();
+            body.put("type", "rejected");
+            body.put("seq", sequence);
+            body.put("reason", reason);
+            body.put("items", rejected);
+            send(session, textMessage(body));
+        }
+    }
+
+    /**
+     * Применяет перемещения участника и рассылает их всем сессиям комнаты.
+     *
+     * @param sessionId Идентификатор сессии автора.
+     * @param moves Новые положения элементов.
+     * @return Номер перемещения в порядке комнаты.
+     */
+    public long move(String sessionId, List<LayoutMove> moves) {
+        return move(sessionId, moves, true);
+    }
+
+    /**
+     * Применяет перемещения участника этой или другой реплики и рассылает их всем сессиям комнаты.
+     *
+     * @param sessionId Идентификатор сессии автора.
+     * @param moves Новые положения элементов.
+     * @param owned Перемещения сохраняет эта реплика; иначе их сохраняет реплика автора.
+     * @return Номер перемещения в порядке комнаты.
+     */
+    public synchronized long move(String sessionId, List<LayoutMove> moves, boolean owned) {
+        sequence++;
+        for (LayoutMove move : moves) {
+            positions.put(move.i(), move);
+            if (owned) {
+                unsaved.add(move.i());
+            } else {
+                unsaved.remove(move.i());
+            }
+        }
+        TextMessage message = message("moved", sessionId, moves);
+        for (WebSocketSession session : List.copyOf(sessions.values())) {
+            send(session, message);
+        }
+        return sequence;
+    }
+
+    /**
+     * Забирает несохранённые положения для записи в БД.
+     *
+     * @return Последние положения элементов, перемещённых после предыдущего сохранения.
+     */
+    public synchronized List<LayoutMove> drain() {
+        List<LayoutMove> moves = new ArrayList<>(unsaved.size());
+        for (String key : unsaved) {
+            moves.add(positions.get(key));
+        }
+        unsaved.clear();
+        return moves;
+    }
+
+    /**
+     * Возвращает положения, запись которых не удалась, в очередь сохранения.
+     * Элементы, перемещённые после {@link #drain()}, уже в очереди с более новым положением.
+     *
+     * @param moves Несохранённые положения.
+     */
+    public synchronized void restore(List<LayoutMove> moves) {
+        for (LayoutMove move : moves) {
+            unsaved.add(move.i());
+        }
+    }
+
+    /**
+     * Сообщает участникам, что их копия раскладки расходится с сохранённой и её нужно перечитать.
+     * Несохранённые перемещения отбрасываются.
+     *
+     * @param reason Причина.
+     */
+    public synchronized void resync(String reason) {
+        positions.clear();
+        unsaved.clear();
+        TextMessage message = textMessage(Map.of("type", "resync", "seq", sequence, "reason", reason));
+        for (WebSocketSession session : List.copyOf(sessions.values())) {
+            send(session, message);
+        }
+    }
+
+    /**
+     * Закрывает все сессии комнаты.
+     *
+     * @param status Причина закрытия.
+     */
+    public synchronized void closeAll(CloseStatus status) {
+        for (WebSocketSession session : List.copyOf(sessions.values())) {
+            try {
+                session.close(status);
+            } catch (IOException e) {
+                log.debug("Не удалось закрыть сессию {}", session.getId(), e);
+            }
+        }
+        sessions.clear();
+    }
+
+    /**
+     * Комнату можно закрыть: участников нет и все перемещения сохранены.
+     *
+     * @return {@code true}, если комната больше не нужна.
+     */
+    public synchronized boolean isIdle() {
+        return sessions.isEmpty() && unsaved.isEmpty();
+    }
+
+    private TextMessage message(String type, String sessionId, List<LayoutMove> items) {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("type", type);
+        body.put("seq", sequence);
+        if (sessionId != null) {
+            body.put("session", sessionId);
+        }
+        body.put("items", items);
+        return textMessage(body);
+    }
+
+    private TextMessage textMessage(Map<String, Object> body) {
+        try {
+            return new TextMessage(objectMapper.writeValueAsString(body));
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Участник, который не успевает принимать сообщения, отключается и не задерживает остальных.
+     */
+    private void send(WebSocketSession session, TextMessage message) {
+        if (!session.isOpen()) {
+            sessions.remove(session.getId());
+            return;
+        }
+        try {
+            session.sendMessage(message);
+        } catch (IOException | RuntimeException e) {
+            log.debug("Сессия {} отключена от комнаты {}", session.getId(), blockId, e);
+            sessions.remove(session.getId());
+            try {
+                session.close(CloseStatus.SESSION_NOT_RELIABLE);
+            } catch (IOException closeError) {
+                log.debug("Не удалось закрыть сессию {}", session.getId(), closeError);
+            }
+        }
+    }
+}
@@ -0,0 +1,264 @@
+package webapp.resumegenerator.application.collab;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketSession;
+import webapp.resumegenerator.application.patch.InvalidPatchException;
+import webapp.resumegenerator.domain.model.BlockElement;
+import webapp.resumegenerator.domain.model.LayoutDelta;
+import webapp.resumegenerator.domain.service.BlockElementService;
+import webapp.resumegenerator.infrastructure.collab.LayoutRelay;
+import webapp.resumegenerator.infrastructure.collab.LayoutRelayMessage;
+
+/**
+ * Комнаты совместного редактирования раскладки на этой реплике.
+ * <p>
+ * Рассылка перемещений не ждёт БД: перемещения накапливаются в комнате и раз в
+ * {@code generator.collab.flush-interval} сохраняются одним обновлением на блок через
+ * {@link BlockElementService#moveLayouts}. Если дерево блока изменилось так, что перемещение
+ * применить нельзя, участники получают {@code resync} и перечитывают блок. Комната удаляется,
+ * когда участники отключились и её перемещения сохранены.
+ * <p>
+ * Участники одного блока могут быть подключены к разным репликам, поэтому перемещения
+ * применяются не сразу, а после возврата из канала {@link LayoutRelay}: все реплики видят их
+ * в одном порядке. Сохраняет перемещение реплика его автора, и только пока элемент не
+ * переместили на другой реплике, поэтому реплики не перезаписывают друг друга устаревшими
+ * положениями. {@code resync} и закрытие комнаты при удалении блока также рассылаются всем
+ * репликам. Если Redis недоступен, перемещения применяются только на этой реплике.
+ * Участник, подключившийся к реплике без открытой комнаты, получает сохранённую раскладку
+ * без перемещений других реплик, ещё не записанных в БД; они придут ему при следующем
+ * перемещении элемента или после записи.
+ */
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class LayoutRoomRegistry {
+
+    private static final Logger log = LoggerFactory.getLogger(LayoutRoomRegistry.class);
+
+    private final BlockElementService blockElementService;
+
+    private final ObjectMapper objectMapper;
+
+    private final LayoutRelay relay;
+
+    private final Map<UUID, LayoutRoom> rooms = new ConcurrentHashMap<>();
+
+    private final ScheduledExecutorService flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "layout-room-flusher");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * Конструктор для внедрения зависимостей.
+     *
+     * @param blockElementService Сервис блоков.
+     * @param objectMapper Сериализация сообщений.
+     * @param relay Рассылка событий комнат между репликами.
+     * @param flushInterval Период сохранения накопленных перемещений.
+     */
+    public LayoutRoomRegistry(BlockElementService blockElementService, ObjectMapper objectMapper,
+                              LayoutRelay relay,
+                              @Value("${generator.collab.flush-interval:2s}") Duration flushInterval) {
+        this.blockElementService = blockElementService;
+        this.objectMapper = objectMapper;
+        this.relay = relay;
+        relay.subscribe(this::onRelayed);
+        long period = flushInterval.toMillis();
+        flusher.scheduleWithFixedDelay(this::flushAll, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Подключает сессию к комнате блока и отправляет ей текущую раскладку.
+     *
+     * @param blockId Идентификатор корневого блока.
+     * @param session Сессия участника.
+     * @throws IllegalArgumentException если блок не найден.
+     */
+    public void join(UUID blockId, WebSocketSession session) {
+        BlockElement block = blockElementService.getBlockById(blockId)
+                .orElseThrow(() -> new IllegalArgumentException("Block with ID '" + blockId + "' not found"));
+        List<LayoutMove> persisted = new ArrayList<>();
+        collectLayouts(block, persisted);
+        LayoutRoom room = rooms.compute(blockId, (id, existing) -> {
+            LayoutRoom target = existing != null ? existing : new LayoutRoom(id, objectMapper);
+            target.updateKeys(persisted);
+            target.add(session);
+            return target;
+        });
+        room.sendSnapshot(session, persisted);
+    }
+
+    /**
+     * Рассылает перемещения участника комнатам блока на всех репликах.
+     * Сообщение с элементом, которого нет в дереве блока, не рассылается: автор получает
+     * {@code rejected}, а перемещения остальных участников не затрагиваются. Перед отказом дерево
+     * перечитывается, так как элемент мог быть добавлен после подключения к комнате.
+     *
+     * @param blockId Идентификатор корневого блока.
+     * @param sessionId Идентификатор сессии автора.
+     * @param moves Новые положения элементов.
+     */
+    public void move(UUID blockId, String sessionId, List<LayoutMove> moves) {
+        LayoutRoom room = rooms.get(blockId);
+        if (moves.isEmpty() || room == null) {
+            return;
+        }
+        if (!room.unknown(moves).isEmpty()) {
+            blockElementService.getBlockById(blockId).ifPresent(block -> {
+                List<LayoutMove> persisted = new ArrayList<>();
+                collectLayouts(block, persisted);
+                room.updateKeys(persisted);
+            });
+            List<LayoutMove> unknown = room.unknown(moves);
+            if (!unknown.isEmpty()) {
+                room.reject(sessionId, unknown, "Элементы не найдены в дереве блока");
+                return;
+            }
+        }
+        if (!relay.publish(LayoutRelayMessage.moved(blockId, sessionId, moves))) {
+            applyOwn(blockId, sessionId, moves);
+        }
+    }
+
+    /**
+     * Событие комнаты из канала реплик.
+     */
+    void onRelayed(LayoutRelayMessage message, boolean own) {
+        UUID blockId = message.block();
+        switch (message.type()) {
+            case LayoutRelayMessage.MOVED -> {
+                if (message.items() == null || message.items().isEmpty()) {
+                    return;
+                }
+                if (own) {
+                    applyOwn(blockId, message.session(), message.items());
+                } else {
+                    LayoutRoom room = rooms.get(blockId);
+                    if (room != null) {
+                        room.move(message.session(), message.items(), false);
+                    }
+                }
+            }
+            case LayoutRelayMessage.RESYNC, LayoutRelayMessage.CLOSED -> {
+                LayoutRoom room = own ? null : rooms.get(blockId);
+                if (room != null) {
+                    room.resync(message.reason());
+                    if (LayoutRelayMessage.CLOSED.equals(message.type())) {
+                        room.closeAll(CloseStatus.GOING_AWAY);
+                    }
+                }
+            }
+            default -> log.debug("Неизвестное событие комнаты {}: {}", blockId, message.type());
+        }
+    }
+
+    /**
+     * Перемещения участника этой реплики: сохраняются здесь, даже если все участники
+     * успели отключиться, пока событие шло через канал.
+     */
+    private void applyOwn(UUID blockId, String sessionId, List<LayoutMove> moves) {
+        rooms.compute(blockId, (id, existing) -> {
+            LayoutRoom target = existing != null ? existing : new LayoutRoom(id, objectMapper);
+            target.move(sessionId, moves, true);
+            return target;
+        });
+    }
+
+    /**
+     * Отключает сессию от комнаты блока.
+     *
+     * @param blockId Идентификатор корневого блока.
+     * @param sessionId Идентификатор сессии.
+     */
+    public void leave(UUID blockId, String sessionId) {
+        rooms.computeIfPresent(blockId, (id, room) -> {
+            room.remove(sessionId);
+            return room.isIdle() ? null : room;
+        });
+    }
+
+    /**
+     * Количество открытых комнат на реплике.
+     *
+     * @return Количество комнат.
+     */
+    public int size() {
+        return rooms.size();
+    }
+
+    void flushAll() {
+        for (LayoutRoom room : rooms.values()) {
+            try {
+                flush(room);
+            } catch (RuntimeException e) {
+                log.warn("Не удалось сохранить раскладку блока {}", room.getBlockId(), e);
+            }
+            rooms.computeIfPresent(room.getBlockId(), (id, current) -> current.isIdle() ? null : current);
+        }
+    }
+
+    void flush(LayoutRoom room) {
+        List<LayoutMove> moves = room.drain();
+        if (moves.isEmpty()) {
+            return;
+        }
+        LayoutDelta delta = new LayoutDelta(null, moves.stream().map(LayoutMove::toLayout).toList());
+        try {
+            blockElementService.moveLayouts(room.getBlockId(), delta);
+        } catch (InvalidPatchException | OptimisticLockingFailureException e) {
+            // Элементы удалены или перестроены другим изменением дерева
+            log.debug("Раскладка блока {} разошлась с сохранённой", room.getBlockId(), e);
+            resync(room, LayoutRelayMessage.RESYNC, "Раскладка блока изменилась");
+        } catch (IllegalArgumentException e) {
+            resync(room, LayoutRelayMessage.CLOSED, "Блок удалён");
+            room.closeAll(CloseStatus.GOING_AWAY);
+        } catch (RuntimeException e) {
+            room.restore(moves);
+            throw e;
+        }
+    }
+
+    private void resync(LayoutRoom room, String type, String reason) {
+        room.resync(reason);
+        relay.publish(LayoutRelayMessage.of(room.getBlockId(), type, reason));
+    }
+
+    @PreDestroy
+    void shutdown() throws InterruptedException {
+        flusher.shutdown();
+        flusher.awaitTermination(10, TimeUnit.SECONDS);
+        flushAll();
+        rooms.values().forEach(room -> room.closeAll(CloseStatus.SERVICE_RESTARTED));
+        rooms.clear();
+    }
+
+    private static void collectLayouts(BlockElement block, List<LayoutMove> layouts) {
+        if (block.getLayout() != null && block.getLayout().getI() != null) {
+            layouts.add(LayoutMove.of(block.getLayout()));
+        }
+        if (block.getChildren() != null) {
+            for (BlockElement child : block.getChildren()) {
+                if (child != null) {
+                    collectLayouts(child, layouts);
+                }
+            }
+        }
+    }
+}
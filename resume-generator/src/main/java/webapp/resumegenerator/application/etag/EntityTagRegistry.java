@@ -0,0 +1,185 @@
+package webapp.resumegenerator.application.etag;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import webapp.resumegenerator.domain.model.BlockElement;
+import webapp.resumegenerator.domain.model.Template;
+
+/**
+ * Реестр сильных ETag шаблонов и блоков.
+ * Последний выданный тег хранится в кэше по идентификатору сущности, поэтому условный
+ * GET с актуальным тегом получает ответ 304 без обращения к MongoDB. Теги сбрасываются
+ * сервисами при изменении и удалении сущностей вместе с основными кэшами.
+ * <p>
+ * Тег имеет вид {@code "<ревизия>.<хеш>"}: по тегу из {@code If-Match} ({@link #revisionOf})
+ * условная запись проверяет ревизию в самой операции записи, без отдельного чтения сущности.
+ * Документы без ревизии получают в теге ревизию 0.
+ */
+@Component
+public class EntityTagRegistry {
+
+    /**
+     * Кэш тегов шаблонов.
+     */
+    public static final String TEMPLATES = "templateETags";
+
+    /**
+     * Кэш тегов блоков.
+     */
+    public static final String BLOCKS = "blockETags";
+
+    private static final int TAG_BYTES = 16;
+
+    private static final char REVISION_SEPARATOR = '.';
+
+    private static final Pattern REVISION_TAG = Pattern.compile("\"(\\d{1,18})\\.[^\"]+\"");
+
+    private final CacheManager cacheManager;
+
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Конструктор для внедрения зависимостей.
+     *
+     * @param cacheManager Менеджер кэшей.
+     * @param objectMapper Сериализатор блоков для вычисления тега.
+     */
+    @Autowired
+    public EntityTagRegistry(CacheManager cacheManager, ObjectMapper objectMapper) {
+        this.cacheManager = cacheManager;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Известный тег сущности.
+     *
+     * @param cacheName Кэш тегов.
+     * @param id Идентификатор сущности.
+     * @return Последний выданный тег или {@code null}, если он неизвестен.
+     */
+    public String peek(String cacheName, Object id) {
+        Cache cache = cacheManager.getCache(cacheName);
+        return cache == null ? null : cache.get(id, String.class);
+    }
+
+    /**
+     * Запоминает выданный тег сущности.
+     *
+     * @param cacheName Кэш тегов.
+     * @param id Идентификатор сущности.
+     * @param tag Тег.
+     */
+    public void remember(String cacheName, Object id, String tag) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache != null) {
+            cache.put(id, tag);
+        }
+    }
+
+    /**
+     * Сильный тег шаблона, вычисляемый по ревизии, идентификатору, версии и контенту.
+     *
+     * @param template Шаблон.
+     * @return Тег в кавычках.
+     */
+    public static String templateTag(Template template) {
+        return tag(template.getRevision(), template.getId() + "\u0000" + template.getVersion()
+                + "\u0000" + template.getName() + "\u0000" + template.getDescription() + "\u0000" + template.getContent());
+    }
+
+    /**
+     * Сильный тег блока, вычисляемый по ревизии и JSON-представлению.
+     *
+     * @param block Блок.
+     * @return Тег в кавычках.
+     */
+    public String blockTag(BlockElement block) {
+        try {
+            return tag(block.getRevision(), objectMapper.writeValueAsString(block));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Не удалось сериализовать блок " + block.getId(), e);
+        }
+    }
+
+    /**
+     * Проверяет, совпадает ли тег с одним из тегов заголовка {@code If-Match} или {@code If-None-Match}.
+     *
+     * @param header Значение заголовка: {@code *} или список тегов через запятую.
+     * @param tag Текущий тег сущности.
+     * @param weakComparison {@code true} для {@code If-None-Match}, где слабые теги сравниваются без {@code W/}.
+     * @return {@code true}, если тег совпадает.
+     */
+    public static boolean matches(String header, String tag, boolean weakComparison) {
+        if (header == null || tag == null) {
+            return false;
+        }
+        for (String candidate : header.split(",")) {
+            String value = candidate.trim();
+            if ("*".equals(value)) {
+                return true;
+            }
+            if (value.startsWith("W/")) {
+                if (!weakComparison) {
+                    continue;
+                }
+                value = value.substring(2);
+            }
+            if (value.equals(tag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Проверяет, что заголовок {@code If-Match} разрешает запись любого существующего состояния.
+     *
+     * @param header Значение заголовка.
+     * @return {@code true} для {@code *}.
+     */
+    public static boolean isWildcard(String header) {
+        return header != null && "*".equals(header.trim());
+    }
+
+    /**
+     * Ревизия, которую клиент редактировал, по заголовку {@code If-Match}.
+     * Используется первый сильный тег, выданный реестром; слабые теги для {@code If-Match} не подходят.
+     *
+     * @param header Значение заголовка: список тегов через запятую.
+     * @return Ревизия или {@code null}, если в заголовке нет тега реестра.
+     */
+    public static Long revisionOf(String header) {
+        if (header == null) {
+            return null;
+        }
+        for (String candidate : header.split(",")) {
+            Matcher tag = REVISION_TAG.matcher(candidate.trim());
+            if (tag.matches()) {
+                return Long.parseLong(tag.group(1));
+            }
+        }
+        return null;
+    }
+
+    private static String tag(Long revision, String source) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(source.getBytes(StandardCharsets.UTF_8));
+            byte[] truncated = new byte[TAG_BYTES];
+            System.arraycopy(digest, 0, truncated, 0, TAG_BYTES);
+            return "\"" + (revision == null ? 0L : revision) + REVISION_SEPARATOR
+                    + Base64.getUrlEncoder().withoutPadding().encodeToString(truncated) + '"';
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 недоступен", e);
+        }
+    }
+}
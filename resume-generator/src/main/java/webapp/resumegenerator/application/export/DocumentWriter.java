@@ -0,0 +1,31 @@
+package webapp.resumegenerator.application.export;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import webapp.resumegenerator.domain.model.ExportFormat;
+import webapp.resumegenerator.domain.model.ResumeDocument;
+
+/**
+ * Запись {@link ResumeDocument} в один из форматов выгрузки.
+ * Реализация пишет документ в поток по мере обхода блоков, не собирая результат в памяти,
+ * и не закрывает поток. Реализации регистрируются как компоненты и выбираются
+ * {@link DocumentWriters} по формату.
+ */
+public interface DocumentWriter {
+
+    /**
+     * Формат, в который пишет реализация.
+     *
+     * @return Формат выгрузки.
+     */
+    ExportFormat format();
+
+    /**
+     * Записывает документ.
+     *
+     * @param document Документ резюме.
+     * @param out Поток ответа.
+     * @throws IOException при ошибке записи.
+     */
+    void write(ResumeDocument document, OutputStream out) throws IOException;
+}
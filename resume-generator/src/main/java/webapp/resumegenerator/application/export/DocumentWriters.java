@@ -0,0 +1,44 @@
+package webapp.resumegenerator.application.export;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import org.springframework.stereotype.Component;
+import webapp.resumegenerator.domain.model.ExportFormat;
+
+/**
+ * Реестр записи документов по форматам выгрузки.
+ */
+@Component
+public class DocumentWriters {
+
+    private final Map<ExportFormat, DocumentWriter> writers = new EnumMap<>(ExportFormat.class);
+
+    /**
+     * Конструктор реестра.
+     *
+     * @param writers Все зарегистрированные реализации записи.
+     */
+    public DocumentWriters(List<DocumentWriter> writers) {
+        for (DocumentWriter writer : writers) {
+            if (this.writers.put(writer.format(), writer) != null) {
+                throw new IllegalStateException("Duplicate document writer for " + writer.format());
+            }
+        }
+    }
+
+    /**
+     * Возвращает запись документа в формат.
+     *
+     * @param format Формат выгрузки.
+     * @return Реализация записи.
+     * @throws IllegalArgumentException если формат не поддерживается.
+     */
+    public DocumentWriter get(ExportFormat format) {
+        DocumentWriter writer = writers.get(format);
+        if (writer == null) {
+            throw new IllegalArgumentException("Unsupported export format: " + format);
+        }
+        return writer;
+    }
+}
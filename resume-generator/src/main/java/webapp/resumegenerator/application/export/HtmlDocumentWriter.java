@@ -0,0 +1,156 @@
+package webapp.resumegenerator.application.export;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import org.springframework.stereotype.Component;
+import webapp.resumegenerator.domain.model.ExportFormat;
+import webapp.resumegenerator.domain.model.ResumeDocument;
+import webapp.resumegenerator.domain.model.ResumeDocument.Block;
+import webapp.resumegenerator.domain.model.ResumeDocument.Heading;
+import webapp.resumegenerator.domain.model.ResumeDocument.ListItem;
+import webapp.resumegenerator.domain.model.ResumeDocument.Paragraph;
+import webapp.resumegenerator.domain.model.ResumeDocument.Rule;
+import webapp.resumegenerator.domain.model.ResumeDocument.Run;
+
+/**
+ * Запись документа в самостоятельный семантический HTML без стилей и скриптов шаблона.
+ * Развёрнутые элементы списков снова вкладываются в {@code ul}/{@code ol} по глубине.
+ */
+@Component
+public class HtmlDocumentWriter implements DocumentWriter {
+
+    private static final String STYLE = "body{font-family:sans-serif;max-width:48em;margin:2em auto;"
+            + "padding:0 1em;line-height:1.4}";
+
+    @Override
+    public ExportFormat format() {
+        return ExportFormat.HTML;
+    }
+
+    @Override
+    public void write(ResumeDocument document, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        writer.write("<!DOCTYPE html>\n<html>\n<head>\n<meta charset=\"utf-8\">\n");
+        if (document.getTitle() != null) {
+            writer.write("<title>");
+            escape(document.getTitle(), writer);
+            writer.write("</title>\n");
+        }
+        writer.write("<style>" + STYLE + "</style>\n</head>\n<body>\n");
+        Deque<OpenList> lists = new ArrayDeque<>();
+        for (Block block : document.getBlocks()) {
+            if (block instanceof ListItem item) {
+                writeItem(item, lists, writer);
+                continue;
+            }
+            closeLists(lists, 0, writer);
+            switch (block) {
+                case Heading heading -> {
+                    writer.write("<h" + heading.level() + ">");
+                    writeRuns(heading.runs(), writer);
+                    writer.write("</h" + heading.level() + ">\n");
+                }
+                case Paragraph paragraph -> {
+                    writer.write("<p>");
+                    writeRuns(paragraph.runs(), writer);
+                    writer.write("</p>\n");
+                }
+                case Rule rule -> writer.write("<hr>\n");
+                case ListItem item -> throw new IllegalStateException("List items are written above");
+            }
+        }
+        closeLists(lists, 0, writer);
+        writer.write("</body>\n</html>\n");
+        writer.flush();
+    }
+
+    private static void writeItem(ListItem item, Deque<OpenList> lists, Writer writer) throws IOException {
+        closeLists(lists, item.depth() + 1, writer);
+        OpenList current = lists.peek();
+        if (current != null && lists.size() == item.depth() + 1) {
+            if (current.ordered != item.ordered()) {
+                closeLists(lists, item.depth(), writer);
+            } else if (current.itemOpen) {
+                writer.write("</li>\n");
+            }
+        }
+        while (lists.size() < item.depth() + 1) {
+            writer.write(item.ordered() ? "<ol>\n" : "<ul>\n");
+            lists.push(new OpenList(item.ordered()));
+        }
+        writer.write("<li>");
+        writeRuns(item.runs(), writer);
+        lists.peek().itemOpen = true;
+    }
+
+    private static void closeLists(Deque<OpenList> lists, int depth, Writer writer) throws IOException {
+        while (lists.size() > depth) {
+            OpenList list = lists.pop();
+            if (list.itemOpen) {
+                writer.write("</li>\n");
+            }
+            writer.write(list.ordered ? "</ol>\n" : "</ul>\n");
+        }
+    }
+
+    private static void writeRuns(List<Run> runs, Writer writer) throws IOException {
+        for (Run run : runs) {
+            if (run.href() != null) {
+                writer.write("<a href=\"");
+                escape(run.href(), writer);
+                writer.write("\">");
+            }
+            if (run.strong()) {
+                writer.write("<strong>");
+            }
+            if (run.emphasis()) {
+                writer.write("<em>");
+            }
+            escape(run.text(), writer);
+            if (run.emphasis()) {
+                writer.write("</em>");
+            }
+            if (run.strong()) {
+                writer.write("</strong>");
+            }
+            if (run.href() != null) {
+                writer.write("</a>");
+            }
+        }
+    }
+
+    private static void escape(String value, Writer writer) throws IOException {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '&' -> writer.write("&amp;");
+                case '<' -> writer.write("&lt;");
+                case '>' -> writer.write("&gt;");
+                case '"' -> writer.write("&quot;");
+                case '\n' -> writer.write("<br>\n");
+                default -> writer.write(c);
+            }
+        }
+    }
+
+    /**
+     * Открытый список и наличие в нём незакрытого элемента.
+     */
+    private static final class OpenList {
+
+        private final boolean ordered;
+
+        private boolean itemOpen;
+
+        OpenList(boolean ordered) {
+            this.ordered = ordered;
+        }
+    }
+}
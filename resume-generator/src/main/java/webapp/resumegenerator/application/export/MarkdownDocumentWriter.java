@@ -0,0 +1,104 @@
+package webapp.resumegenerator.application.export;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import org.springframework.stereotype.Component;
+import webapp.resumegenerator.domain.model.ExportFormat;
+import webapp.resumegenerator.domain.model.ResumeDocument;
+import webapp.resumegenerator.domain.model.ResumeDocument.Block;
+import webapp.resumegenerator.domain.model.ResumeDocument.Heading;
+import webapp.resumegenerator.domain.model.ResumeDocument.ListItem;
+import webapp.resumegenerator.domain.model.ResumeDocument.Paragraph;
+import webapp.resumegenerator.domain.model.ResumeDocument.Rule;
+import webapp.resumegenerator.domain.model.ResumeDocument.Run;
+
+/**
+ * Запись документа в Markdown (CommonMark).
+ * Вложенные элементы списков сдвигаются на четыре пробела на уровень, что подходит
+ * и для маркированных, и для нумерованных родительских списков; служебные символы
+ * Markdown в тексте экранируются.
+ */
+@Component
+public class MarkdownDocumentWriter implements DocumentWriter {
+
+    private static final String SPECIAL = "\\`*_[]<>#|";
+
+    @Override
+    public ExportFormat format() {
+        return ExportFormat.MARKDOWN;
+    }
+
+    @Override
+    public void write(ResumeDocument document, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        Block previous = null;
+        for (Block block : document.getBlocks()) {
+            if (previous != null && !(previous instanceof ListItem && block instanceof ListItem)) {
+                writer.write('\n');
+            }
+            switch (block) {
+                case Heading heading -> {
+                    writer.write("#".repeat(heading.level()) + " ");
+                    writeRuns(heading.runs(), " ", writer);
+                }
+                case Paragraph paragraph -> writeRuns(paragraph.runs(), "  \n", writer);
+                case ListItem item -> {
+                    String indent = "    ".repeat(item.depth());
+                    String marker = item.ordered() ? item.number() + ". " : "- ";
+                    writer.write(indent + marker);
+                    writeRuns(item.runs(), "  \n" + indent + " ".repeat(marker.length()), writer);
+                }
+                case Rule rule -> writer.write("---");
+            }
+            writer.write('\n');
+            previous = block;
+        }
+        writer.flush();
+    }
+
+    /**
+     * Записывает текст с выделением; перевод строки внутри блока заменяется на {@code lineBreak}.
+     */
+    private static void writeRuns(List<Run> runs, String lineBreak, Writer writer) throws IOException {
+        for (Run run : runs) {
+            String text = run.text();
+            String core = text.strip();
+            if (core.isEmpty()) {
+                writeText(text, lineBreak, writer);
+                continue;
+            }
+            int start = text.indexOf(core);
+            writeText(text.substring(0, start), lineBreak, writer);
+            String marker = run.strong() && run.emphasis() ? "***" : run.strong() ? "**" : run.emphasis() ? "*" : "";
+            if (run.href() != null) {
+                writer.write('[');
+            }
+            writer.write(marker);
+            writeText(core, lineBreak, writer);
+            writer.write(marker);
+            if (run.href() != null) {
+                writer.write("](" + run.href().replace(" ", "%20").replace("(", "%28").replace(")", "%29") + ")");
+            }
+            writeText(text.substring(start + core.length()), lineBreak, writer);
+        }
+    }
+
+    private static void writeText(String text, String lineBreak, Writer writer) throws IOException {
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '\n') {
+                writer.write(lineBreak);
+            } else {
+                if (SPECIAL.indexOf(c) >= 0) {
+                    writer.write('\\');
+                }
+                writer.write(c);
+            }
+        }
+    }
+}
@@ -0,0 +1,374 @@
+package webapp.resumegenerator.application.export;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import webapp.resumegenerator.domain.model.ExportFormat;
+import webapp.resumegenerator.domain.model.PageFormat;
+import webapp.resumegenerator.domain.model.ResumeDocument;
+import webapp.resumegenerator.domain.model.ResumeDocument.Block;
+import webapp.resumegenerator.domain.model.ResumeDocument.Heading;
+import webapp.resumegenerator.domain.model.ResumeDocument.ListItem;
+import webapp.resumegenerator.domain.model.ResumeDocument.Paragraph;
+import webapp.resumegenerator.domain.model.ResumeDocument.Rule;
+import webapp.resumegenerator.domain.model.ResumeDocument.Run;
+
+/**
+ * Запись документа в PDF без сторонних библиотек.
+ * Текст переносится по словам по ширине страницы {@code generator.export.pdf.page-format}
+ * с полями {@code generator.pagination.page-margin}; каждая заполненная страница сразу
+ * записывается в поток, в памяти держится только текущая страница. Заголовок не остаётся
+ * последней строкой страницы, ссылки становятся активными областями. Кириллица выводится
+ * встроенным шрифтом из {@code generator.export.pdf.font}; если файл шрифта не задан
+ * или недоступен, используется Helvetica только с латиницей.
+ */
+@Component
+public class PdfDocumentWriter implements DocumentWriter {
+
+    private static final Logger log = LoggerFactory.getLogger(PdfDocumentWriter.class);
+
+    /**
+     * Пунктов PDF в CSS-пикселе (72 / 96).
+     */
+    static final float POINTS_PER_PIXEL = 0.75f;
+
+    static final float BODY_SIZE = 10.5f;
+
+    private static final float[] HEADING_SIZES = {20, 16, 13.5f, 12, 11, 10.5f};
+
+    private static final float LEADING = 1.35f;
+
+    private static final float LIST_INDENT = 16;
+
+    private final float pageWidth;
+
+    private final float pageHeight;
+
+    private final float margin;
+
+    private final PdfFont regular;
+
+    private final PdfFont bold;
+
+    /**
+     * Конструктор.
+     *
+     * @param pageFormat Формат страницы.
+     * @param pageMargin Поле страницы с каждой стороны в CSS-пикселях.
+     * @param font Путь к TrueType-шрифту обычного начертания или пустая строка.
+     * @param boldFont Путь к TrueType-шрифту полужирного начертания или пустая строка.
+     * @throws IOException если файл шрифта не является TrueType-шрифтом.
+     */
+    public PdfDocumentWriter(@Value("${generator.export.pdf.page-format:A4}") PageFormat pageFormat,
+                             @Value("${generator.pagination.page-margin:48}") double pageMargin,
+                             @Value("${generator.export.pdf.font:}") String font,
+                             @Value("${generator.export.pdf.bold-font:}") String boldFont) throws IOException {
+        this.pageWidth = pageFormat.getWidth() * POINTS_PER_PIXEL;
+        this.pageHeight = pageFormat.getHeight() * POINTS_PER_PIXEL;
+        this.margin = (float) pageMargin * POINTS_PER_PIXEL;
+        this.regular = font(font, false);
+        PdfFont boldCandidate = font(boldFont, true);
+        this.bold = boldCandidate instanceof PdfFont.StandardFont && regular instanceof PdfFont.EmbeddedFont
+                ? regular : boldCandidate;
+    }
+
+    private static PdfFont font(String path, boolean bold) throws IOException {
+        if (path != null && !path.isBlank() && !Files.isReadable(Path.of(path))) {
+            log.warn("Шрифт PDF {} недоступен, используется Helvetica", path);
+            return PdfFont.load(null, bold);
+        }
+        return PdfFont.load(path, bold);
+    }
+
+    @Override
+    public ExportFormat format() {
+        return ExportFormat.PDF;
+    }
+
+    @Override
+    public void write(ResumeDocument document, OutputStream out) throws IOException {
+        Typesetter typesetter = new Typesetter(new PdfOutput(out));
+        for (Block block : document.getBlocks()) {
+            switch (block) {
+                case Heading heading -> {
+                    float size = HEADING_SIZES[Math.min(HEADING_SIZES.length, heading.level()) - 1];
+                    typesetter.paragraph(heading.runs(), true, size, 0, null, size * 0.6f,
+                            2 * BODY_SIZE * LEADING);
+                }
+                case Paragraph paragraph -> typesetter.paragraph(paragraph.runs(), false, BODY_SIZE, 0, null,
+                        BODY_SIZE * 0.5f, 0);
+                case ListItem item -> typesetter.paragraph(item.runs(), false, BODY_SIZE,
+                        LIST_INDENT * (item.depth() + 1), item.ordered() ? item.number() + "." : "•",
+                        BODY_SIZE * 0.2f, 0);
+                case Rule rule -> typesetter.rule();
+            }
+        }
+        typesetter.finish(document.getTitle());
+    }
+
+    static String number(float value) {
+        return BigDecimal.valueOf(value).setScale(2, RoundingMode.HALF_UP).stripTrailingZeros().toPlainString();
+    }
+
+    /**
+     * Фрагмент слова одного начертания.
+     */
+    private record Segment(String text, PdfFont font, String href) {
+    }
+
+    /**
+     * Слово, возможно из нескольких фрагментов разного начертания.
+     *
+     * @param segments Фрагменты слова.
+     * @param breakBefore Слово начинается с новой строки.
+     */
+    private record Word(List<Segment> segments, boolean breakBefore) {
+
+        float width(float size) {
+            float width = 0;
+            for (Segment segment : segments) {
+                width += segment.font().width(segment.text(), size);
+            }
+            return width;
+        }
+    }
+
+    /**
+     * Состояние записи одного документа: текущая страница и использованные глифы.
+     */
+    private final class Typesetter {
+
+        private final PdfOutput pdf;
+
+        private final PdfFont.Usage regularUsage = new PdfFont.Usage();
+
+        private final PdfFont.Usage boldUsage;
+
+        private final int regularNumber;
+
+        private final int boldNumber;
+
+        private final int pagesNumber;
+
+        private final List<Integer> pages = new ArrayList<>();
+
+        private StringBuilder content;
+
+        private StringBuilder annotations;
+
+        private float y;
+
+        private boolean fresh;
+
+        private PdfFont currentFont;
+
+        Typesetter(PdfOutput pdf) {
+            this.pdf = pdf;
+            this.regularNumber = pdf.reserve();
+            this.boldNumber = bold == regular ? regularNumber : pdf.reserve();
+            this.boldUsage = bold == regular ? regularUsage : new PdfFont.Usage();
+            this.pagesNumber = pdf.reserve();
+            startPage();
+        }
+
+        /**
+         * Выводит абзац с переносом по словам.
+         *
+         * @param runs Текст.
+         * @param strong Весь текст полужирный.
+         * @param size Кегль.
+         * @param indent Отступ слева.
+         * @param marker Маркер элемента списка слева от отступа или {@code null}.
+         * @param spaceBefore Отступ сверху, кроме начала страницы.
+         * @param keepWithNext Высота, которая должна остаться под первой строкой на странице.
+         */
+        void paragraph(List<Run> runs, boolean strong, float size, float indent, String marker, float spaceBefore,
+                       float keepWithNext) throws IOException {
+            List<Word> words = words(runs, strong);
+            if (words.isEmpty()) {
+                return;
+            }
+            float lineHeight = size * LEADING;
+            if (!fresh) {
+                y -= spaceBefore;
+            }
+            ensureSpace(lineHeight + keepWithNext);
+            float maxWidth = pageWidth - 2 * margin - indent;
+            float spaceWidth = regular.width(" ", size);
+            List<Word> line = new ArrayList<>();
+            float lineWidth = 0;
+            for (Word word : words) {
+                float width = word.width(size);
+                if (!line.isEmpty() && (word.breakBefore() || lineWidth + spaceWidth + width > maxWidth)) {
+                    line(line, size, indent, marker, lineHeight);
+                    marker = null;
+                    line.clear();
+                    lineWidth = 0;
+                }
+                lineWidth += (line.isEmpty() ? 0 : spaceWidth) + width;
+                line.add(word);
+            }
+            line(line, size, indent, marker, lineHeight);
+        }
+
+        void rule() throws IOException {
+            ensureSpace(BODY_SIZE);
+            y -= BODY_SIZE / 2;
+            content.append("0.6 w ").append(number(margin)).append(' ').append(number(y)).append(" m ")
+                    .append(number(pageWidth - margin)).append(' ').append(number(y)).append(" l S\n");
+            y -= BODY_SIZE / 2;
+            fresh = false;
+        }
+
+        void finish(String title) throws IOException {
+            endPage();
+            regular.writeObjects(pdf, regularNumber, regularUsage);
+            if (bold != regular) {
+                bold.writeObjects(pdf, boldNumber, boldUsage);
+            }
+            StringBuilder kids = new StringBuilder();
+            for (int page : pages) {
+                kids.append(page).append(" 0 R ");
+            }
+            pdf.object(pagesNumber, "<< /Type /Pages /Kids [" + kids.toString().trim() + "] /Count "
+                    + pages.size() + " >>");
+            int catalog = pdf.reserve();
+            pdf.object(catalog, "<< /Type /Catalog /Pages " + pagesNumber + " 0 R >>");
+            int info = pdf.reserve();
+            pdf.object(info, "<< /Producer (resume-generator)"
+                    + (title == null ? "" : " /Title <FEFF" + HexFormat.of().withUpperCase()
+                    .formatHex(title.getBytes(StandardCharsets.UTF_16BE)) + ">") + " >>");
+            pdf.finish(catalog, info);
+        }
+
+        private void line(List<Word> line, float size, float indent, String marker, float lineHeight)
+                throws IOException {
+            ensureSpace(lineHeight);
+            float baseline = y - size;
+            float x = margin + indent;
+            content.append("BT\n");
+            currentFont = null;
+            if (marker != null) {
+                float markerX = x - regular.width(marker, size) - size * 0.4f;
+                content.append("1 0 0 1 ").append(number(markerX)).append(' ').append(number(baseline)).append(" Tm\n");
+                show(regular, size, marker);
+            }
+            content.append("1 0 0 1 ").append(number(x)).append(' ').append(number(baseline)).append(" Tm\n");
+            float cursor = x;
+            for (int index = 0; index < line.size(); index++) {
+                if (index > 0) {
+                    show(regular, size, " ");
+                    cursor += regular.width(" ", size);
+                }
+                for (Segment segment : line.get(index).segments()) {
+                    float width = segment.font().width(segment.text(), size);
+                    show(segment.font(), size, segment.text());
+                    if (segment.href() != null) {
+                        link(cursor, baseline - size * 0.25f, cursor + width, baseline + size * 0.85f, segment.href());
+                    }
+                    cursor += width;
+                }
+            }
+            content.append("ET\n");
+            y -= lineHeight;
+            fresh = false;
+        }
+
+        private void show(PdfFont font, float size, String text) {
+            if (font != currentFont) {
+                content.append(font == regular ? "/F1 " : "/F2 ").append(number(size)).append(" Tf\n");
+                currentFont = font;
+            }
+            content.append(font.encode(text, font == regular ? regularUsage : boldUsage)).append(" Tj\n");
+        }
+
+        private void link(float left, float bottom, float right, float top, String href) {
+            String uri;
+            try {
+                uri = URI.create(href).toASCIIString();
+            } catch (IllegalArgumentException e) {
+                return;
+            }
+            annotations.append("<< /Type /Annot /Subtype /Link /Border [0 0 0] /Rect [")
+                    .append(number(left)).append(' ').append(number(bottom)).append(' ')
+                    .append(number(right)).append(' ').append(number(top))
+                    .append("] /A << /S /URI /URI (")
+                    .append(uri.replace("\\", "\\\\").replace("(", "\\(").replace(")", "\\)"))
+                    .append(") >> >> ");
+        }
+
+        private void ensureSpace(float height) throws IOException {
+            if (!fresh && y - height < margin) {
+                endPage();
+                startPage();
+            }
+        }
+
+        private void startPage() {
+            content = new StringBuilder();
+            annotations = new StringBuilder();
+            y = pageHeight - margin;
+            fresh = true;
+        }
+
+        private void endPage() throws IOException {
+            int contents = pdf.reserve();
+            pdf.stream(contents, "", content.toString().getBytes(StandardCharsets.ISO_8859_1));
+            int page = pdf.reserve();
+            pdf.object(page, "<< /Type /Page /Parent " + pagesNumber + " 0 R /MediaBox [0 0 " + number(pageWidth)
+                    + " " + number(pageHeight) + "] /Resources << /Font << /F1 " + regularNumber + " 0 R /F2 "
+                    + boldNumber + " 0 R >> >> /Contents " + contents + " 0 R"
+                    + (annotations.isEmpty() ? "" : " /Annots [" + annotations.toString().trim() + "]") + " >>");
+            pages.add(page);
+        }
+
+        /**
+         * Разбивает текст на слова; слово может состоять из фрагментов разного начертания.
+         */
+        private List<Word> words(List<Run> runs, boolean strong) {
+            List<Word> words = new ArrayList<>();
+            List<Segment> segments = new ArrayList<>();
+            boolean breakBefore = false;
+            for (Run run : runs) {
+                PdfFont font = strong || run.strong() ? bold : regular;
+                StringBuilder piece = new StringBuilder();
+                for (int i = 0; i < run.text().length(); i++) {
+                    char c = run.text().charAt(i);
+                    if (c != ' ' && c != '\n') {
+                        piece.append(c);
+                        continue;
+                    }
+                    if (!piece.isEmpty()) {
+                        segments.add(new Segment(piece.toString(), font, run.href()));
+                        piece.setLength(0);
+                    }
+                    if (!segments.isEmpty()) {
+                        words.add(new Word(List.copyOf(segments), breakBefore));
+                        segments.clear();
+                        breakBefore = false;
+                    }
+                    breakBefore |= c == '\n';
+                }
+                if (!piece.isEmpty()) {
+                    segments.add(new Segment(piece.toString(), font, run.href()));
+                }
+            }
+            if (!segments.isEmpty()) {
+                words.add(new Word(List.copyOf(segments), breakBefore));
+            }
+            return words;
+        }
+    }
+}
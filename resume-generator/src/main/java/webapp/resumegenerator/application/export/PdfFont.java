@@ -0,0 +1,247 @@
+package webapp.resumegenerator.application.export;
+
+import java.awt.Font;
+import java.awt.FontFormatException;
+import java.awt.font.FontRenderContext;
+import java.awt.font.GlyphVector;
+import java.awt.font.LineMetrics;
+import java.awt.geom.Rectangle2D;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+
+/**
+ * Шрифт PDF и его метрики.
+ * Встроенный TrueType-шрифт поддерживает любые символы, которые в нём есть (в том числе
+ * кириллицу), и записывается как {@code Type0} с кодировкой {@code Identity-H}: коды в тексте
+ * совпадают с номерами глифов, ширины и таблица {@code ToUnicode} строятся по глифам,
+ * использованным в документе. Стандартный шрифт {@code Helvetica} используется, когда файл
+ * шрифта не задан; он ограничен кодировкой WinAnsi, остальные символы заменяются на {@code ?}.
+ * Экземпляр разделяется между запросами, состояние документа хранится в {@link Usage}.
+ */
+abstract class PdfFont {
+
+    static final FontRenderContext FRC = new FontRenderContext(null, true, true);
+
+    private static final int METRICS_SIZE = 1000;
+
+    /**
+     * Загружает TrueType-шрифт из файла или возвращает стандартный шрифт, если файл не задан.
+     *
+     * @param path Путь к файлу {@code .ttf} или пустая строка.
+     * @param bold Полужирное начертание стандартного шрифта.
+     * @return Шрифт.
+     * @throws IOException если файл задан, но не читается.
+     */
+    static PdfFont load(String path, boolean bold) throws IOException {
+        if (path == null || path.isBlank()) {
+            return new StandardFont(bold);
+        }
+        byte[] program = Files.readAllBytes(Path.of(path));
+        try {
+            return new EmbeddedFont(program, Font.createFont(Font.TRUETYPE_FONT, new ByteArrayInputStream(program)));
+        } catch (FontFormatException e) {
+            throw new IOException("Not a TrueType font: " + path, e);
+        }
+    }
+
+    /**
+     * Ширина символа в тысячных долях кегля.
+     */
+    abstract int advance(char c);
+
+    /**
+     * Кодирует текст шестнадцатеричной строкой PDF и отмечает использованные глифы.
+     */
+    abstract String encode(String text, Usage usage);
+
+    /**
+     * Записывает объекты шрифта под зарезервированным номером.
+     */
+    abstract void writeObjects(PdfOutput out, int number, Usage usage) throws IOException;
+
+    /**
+     * Ширина текста в пунктах.
+     */
+    float width(String text, float size) {
+        long total = 0;
+        for (int i = 0; i < text.length(); i++) {
+            total += advance(text.charAt(i));
+        }
+        return total * size / METRICS_SIZE;
+    }
+
+    /**
+     * Глифы шрифта, использованные в одном документе: номер глифа, символ и ширина.
+     */
+    static final class Usage {
+
+        private final Map<Integer, int[]> glyphs = new TreeMap<>();
+
+        void use(int glyph, char c, int advance) {
+            glyphs.putIfAbsent(glyph, new int[] {c, advance});
+        }
+    }
+
+    /**
+     * Встроенный TrueType-шрифт.
+     */
+    static final class EmbeddedFont extends PdfFont {
+
+        private final Font font;
+
+        private final String name;
+
+        private final byte[] compressedProgram;
+
+        private final int programLength;
+
+        private final String descriptor;
+
+        private final Map<Character, int[]> glyphs = new ConcurrentHashMap<>();
+
+        EmbeddedFont(byte[] program, Font font) throws IOException {
+            this.font = font.deriveFont((float) METRICS_SIZE);
+            this.name = font.getPSName().replaceAll("[^A-Za-z0-9+-]", "");
+            this.programLength = program.length;
+            ByteArrayOutputStream compressed = new ByteArrayOutputStream(program.length / 2);
+            try (DeflaterOutputStream deflater = new DeflaterOutputStream(compressed,
+                    new Deflater(Deflater.BEST_COMPRESSION))) {
+                deflater.write(program);
+            }
+            this.compressedProgram = compressed.toByteArray();
+            LineMetrics metrics = this.font.getLineMetrics("Hg", FRC);
+            Rectangle2D bounds = this.font.getMaxCharBounds(FRC);
+            this.descriptor = "/FontBBox [" + Math.round(bounds.getMinX()) + " " + Math.round(-bounds.getMaxY())
+                    + " " + Math.round(bounds.getMaxX()) + " " + Math.round(-bounds.getMinY()) + "]"
+                    + " /ItalicAngle 0 /Ascent " + Math.round(metrics.getAscent())
+                    + " /Descent " + Math.round(-metrics.getDescent())
+                    + " /CapHeight " + Math.round(metrics.getAscent() * 0.75) + " /StemV 80";
+        }
+
+        @Override
+        int advance(char c) {
+            return glyph(c)[1];
+        }
+
+        @Override
+        String encode(String text, Usage usage) {
+            StringBuilder hex = new StringBuilder(text.length() * 4 + 2).append('<');
+            for (int i = 0; i < text.length(); i++) {
+                char c = text.charAt(i);
+                int[] glyph = glyph(c);
+                usage.use(glyph[0], c, glyph[1]);
+                hex.append(String.format("%04X", glyph[0]));
+            }
+            return hex.append('>').toString();
+        }
+
+        /**
+         * Номер глифа и ширина символа; символы, которых нет в шрифте, заменяются на {@code ?}.
+         */
+        private int[] glyph(char c) {
+            return glyphs.computeIfAbsent(c, key -> {
+                char shown = font.canDisplay(key) && !Character.isSurrogate(key) ? key : '?';
+                GlyphVector vector = font.createGlyphVector(FRC, new char[] {shown});
+                return new int[] {vector.getGlyphCode(0), Math.round(vector.getGlyphMetrics(0).getAdvance())};
+            });
+        }
+
+        @Override
+        void writeObjects(PdfOutput out, int number, Usage usage) throws IOException {
+            int descendant = out.reserve();
+            int fontDescriptor = out.reserve();
+            int fontFile = out.reserve();
+            int toUnicode = out.reserve();
+            out.object(number, "<< /Type /Font /Subtype /Type0 /BaseFont /" + name
+                    + " /Encoding /Identity-H /DescendantFonts [" + descendant + " 0 R] /ToUnicode "
+                    + toUnicode + " 0 R >>");
+            StringBuilder widths = new StringBuilder();
+            usage.glyphs.forEach((glyph, info) -> widths.append(glyph).append(" [").append(info[1]).append("] "));
+            out.object(descendant, "<< /Type /Font /Subtype /CIDFontType2 /BaseFont /" + name
+                    + " /CIDSystemInfo << /Registry (Adobe) /Ordering (Identity) /Supplement 0 >>"
+                    + " /FontDescriptor " + fontDescriptor + " 0 R /CIDToGIDMap /Identity /DW 1000"
+                    + " /W [" + widths.toString().trim() + "] >>");
+            out.object(fontDescriptor, "<< /Type /FontDescriptor /FontName /" + name + " /Flags 32 "
+                    + descriptor + " /FontFile2 " + fontFile + " 0 R >>");
+            out.stream(fontFile, "/Length1 " + programLength + " /Filter /FlateDecode", compressedProgram);
+            out.stream(toUnicode, "", toUnicode(usage).getBytes(StandardCharsets.US_ASCII));
+        }
+
+        private static String toUnicode(Usage usage) {
+            StringBuilder cmap = new StringBuilder("/CIDInit /ProcSet findresource begin\n12 dict begin\nbegincmap\n"
+                    + "/CIDSystemInfo << /Registry (Adobe) /Ordering (UCS) /Supplement 0 >> def\n"
+                    + "/CMapName /Adobe-Identity-UCS def\n/CMapType 2 def\n"
+                    + "1 begincodespacerange\n<0000> <FFFF>\nendcodespacerange\n");
+            int[][] entries = usage.glyphs.entrySet().stream()
+                    .map(entry -> new int[] {entry.getKey(), entry.getValue()[0]})
+                    .toArray(int[][]::new);
+            for (int start = 0; start < entries.length; start += 100) {
+                int end = Math.min(entries.length, start + 100);
+                cmap.append(end - start).append(" beginbfchar\n");
+                for (int index = start; index < end; index++) {
+                    cmap.append(String.format("<%04X> <%04X>\n", entries[index][0], entries[index][1]));
+                }
+                cmap.append("endbfchar\n");
+            }
+            return cmap.append("endcmap\nCMapName currentdict /CMap defineresource pop\nend\nend\n").toString();
+        }
+    }
+
+    /**
+     * Стандартный шрифт Helvetica в кодировке WinAnsi.
+     */
+    static final class StandardFont extends PdfFont {
+
+        private static final Charset WIN_ANSI = Charset.forName("windows-1252");
+
+        private final String name;
+
+        private final Font metrics;
+
+        private final Map<Character, Integer> advances = new ConcurrentHashMap<>();
+
+        StandardFont(boolean bold) {
+            this.name = bold ? "Helvetica-Bold" : "Helvetica";
+            this.metrics = new Font(Font.SANS_SERIF, bold ? Font.BOLD : Font.PLAIN, METRICS_SIZE);
+        }
+
+        @Override
+        int advance(char c) {
+            return advances.computeIfAbsent(shown(c),
+                    key -> (int) Math.round(metrics.getStringBounds(String.valueOf(key), FRC).getWidth()));
+        }
+
+        @Override
+        String encode(String text, Usage usage) {
+            CharsetEncoder encoder = WIN_ANSI.newEncoder();
+            StringBuilder hex = new StringBuilder(text.length() * 2 + 2).append('<');
+            for (int i = 0; i < text.length(); i++) {
+                char c = text.charAt(i);
+                byte[] bytes = String.valueOf(encoder.canEncode(c) ? c : '?').getBytes(WIN_ANSI);
+                hex.append(String.format("%02X", bytes[0] & 0xFF));
+            }
+            return hex.append('>').toString();
+        }
+
+        private static char shown(char c) {
+            return WIN_ANSI.newEncoder().canEncode(c) ? c : '?';
+        }
+
+        @Override
+        void writeObjects(PdfOutput out, int number, Usage usage) throws IOException {
+            out.object(number, "<< /Type /Font /Subtype /Type1 /BaseFont /" + name
+                    + " /Encoding /WinAnsiEncoding >>");
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package webapp.resumegenerator.application.export;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Последовательная запись объектов PDF в поток.
+ * Объекты пишутся сразу по готовности в любом порядке номеров; смещения запоминаются
+ * и в конце выводятся таблицей перекрёстных ссылок, поэтому в памяти держится
+ * только таблица смещений, а не документ.
+ */
+final class PdfOutput {
+
+    private final OutputStream out;
+
+    private final List<Long> offsets = new ArrayList<>();
+
+    private long position;
+
+    PdfOutput(OutputStream out) throws IOException {
+        this.out = new BufferedOutputStream(out);
+        write("%PDF-1.4\n");
+        writeBytes(new byte[] {'%', (byte) 0xE2, (byte) 0xE3, (byte) 0xCF, (byte) 0xD3, '\n'});
+    }
+
+    /**
+     * Резервирует номер объекта, который будет записан позже.
+     *
+     * @return Номер объекта.
+     */
+    int reserve() {
+        offsets.add(-1L);
+        return offsets.size();
+    }
+
+    /**
+     * Записывает объект-словарь.
+     *
+     * @param number Зарезервированный номер объекта.
+     * @param dictionary Содержимое объекта.
+     */
+    void object(int number, String dictionary) throws IOException {
+        begin(number);
+        write(dictionary);
+        write("\nendobj\n");
+    }
+
+    /**
+     * Записывает поток; длина добавляется в словарь автоматически.
+     *
+     * @param number Зарезервированный номер объекта.
+     * @param entries Дополнительные записи словаря потока.
+     * @param data Данные потока.
+     */
+    void stream(int number, String entries, byte[] data) throws IOException {
+        begin(number);
+        write("<< /Length " + data.length + (entries.isEmpty() ? "" : " " + entries) + " >>\nstream\n");
+        writeBytes(data);
+        write("\nendstream\nendobj\n");
+    }
+
+    /**
+     * Завершает файл таблицей перекрёстных ссылок и трейлером.
+     *
+     * @param root Номер объекта каталога.
+     * @param info Номер объекта сведений о документе.
+     */
+    void finish(int root, int info) throws IOException {
+        long xref = position;
+        write("xref\n0 " + (offsets.size() + 1) + "\n0000000000 65535 f \n");
+        for (int index = 0; index < offsets.size(); index++) {
+            if (offsets.get(index) < 0) {
+                throw new IllegalStateException("PDF object " + (index + 1) + " was reserved but not written");
+            }
+            write(String.format("%010d 00000 n \n", offsets.get(index)));
+        }
+        write("trailer\n<< /Size " + (offsets.size() + 1) + " /Root " + root + " 0 R /Info " + info + " 0 R >>\n"
+                + "startxref\n" + xref + "\n%%EOF\n");
+        out.flush();
+    }
+
+    private void begin(int number) throws IOException {
+        offsets.set(number - 1, position);
+        write(number + " 0 obj\n");
+    }
+
+    private void write(String ascii) throws IOException {
+        writeBytes(ascii.getBytes(StandardCharsets.ISO_8859_1));
+    }
+
+    private void writeBytes(byte[] data) throws IOException {
+        out.write(data);
+        position += data.length;
+    }
+}
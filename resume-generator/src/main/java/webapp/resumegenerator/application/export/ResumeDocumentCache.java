@@ -0,0 +1,55 @@
+package webapp.resumegenerator.application.export;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import java.util.function.Supplier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import webapp.resumegenerator.application.render.RenderKey;
+import webapp.resumegenerator.domain.model.ResumeDocument;
+
+/**
+ * Кэш промежуточных документов резюме для выгрузки.
+ * Ключ тот же, что у кэша результатов рендеринга, поэтому документ строится один раз
+ * на версию шаблона, данные резюме и блок, а выгрузка в следующий формат сводится
+ * к записи готового документа. Отпечатки контента входят в ключ, поэтому устаревший
+ * документ не может быть возвращён; записи старых версий вытесняются по размеру.
+ */
+@Component
+public class ResumeDocumentCache {
+
+    private final ResumeDocumentParser parser = new ResumeDocumentParser();
+
+    private final Cache<RenderKey, ResumeDocument> cache;
+
+    /**
+     * Конструктор кэша.
+     *
+     * @param maxSize Максимальный суммарный размер текста документов.
+     */
+    public ResumeDocumentCache(@Value("${generator.export.document-cache.max-size:32MB}") DataSize maxSize) {
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxSize.toBytes())
+                .weigher((RenderKey key, ResumeDocument document) -> weight(document))
+                .build();
+    }
+
+    /**
+     * Возвращает документ из кэша или строит его из HTML резюме.
+     *
+     * @param key Ключ с отпечатками входных данных.
+     * @param html HTML резюме при промахе.
+     * @return Документ.
+     */
+    public ResumeDocument get(RenderKey key, Supplier<String> html) {
+        return cache.get(key, k -> parser.parse(html.get()));
+    }
+
+    /**
+     * Примерный размер документа в памяти: два байта на символ и накладные расходы на блоки.
+     */
+    private static int weight(ResumeDocument document) {
+        return (int) Math.min(Integer.MAX_VALUE, 2L * document.getTextLength() + 64L * document.getBlocks().size());
+    }
+}
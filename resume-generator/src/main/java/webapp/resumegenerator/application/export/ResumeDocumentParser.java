@@ -0,0 +1,273 @@
+package webapp.resumegenerator.application.export;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.Set;
+import java.util.regex.Pattern;
+import javax.swing.text.MutableAttributeSet;
+import javax.swing.text.html.HTML;
+import javax.swing.text.html.HTMLEditorKit;
+import javax.swing.text.html.parser.ParserDelegator;
+import webapp.resumegenerator.domain.model.ResumeDocument;
+import webapp.resumegenerator.domain.model.ResumeDocument.Block;
+import webapp.resumegenerator.domain.model.ResumeDocument.Heading;
+import webapp.resumegenerator.domain.model.ResumeDocument.ListItem;
+import webapp.resumegenerator.domain.model.ResumeDocument.Paragraph;
+import webapp.resumegenerator.domain.model.ResumeDocument.Rule;
+import webapp.resumegenerator.domain.model.ResumeDocument.Run;
+
+/**
+ * Построение {@link ResumeDocument} из HTML, отрендеренного по шаблону.
+ * HTML разбирается парсером JDK без построения DOM: заголовки {@code h1}–{@code h6},
+ * блочные элементы (в том числе {@code section}, {@code header} и другие элементы HTML5),
+ * списки, {@code br} и {@code hr} задают структуру, {@code b}/{@code strong},
+ * {@code i}/{@code em} и {@code a} — оформление текста. Стили, скрипты и изображения
+ * отбрасываются; ссылки сохраняются только с адресами {@code http}, {@code https},
+ * {@code mailto} и {@code tel}.
+ */
+public final class ResumeDocumentParser {
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private static final Set<String> SAFE_SCHEMES = Set.of("http", "https", "mailto", "tel");
+
+    private static final Set<HTML.Tag> BLOCKS = Set.of(HTML.Tag.P, HTML.Tag.DIV, HTML.Tag.BLOCKQUOTE,
+            HTML.Tag.PRE, HTML.Tag.TABLE, HTML.Tag.TR, HTML.Tag.TD, HTML.Tag.TH, HTML.Tag.DL, HTML.Tag.DT,
+            HTML.Tag.DD, HTML.Tag.ADDRESS, HTML.Tag.CENTER, HTML.Tag.FORM, HTML.Tag.CAPTION, HTML.Tag.BODY);
+
+    private static final Set<String> HTML5_BLOCKS = Set.of("section", "article", "header", "footer", "main",
+            "nav", "aside", "figure", "figcaption");
+
+    /**
+     * Разбирает HTML резюме.
+     *
+     * @param html HTML резюме.
+     * @return Документ.
+     */
+    public ResumeDocument parse(String html) {
+        Collector collector = new Collector();
+        try {
+            new ParserDelegator().parse(new StringReader(html), collector, true);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        collector.endBlock();
+        String title = collector.title.toString().strip();
+        return new ResumeDocument(title.isEmpty() ? null : title, collector.blocks);
+    }
+
+    static String safeHref(Object href) {
+        if (href == null) {
+            return null;
+        }
+        String value = href.toString().strip();
+        int colon = value.indexOf(':');
+        if (colon <= 0 || !SAFE_SCHEMES.contains(value.substring(0, colon).toLowerCase(Locale.ROOT))) {
+            return null;
+        }
+        return value;
+    }
+
+    private static int headingLevel(HTML.Tag tag) {
+        if (tag == HTML.Tag.H1) {
+            return 1;
+        } else if (tag == HTML.Tag.H2) {
+            return 2;
+        } else if (tag == HTML.Tag.H3) {
+            return 3;
+        } else if (tag == HTML.Tag.H4) {
+            return 4;
+        } else if (tag == HTML.Tag.H5) {
+            return 5;
+        } else if (tag == HTML.Tag.H6) {
+            return 6;
+        }
+        return 0;
+    }
+
+    /**
+     * Обработчик событий парсера, собирающий блоки документа.
+     */
+    private static final class Collector extends HTMLEditorKit.ParserCallback {
+
+        private final List<Block> blocks = new ArrayList<>();
+
+        private final StringBuilder title = new StringBuilder();
+
+        private final List<Run> runs = new ArrayList<>();
+
+        private final Deque<ListState> lists = new ArrayDeque<>();
+
+        private int headingLevel;
+
+        private ListItem item;
+
+        private int strong;
+
+        private int emphasis;
+
+        private String href;
+
+        private boolean inTitle;
+
+        private int skipped;
+
+        @Override
+        public void handleStartTag(HTML.Tag tag, MutableAttributeSet attributes, int position) {
+            int level = headingLevel(tag);
+            if (level > 0) {
+                endBlock();
+                headingLevel = level;
+            } else if (tag == HTML.Tag.UL || tag == HTML.Tag.OL) {
+                endBlock();
+                lists.push(new ListState(tag == HTML.Tag.OL));
+            } else if (tag == HTML.Tag.LI) {
+                endBlock();
+                ListState list = lists.isEmpty() ? new ListState(false) : lists.peek();
+                list.count++;
+                item = new ListItem(Math.max(0, lists.size() - 1), list.ordered, list.count, List.of());
+            } else if (BLOCKS.contains(tag)) {
+                endBlock();
+            } else if (tag == HTML.Tag.B || tag == HTML.Tag.STRONG) {
+                strong++;
+            } else if (tag == HTML.Tag.I || tag == HTML.Tag.EM) {
+                emphasis++;
+            } else if (tag == HTML.Tag.A) {
+                href = safeHref(attributes.getAttribute(HTML.Attribute.HREF));
+            } else if (tag == HTML.Tag.TITLE) {
+                inTitle = true;
+            } else if (tag == HTML.Tag.STYLE || tag == HTML.Tag.SCRIPT) {
+                skipped++;
+            }
+        }
+
+        @Override
+        public void handleEndTag(HTML.Tag tag, int position) {
+            if (headingLevel(tag) > 0 || tag == HTML.Tag.LI || BLOCKS.contains(tag)) {
+                endBlock();
+            } else if (tag == HTML.Tag.UL || tag == HTML.Tag.OL) {
+                endBlock();
+                lists.poll();
+            } else if (tag == HTML.Tag.B || tag == HTML.Tag.STRONG) {
+                strong = Math.max(0, strong - 1);
+            } else if (tag == HTML.Tag.I || tag == HTML.Tag.EM) {
+                emphasis = Math.max(0, emphasis - 1);
+            } else if (tag == HTML.Tag.A) {
+                href = null;
+            } else if (tag == HTML.Tag.TITLE) {
+                inTitle = false;
+            } else if (tag == HTML.Tag.STYLE || tag == HTML.Tag.SCRIPT) {
+                skipped = Math.max(0, skipped - 1);
+            }
+        }
+
+        @Override
+        public void handleSimpleTag(HTML.Tag tag, MutableAttributeSet attributes, int position) {
+            if (tag == HTML.Tag.BR) {
+                append("\n");
+            } else if (tag == HTML.Tag.HR) {
+                endBlock();
+                blocks.add(new Rule());
+            } else if (tag instanceof HTML.UnknownTag && HTML5_BLOCKS.contains(tag.toString())) {
+                endBlock();
+            }
+        }
+
+        @Override
+        public void handleText(char[] data, int position) {
+            if (skipped > 0) {
+                return;
+            }
+            String text = WHITESPACE.matcher(new String(data)).replaceAll(" ");
+            if (inTitle) {
+                title.append(text);
+            } else {
+                append(text);
+            }
+        }
+
+        private void append(String text) {
+            if (text.isEmpty()) {
+                return;
+            }
+            boolean bold = strong > 0;
+            boolean italic = emphasis > 0;
+            if (!runs.isEmpty()) {
+                Run last = runs.get(runs.size() - 1);
+                if (last.strong() == bold && last.emphasis() == italic && Objects.equals(last.href(), href)) {
+                    runs.set(runs.size() - 1, new Run(last.text() + text, bold, italic, href));
+                    return;
+                }
+            }
+            runs.add(new Run(text, bold, italic, href));
+        }
+
+        /**
+         * Завершает текущий блок, если в нём есть текст.
+         */
+        void endBlock() {
+            List<Run> trimmed = trim(runs);
+            runs.clear();
+            if (!trimmed.isEmpty()) {
+                if (headingLevel > 0) {
+                    blocks.add(new Heading(headingLevel, trimmed));
+                } else if (item != null) {
+                    blocks.add(new ListItem(item.depth(), item.ordered(), item.number(), trimmed));
+                } else {
+                    blocks.add(new Paragraph(trimmed));
+                }
+            }
+            headingLevel = 0;
+            item = null;
+        }
+
+        /**
+         * Убирает пробелы в начале и конце блока и пробелы вокруг переводов строки.
+         */
+        private static List<Run> trim(List<Run> runs) {
+            List<Run> result = new ArrayList<>(runs.size());
+            boolean lineStart = true;
+            for (Run run : runs) {
+                String text = run.text().replaceAll(" *\n *", "\n");
+                if (lineStart) {
+                    text = text.stripLeading();
+                }
+                if (!text.isEmpty()) {
+                    result.add(new Run(text, run.strong(), run.emphasis(), run.href()));
+                    lineStart = text.endsWith("\n");
+                }
+            }
+            while (!result.isEmpty()) {
+                Run last = result.get(result.size() - 1);
+                String text = last.text().stripTrailing();
+                if (!text.isEmpty()) {
+                    result.set(result.size() - 1, new Run(text, last.strong(), last.emphasis(), last.href()));
+                    break;
+                }
+                result.remove(result.size() - 1);
+            }
+            return result;
+        }
+    }
+
+    /**
+     * Открытый список и количество его элементов.
+     */
+    private static final class ListState {
+
+        private final boolean ordered;
+
+        private int count;
+
+        ListState(boolean ordered) {
+            this.ordered = ordered;
+        }
+    }
+}
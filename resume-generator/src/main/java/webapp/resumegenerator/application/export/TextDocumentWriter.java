@@ -0,0 +1,77 @@
+package webapp.resumegenerator.application.export;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import org.springframework.stereotype.Component;
+import webapp.resumegenerator.domain.model.ExportFormat;
+import webapp.resumegenerator.domain.model.ResumeDocument;
+import webapp.resumegenerator.domain.model.ResumeDocument.Block;
+import webapp.resumegenerator.domain.model.ResumeDocument.Heading;
+import webapp.resumegenerator.domain.model.ResumeDocument.ListItem;
+import webapp.resumegenerator.domain.model.ResumeDocument.Paragraph;
+import webapp.resumegenerator.domain.model.ResumeDocument.Rule;
+import webapp.resumegenerator.domain.model.ResumeDocument.Run;
+
+/**
+ * Запись документа в простой текст.
+ * Заголовки первого и второго уровня подчёркиваются, элементы списков получают маркер
+ * или номер с отступом по глубине, адрес ссылки выводится после её текста.
+ */
+@Component
+public class TextDocumentWriter implements DocumentWriter {
+
+    private static final String RULE = "-".repeat(40);
+
+    @Override
+    public ExportFormat format() {
+        return ExportFormat.TEXT;
+    }
+
+    @Override
+    public void write(ResumeDocument document, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        Block previous = null;
+        for (Block block : document.getBlocks()) {
+            if (previous != null && !(previous instanceof ListItem && block instanceof ListItem)) {
+                writer.write('\n');
+            }
+            switch (block) {
+                case Heading heading -> {
+                    String text = text(heading.runs(), " ");
+                    writer.write(text);
+                    if (heading.level() <= 2) {
+                        writer.write('\n');
+                        writer.write((heading.level() == 1 ? "=" : "-").repeat(text.length()));
+                    }
+                }
+                case Paragraph paragraph -> writer.write(text(paragraph.runs(), "\n"));
+                case ListItem item -> {
+                    String indent = "  ".repeat(item.depth());
+                    String marker = item.ordered() ? item.number() + ". " : "• ";
+                    writer.write(indent + marker);
+                    writer.write(text(item.runs(), "\n" + indent + " ".repeat(marker.length())));
+                }
+                case Rule rule -> writer.write(RULE);
+            }
+            writer.write('\n');
+            previous = block;
+        }
+        writer.flush();
+    }
+
+    private static String text(List<Run> runs, String lineBreak) {
+        StringBuilder text = new StringBuilder();
+        for (Run run : runs) {
+            text.append(run.text().replace("\n", lineBreak));
+            if (run.href() != null && !run.href().endsWith(run.text().strip())) {
+                text.append(" <").append(run.href()).append('>');
+            }
+        }
+        return text.toString();
+    }
+}
@@ -0,0 +1,180 @@
+package webapp.resumegenerator.application.layout;
+
+import java.util.Arrays;
+import java.util.Map;
+import org.springframework.stereotype.Component;
+import webapp.resumegenerator.domain.model.BlockElement;
+import webapp.resumegenerator.domain.model.SectionElementProps;
+
+/**
+ * Оценка высоты содержимого блока по тексту и стилям без рендеринга.
+ * Текст переносится по средней ширине символа ({@value #CHAR_WIDTH} кегля), строки
+ * занимают {@code lineHeight}; учитываются заголовок блока и вертикальные отступы
+ * {@code padding}/{@code margin} обёртки. Значения стилей понимаются в {@code px},
+ * {@code pt}, {@code em}/{@code rem} и, для {@code lineHeight}, без единиц.
+ * <p>
+ * Стили приходят от клиента, поэтому бесконечные и нечисловые значения ({@code Infinity},
+ * {@code NaN}) игнорируются, отдельная длина ограничена {@value #MAX_LENGTH} пикселями,
+ * а высота блока — {@value #MAX_HEIGHT} пикселями.
+ */
+@Component
+public class BlockMeasurer {
+
+    static final double DEFAULT_FONT_SIZE = 14;
+
+    static final double DEFAULT_LINE_HEIGHT = 1.4;
+
+    static final double CHAR_WIDTH = 0.55;
+
+    static final double TITLE_SCALE = 1.25;
+
+    static final double MAX_LENGTH = 10_000;
+
+    static final double MAX_HEIGHT = 100_000;
+
+    private static final double ROOT_FONT_SIZE = 16;
+
+    /**
+     * Высота содержимого самого блока без дочерних блоков.
+     *
+     * @param block Блок.
+     * @param width Доступная ширина.
+     * @return Высота в CSS-пикселях.
+     */
+    public double measure(BlockElement block, double width) {
+        SectionElementProps props = block.getProps();
+        Map<String, String> textStyle = props == null ? null : props.getTextStyle();
+        Map<String, String> wrapperStyle = props == null ? null : props.getWrapperStyle();
+        double fontSize = length(style(textStyle, props, "fontSize"), DEFAULT_FONT_SIZE, DEFAULT_FONT_SIZE);
+        double lineHeight = lineHeight(style(textStyle, props, "lineHeight"), fontSize);
+        double height = verticalSpacing(wrapperStyle, fontSize);
+        if (block.getTitle() != null && !block.getTitle().isBlank()) {
+            double titleSize = fontSize * TITLE_SCALE;
+            height += lines(block.getTitle(), titleSize, width) * titleSize * DEFAULT_LINE_HEIGHT;
+        }
+        if (props != null && props.getText() != null && !props.getText().isEmpty()) {
+            height += lines(props.getText(), fontSize, width) * lineHeight;
+        }
+        return Math.max(0, Math.min(height, MAX_HEIGHT));
+    }
+
+    /**
+     * Разрыв страницы перед блоком ({@code break-before: page}).
+     *
+     * @param block Блок.
+     * @return {@code true}, если блок должен начинаться с новой страницы.
+     */
+    public boolean breaksBefore(BlockElement block) {
+        String value = css(block, "breakBefore", "pageBreakBefore");
+        return "page".equals(value) || "always".equals(value);
+    }
+
+    /**
+     * Разрешение делить блок между страницами.
+     *
+     * @param block Блок.
+     * @return {@code true}, если блок разрешено делить между страницами ({@code break-inside: auto}).
+     */
+    public boolean allowsBreakInside(BlockElement block) {
+        return "auto".equals(css(block, "breakInside", "pageBreakInside"));
+    }
+
+    private static String css(BlockElement block, String name, String legacyName) {
+        SectionElementProps props = block.getProps();
+        if (props == null) {
+            return null;
+        }
+        for (Map<String, String> style : Arrays.asList(props.getWrapperStyle(), props.getStyle())) {
+            if (style != null) {
+                String value = style.get(name);
+                if (value == null) {
+                    value = style.get(legacyName);
+                }
+                if (value != null) {
+                    return value.trim();
+                }
+            }
+        }
+        return null;
+    }
+
+    private static String style(Map<String, String> textStyle, SectionElementProps props, String name) {
+        if (textStyle != null && textStyle.get(name) != null) {
+            return textStyle.get(name);
+        }
+        Map<String, String> style = props == null ? null : props.getStyle();
+        return style == null ? null : style.get(name);
+    }
+
+    private static int lines(String text, double fontSize, double width) {
+        double charsPerLine = Math.max(1, Math.floor(width / (fontSize * CHAR_WIDTH)));
+        int lines = 0;
+        for (String paragraph : text.split("\n", -1)) {
+            lines += Math.max(1, (int) Math.ceil(paragraph.length() / charsPerLine));
+        }
+        return lines;
+    }
+
+    private static double lineHeight(String value, double fontSize) {
+        if (value == null || value.isBlank() || "normal".equals(value.trim())) {
+            return fontSize * DEFAULT_LINE_HEIGHT;
+        }
+        try {
+            return finite(fontSize * Double.parseDouble(value.trim()), fontSize * DEFAULT_LINE_HEIGHT);
+        } catch (NumberFormatException e) {
+            return length(value, fontSize, fontSize * DEFAULT_LINE_HEIGHT);
+        }
+    }
+
+    private static double verticalSpacing(Map<String, String> style, double fontSize) {
+        if (style == null) {
+            return 0;
+        }
+        double spacing = 0;
+        for (String shorthand : new String[] {"padding", "margin"}) {
+            String[] values = style.getOrDefault(shorthand, "").trim().split("\\s+");
+            double top = values[0].isEmpty() ? 0 : length(values[0], fontSize, 0);
+            double bottom = values.length >= 3 ? length(values[2], fontSize, 0) : top;
+            top = length(style.get(shorthand + "Top"), fontSize, top);
+            bottom = length(style.get(shorthand + "Bottom"), fontSize, bottom);
+            spacing += top + bottom;
+        }
+        return spacing;
+    }
+
+    /**
+     * Длина CSS в пикселях или значение по умолчанию, если единицы не поддерживаются
+     * или значение не конечно; модуль длины не превышает {@value #MAX_LENGTH}.
+     */
+    static double length(String value, double fontSize, double defaultValue) {
+        if (value == null || value.isBlank()) {
+            return defaultValue;
+        }
+        String trimmed = value.trim();
+        try {
+            return finite(parse(trimmed, fontSize), defaultValue);
+        } catch (NumberFormatException e) {
+            return defaultValue;
+        }
+    }
+
+    private static double parse(String value, double fontSize) {
+        if (value.endsWith("px")) {
+            return Double.parseDouble(value.substring(0, value.length() - 2));
+        }
+        if (value.endsWith("pt")) {
+            return Double.parseDouble(value.substring(0, value.length() - 2)) * 4 / 3;
+        }
+        if (value.endsWith("rem")) {
+            return Double.parseDouble(value.substring(0, value.length() - 3)) * ROOT_FONT_SIZE;
+        }
+        if (value.endsWith("em")) {
+            return Double.parseDouble(value.substring(0, value.length() - 2)) * fontSize;
+        }
+        return Double.parseDouble(value);
+    }
+
+    private static double finite(double value, double defaultValue) {
+        return Double.isFinite(value) ? Math.max(-MAX_LENGTH, Math.min(value, MAX_LENGTH)) : defaultValue;
+    }
+}
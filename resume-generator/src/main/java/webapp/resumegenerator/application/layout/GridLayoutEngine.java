@@ -0,0 +1,143 @@
+package webapp.resumegenerator.application.layout;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import org.springframework.stereotype.Component;
+import webapp.resumegenerator.domain.model.Layout;
+
+/**
+ * Серверный движок сеточного макета, совместимый с react-grid-layout.
+ * Применяет ограничения размеров ({@code minW}/{@code maxW}/{@code minH}/{@code maxH}),
+ * удерживает элементы в пределах колонок, разрешает пересечения и выполняет
+ * вертикальное уплотнение. Статические элементы ({@code isStatic}) не перемещаются.
+ */
+@Component
+public class GridLayoutEngine {
+
+    /**
+     * Количество колонок по умолчанию, как в react-grid-layout.
+     */
+    public static final int DEFAULT_COLUMNS = 12;
+
+    /**
+     * Максимальное количество колонок сетки.
+     */
+    public static final int MAX_COLUMNS = 1024;
+
+    /**
+     * Максимальная высота макета в строках: нижняя граница любого элемента ({@code y + h})
+     * после нормализации не может её превышать.
+     */
+    public static final int MAX_ROWS = 10_000;
+
+    private static final Comparator<Layout> BY_POSITION = Comparator.comparingInt(Layout::getY)
+            .thenComparingInt(Layout::getX);
+
+    /**
+     * Нормализует макет: применяет ограничения, разрешает пересечения и уплотняет элементы вверх.
+     * Исходные объекты не изменяются.
+     *
+     * @param layouts Элементы макета.
+     * @param columns Количество колонок сетки.
+     * @return Нормализованные копии элементов в исходном порядке.
+     * @throws IllegalArgumentException если колонок больше {@link #MAX_COLUMNS} или элементы
+     *                                  не помещаются в {@link #MAX_ROWS} строк.
+     */
+    public List<Layout> normalize(List<Layout> layouts, int columns) {
+        int cols = columns > 0 ? columns : DEFAULT_COLUMNS;
+        List<Layout> result = new ArrayList<>(layouts.size());
+        for (Layout layout : layouts) {
+            result.add(constrain(copyOf(layout), cols));
+        }
+        OccupancyGrid grid = new OccupancyGrid(cols);
+        List<Layout> movable = new ArrayList<>(result.size());
+        for (Layout layout : result) {
+            if (isStatic(layout)) {
+                grid.occupy(layout.getX(), layout.getY(), layout.getW(), layout.getH());
+            } else {
+                movable.add(layout);
+            }
+        }
+        movable.sort(BY_POSITION);
+        for (Layout layout : movable) {
+            int y = grid.compactY(layout.getX(), layout.getY(), layout.getW(), layout.getH());
+            layout.setY(y);
+            layout.setMoved(false);
+            grid.occupy(layout.getX(), y, layout.getW(), layout.getH());
+        }
+        return result;
+    }
+
+    /**
+     * Проверяет, что элементы макета не пересекаются и удовлетворяют ограничениям.
+     *
+     * @param layouts Элементы макета.
+     * @param columns Количество колонок сетки.
+     * @return {@code true}, если макет корректен; элементы за пределами {@link #MAX_ROWS} строк
+     *         делают макет некорректным.
+     * @throws IllegalArgumentException если колонок больше {@link #MAX_COLUMNS}.
+     */
+    public boolean isValid(List<Layout> layouts, int columns) {
+        int cols = columns > 0 ? columns : DEFAULT_COLUMNS;
+        OccupancyGrid grid = new OccupancyGrid(cols);
+        for (Layout layout : layouts) {
+            Layout constrained = constrain(copyOf(layout), cols);
+            if (constrained.getX() != layout.getX() || constrained.getY() != layout.getY()
+                    || constrained.getW() != layout.getW() || constrained.getH() != layout.getH()
+                    || !OccupancyGrid.fits(layout.getY(), layout.getH())
+                    || !grid.isFree(layout.getX(), layout.getY(), layout.getW(), layout.getH())) {
+                return false;
+            }
+            grid.occupy(layout.getX(), layout.getY(), layout.getW(), layout.getH());
+        }
+        return true;
+    }
+
+    /**
+     * Проверяет, что положение и размер элемента допустимы для сетки по высоте:
+     * координаты неотрицательны, размеры не меньше одной клетки, а нижняя граница
+     * не превышает {@link #MAX_ROWS}.
+     *
+     * @param x Столбец.
+     * @param y Строка.
+     * @param w Ширина в столбцах.
+     * @param h Высота в строках.
+     * @return {@code true}, если положение допустимо.
+     */
+    public static boolean isInBounds(int x, int y, int w, int h) {
+        return x >= 0 && w >= 1 && h >= 1 && OccupancyGrid.fits(y, h);
+    }
+
+    static boolean isStatic(Layout layout) {
+        return Boolean.TRUE.equals(layout.getStatic());
+    }
+
+    static Layout constrain(Layout layout, int cols) {
+        int minW = Math.max(1, valueOr(layout.getMinW(), 1));
+        int maxW = Math.min(cols, valueOr(layout.getMaxW(), cols));
+        int minH = Math.max(1, valueOr(layout.getMinH(), 1));
+        int maxH = valueOr(layout.getMaxH(), Integer.MAX_VALUE);
+        int w = clamp(layout.getW(), minW, Math.max(minW, maxW));
+        layout.setW(Math.min(w, cols));
+        layout.setH(clamp(layout.getH(), minH, Math.max(minH, maxH)));
+        layout.setX(clamp(layout.getX(), 0, cols - layout.getW()));
+        layout.setY(Math.max(0, layout.getY()));
+        return layout;
+    }
+
+    static Layout copyOf(Layout layout) {
+        return new Layout(layout.getId(), layout.getI(), layout.getX(), layout.getY(), layout.getW(),
+                layout.getH(), layout.getMinW(), layout.getMaxW(), layout.getMinH(), layout.getMaxH(),
+                layout.getMoved(), layout.getStatic(), layout.getDraggable(), layout.getResizable(),
+                layout.getResizeHandles(), layout.getBounded());
+    }
+
+    private static int valueOr(Integer value, int defaultValue) {
+        return value == null ? defaultValue : value;
+    }
+
+    private static int clamp(int value, int min, int max) {
+        return Math.max(min, Math.min(max, value));
+    }
+}
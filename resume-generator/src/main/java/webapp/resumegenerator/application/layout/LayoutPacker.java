@@ -0,0 +1,321 @@
+package webapp.resumegenerator.application.layout;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import webapp.resumegenerator.domain.model.BlockElement;
+import webapp.resumegenerator.domain.model.Layout;
+
+/**
+ * Автоматическая компоновка макета: поиск размещения элементов с минимальной общей высотой.
+ * <p>
+ * Размещение строится жадно: элементы в выбранном порядке ставятся в самую верхнюю свободную
+ * позицию, при равенстве — ближе к исходной колонке. Начальные порядки — исходный и по убыванию
+ * высоты и ширины; затем до истечения времени порядок и ширины случайно меняются, и изменение
+ * сохраняется, если высота не выросла. Статические элементы не перемещаются, размеры остаются
+ * в пределах {@code minW}/{@code maxW}/{@code minH}/{@code maxH}; ширина меняется только у элементов,
+ * для которых задана {@code minW} или {@code maxW} и не запрещено изменение размера.
+ * Если найденное размещение не ниже нормализованного макета, возвращается нормализованный макет,
+ * чтобы не переставлять элементы без выигрыша. Размещения, не помещающиеся в
+ * {@link GridLayoutEngine#MAX_ROWS} строк, считаются хуже любых других.
+ * <p>
+ * Срок проверяется перед установкой каждого элемента: размещение, не завершённое к сроку,
+ * отбрасывается, а если к сроку не готово ни одно размещение, возвращается нормализованный макет.
+ */
+@Component
+public class LayoutPacker {
+
+    private static final long SEED = 0x9E3779B97F4A7C15L;
+
+    private final GridLayoutEngine gridLayoutEngine;
+
+    private final Duration timeLimit;
+
+    /**
+     * Конструктор компоновщика.
+     *
+     * @param gridLayoutEngine Движок сеточного макета.
+     * @param timeLimit Время поиска на всё дерево блока.
+     */
+    public LayoutPacker(GridLayoutEngine gridLayoutEngine,
+                        @Value("${generator.layout.arrange.time-limit:40ms}") Duration timeLimit) {
+        this.gridLayoutEngine = gridLayoutEngine;
+        this.timeLimit = timeLimit;
+    }
+
+    /**
+     * Компонует дочерние блоки каждого блока дерева по его сетке ({@code columns}).
+     * Время поиска делится между блоками с дочерними элементами поровну от оставшегося.
+     *
+     * @param root Корневой блок; макеты дочерних блоков заменяются найденными.
+     * @return Тот же блок.
+     */
+    public BlockElement arrange(BlockElement root) {
+        List<BlockElement> containers = new ArrayList<>();
+        collectContainers(root, containers);
+        long deadline = System.nanoTime() + timeLimit.toNanos();
+        for (int index = 0; index < containers.size(); index++) {
+            long now = System.nanoTime();
+            long share = Math.max(0, deadline - now) / (containers.size() - index);
+            arrangeChildren(containers.get(index), now + share);
+        }
+        return root;
+    }
+
+    /**
+     * Ищет размещение элементов с минимальной высотой до наступления {@code deadline}.
+     * Исходные объекты не изменяются.
+     *
+     * @param layouts Элементы макета.
+     * @param columns Количество колонок сетки.
+     * @param deadline Момент окончания поиска по {@link System#nanoTime()}.
+     * @return Копии элементов в исходном порядке.
+     */
+    public List<Layout> pack(List<Layout> layouts, int columns, long deadline) {
+        int cols = columns > 0 ? columns : GridLayoutEngine.DEFAULT_COLUMNS;
+        List<Layout> normalized = gridLayoutEngine.normalize(layouts, cols);
+        List<Layout> statics = new ArrayList<>();
+        List<Item> items = new ArrayList<>();
+        for (int index = 0; index < normalized.size(); index++) {
+            Layout layout = normalized.get(index);
+            if (GridLayoutEngine.isStatic(layout)) {
+                statics.add(layout);
+            } else {
+                items.add(Item.of(index, layout, cols));
+            }
+        }
+        if (items.isEmpty()) {
+            return normalized;
+        }
+        Search search = new Search(cols, statics, items.toArray(Item[]::new));
+        Packing best = search.run(deadline);
+        if (best == null || best.height() >= heightOf(normalized)) {
+            return normalized;
+        }
+        List<Layout> result = new ArrayList<>(normalized);
+        for (int index = 0; index < search.items.length; index++) {
+            Item item = search.items[index];
+            Layout packed = GridLayoutEngine.copyOf(item.layout());
+            packed.setX(best.xs()[index]);
+            packed.setY(best.ys()[index]);
+            packed.setW(best.widths()[index]);
+            packed.setMoved(false);
+            result.set(item.position(), packed);
+        }
+        return result;
+    }
+
+    private void arrangeChildren(BlockElement container, long deadline) {
+        List<BlockElement> placed = new ArrayList<>();
+        List<Layout> layouts = new ArrayList<>();
+        for (BlockElement child : container.getChildren()) {
+            if (child != null && child.getLayout() != null) {
+                placed.add(child);
+                layouts.add(child.getLayout());
+            }
+        }
+        if (layouts.isEmpty()) {
+            return;
+        }
+        List<Layout> packed = pack(layouts, container.getColumns() == null ? 0 : container.getColumns(), deadline);
+        for (int index = 0; index < placed.size(); index++) {
+            placed.get(index).setLayout(packed.get(index));
+        }
+    }
+
+    private static void collectContainers(BlockElement block, List<BlockElement> containers) {
+        if (block == null || block.getChildren() == null || block.getChildren().isEmpty()) {
+            return;
+        }
+        containers.add(block);
+        block.getChildren().forEach(child -> collectContainers(child, containers));
+    }
+
+    static int heightOf(List<Layout> layouts) {
+        return layouts.stream().mapToInt(layout -> layout.getY() + layout.getH()).max().orElse(0);
+    }
+
+    /**
+     * Перемещаемый элемент и допустимый диапазон его ширины.
+     *
+     * @param position Индекс элемента в исходном списке.
+     * @param layout Нормализованный элемент.
+     * @param minW Минимальная ширина при поиске.
+     * @param maxW Максимальная ширина при поиске.
+     */
+    record Item(int position, Layout layout, int minW, int maxW) {
+
+        static Item of(int position, Layout layout, int cols) {
+            int w = layout.getW();
+            if (Boolean.FALSE.equals(layout.getResizable())) {
+                return new Item(position, layout, w, w);
+            }
+            int minW = layout.getMinW() == null ? w : Math.max(1, Math.min(w, layout.getMinW()));
+            int maxW = layout.getMaxW() == null ? w : Math.min(cols, Math.max(w, layout.getMaxW()));
+            return new Item(position, layout, minW, maxW);
+        }
+
+        boolean resizable() {
+            return minW < maxW;
+        }
+    }
+
+    /**
+     * Размещение: порядок установки, ширины и координаты элементов.
+     *
+     * @param order Порядок установки элементов.
+     * @param widths Ширина каждого элемента.
+     * @param xs Колонка каждого элемента.
+     * @param ys Строка каждого элемента.
+     * @param height Высота макета.
+     * @param displacement Суммарное смещение элементов от исходных позиций.
+     */
+    record Packing(int[] order, int[] widths, int[] xs, int[] ys, int height, long displacement) {
+
+        boolean noWorseThan(Packing other) {
+            return height < other.height || height == other.height && displacement <= other.displacement;
+        }
+    }
+
+    /**
+     * Поиск размещения для одной сетки.
+     */
+    private static final class Search {
+
+        private final int cols;
+
+        private final List<Layout> statics;
+
+        private final Item[] items;
+
+        private final int[] resizable;
+
+        private final SplittableRandom random = new SplittableRandom(SEED);
+
+        Search(int cols, List<Layout> statics, Item[] items) {
+            this.cols = cols;
+            this.statics = statics;
+            this.items = items;
+            this.resizable = IntStream.range(0, items.length).filter(index -> items[index].resizable()).toArray();
+        }
+
+        /**
+         * Поиск до наступления {@code deadline}.
+         *
+         * @return Лучшее размещение или {@code null}, если к сроку не завершено ни одно.
+         */
+        Packing run(long deadline) {
+            int[] initial = Arrays.stream(items).mapToInt(item -> item.layout().getW()).toArray();
+            Comparator<Integer> byPosition = Comparator.comparingInt((Integer index) -> items[index].layout().getY())
+                    .thenComparingInt(index -> items[index].layout().getX());
+            Comparator<Integer> byHeight = Comparator.comparingInt((Integer index) -> -items[index].layout().getH())
+                    .thenComparingInt(index -> -initial[index]);
+            Comparator<Integer> byWidth = Comparator.comparingInt((Integer index) -> -initial[index])
+                    .thenComparingInt(index -> -items[index].layout().getH());
+            Packing best = null;
+            for (Comparator<Integer> comparator : List.of(byPosition, byHeight, byWidth)) {
+                int[] order = IntStream.range(0, items.length).boxed().sorted(comparator)
+                        .mapToInt(Integer::intValue).toArray();
+                Packing packing = place(order, initial.clone(), deadline);
+                if (packing == null) {
+                    return best;
+                }
+                if (best == null || !best.noWorseThan(packing)) {
+                    best = packing;
+                }
+            }
+            if (items.length < 2 && resizable.length == 0) {
+                return best;
+            }
+            Packing current = best;
+            while (System.nanoTime() < deadline) {
+                int[] order = current.order().clone();
+                int[] widths = current.widths().clone();
+                if (items.length < 2 || resizable.length > 0 && random.nextInt(3) == 0) {
+                    resize(widths);
+                } else {
+                    reorder(order);
+                }
+                Packing candidate = place(order, widths, deadline);
+                if (candidate == null) {
+                    break;
+                }
+                if (candidate.noWorseThan(current)) {
+                    current = candidate;
+                    if (!best.noWorseThan(current)) {
+                        best = current;
+                    }
+                }
+            }
+            return best;
+        }
+
+        /**
+         * Жадная установка элементов в порядке {@code order} в самую верхнюю свободную позицию.
+         *
+         * @return Размещение или {@code null}, если срок наступил до установки всех элементов.
+         */
+        Packing place(int[] order, int[] widths, long deadline) {
+            OccupancyGrid grid = new OccupancyGrid(cols);
+            for (Layout layout : statics) {
+                grid.occupy(layout.getX(), layout.getY(), layout.getW(), layout.getH());
+            }
+            int[] xs = new int[items.length];
+            int[] ys = new int[items.length];
+            long displacement = 0;
+            for (int index : order) {
+                if (System.nanoTime() >= deadline) {
+                    return null;
+                }
+                Layout layout = items[index].layout();
+                int w = widths[index];
+                int h = layout.getH();
+                int bestX = 0;
+                int bestY = Integer.MAX_VALUE;
+                for (int x = 0; x + w <= cols; x++) {
+                    int y = grid.compactY(x, 0, w, h);
+                    if (y < bestY || y == bestY && Math.abs(x - layout.getX()) < Math.abs(bestX - layout.getX())) {
+                        bestX = x;
+                        bestY = y;
+                    }
+                }
+                if (!OccupancyGrid.fits(bestY, h)) {
+                    return new Packing(order, widths, xs, ys, Integer.MAX_VALUE, Long.MAX_VALUE);
+                }
+                grid.occupy(bestX, bestY, w, h);
+                xs[index] = bestX;
+                ys[index] = bestY;
+                displacement += Math.abs(bestX - layout.getX()) + Math.abs(bestY - layout.getY());
+            }
+            return new Packing(order, widths, xs, ys, grid.height(), displacement);
+        }
+
+        private void reorder(int[] order) {
+            int from = random.nextInt(order.length);
+            int to = random.nextInt(order.length);
+            if (random.nextBoolean()) {
+                int moved = order[from];
+                int step = from < to ? 1 : -1;
+                for (int index = from; index != to; index += step) {
+                    order[index] = order[index + step];
+                }
+                order[to] = moved;
+            } else {
+                int swapped = order[from];
+                order[from] = order[to];
+                order[to] = swapped;
+            }
+        }
+
+        private void resize(int[] widths) {
+            int index = resizable[random.nextInt(resizable.length)];
+            widths[index] = random.nextInt(items[index].minW(), items[index].maxW() + 1);
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package webapp.resumegenerator.application.layout;
+
+import java.util.Arrays;
+
+/**
+ * Сетка занятости ячеек макета.
+ * Каждая строка хранится битовой маской из {@code long}-слов, поэтому проверка
+ * свободности прямоугольника стоит O(h) операций над масками и не зависит
+ * от количества уже размещённых элементов.
+ * <p>
+ * Размер сетки ограничен {@link GridLayoutEngine#MAX_COLUMNS} колонками и {@link GridLayoutEngine#MAX_ROWS}
+ * строками: координаты приходят от клиента, и без ограничения одна большая {@code y} заставила бы
+ * выделить память под все строки до неё.
+ */
+final class OccupancyGrid {
+
+    private final int cols;
+
+    private final int wordsPerRow;
+
+    private long[] cells;
+
+    private int height;
+
+    OccupancyGrid(int cols) {
+        if (cols < 1 || cols > GridLayoutEngine.MAX_COLUMNS) {
+            throw new IllegalArgumentException("Количество колонок должно быть от 1 до "
+                    + GridLayoutEngine.MAX_COLUMNS + ": " + cols);
+        }
+        this.cols = cols;
+        this.wordsPerRow = (cols + Long.SIZE - 1) / Long.SIZE;
+        this.cells = new long[wordsPerRow * 64];
+    }
+
+    int cols() {
+        return cols;
+    }
+
+    /**
+     * Высота занятой части сетки в строках.
+     */
+    int height() {
+        return height;
+    }
+
+    /**
+     * Проверяет, что строки с {@code y} по {@code y + h - 1} помещаются в сетку.
+     */
+    static boolean fits(int y, int h) {
+        return y >= 0 && h >= 0 && (long) y + h <= GridLayoutEngine.MAX_ROWS;
+    }
+
+    boolean isFree(int x, int y, int w, int h) {
+        return lastBlockedRow(x, y, w, h) < 0;
+    }
+
+    /**
+     * Возвращает нижнюю занятую строку внутри прямоугольника или -1, если он свободен.
+     */
+    int lastBlockedRow(int x, int y, int w, int h) {
+        for (int row = (int) Math.min((long) y + h, height) - 1; row >= y; row--) {
+            if (!isRowFree(x, row, w)) {
+                return row;
+            }
+        }
+        return -1;
+    }
+
+    boolean isRowFree(int x, int row, int w) {
+        if (row < 0) {
+            return false;
+        }
+        if (row >= height) {
+            return true;
+        }
+        int base = row * wordsPerRow;
+        int end = x + w;
+        for (int word = x / Long.SIZE; word * Long.SIZE < end; word++) {
+            if ((cells[base + word] & mask(word, x, end)) != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Занимает прямоугольник.
+     *
+     * @throws IllegalArgumentException если прямоугольник выходит за {@link GridLayoutEngine#MAX_ROWS} строк.
+     */
+    void occupy(int x, int y, int w, int h) {
+        if (!fits(y, h)) {
+            throw new IllegalArgumentException("Макет выходит за пределы " + GridLayoutEngine.MAX_ROWS
+                    + " строк: y=" + y + ", h=" + h);
+        }
+        ensureRows(y + h);
+        int end = x + w;
+        for (int row = y; row < y + h; row++) {
+            int base = row * wordsPerRow;
+            for (int word = x / Long.SIZE; word * Long.SIZE < end; word++) {
+                cells[base + word] |= mask(word, x, end);
+            }
+        }
+        height = Math.max(height, y + h);
+    }
+
+    /**
+     * Находит позицию элемента по вертикали при уплотнении.
+     * Если позиция {@code y} занята, элемент сдвигается вниз под блокирующую строку,
+     * после чего поднимается вверх, пока строка над ним свободна.
+     */
+    int compactY(int x, int y, int w, int h) {
+        int top = Math.max(0, y);
+        int blocked = lastBlockedRow(x, top, w, h);
+        while (blocked >= 0) {
+            top = blocked + 1;
+            blocked = lastBlockedRow(x, top, w, h);
+        }
+        while (top > 0 && isRowFree(x, top - 1, w)) {
+            top--;
+        }
+        return top;
+    }
+
+    private static long mask(int word, int from, int to) {
+        int start = Math.max(from - word * Long.SIZE, 0);
+        int stop = Math.min(to - word * Long.SIZE, Long.SIZE);
+        long upper = stop == Long.SIZE ? -1L : (1L << stop) - 1;
+        return upper & (-1L << start);
+    }
+
+    private void ensureRows(int rows) {
+        int required = rows * wordsPerRow;
+        if (required > cells.length) {
+            cells = Arrays.copyOf(cells, Math.max(required, cells.length * 2));
+        }
+    }
+}
@@ -0,0 +1,337 @@
+package webapp.resumegenerator.application.layout;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import webapp.resumegenerator.application.render.ContentDigest;
+import webapp.resumegenerator.domain.model.BlockElement;
+import webapp.resumegenerator.domain.model.Layout;
+import webapp.resumegenerator.domain.model.PageFormat;
+import webapp.resumegenerator.domain.model.PagedBlock;
+import webapp.resumegenerator.domain.model.PaginationResult;
+import webapp.resumegenerator.domain.model.SectionElementProps;
+
+/**
+ * Разбиение дерева блока на печатные страницы.
+ * <p>
+ * Сначала дерево раскладывается в пикселях: строка сетки занимает {@code generator.pagination.row-height},
+ * высота блока — не меньше {@code h} строк и не меньше оценки его содержимого; если содержимое
+ * выше, блоки ниже в тех же колонках сдвигаются вниз. Затем выбираются границы страниц: граница,
+ * пересекающая неделимый блок, поднимается к его верху. Неделимы блоки без дочерних блоков
+ * и секции, помещающиеся на страницу; секция с {@code break-inside: auto} или выше страницы
+ * делится между дочерними блоками. {@code break-before: page} начинает с блока новую страницу.
+ * <p>
+ * Раскладка каждого поддерева кэшируется по отпечатку входных данных, влияющих на высоту,
+ * и ширине: после изменения одного блока заново измеряются только он и его предки.
+ * <p>
+ * Координаты {@code y} и {@code h} ограничиваются {@link GridLayoutEngine#MAX_ROWS} строками,
+ * а количество страниц — {@code generator.pagination.max-pages}: дерево, которое не помещается
+ * в этот предел, не разбивается.
+ */
+@Component
+public class PaginationEngine {
+
+    private final BlockMeasurer measurer;
+
+    private final double rowHeight;
+
+    private final double pageMargin;
+
+    private final int maxPages;
+
+    private final Cache<MeasureKey, Measured> measurements;
+
+    /**
+     * Конструктор движка.
+     *
+     * @param measurer Оценка высоты содержимого блоков.
+     * @param rowHeight Высота строки сетки в CSS-пикселях.
+     * @param pageMargin Поле страницы с каждой стороны в CSS-пикселях.
+     * @param maxSize Максимальное количество раскладок поддеревьев в кэше.
+     * @param maxPages Максимальное количество страниц.
+     */
+    public PaginationEngine(BlockMeasurer measurer,
+                            @Value("${generator.pagination.row-height:30}") double rowHeight,
+                            @Value("${generator.pagination.page-margin:48}") double pageMargin,
+                            @Value("${generator.pagination.measure-cache.max-size:10000}") long maxSize,
+                            @Value("${generator.pagination.max-pages:500}") int maxPages) {
+        this.measurer = measurer;
+        this.rowHeight = rowHeight;
+        this.pageMargin = pageMargin;
+        this.maxPages = maxPages;
+        this.measurements = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .build();
+    }
+
+    /**
+     * Разбивает дерево блока на страницы.
+     *
+     * @param root Корневой блок; его дочерние блоки раскладываются по ширине страницы.
+     * @param format Формат страницы.
+     * @return Блоки каждой страницы.
+     * @throws IllegalStateException если дерево не помещается в {@code generator.pagination.max-pages} страниц.
+     */
+    public PaginationResult paginate(BlockElement root, PageFormat format) {
+        double width = format.getWidth() - 2 * pageMargin;
+        double height = format.getHeight() - 2 * pageMargin;
+        Map<BlockElement, String> digests = new IdentityHashMap<>();
+        Measured measured = measure(root, width, digests);
+        List<Box> boxes = new ArrayList<>();
+        flatten(root, measured, 0, 0, root.getId(), boxes);
+        boxes.sort(Comparator.comparingDouble(Box::top).thenComparingDouble(Box::left));
+
+        List<List<PagedBlock>> pages = new ArrayList<>();
+        List<String> overflowing = new ArrayList<>();
+        double start = 0;
+        double end = Math.max(measured.height(), 1);
+        if (end / height > maxPages) {
+            throw tooManyPages();
+        }
+        while (start < end) {
+            if (pages.size() == maxPages) {
+                throw tooManyPages();
+            }
+            double cut = pageEnd(boxes, start, height, overflowing);
+            pages.add(page(boxes, start, cut, root.getId()));
+            start = cut;
+        }
+        return new PaginationResult(format, width, height, pages, overflowing);
+    }
+
+    private IllegalStateException tooManyPages() {
+        return new IllegalStateException("Блок не помещается в " + maxPages + " страниц");
+    }
+
+    /**
+     * Граница страницы, начинающейся с {@code start}: не ниже верха блоков с разрывом перед ними
+     * и не внутри неделимых блоков, которые можно перенести на следующую страницу.
+     */
+    private static double pageEnd(List<Box> boxes, double start, double pageHeight, List<String> overflowing) {
+        double cut = start + pageHeight;
+        for (Box box : boxes) {
+            if (box.breakBefore() && box.top() > start && box.top() < cut) {
+                cut = box.top();
+            }
+        }
+        boolean moved = true;
+        while (moved) {
+            moved = false;
+            for (Box box : boxes) {
+                if (box.keepTogether() && box.top() > start && box.top() < cut && box.bottom() > cut
+                        && box.height() <= pageHeight) {
+                    cut = box.top();
+                    moved = true;
+                }
+            }
+        }
+        for (Box box : boxes) {
+            if (box.keepTogether() && box.top() < cut && box.bottom() > cut && box.height() > pageHeight
+                    && !overflowing.contains(box.key())) {
+                overflowing.add(box.key());
+            }
+        }
+        return cut;
+    }
+
+    private static List<PagedBlock> page(List<Box> boxes, double start, double cut, UUID rootId) {
+        List<PagedBlock> page = new ArrayList<>();
+        for (Box box : boxes) {
+            if (box.top() < cut && box.bottom() > start) {
+                double top = Math.max(box.top(), start);
+                double bottom = Math.min(box.bottom(), cut);
+                page.add(PagedBlock.builder()
+                        .blockId(box.block().getId())
+                        .key(box.key())
+                        .parentId(rootId.equals(box.parentId()) ? null : box.parentId())
+                        .left(box.left())
+                        .top(top - start)
+                        .width(box.width())
+                        .height(bottom - top)
+                        .continued(box.top() < start)
+                        .continues(box.bottom() > cut)
+                        .build());
+            }
+        }
+        return page;
+    }
+
+    private void flatten(BlockElement block, Measured measured, double left, double top, UUID parentId,
+                         List<Box> boxes) {
+        for (Placement placement : measured.placements()) {
+            BlockElement child = block.getChildren().get(placement.index());
+            double childLeft = left + placement.left();
+            double childTop = top + placement.top();
+            boolean container = !placement.measured().placements().isEmpty();
+            boolean keepTogether = !measurer.allowsBreakInside(child);
+            Layout layout = child.getLayout();
+            String key = layout != null && layout.getI() != null ? layout.getI() : String.valueOf(child.getId());
+            boxes.add(new Box(child, key, parentId, childLeft, childTop, placement.width(), placement.height(),
+                    keepTogether, measurer.breaksBefore(child)));
+            if (container) {
+                flatten(child, placement.measured(), childLeft, childTop, child.getId(), boxes);
+            }
+        }
+    }
+
+    /**
+     * Раскладка поддерева по ширине из кэша или заново.
+     */
+    Measured measure(BlockElement block, double width, Map<BlockElement, String> digests) {
+        MeasureKey key = new MeasureKey(digest(block, digests), Math.round(width * 100));
+        Measured cached = measurements.getIfPresent(key);
+        if (cached == null) {
+            cached = layOut(block, width, digests);
+            measurements.put(key, cached);
+        }
+        return cached;
+    }
+
+    /**
+     * Раскладка дочерних блоков по сетке блока: колонки с учётом уже занятой высоты,
+     * как при вертикальном уплотнении, но в пикселях.
+     */
+    private Measured layOut(BlockElement block, double width, Map<BlockElement, String> digests) {
+        double header = measurer.measure(block, width);
+        List<BlockElement> children = block.getChildren();
+        if (children == null || children.isEmpty()) {
+            return new Measured(header, List.of());
+        }
+        int columns = block.getColumns() != null && block.getColumns() > 0
+                ? block.getColumns() : GridLayoutEngine.DEFAULT_COLUMNS;
+        double columnWidth = width / columns;
+        double[] skyline = new double[columns];
+        List<Integer> order = new ArrayList<>();
+        for (int index = 0; index < children.size(); index++) {
+            if (children.get(index) != null) {
+                order.add(index);
+            }
+        }
+        order.sort(Comparator.comparingInt((Integer index) -> row(children.get(index)))
+                .thenComparingInt(index -> children.get(index).getLayout() == null
+                        ? 0 : children.get(index).getLayout().getX()));
+        List<Placement> placements = new ArrayList<>(order.size());
+        for (int index : order) {
+            BlockElement child = children.get(index);
+            Layout layout = child.getLayout();
+            int w = layout == null ? columns : Math.max(1, Math.min(columns, layout.getW()));
+            int x = layout == null ? 0 : Math.max(0, Math.min(columns - w, layout.getX()));
+            double top = layout == null ? 0 : rows(layout.getY()) * rowHeight;
+            for (int column = x; column < x + w; column++) {
+                top = Math.max(top, skyline[column]);
+            }
+            if (layout == null) {
+                top = Math.max(top, Arrays.stream(skyline).max().orElse(0));
+            }
+            double childWidth = w * columnWidth;
+            Measured measured = measure(child, childWidth, digests);
+            double height = Math.max(layout == null ? 0 : rows(layout.getH()) * rowHeight, measured.height());
+            for (int column = x; column < x + w; column++) {
+                skyline[column] = top + height;
+            }
+            placements.add(new Placement(index, x * columnWidth, header + top, childWidth, height, measured));
+        }
+        return new Measured(header + Arrays.stream(skyline).max().orElse(0), List.copyOf(placements));
+    }
+
+    private static int rows(int value) {
+        return Math.max(0, Math.min(value, GridLayoutEngine.MAX_ROWS));
+    }
+
+    private static int row(BlockElement block) {
+        return block.getLayout() == null ? Integer.MAX_VALUE : block.getLayout().getY();
+    }
+
+    /**
+     * Отпечаток всего, что влияет на высоту поддерева: текст и стили блока, сетка,
+     * положения и отпечатки дочерних блоков.
+     */
+    private static String digest(BlockElement block, Map<BlockElement, String> digests) {
+        String known = digests.get(block);
+        if (known != null) {
+            return known;
+        }
+        StringBuilder content = new StringBuilder()
+                .append(block.getTitle()).append('\u0000')
+                .append(block.getColumns()).append('\u0000');
+        SectionElementProps props = block.getProps();
+        if (props != null) {
+            content.append(props.getText()).append('\u0000')
+                    .append(sorted(props.getTextStyle())).append('\u0000')
+                    .append(sorted(props.getWrapperStyle())).append('\u0000')
+                    .append(sorted(props.getStyle())).append('\u0000');
+        }
+        if (block.getChildren() != null) {
+            for (BlockElement child : block.getChildren()) {
+                if (child == null) {
+                    content.append("null\u0000");
+                    continue;
+                }
+                Layout layout = child.getLayout();
+                if (layout != null) {
+                    content.append(layout.getX()).append(',').append(layout.getY()).append(',')
+                            .append(layout.getW()).append(',').append(layout.getH());
+                }
+                content.append(':').append(digest(child, digests)).append('\u0000');
+            }
+        }
+        String digest = ContentDigest.of(content.toString());
+        digests.put(block, digest);
+        return digest;
+    }
+
+    private static Map<String, String> sorted(Map<String, String> style) {
+        return style == null ? null : new TreeMap<>(style);
+    }
+
+    /**
+     * Ключ кэша раскладок.
+     *
+     * @param digest Отпечаток поддерева.
+     * @param width Ширина в сотых долях пикселя.
+     */
+    record MeasureKey(String digest, long width) {
+    }
+
+    /**
+     * Раскладка поддерева.
+     *
+     * @param height Высота блока с дочерними блоками.
+     * @param placements Положения дочерних блоков относительно блока.
+     */
+    record Measured(double height, List<Placement> placements) {
+    }
+
+    /**
+     * Положение дочернего блока.
+     *
+     * @param index Индекс дочернего блока в списке {@code children}.
+     * @param left Отступ слева.
+     * @param top Отступ сверху.
+     * @param width Ширина.
+     * @param height Высота.
+     * @param measured Раскладка дочернего блока.
+     */
+    record Placement(int index, double left, double top, double width, double height, Measured measured) {
+    }
+
+    /**
+     * Блок в абсолютных координатах дерева.
+     */
+    private record Box(BlockElement block, String key, UUID parentId, double left, double top, double width,
+                       double height, boolean keepTogether, boolean breakBefore) {
+
+        double bottom() {
+            return top + height;
+        }
+    }
+}
@@ -0,0 +1,279 @@
+package webapp.resumegenerator.application.migration;
+
+import com.mongodb.DBRef;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoCursor;
+import com.mongodb.client.model.BulkWriteOptions;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.ReplaceOneModel;
+import com.mongodb.client.model.ReplaceOptions;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Миграция документов {@code block_elements} со ссылок {@code @DBRef} на встроенное хранение.
+ * Для каждого блока, содержащего ссылки, подтягиваются документы из {@code section_element_props},
+ * {@code layouts} и дочерние блоки, после чего блок перезаписывается с встроенным деревом.
+ * Ссылки разрешаются пакетно запросами {@code $in} по уровням дерева.
+ * Исходные коллекции {@code section_element_props} и {@code layouts} не изменяются.
+ * <p>
+ * Отдельные документы встроенных дочерних блоков миграция не удаляет. Для каждого перенесённого
+ * корня до его перезаписи в {@code block_embedding_log} записывается, какие блоки встроены в его
+ * дерево и какие ссылки отброшены как циклические; удаление по этому журналу выполняет отдельный
+ * шаг {@link EmbeddedBlockCleanup}. Так прерванный запуск не теряет сведений о встроенных блоках:
+ * журнал пишется по пакетам, а повторный запуск переносит оставшиеся корни.
+ * Запускается при {@code generator.migration.embed-block-trees=true}; повторный запуск безопасен,
+ * так как уже перенесённые документы ссылок не содержат.
+ */
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE - 1)
+@ConditionalOnProperty(name = "generator.migration.embed-block-trees", havingValue = "true")
+public class BlockElementEmbeddingMigration implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(BlockElementEmbeddingMigration.class);
+
+    static final String BLOCKS = "block_elements";
+
+    static final String PROPS = "section_element_props";
+
+    static final String LAYOUTS = "layouts";
+
+    static final String EMBEDDING_LOG = "block_embedding_log";
+
+    private final MongoTemplate mongoTemplate;
+
+    private final int batchSize;
+
+    /**
+     * Конструктор для внедрения зависимостей.
+     *
+     * @param mongoTemplate Экземпляр MongoTemplate для взаимодействия с БД.
+     * @param batchSize Количество блоков, обрабатываемых за один пакет.
+     */
+    @Autowired
+    public BlockElementEmbeddingMigration(MongoTemplate mongoTemplate,
+                                          @Value("${generator.migration.batch-size:500}") int batchSize) {
+        this.mongoTemplate = mongoTemplate;
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        MongoCollection<Document> blocks = mongoTemplate.getCollection(BLOCKS);
+        int migrated = 0;
+        List<Document> batch = new ArrayList<>(batchSize);
+        try (MongoCursor<Document> cursor = blocks.find(withReferences()).batchSize(batchSize).iterator()) {
+            while (cursor.hasNext()) {
+                batch.add(cursor.next());
+                if (batch.size() == batchSize) {
+                    migrated += migrateBatch(blocks, batch);
+                    batch.clear();
+                }
+            }
+        }
+        if (!batch.isEmpty()) {
+            migrated += migrateBatch(blocks, batch);
+        }
+        log.info("Перенесено на встроенное хранение блоков: {}", migrated);
+    }
+
+    /**
+     * Условие отбора блоков, которые ещё содержат ссылки {@code @DBRef}.
+     *
+     * @return Фильтр по коллекции {@code block_elements}.
+     */
+    static Bson withReferences() {
+        return Filters.or(
+                Filters.exists("props.$ref"),
+                Filters.exists("layout.$ref"),
+                Filters.exists("children.$ref"));
+    }
+
+    private int migrateBatch(MongoCollection<Document> blocks, List<Document> batch) {
+        Map<Object, Document> resolved = new HashMap<>();
+        for (Document document : batch) {
+            resolved.put(document.get("_id"), document);
+        }
+        List<Document> level = batch;
+        while (!level.isEmpty()) {
+            Map<String, Set<Object>> missing = new HashMap<>();
+            for (Document document : level) {
+                collectReferences(document, resolved, missing);
+            }
+            List<Document> loadedBlocks = new ArrayList<>();
+            missing.forEach((collection, ids) -> {
+                for (Document loaded : mongoTemplate.getCollection(collection).find(Filters.in("_id", ids))) {
+                    resolved.put(loaded.get("_id"), loaded);
+                    if (BLOCKS.equals(collection)) {
+                        loadedBlocks.add(loaded);
+                    }
+                }
+            });
+            level = loadedBlocks;
+        }
+        List<ReplaceOneModel<Document>> writes = new ArrayList<>(batch.size());
+        List<ReplaceOneModel<Document>> entries = new ArrayList<>();
+        for (Document document : batch) {
+            EmbeddedChildren embedding = new EmbeddedChildren();
+            Document embedded = embed(document, resolved, new HashSet<>(), embedding);
+            writes.add(new ReplaceOneModel<>(Filters.eq("_id", document.get("_id")), embedded));
+            if (!embedding.isEmpty()) {
+                entries.add(new ReplaceOneModel<>(Filters.eq("_id", document.get("_id")),
+                        embedding.toLogEntry(document.get("_id")), new ReplaceOptions().upsert(true)));
+            }
+        }
+        if (!entries.isEmpty()) {
+            mongoTemplate.getCollection(EMBEDDING_LOG).bulkWrite(entries, new BulkWriteOptions().ordered(false));
+        }
+        blocks.bulkWrite(writes, new BulkWriteOptions().ordered(false));
+        return writes.size();
+    }
+
+    private static void collectReferences(Document document, Map<Object, Document> resolved,
+                                          Map<String, Set<Object>> missing) {
+        List<Object> references = new ArrayList<>();
+        references.add(document.get("props"));
+        references.add(document.get("layout"));
+        if (document.get("children") instanceof Collection<?> children) {
+            references.addAll(children);
+        }
+        for (Object reference : references) {
+            Reference ref = Reference.of(reference);
+            if (ref != null && !resolved.containsKey(ref.id())) {
+                missing.computeIfAbsent(ref.collection(), c -> new HashSet<>()).add(ref.id());
+            }
+        }
+    }
+
+    /**
+     * Строит копию документа блока, в которой все ссылки заменены встроенными документами.
+     * Ссылки на отсутствующие документы удаляются, циклические ссылки на дочерние блоки отбрасываются.
+     *
+     * @param document Документ блока.
+     * @param resolved Загруженные документы, на которые могут указывать ссылки.
+     * @param path Идентификаторы блоков на пути от корня, для защиты от циклов.
+     * @param embedding Учёт встроенных по ссылке дочерних блоков.
+     * @return Документ блока со встроенным деревом.
+     */
+    static Document embed(Document document, Map<Object, Document> resolved, Set<Object> path,
+                          EmbeddedChildren embedding) {
+        Object id = document.get("_id");
+        path.add(id);
+        Document result = new Document(document);
+        result.put("props", resolveEmbedded(document.get("props"), resolved));
+        result.put("layout", resolveEmbedded(document.get("layout"), resolved));
+        if (document.get("children") instanceof Collection<?> children) {
+            List<Document> embeddedChildren = new ArrayList<>(children.size());
+            for (Object child : children) {
+                Document childDocument = child instanceof Document inline && Reference.of(inline) == null
+                        ? inline
+                        : lookup(child, resolved);
+                if (childDocument == null) {
+                    continue;
+                }
+                if (path.contains(childDocument.get("_id"))) {
+                    log.warn("Циклическая ссылка на блок {} в блоке {} отброшена", childDocument.get("_id"), id);
+                    embedding.cyclic.add(childDocument.get("_id"));
+                    continue;
+                }
+                if (childDocument != child) {
+                    embedding.embedded.add(childDocument.get("_id"));
+                }
+                embeddedChildren.add(embed(childDocument, resolved, path, embedding));
+            }
+            result.put("children", embeddedChildren);
+        }
+        path.remove(id);
+        if (result.get("props") == null) {
+            result.remove("props");
+        }
+        if (result.get("layout") == null) {
+            result.remove("layout");
+        }
+        return result;
+    }
+
+    private static Object resolveEmbedded(Object value, Map<Object, Document> resolved) {
+        return Reference.of(value) == null ? value : lookup(value, resolved);
+    }
+
+    private static Document lookup(Object value, Map<Object, Document> resolved) {
+        Reference ref = Reference.of(value);
+        return ref == null ? null : resolved.get(ref.id());
+    }
+
+    /**
+     * Идентификаторы дочерних блоков, встроенных в дерево по ссылке, и блоков, ссылки на которые
+     * отброшены как циклические.
+     */
+    static final class EmbeddedChildren {
+
+        private final Set<Object> embedded = new HashSet<>();
+
+        private final Set<Object> cyclic = new HashSet<>();
+
+        /**
+         * Блоки, отдельные документы которых можно удалить.
+         *
+         * @return Встроенные блоки, кроме оставшихся корнями из-за циклов.
+         */
+        Set<Object> removable() {
+            Set<Object> removable = new HashSet<>(embedded);
+            removable.removeAll(cyclic);
+            return removable;
+        }
+
+        boolean isEmpty() {
+            return embedded.isEmpty() && cyclic.isEmpty();
+        }
+
+        /**
+         * Запись журнала {@code block_embedding_log} для перенесённого корня.
+         *
+         * @param rootId Идентификатор корня.
+         * @return Документ журнала.
+         */
+        Document toLogEntry(Object rootId) {
+            return new Document("_id", rootId)
+                    .append("embedded", new ArrayList<>(embedded))
+                    .append("cyclic", new ArrayList<>(cyclic));
+        }
+    }
+
+    /**
+     * Ссылка {@code DBRef}, прочитанная из документа.
+     *
+     * @param collection Коллекция, на которую указывает ссылка.
+     * @param id Идентификатор документа.
+     */
+    private record Reference(String collection, Object id) {
+
+        static Reference of(Object value) {
+            if (value instanceof DBRef dbRef) {
+                return new Reference(dbRef.getCollectionName(), dbRef.getId());
+            }
+            if (value instanceof Document document && document.containsKey("$ref")) {
+                return new Reference(document.getString("$ref"), document.get("$id"));
+            }
+            return null;
+        }
+    }
+}
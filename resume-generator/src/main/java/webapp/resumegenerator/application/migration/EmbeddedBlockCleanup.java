@@ -0,0 +1,99 @@
+package webapp.resumegenerator.application.migration;
+
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.Projections;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Удаление отдельных документов {@code block_elements} для дочерних блоков, встроенных в деревья
+ * корней миграцией {@link BlockElementEmbeddingMigration}.
+ * <p>
+ * После переноса единственной копией дочернего блока считается встроенная в дерево корня:
+ * приложение сохраняет дерево одним документом и отдельные документы дочерних блоков не обновляет.
+ * Удаляемые блоки берутся из журнала {@code block_embedding_log}: встроенные в какое-либо дерево,
+ * кроме блоков, ссылка на которые отброшена как циклическая, — они остаются корнями. Шаг пропускается,
+ * пока в {@code block_elements} остаются документы со ссылками, то есть перенос не завершён.
+ * Журнал удаляется после удаления всех блоков; прерванный запуск можно повторить.
+ * <p>
+ * Влияние на API: после удаления запросы к дочерним блокам по их прежним идентификаторам
+ * ({@code /blocks/{id}}, задания рендеринга с {@code blockId}, комнаты совместного
+ * редактирования раскладки) возвращают 404. Дочерний блок доступен только в составе дерева
+ * своего корня, поэтому клиенты, хранящие идентификаторы дочерних блоков, должны перейти
+ * на идентификатор корня до включения шага.
+ * Запускается при {@code generator.migration.delete-embedded-blocks=true}.
+ */
+@Component
+@ConditionalOnProperty(name = "generator.migration.delete-embedded-blocks", havingValue = "true")
+public class EmbeddedBlockCleanup implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(EmbeddedBlockCleanup.class);
+
+    private final MongoTemplate mongoTemplate;
+
+    private final int batchSize;
+
+    /**
+     * Конструктор для внедрения зависимостей.
+     *
+     * @param mongoTemplate Экземпляр MongoTemplate для взаимодействия с БД.
+     * @param batchSize Количество блоков, удаляемых за один запрос.
+     */
+    @Autowired
+    public EmbeddedBlockCleanup(MongoTemplate mongoTemplate,
+                                @Value("${generator.migration.batch-size:500}") int batchSize) {
+        this.mongoTemplate = mongoTemplate;
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        MongoCollection<Document> blocks = mongoTemplate.getCollection(BlockElementEmbeddingMigration.BLOCKS);
+        if (blocks.find(BlockElementEmbeddingMigration.withReferences())
+                .projection(Projections.include("_id")).first() != null) {
+            log.warn("Перенос блоков на встроенное хранение не завершён, отдельные документы дочерних блоков "
+                    + "не удалены");
+            return;
+        }
+        MongoCollection<Document> embeddingLog =
+                mongoTemplate.getCollection(BlockElementEmbeddingMigration.EMBEDDING_LOG);
+        List<Object> ids = new ArrayList<>(removable(embeddingLog.find()));
+        long removed = 0;
+        for (int from = 0; from < ids.size(); from += batchSize) {
+            removed += blocks.deleteMany(Filters.in("_id", ids.subList(from, Math.min(ids.size(), from + batchSize))))
+                    .getDeletedCount();
+        }
+        embeddingLog.drop();
+        log.info("Удалено отдельных документов дочерних блоков: {}", removed);
+    }
+
+    /**
+     * Блоки, встроенные в деревья корней, кроме оставшихся корнями из-за циклических ссылок.
+     *
+     * @param embeddingLog Журнал перенесённых корней.
+     * @return Идентификаторы блоков, отдельные документы которых можно удалить.
+     */
+    static Set<Object> removable(Iterable<Document> embeddingLog) {
+        Set<Object> embedded = new HashSet<>();
+        Set<Object> cyclic = new HashSet<>();
+        for (Document entry : embeddingLog) {
+            embedded.addAll(entry.getList("embedded", Object.class, List.of()));
+            cyclic.addAll(entry.getList("cyclic", Object.class, List.of()));
+        }
+        embedded.removeAll(cyclic);
+        return embedded;
+    }
+}
@@ -0,0 +1,84 @@
+package webapp.resumegenerator.application.migration;
+
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoCursor;
+import com.mongodb.client.model.BulkWriteOptions;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.ReplaceOneModel;
+import java.util.ArrayList;
+import java.util.List;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+import webapp.resumegenerator.domain.repository.StyleSetStore;
+
+/**
+ * Перевод карт стилей в уже сохранённых блоках на общие наборы {@code style_sets}.
+ * Документы блоков читаются пакетами, карты стилей всего дерева заменяются ссылками
+ * через {@link StyleSetStore}, изменённые документы перезаписываются одним {@code bulkWrite} на пакет.
+ * Запускается при {@code generator.migration.extract-style-sets=true}; повторный запуск безопасен,
+ * так как в перенесённых документах карт стилей не остаётся.
+ */
+@Component
+@ConditionalOnProperty(name = "generator.migration.extract-style-sets", havingValue = "true")
+public class StyleSetExtractionMigration implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(StyleSetExtractionMigration.class);
+
+    private final MongoTemplate mongoTemplate;
+
+    private final StyleSetStore styleSetStore;
+
+    private final int batchSize;
+
+    /**
+     * Конструктор для внедрения зависимостей.
+     *
+     * @param mongoTemplate Экземпляр MongoTemplate для взаимодействия с БД.
+     * @param styleSetStore Хранилище наборов стилей.
+     * @param batchSize Количество блоков, обрабатываемых за один пакет.
+     */
+    @Autowired
+    public StyleSetExtractionMigration(MongoTemplate mongoTemplate, StyleSetStore styleSetStore,
+                                       @Value("${generator.migration.batch-size:500}") int batchSize) {
+        this.mongoTemplate = mongoTemplate;
+        this.styleSetStore = styleSetStore;
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        MongoCollection<Document> blocks = mongoTemplate.getCollection(BlockElementEmbeddingMigration.BLOCKS);
+        int migrated = 0;
+        List<ReplaceOneModel<Document>> writes = new ArrayList<>(batchSize);
+        try (MongoCursor<Document> cursor = blocks.find().batchSize(batchSize).iterator()) {
+            while (cursor.hasNext()) {
+                Document block = cursor.next();
+                if (styleSetStore.extract(block)) {
+                    writes.add(new ReplaceOneModel<>(Filters.eq("_id", block.get("_id")), block));
+                }
+                if (writes.size() == batchSize) {
+                    migrated += write(blocks, writes);
+                }
+            }
+        }
+        if (!writes.isEmpty()) {
+            migrated += write(blocks, writes);
+        }
+        log.info("Переведено на общие наборы стилей блоков: {}", migrated);
+    }
+
+    private static int write(MongoCollection<Document> blocks, List<ReplaceOneModel<Document>> writes) {
+        blocks.bulkWrite(writes, new BulkWriteOptions().ordered(false));
+        int written = writes.size();
+        writes.clear();
+        return written;
+    }
+}
@@ -0,0 +1,96 @@
+package webapp.resumegenerator.application.migration;
+
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoCursor;
+import com.mongodb.client.model.BulkWriteOptions;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.Projections;
+import com.mongodb.client.model.UpdateOneModel;
+import com.mongodb.client.model.Updates;
+import java.util.ArrayList;
+import java.util.List;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+import webapp.resumegenerator.domain.repository.TemplateNameIndex;
+
+/**
+ * Заполнение поисковых полей имени у шаблонов, сохранённых до их появления.
+ * Обрабатываются только документы без поля {@code nameLower}, поэтому повторный запуск безопасен.
+ * Запускается при {@code generator.migration.backfill-template-names=true}.
+ */
+@Component
+@ConditionalOnProperty(name = "generator.migration.backfill-template-names", havingValue = "true")
+public class TemplateNameIndexBackfill implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(TemplateNameIndexBackfill.class);
+
+    static final String TEMPLATES = "templates";
+
+    private final MongoTemplate mongoTemplate;
+
+    private final int batchSize;
+
+    /**
+     * Конструктор для внедрения зависимостей.
+     *
+     * @param mongoTemplate Экземпляр MongoTemplate для взаимодействия с БД.
+     * @param batchSize Количество шаблонов, обновляемых за один пакет.
+     */
+    @Autowired
+    public TemplateNameIndexBackfill(MongoTemplate mongoTemplate,
+                                     @Value("${generator.migration.batch-size:500}") int batchSize) {
+        this.mongoTemplate = mongoTemplate;
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        MongoCollection<Document> templates = mongoTemplate.getCollection(TEMPLATES);
+        List<UpdateOneModel<Document>> batch = new ArrayList<>(batchSize);
+        int updated = 0;
+        try (MongoCursor<Document> cursor = templates.find(Filters.exists(TemplateNameIndex.NAME_LOWER, false))
+                .projection(Projections.include("name"))
+                .batchSize(batchSize)
+                .iterator()) {
+            while (cursor.hasNext()) {
+                batch.add(toUpdate(cursor.next()));
+                if (batch.size() == batchSize) {
+                    updated += flush(templates, batch);
+                }
+            }
+        }
+        updated += flush(templates, batch);
+        log.info("Заполнены поисковые поля имени у шаблонов: {}", updated);
+    }
+
+    /**
+     * Обновление поисковых полей для одного документа шаблона.
+     *
+     * @param document Документ шаблона с полем {@code name}.
+     * @return Операция обновления.
+     */
+    static UpdateOneModel<Document> toUpdate(Document document) {
+        String normalized = TemplateNameIndex.normalize(document.getString("name"));
+        return new UpdateOneModel<>(Filters.eq("_id", document.get("_id")), Updates.combine(
+                Updates.set(TemplateNameIndex.NAME_LOWER, normalized),
+                Updates.set(TemplateNameIndex.NAME_GRAMS, TemplateNameIndex.grams(normalized))));
+    }
+
+    private static int flush(MongoCollection<Document> templates, List<UpdateOneModel<Document>> batch) {
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        templates.bulkWrite(batch, new BulkWriteOptions().ordered(false));
+        int size = batch.size();
+        batch.clear();
+        return size;
+    }
+}
@@ -0,0 +1,117 @@
+package webapp.resumegenerator.application.migration;
+
+import com.mongodb.client.model.Accumulators;
+import com.mongodb.client.model.Aggregates;
+import com.mongodb.client.model.Filters;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+import webapp.resumegenerator.domain.model.Template;
+import webapp.resumegenerator.domain.model.TemplateVersion;
+import webapp.resumegenerator.domain.repository.TemplateRepository;
+import webapp.resumegenerator.domain.service.TemplateVersionService;
+
+/**
+ * Перенос версий шаблонов, сохранённых до появления {@code template_versions} отдельными
+ * документами {@code templates} с одинаковым именем, в историю версий.
+ * <p>
+ * Шаблоном остаётся документ с наибольшей версией, остальные по возрастанию версии записываются
+ * в его историю через {@link TemplateVersionService} и удаляются из {@code templates}. Группы
+ * с повторяющимися или пустыми номерами версий считаются разными шаблонами с одним именем и
+ * не изменяются. Копия, которую нельзя записать, потому что история уже содержит более новую
+ * версию, остаётся на месте. Запускается при {@code generator.migration.fold-template-versions=true};
+ * повторный запуск безопасен.
+ */
+@Component
+@ConditionalOnProperty(name = "generator.migration.fold-template-versions", havingValue = "true")
+public class TemplateVersionMigration implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(TemplateVersionMigration.class);
+
+    private final MongoTemplate mongoTemplate;
+
+    private final TemplateRepository templateRepository;
+
+    private final TemplateVersionService templateVersionService;
+
+    /**
+     * Конструктор для внедрения зависимостей.
+     *
+     * @param mongoTemplate Экземпляр MongoTemplate для взаимодействия с БД.
+     * @param templateRepository Репозиторий шаблонов.
+     * @param templateVersionService Сервис истории версий шаблонов.
+     */
+    @Autowired
+    public TemplateVersionMigration(MongoTemplate mongoTemplate, TemplateRepository templateRepository,
+                                    TemplateVersionService templateVersionService) {
+        this.mongoTemplate = mongoTemplate;
+        this.templateRepository = templateRepository;
+        this.templateVersionService = templateVersionService;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        List<String> names = new ArrayList<>();
+        for (Document group : mongoTemplate.getCollection(TemplateNameIndexBackfill.TEMPLATES).aggregate(List.of(
+                        Aggregates.group("$name", Accumulators.sum("count", 1)),
+                        Aggregates.match(Filters.gt("count", 1))))
+                .allowDiskUse(true)) {
+            if (group.get("_id") instanceof String name) {
+                names.add(name);
+            }
+        }
+        int folded = 0;
+        for (String name : names) {
+            folded += fold(name);
+        }
+        log.info("Перенесено в историю версий копий шаблонов: {}", folded);
+    }
+
+    /**
+     * Переносит копии шаблона с указанным именем в историю версий.
+     *
+     * @param name Имя шаблона.
+     * @return Количество перенесённых и удалённых копий.
+     */
+    int fold(String name) {
+        List<Template> copies = templateRepository.findByNameOrderByVersionDesc(name);
+        if (copies.size() < 2) {
+            return 0;
+        }
+        if (copies.stream().anyMatch(copy -> copy.getVersion() == null)
+                || copies.stream().map(Template::getVersion).distinct().count() < copies.size()) {
+            log.warn("Шаблоны с именем {} не являются версиями одного шаблона и не перенесены", name);
+            return 0;
+        }
+        Template current = copies.get(0);
+        int folded = 0;
+        for (int index = copies.size() - 1; index > 0; index--) {
+            Template copy = copies.get(index);
+            TemplateVersion recorded = templateVersionService.recordVersion(Template.builder()
+                    .id(current.getId())
+                    .name(copy.getName())
+                    .description(copy.getDescription())
+                    .content(copy.getContent())
+                    .date(copy.getDate())
+                    .version(copy.getVersion())
+                    .build());
+            if (Objects.equals(recorded.getVersion(), copy.getVersion())) {
+                templateRepository.deleteById(copy.getId());
+                folded++;
+            } else {
+                log.warn("Версия {} шаблона {} не перенесена: история уже содержит версию {}",
+                        copy.getVersion(), current.getId(), recorded.getVersion());
+            }
+        }
+        return folded;
+    }
+}
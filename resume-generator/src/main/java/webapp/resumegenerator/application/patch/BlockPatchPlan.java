@@ -0,0 +1,14 @@
+package webapp.resumegenerator.application.patch;
+
+import java.util.List;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Update;
+
+/**
+ * Частичное изменение блока в виде одной операции MongoDB.
+ *
+ * @param conditions Условия, которым должен удовлетворять документ, чтобы изменение было применено.
+ * @param update Изменяемые поля документа.
+ */
+public record BlockPatchPlan(List<Criteria> conditions, Update update) {
+}
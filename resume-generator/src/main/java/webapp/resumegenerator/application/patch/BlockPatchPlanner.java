@@ -0,0 +1,320 @@
+package webapp.resumegenerator.application.patch;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.springframework.data.mongodb.core.convert.MongoConverter;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+import webapp.resumegenerator.application.layout.GridLayoutEngine;
+import webapp.resumegenerator.domain.model.BlockElement;
+import webapp.resumegenerator.domain.model.Layout;
+import webapp.resumegenerator.domain.model.LayoutDelta;
+import webapp.resumegenerator.domain.repository.RevisionedWrites;
+
+/**
+ * Перевод частичных изменений дерева блока в одну операцию обновления MongoDB.
+ * <p>
+ * JSON Patch (RFC 6902) принимается для полей раскладки на любой глубине дерева
+ * ({@code /children/0/children/2/layout/x}), раскладки целиком и простых полей блока.
+ * Операции {@code add} и {@code replace} становятся {@code $set}, {@code remove} — {@code $unset},
+ * а {@code test} и требование существования цели у {@code replace}/{@code remove} — условиями запроса,
+ * поэтому патч применяется атомарно или не применяется вовсе. {@code add} требует существования
+ * родителя цели: {@code $set} создал бы недостающие объекты, а индекс за концом {@code children}
+ * дополнил бы массив элементами {@code null}. Вставка элементов в {@code children} не поддерживается,
+ * индексы в пути должны указывать на существующие дочерние блоки. {@code test} по пути {@code /revision}
+ * проверяет ревизию блока. Настройки ({@code props}) частично не изменяются: их карты стилей
+ * хранятся общими наборами и пишутся только вместе с блоком.
+ * <p>
+ * Перемещения по ключу {@link Layout#getI()} переводятся в {@code $set} координат и размеров
+ * найденных элементов с условием, что по вычисленному пути всё ещё лежит тот же элемент.
+ * Координаты и размеры проверяются: отсутствующее в запросе поле читается как {@code 0},
+ * и без проверки элемент схлопнулся бы в точку.
+ */
+@Component
+public class BlockPatchPlanner {
+
+    /**
+     * Тип содержимого JSON Patch.
+     */
+    public static final String JSON_PATCH = "application/json-patch+json";
+
+    private static final String CHILDREN = "children";
+
+    private static final String LAYOUT = "layout";
+
+    private static final String REVISION_POINTER = "/" + RevisionedWrites.REVISION;
+
+    private static final Map<String, Class<?>> BLOCK_FIELDS = Map.of(
+            "name", String.class,
+            "title", String.class,
+            "type", String.class,
+            "source", String.class,
+            "columns", Integer.class);
+
+    private static final Map<String, Class<?>> LAYOUT_FIELDS = Map.ofEntries(
+            Map.entry("i", String.class),
+            Map.entry("x", Integer.class),
+            Map.entry("y", Integer.class),
+            Map.entry("w", Integer.class),
+            Map.entry("h", Integer.class),
+            Map.entry("minW", Integer.class),
+            Map.entry("maxW", Integer.class),
+            Map.entry("minH", Integer.class),
+            Map.entry("maxH", Integer.class),
+            Map.entry("moved", Boolean.class),
+            Map.entry("isStatic", Boolean.class),
+            Map.entry("isDraggable", Boolean.class),
+            Map.entry("isResizable", Boolean.class),
+            Map.entry("resizeHandles", List.class),
+            Map.entry("isBounded", Boolean.class));
+
+    /**
+     * Поля, без которых блок или элемент раскладки не имеет смысла; удалять их нельзя.
+     */
+    private static final Set<String> REQUIRED_FIELDS = Set.of("name", "i", "x", "y", "w", "h");
+
+    private final ObjectMapper objectMapper;
+
+    private final MongoConverter mongoConverter;
+
+    /**
+     * Конструктор для внедрения зависимостей.
+     *
+     * @param objectMapper Преобразование значений из JSON.
+     * @param mongoConverter Конвертер MongoDB: имена полей документа и преобразование значений.
+     */
+    public BlockPatchPlanner(ObjectMapper objectMapper, MongoConverter mongoConverter) {
+        this.objectMapper = objectMapper;
+        this.mongoConverter = mongoConverter;
+    }
+
+    /**
+     * Условия и обновление, равносильные применению JSON Patch к документу блока.
+     *
+     * @param patch Массив операций JSON Patch.
+     * @return План обновления.
+     * @throws InvalidPatchException если патч некорректен или затрагивает неизменяемые поля.
+     */
+    public BlockPatchPlan fromJsonPatch(JsonNode patch) {
+        if (patch == null || !patch.isArray() || patch.isEmpty()) {
+            throw new InvalidPatchException("JSON Patch должен быть непустым массивом операций");
+        }
+        List<Criteria> conditions = new ArrayList<>();
+        Update update = new Update();
+        List<String> written = new ArrayList<>();
+        for (JsonNode operation : patch) {
+            String op = text(operation, "op");
+            String pointer = text(operation, "path");
+            if ("test".equals(op) && REVISION_POINTER.equals(pointer)) {
+                JsonNode revision = required(operation);
+                if (!revision.canConvertToLong()) {
+                    throw new InvalidPatchException("Ревизия блока должна быть целым числом");
+                }
+                conditions.add(where(RevisionedWrites.REVISION).is(revision.asLong()));
+                continue;
+            }
+            Target target = resolve(pointer);
+            switch (op) {
+                case "add" -> {
+                    claim(written, target.path());
+                    if (target.parent() != null) {
+                        conditions.add(where(target.parent()).exists(true));
+                    }
+                    update.set(target.path(), value(target, required(operation)));
+                }
+                case "replace" -> {
+                    claim(written, target.path());
+                    conditions.add(where(target.path()).exists(true));
+                    update.set(target.path(), value(target, required(operation)));
+                }
+                case "remove" -> {
+                    if (target.required()) {
+                        throw new InvalidPatchException("Поле '" + pointer + "' нельзя удалить");
+                    }
+                    claim(written, target.path());
+                    conditions.add(where(target.path()).exists(true));
+                    update.unset(target.path());
+                }
+                case "test" -> conditions.add(where(target.path()).is(value(target, required(operation))));
+                default -> throw new InvalidPatchException("Операция JSON Patch '" + op + "' не поддерживается");
+            }
+        }
+        if (written.isEmpty()) {
+            throw new InvalidPatchException("JSON Patch не содержит изменений");
+        }
+        return new BlockPatchPlan(conditions, update);
+    }
+
+    /**
+     * Условия и обновление для перемещения элементов раскладки.
+     *
+     * @param current Текущее состояние блока, по которому вычисляются пути элементов.
+     * @param delta Перемещённые элементы.
+     * @return План обновления.
+     * @throws InvalidPatchException если перемещение пустое, элемент не найден в дереве
+     *                               или его координаты и размеры вне сетки.
+     */
+    public BlockPatchPlan fromMoves(BlockElement current, LayoutDelta delta) {
+        if (delta == null || delta.getItems() == null || delta.getItems().isEmpty()) {
+            throw new InvalidPatchException("Список перемещённых элементов пуст");
+        }
+        Map<String, String> paths = new HashMap<>();
+        collectLayoutPaths(current, "", paths);
+        List<Criteria> conditions = new ArrayList<>();
+        if (delta.getRevision() != null) {
+            conditions.add(where(RevisionedWrites.REVISION).is(delta.getRevision()));
+        }
+        Update update = new Update();
+        for (Layout item : delta.getItems()) {
+            if (item == null) {
+                throw new InvalidPatchException("Пустой элемент в списке перемещённых элементов");
+            }
+            String path = item.getI() == null ? null : paths.get(item.getI());
+            if (path == null) {
+                throw new InvalidPatchException("Элемент раскладки '" + item.getI() + "' не найден");
+            }
+            if (!GridLayoutEngine.isInBounds(item.getX(), item.getY(), item.getW(), item.getH())) {
+                throw new InvalidPatchException("Некорректные координаты элемента раскладки '" + item.getI() + "'");
+            }
+            conditions.add(where(path + ".i").is(item.getI()));
+            update.set(path + ".x", item.getX())
+                    .set(path + ".y", item.getY())
+                    .set(path + ".w", item.getW())
+                    .set(path + ".h", item.getH());
+        }
+        return new BlockPatchPlan(conditions, update);
+    }
+
+    private static void collectLayoutPaths(BlockElement block, String prefix, Map<String, String> paths) {
+        if (block.getLayout() != null && block.getLayout().getI() != null) {
+            paths.putIfAbsent(block.getLayout().getI(), prefix + LAYOUT);
+        }
+        List<BlockElement> children = block.getChildren();
+        if (children != null) {
+            for (int index = 0; index < children.size(); index++) {
+                BlockElement child = children.get(index);
+                if (child != null) {
+                    collectLayoutPaths(child, prefix + CHILDREN + "." + index + ".", paths);
+                }
+            }
+        }
+    }
+
+    /**
+     * Путь документа по указателю JSON: цепочка {@code /children/<n>}, затем поле блока,
+     * раскладка целиком или поле раскладки.
+     */
+    private Target resolve(String pointer) {
+        if (pointer.isEmpty() || pointer.charAt(0) != '/') {
+            throw new InvalidPatchException("Некорректный путь JSON Patch '" + pointer + "'");
+        }
+        String[] tokens = pointer.substring(1).split("/", -1);
+        StringBuilder path = new StringBuilder();
+        int index = 0;
+        while (index < tokens.length - 1 && CHILDREN.equals(unescape(tokens[index]))) {
+            String position = tokens[index + 1];
+            if (!position.matches("0|[1-9]\\d{0,8}")) {
+                throw new InvalidPatchException("Некорректный индекс дочернего блока в пути '" + pointer + "'");
+            }
+            path.append(CHILDREN).append('.').append(position).append('.');
+            index += 2;
+        }
+        int remaining = tokens.length - index;
+        String field = remaining > 0 ? unescape(tokens[index]) : "";
+        if (LAYOUT.equals(field) && remaining == 1) {
+            return new Target(path.append(fieldName(BlockElement.class, LAYOUT)).toString(), Layout.class, false);
+        }
+        if (LAYOUT.equals(field) && remaining == 2) {
+            String layoutField = unescape(tokens[index + 1]);
+            Class<?> type = LAYOUT_FIELDS.get(layoutField);
+            if (type != null) {
+                path.append(fieldName(BlockElement.class, LAYOUT)).append('.')
+                        .append(fieldName(Layout.class, layoutField));
+                return new Target(path.toString(), type, REQUIRED_FIELDS.contains(layoutField));
+            }
+        }
+        if (remaining == 1 && BLOCK_FIELDS.containsKey(field)) {
+            return new Target(path.append(fieldName(BlockElement.class, field)).toString(),
+                    BLOCK_FIELDS.get(field), REQUIRED_FIELDS.contains(field));
+        }
+        throw new InvalidPatchException("Путь '" + pointer + "' нельзя изменить частичным обновлением");
+    }
+
+    private String fieldName(Class<?> type, String property) {
+        MongoPersistentEntity<?> entity = mongoConverter.getMappingContext().getRequiredPersistentEntity(type);
+        return entity.getRequiredPersistentProperty(property).getFieldName();
+    }
+
+    private Object value(Target target, JsonNode node) {
+        Object value;
+        try {
+            value = objectMapper.treeToValue(node, target.type());
+        } catch (JsonProcessingException e) {
+            throw new InvalidPatchException("Некорректное значение для '" + target.path() + "'", e);
+        }
+        if (value == null && target.required()) {
+            throw new InvalidPatchException("Поле '" + target.path() + "' не может быть пустым");
+        }
+        return value instanceof Layout ? mongoConverter.convertToMongoType(value) : value;
+    }
+
+    /**
+     * Пути одного обновления не должны совпадать или вкладываться друг в друга: MongoDB такое не применяет.
+     */
+    private static void claim(List<String> written, String path) {
+        for (String other : written) {
+            if (other.equals(path) || other.startsWith(path + ".") || path.startsWith(other + ".")) {
+                throw new InvalidPatchException("Путь '" + path + "' изменяется патчем несколько раз");
+            }
+        }
+        written.add(path);
+    }
+
+    private static JsonNode required(JsonNode operation) {
+        JsonNode value = operation.get("value");
+        if (value == null) {
+            throw new InvalidPatchException("Операция JSON Patch без значения: " + operation);
+        }
+        return value;
+    }
+
+    private static String text(JsonNode operation, String field) {
+        JsonNode value = operation.get(field);
+        if (value == null || !value.isTextual()) {
+            throw new InvalidPatchException("Операция JSON Patch без поля '" + field + "': " + operation);
+        }
+        return value.asText();
+    }
+
+    private static String unescape(String token) {
+        return token.replace("~1", "/").replace("~0", "~");
+    }
+
+    /**
+     * Изменяемое поле документа.
+     *
+     * @param path Путь поля в документе MongoDB.
+     * @param type Тип значения.
+     * @param required Поле нельзя удалить или обнулить.
+     */
+    private record Target(String path, Class<?> type, boolean required) {
+
+        /**
+         * Путь объекта, содержащего поле, или {@code null} для полей корня документа.
+         */
+        String parent() {
+            int dot = path.lastIndexOf('.');
+            return dot < 0 ? null : path.substring(0, dot);
+        }
+    }
+}
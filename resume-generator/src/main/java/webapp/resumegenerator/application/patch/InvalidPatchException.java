@@ -0,0 +1,28 @@
+package webapp.resumegenerator.application.patch;
+
+/**
+ * Частичное изменение блока некорректно или затрагивает поля, которые частично не изменяются.
+ * Наследует {@link IllegalArgumentException}, как и остальные ошибки входных данных блоков;
+ * отдельный тип позволяет отличить некорректный патч от отсутствующего блока.
+ */
+public class InvalidPatchException extends IllegalArgumentException {
+
+    /**
+     * Конструктор исключения.
+     *
+     * @param message Описание ошибки.
+     */
+    public InvalidPatchException(String message) {
+        super(message);
+    }
+
+    /**
+     * Конструктор исключения с причиной.
+     *
+     * @param message Описание ошибки.
+     * @param cause Исходная ошибка.
+     */
+    public InvalidPatchException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,239 @@
+package webapp.resumegenerator.application.render;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Скомпилированный шаблон резюме.
+ * Хранит разобранное дерево узлов контента, поэтому повторный рендеринг
+ * не требует повторного разбора строки шаблона. Экземпляр неизменяем и
+ * может безопасно использоваться из нескольких потоков одновременно.
+ */
+public final class CompiledTemplate {
+
+    /**
+     * Корневые узлы шаблона.
+     */
+    private final List<Node> nodes;
+
+    /**
+     * Исходный контент, с которым сравнивается шаблон при проверке актуальности скомпилированной формы.
+     */
+    private final String source;
+
+    /**
+     * SHA-256 отпечаток исходного контента для ключей кэша результатов рендеринга.
+     */
+    private final String sourceDigest;
+
+    /**
+     * Ожидаемый размер результата, используется для начальной ёмкости буфера.
+     */
+    private final int sizeHint;
+
+    CompiledTemplate(List<Node> nodes, String source, String sourceDigest, int sizeHint) {
+        this.nodes = List.copyOf(nodes);
+        this.source = source;
+        this.sourceDigest = sourceDigest;
+        this.sizeHint = sizeHint;
+    }
+
+    /**
+     * Отпечаток контента, из которого скомпилирован шаблон.
+     * Вычисляется один раз при компиляции.
+     *
+     * @return SHA-256 контента в base64url.
+     */
+    public String getSourceDigest() {
+        return sourceDigest;
+    }
+
+    /**
+     * Проверяет, был ли шаблон скомпилирован из указанного контента.
+     *
+     * @param content Контент шаблона.
+     * @return {@code true}, если скомпилированная форма соответствует контенту.
+     */
+    public boolean isCompiledFrom(String content) {
+        return source.equals(content);
+    }
+
+    /**
+     * Рендерит шаблон в строку.
+     *
+     * @param data Данные резюме.
+     * @return HTML-представление резюме.
+     */
+    public String render(Map<String, Object> data) {
+        StringBuilder out = new StringBuilder(sizeHint);
+        renderTo(data, out);
+        return out.toString();
+    }
+
+    /**
+     * Рендерит шаблон в переданный приёмник.
+     *
+     * @param data Данные резюме.
+     * @param out Приёмник результата.
+     */
+    public void renderTo(Map<String, Object> data, Appendable out) {
+        Deque<Object> context = new ArrayDeque<>();
+        context.push(data == null ? Map.of() : data);
+        try {
+            renderNodes(nodes, context, out);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void renderNodes(List<Node> nodes, Deque<Object> context, Appendable out) throws IOException {
+        for (Node node : nodes) {
+            switch (node) {
+                case Text text -> out.append(text.value());
+                case Variable variable -> {
+                    Object value = lookup(variable.path(), context);
+                    if (value != null) {
+                        String string = String.valueOf(value);
+                        if (variable.escape()) {
+                            appendEscaped(string, out);
+                        } else {
+                            out.append(string);
+                        }
+                    }
+                }
+                case Section section -> renderSection(section, context, out);
+            }
+        }
+    }
+
+    private static void renderSection(Section section, Deque<Object> context, Appendable out) throws IOException {
+        Object value = lookup(section.path(), context);
+        boolean truthy = isTruthy(value);
+        if (section.inverted()) {
+            if (!truthy) {
+                renderNodes(section.children(), context, out);
+            }
+            return;
+        }
+        if (!truthy) {
+            return;
+        }
+        if (value instanceof Boolean) {
+            renderNodes(section.children(), context, out);
+        } else if (value instanceof Iterable<?> items) {
+            for (Object item : items) {
+                context.push(item);
+                renderNodes(section.children(), context, out);
+                context.pop();
+            }
+        } else if (value instanceof Object[] items) {
+            for (Object item : items) {
+                context.push(item);
+                renderNodes(section.children(), context, out);
+                context.pop();
+            }
+        } else {
+            context.push(value);
+            renderNodes(section.children(), context, out);
+            context.pop();
+        }
+    }
+
+    private static Object lookup(String[] path, Deque<Object> context) {
+        if (path.length == 0) {
+            return context.peek();
+        }
+        Object current = null;
+        boolean found = false;
+        for (Object frame : context) {
+            if (frame instanceof Map<?, ?> map && map.containsKey(path[0])) {
+                current = map.get(path[0]);
+                found = true;
+                break;
+            }
+        }
+        if (!found) {
+            return null;
+        }
+        for (int i = 1; i < path.length && current != null; i++) {
+            current = current instanceof Map<?, ?> map ? map.get(path[i]) : null;
+        }
+        return current;
+    }
+
+    private static boolean isTruthy(Object value) {
+        if (value == null) {
+            return false;
+        }
+        if (value instanceof Boolean bool) {
+            return bool;
+        }
+        if (value instanceof Collection<?> collection) {
+            return !collection.isEmpty();
+        }
+        if (value instanceof Object[] array) {
+            return array.length > 0;
+        }
+        if (value instanceof CharSequence string) {
+            return !string.isEmpty();
+        }
+        return true;
+    }
+
+    private static void appendEscaped(String value, Appendable out) throws IOException {
+        int start = 0;
+        for (int i = 0; i < value.length(); i++) {
+            String replacement = switch (value.charAt(i)) {
+                case '&' -> "&amp;";
+                case '<' -> "&lt;";
+                case '>' -> "&gt;";
+                case '"' -> "&quot;";
+                case '\'' -> "&#39;";
+                default -> null;
+            };
+            if (replacement != null) {
+                out.append(value, start, i).append(replacement);
+                start = i + 1;
+            }
+        }
+        out.append(value, start, value.length());
+    }
+
+    /**
+     * Узел скомпилированного шаблона.
+     */
+    sealed interface Node permits Text, Variable, Section {
+    }
+
+    /**
+     * Статический текст шаблона.
+     *
+     * @param value Текст.
+     */
+    record Text(String value) implements Node {
+    }
+
+    /**
+     * Подстановка значения из данных резюме.
+     *
+     * @param path Путь к значению, разбитый по точкам; пустой путь означает текущий контекст.
+     * @param escape Нужно ли экранировать HTML.
+     */
+    record Variable(String[] path, boolean escape) implements Node {
+    }
+
+    /**
+     * Секция, которая рендерится для каждого элемента списка или при истинном значении.
+     *
+     * @param path Путь к значению секции.
+     * @param inverted Секция рендерится только при ложном или пустом значении.
+     * @param children Вложенные узлы.
+     */
+    record Section(String[] path, boolean inverted, List<Node> children) implements Node {
+    }
+}
@@ -0,0 +1,68 @@
+package webapp.resumegenerator.application.render;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import java.util.UUID;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import webapp.resumegenerator.domain.model.Template;
+
+/**
+ * Кэш скомпилированных шаблонов.
+ * Ключом служит пара (идентификатор шаблона, версия), поэтому один и тот же
+ * шаблон разбирается один раз и переиспользуется всеми запросами рендеринга.
+ */
+@Component
+public class CompiledTemplateCache {
+
+    private final TemplateCompiler compiler = new TemplateCompiler();
+
+    private final Cache<TemplateKey, CompiledTemplate> cache;
+
+    /**
+     * Конструктор кэша.
+     *
+     * @param maxSize Максимальное количество скомпилированных шаблонов в памяти.
+     */
+    public CompiledTemplateCache(@Value("${generator.render.compiled-cache.max-size:1000}") long maxSize) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .build();
+    }
+
+    /**
+     * Возвращает скомпилированную форму шаблона, компилируя его при первом обращении.
+     * Если контент шаблона изменился без смены версии, шаблон компилируется заново.
+     *
+     * @param template Шаблон резюме.
+     * @return Скомпилированный шаблон.
+     */
+    public CompiledTemplate get(Template template) {
+        TemplateKey key = new TemplateKey(template.getId(), template.getVersion());
+        String content = template.getContent();
+        CompiledTemplate compiled = cache.get(key, k -> compiler.compile(content));
+        if (!compiled.isCompiledFrom(content)) {
+            compiled = compiler.compile(content);
+            cache.put(key, compiled);
+        }
+        return compiled;
+    }
+
+    /**
+     * Удаляет из кэша все версии шаблона.
+     *
+     * @param templateId Идентификатор шаблона.
+     */
+    public void evict(UUID templateId) {
+        cache.asMap().keySet().removeIf(key -> key.id().equals(templateId));
+    }
+
+    /**
+     * Ключ кэша скомпилированных шаблонов.
+     *
+     * @param id Идентификатор шаблона.
+     * @param version Версия шаблона.
+     */
+    record TemplateKey(UUID id, Integer version) {
+    }
+}
@@ -0,0 +1,42 @@
+package webapp.resumegenerator.application.render;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+
+/**
+ * SHA-256 отпечатки входных данных рендеринга.
+ * Используются в ключах кэша результатов, поэтому изменение контента шаблона
+ * или данных резюме всегда даёт новый ключ.
+ */
+public final class ContentDigest {
+
+    private ContentDigest() {
+    }
+
+    /**
+     * Отпечаток строки в кодировке UTF-8.
+     *
+     * @param content Строка.
+     * @return SHA-256 в base64url без выравнивания.
+     */
+    public static String of(String content) {
+        return of(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Отпечаток массива байт.
+     *
+     * @param content Данные.
+     * @return SHA-256 в base64url без выравнивания.
+     */
+    public static String of(byte[] content) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(content);
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 недоступен", e);
+        }
+    }
+}
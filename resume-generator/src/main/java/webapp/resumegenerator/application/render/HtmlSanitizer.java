@@ -0,0 +1,231 @@
+package webapp.resumegenerator.application.render;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.util.Enumeration;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import javax.swing.text.AttributeSet;
+import javax.swing.text.MutableAttributeSet;
+import javax.swing.text.html.HTML;
+import javax.swing.text.html.HTMLEditorKit;
+import javax.swing.text.html.parser.ParserDelegator;
+
+/**
+ * Очистка HTML шаблона перед вёрсткой средствами Swing по списку разрешённых тегов и атрибутов.
+ * <p>
+ * Остаются только теги разметки текста, списков и таблиц; структурные теги HTML5 заменяются
+ * на {@code div}. Фреймы, формы, скрипты, встроенные объекты и {@code <link>}/{@code <base>}
+ * удаляются. Из атрибутов остаются только оформление и размеры, поэтому адреса ({@code src},
+ * {@code href}, {@code background}, {@code action} и т. п.) в результат не попадают. В CSS
+ * атрибута {@code style} и блоков {@code <style>} отбрасываются объявления с {@code url(...)},
+ * изображениями и экранированием, а также все at-правила, включая {@code @import}.
+ */
+final class HtmlSanitizer {
+
+    private static final Set<HTML.Tag> ALLOWED_TAGS = Set.of(HTML.Tag.HTML, HTML.Tag.HEAD, HTML.Tag.TITLE,
+            HTML.Tag.BODY, HTML.Tag.DIV, HTML.Tag.SPAN, HTML.Tag.P, HTML.Tag.H1, HTML.Tag.H2, HTML.Tag.H3,
+            HTML.Tag.H4, HTML.Tag.H5, HTML.Tag.H6, HTML.Tag.UL, HTML.Tag.OL, HTML.Tag.LI, HTML.Tag.DL,
+            HTML.Tag.DT, HTML.Tag.DD, HTML.Tag.TABLE, HTML.Tag.TR, HTML.Tag.TD, HTML.Tag.TH, HTML.Tag.CAPTION,
+            HTML.Tag.B, HTML.Tag.STRONG, HTML.Tag.I, HTML.Tag.EM, HTML.Tag.U, HTML.Tag.S, HTML.Tag.STRIKE,
+            HTML.Tag.SUB, HTML.Tag.SUP, HTML.Tag.SMALL, HTML.Tag.BIG, HTML.Tag.TT, HTML.Tag.CODE, HTML.Tag.KBD,
+            HTML.Tag.SAMP, HTML.Tag.VAR, HTML.Tag.CITE, HTML.Tag.DFN, HTML.Tag.BLOCKQUOTE, HTML.Tag.PRE,
+            HTML.Tag.CENTER, HTML.Tag.FONT, HTML.Tag.A, HTML.Tag.ADDRESS, HTML.Tag.BR, HTML.Tag.HR, HTML.Tag.IMG);
+
+    private static final Set<HTML.Tag> DROPPED_WITH_CONTENT = Set.of(HTML.Tag.SCRIPT, HTML.Tag.OBJECT,
+            HTML.Tag.APPLET, HTML.Tag.FRAMESET, HTML.Tag.NOFRAMES, HTML.Tag.SELECT, HTML.Tag.TEXTAREA,
+            HTML.Tag.MAP);
+
+    private static final Set<String> HTML5_BLOCKS = Set.of("section", "article", "header", "footer", "main",
+            "nav", "aside", "figure", "figcaption");
+
+    private static final Set<HTML.Attribute> ALLOWED_ATTRIBUTES = Set.of(HTML.Attribute.CLASS, HTML.Attribute.ID,
+            HTML.Attribute.STYLE, HTML.Attribute.ALIGN, HTML.Attribute.VALIGN, HTML.Attribute.WIDTH,
+            HTML.Attribute.HEIGHT, HTML.Attribute.COLSPAN, HTML.Attribute.ROWSPAN, HTML.Attribute.BORDER,
+            HTML.Attribute.CELLPADDING, HTML.Attribute.CELLSPACING, HTML.Attribute.COLOR, HTML.Attribute.SIZE,
+            HTML.Attribute.FACE, HTML.Attribute.BGCOLOR, HTML.Attribute.NOWRAP, HTML.Attribute.ALT,
+            HTML.Attribute.DIR, HTML.Attribute.LANG);
+
+    private static final Pattern UNSAFE_CSS = Pattern.compile("url\\s*\\(|image|\\\\|@|<|expression|behavior",
+            Pattern.CASE_INSENSITIVE);
+
+    private static final Pattern CSS_COMMENT = Pattern.compile("/\\*.*?\\*/", Pattern.DOTALL);
+
+    private static final Pattern CSS_AT_STATEMENT = Pattern.compile("@[^;{}]*;");
+
+    private static final Pattern CSS_RULE = Pattern.compile("([^{}]+)\\{([^{}]*)}");
+
+    private static final Map<Character, String> ESCAPES = Map.of('&', "&amp;", '<', "&lt;", '>', "&gt;",
+            '"', "&quot;");
+
+    private HtmlSanitizer() {
+    }
+
+    /**
+     * Очищает HTML.
+     *
+     * @param html HTML шаблона.
+     * @return HTML, содержащий только разрешённые теги и атрибуты.
+     */
+    static String sanitize(String html) {
+        Writer writer = new Writer();
+        try {
+            new ParserDelegator().parse(new StringReader(html), writer, true);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return writer.out.toString();
+    }
+
+    /**
+     * Оставляет в CSS-объявлениях только безопасные: без адресов, изображений и экранирования.
+     *
+     * @param declarations Объявления, разделённые {@code ;}.
+     * @return Безопасные объявления.
+     */
+    static String sanitizeDeclarations(String declarations) {
+        StringBuilder result = new StringBuilder();
+        for (String declaration : CSS_COMMENT.matcher(declarations).replaceAll(" ").split(";")) {
+            String trimmed = declaration.strip();
+            if (!trimmed.isEmpty() && trimmed.indexOf(':') > 0 && !UNSAFE_CSS.matcher(trimmed).find()) {
+                result.append(result.isEmpty() ? "" : " ").append(trimmed).append(';');
+            }
+        }
+        return result.toString();
+    }
+
+    /**
+     * Пересобирает таблицу стилей из правил с безопасными селекторами и объявлениями; at-правила отбрасываются.
+     *
+     * @param css Содержимое блока {@code <style>}.
+     * @return Безопасная таблица стилей.
+     */
+    static String sanitizeStyleSheet(String css) {
+        StringBuilder result = new StringBuilder();
+        String withoutComments = CSS_COMMENT.matcher(css).replaceAll(" ");
+        Matcher rule = CSS_RULE.matcher(CSS_AT_STATEMENT.matcher(withoutComments).replaceAll(" "));
+        while (rule.find()) {
+            String selector = rule.group(1).strip();
+            String declarations = sanitizeDeclarations(rule.group(2));
+            if (!selector.isEmpty() && !declarations.isEmpty() && !UNSAFE_CSS.matcher(selector).find()
+                    && selector.indexOf(';') < 0) {
+                result.append(selector).append(" { ").append(declarations).append(" }\n");
+            }
+        }
+        return result.toString();
+    }
+
+    private static String escape(String text) {
+        StringBuilder result = new StringBuilder(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            String escaped = ESCAPES.get(c);
+            result.append(escaped == null ? String.valueOf(c) : escaped);
+        }
+        return result.toString();
+    }
+
+    /**
+     * Обработчик событий парсера, записывающий разрешённую разметку.
+     */
+    private static final class Writer extends HTMLEditorKit.ParserCallback {
+
+        private final StringBuilder out = new StringBuilder();
+
+        private final StringBuilder style = new StringBuilder();
+
+        private boolean inStyle;
+
+        private int dropped;
+
+        @Override
+        public void handleStartTag(HTML.Tag tag, MutableAttributeSet attributes, int position) {
+            if (DROPPED_WITH_CONTENT.contains(tag)) {
+                dropped++;
+            } else if (dropped > 0) {
+                return;
+            } else if (tag == HTML.Tag.STYLE) {
+                inStyle = true;
+                style.setLength(0);
+            } else if (ALLOWED_TAGS.contains(tag)) {
+                open(tag.toString(), attributes);
+            }
+        }
+
+        @Override
+        public void handleEndTag(HTML.Tag tag, int position) {
+            if (DROPPED_WITH_CONTENT.contains(tag)) {
+                dropped = Math.max(0, dropped - 1);
+            } else if (dropped > 0) {
+                return;
+            } else if (tag == HTML.Tag.STYLE) {
+                inStyle = false;
+                String css = sanitizeStyleSheet(style.toString());
+                if (!css.isEmpty()) {
+                    out.append("<style>").append(css).append("</style>");
+                }
+            } else if (ALLOWED_TAGS.contains(tag)) {
+                out.append("</").append(tag).append('>');
+            }
+        }
+
+        @Override
+        public void handleSimpleTag(HTML.Tag tag, MutableAttributeSet attributes, int position) {
+            if (dropped > 0) {
+                return;
+            }
+            if (tag instanceof HTML.UnknownTag && HTML5_BLOCKS.contains(tag.toString())) {
+                if (attributes.isDefined(HTML.Attribute.ENDTAG)) {
+                    out.append("</div>");
+                } else {
+                    open("div", attributes);
+                }
+            } else if (tag == HTML.Tag.BR || tag == HTML.Tag.HR || tag == HTML.Tag.IMG) {
+                open(tag.toString(), attributes);
+            }
+        }
+
+        @Override
+        public void handleText(char[] data, int position) {
+            if (dropped > 0) {
+                return;
+            }
+            if (inStyle) {
+                style.append(data);
+            } else {
+                out.append(escape(new String(data)));
+            }
+        }
+
+        @Override
+        public void handleComment(char[] data, int position) {
+            if (inStyle && dropped == 0) {
+                style.append(data);
+            }
+        }
+
+        private void open(String name, AttributeSet attributes) {
+            out.append('<').append(name);
+            Enumeration<?> names = attributes.getAttributeNames();
+            while (names.hasMoreElements()) {
+                Object attribute = names.nextElement();
+                if (!(attribute instanceof HTML.Attribute key) || !ALLOWED_ATTRIBUTES.contains(key)) {
+                    continue;
+                }
+                String value = String.valueOf(attributes.getAttribute(key));
+                if (key == HTML.Attribute.STYLE) {
+                    value = sanitizeDeclarations(value);
+                } else if (UNSAFE_CSS.matcher(value).find()) {
+                    continue;
+                }
+                out.append(' ').append(key.toString().toLowerCase(Locale.ROOT))
+                        .append("=\"").append(escape(value)).append('"');
+            }
+            out.append('>');
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package webapp.resumegenerator.application.render;
+
+import java.util.UUID;
+
+/**
+ * Ключ кэша результатов рендеринга: все входные данные, от которых зависит HTML.
+ * Отпечатки контента шаблона и блока входят в ключ, поэтому обновление шаблона
+ * без смены версии или изменение блока не может вернуть устаревший результат,
+ * даже если сообщение об инвалидации до реплики не дошло.
+ *
+ * @param templateId Идентификатор шаблона.
+ * @param version Версия шаблона.
+ * @param templateDigest Отпечаток контента шаблона.
+ * @param resumeDigest Отпечаток канонического JSON данных резюме.
+ * @param blockId Идентификатор блока или {@code null}, если блок не передавался.
+ * @param blockDigest Отпечаток блока или {@code null}.
+ */
+public record RenderKey(UUID templateId, Integer version, String templateDigest, String resumeDigest,
+                        UUID blockId, String blockDigest) {
+
+    /**
+     * Строковое представление ключа для общего кэша.
+     *
+     * @return Ключ вида {@code <шаблон>:<версия>:<отпечаток шаблона>:<отпечаток резюме>[:<блок>:<отпечаток блока>]}.
+     */
+    public String asString() {
+        String key = templateId + ":" + version + ":" + templateDigest + ":" + resumeDigest;
+        return blockId == null ? key : key + ":" + blockId + ":" + blockDigest;
+    }
+}
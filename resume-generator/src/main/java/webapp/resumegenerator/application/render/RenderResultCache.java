@@ -0,0 +1,157 @@
+package webapp.resumegenerator.application.render;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import java.util.UUID;
+import java.util.function.Supplier;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import webapp.resumegenerator.infrastructure.cache.CacheInvalidationBus;
+import webapp.resumegenerator.infrastructure.cache.LocalCacheInvalidator;
+import webapp.resumegenerator.infrastructure.cache.RenderResultRedisStore;
+
+/**
+ * Кэш результатов рендеринга резюме.
+ * Локальный уровень ограничен суммарным размером HTML, а не количеством записей,
+ * так как размер результатов различается на порядки. Если включено хранение в Redis,
+ * промах локального уровня проверяется в общем кэше, где HTML хранится сжатым.
+ * При изменении шаблона или блока записи с ним удаляются на всех репликах
+ * через {@link CacheInvalidationBus}.
+ */
+@Component
+public class RenderResultCache implements LocalCacheInvalidator {
+
+    /**
+     * Имя кэша в сообщениях инвалидации.
+     */
+    public static final String CACHE_NAME = "renderResults";
+
+    private static final String TEMPLATE_PREFIX = "template:";
+
+    private static final String BLOCK_PREFIX = "block:";
+
+    private final Cache<RenderKey, String> local;
+
+    private final CacheInvalidationBus invalidationBus;
+
+    private final RenderResultRedisStore store;
+
+    /**
+     * Конструктор кэша.
+     *
+     * @param maxSize Максимальный суммарный размер HTML в локальном уровне.
+     * @param invalidationBus Шина инвалидации между репликами.
+     * @param store Хранилище результатов в Redis, если оно включено.
+     */
+    public RenderResultCache(@Value("${generator.render.result-cache.max-size:64MB}") DataSize maxSize,
+                             CacheInvalidationBus invalidationBus,
+                             ObjectProvider<RenderResultRedisStore> store) {
+        this.local = Caffeine.newBuilder()
+                .maximumWeight(maxSize.toBytes())
+                .weigher((RenderKey key, String html) -> weight(html))
+                .build();
+        this.invalidationBus = invalidationBus;
+        this.store = store.getIfAvailable();
+        invalidationBus.register(CACHE_NAME, this);
+    }
+
+    /**
+     * Возвращает результат рендеринга из кэша или рендерит и сохраняет его.
+     *
+     * @param key Ключ с отпечатками входных данных.
+     * @param renderer Рендеринг при промахе.
+     * @return HTML-представление резюме.
+     */
+    public String get(RenderKey key, Supplier<String> renderer) {
+        String html = local.getIfPresent(key);
+        if (html != null) {
+            return html;
+        }
+        if (store != null) {
+            html = store.get(key.asString());
+        }
+        if (html == null) {
+            html = renderer.get();
+            if (store != null) {
+                store.put(key.asString(), html, key.templateId(), key.blockId());
+            }
+        }
+        local.put(key, html);
+        return html;
+    }
+
+    /**
+     * Удаляет результаты рендеринга шаблона на всех репликах.
+     *
+     * @param templateId Идентификатор шаблона.
+     */
+    public void evictTemplate(UUID templateId) {
+        evictTemplateQuietly(templateId);
+        invalidationBus.publish(CACHE_NAME, TEMPLATE_PREFIX + templateId);
+    }
+
+    /**
+     * Удаляет результаты рендеринга с блоком на всех репликах.
+     *
+     * @param blockId Идентификатор блока.
+     */
+    public void evictBlock(UUID blockId) {
+        evictBlockQuietly(blockId);
+        invalidationBus.publish(CACHE_NAME, BLOCK_PREFIX + blockId);
+    }
+
+    /**
+     * Удаляет результаты рендеринга шаблона локально и в Redis без рассылки сообщений.
+     * Используется, когда об изменении узнаёт каждая реплика сама, например из потока изменений MongoDB.
+     *
+     * @param templateId Идентификатор шаблона.
+     */
+    public void evictTemplateQuietly(UUID templateId) {
+        evictLocal(TEMPLATE_PREFIX + templateId);
+        if (store != null) {
+            store.evictTemplate(templateId);
+        }
+    }
+
+    /**
+     * Удаляет результаты рендеринга с блоком локально и в Redis без рассылки сообщений.
+     *
+     * @param blockId Идентификатор блока.
+     */
+    public void evictBlockQuietly(UUID blockId) {
+        evictLocal(BLOCK_PREFIX + blockId);
+        if (store != null) {
+            store.evictBlock(blockId);
+        }
+    }
+
+    /**
+     * Удаляет локальные записи по тегу {@code template:<id>} или {@code block:<id>}.
+     *
+     * @param tag Тег входных данных.
+     */
+    @Override
+    public void evictLocal(String tag) {
+        if (tag.startsWith(TEMPLATE_PREFIX)) {
+            UUID templateId = UUID.fromString(tag.substring(TEMPLATE_PREFIX.length()));
+            local.asMap().keySet().removeIf(key -> templateId.equals(key.templateId()));
+        } else if (tag.startsWith(BLOCK_PREFIX)) {
+            UUID blockId = UUID.fromString(tag.substring(BLOCK_PREFIX.length()));
+            local.asMap().keySet().removeIf(key -> blockId.equals(key.blockId()));
+        }
+    }
+
+    @Override
+    public void clearLocal() {
+        local.invalidateAll();
+    }
+
+    /**
+     * Примерный размер строки в памяти: два байта на символ.
+     */
+    private static int weight(String html) {
+        return (int) Math.min(Integer.MAX_VALUE, 2L * html.length());
+    }
+}
@@ -0,0 +1,121 @@
+package webapp.resumegenerator.application.render;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.regex.Pattern;
+import webapp.resumegenerator.application.render.CompiledTemplate.Node;
+import webapp.resumegenerator.application.render.CompiledTemplate.Section;
+import webapp.resumegenerator.application.render.CompiledTemplate.Text;
+import webapp.resumegenerator.application.render.CompiledTemplate.Variable;
+
+/**
+ * Компилятор контента шаблона в {@link CompiledTemplate}.
+ * Поддерживается синтаксис в стиле Mustache:
+ * {@code {{path}}} - подстановка с экранированием HTML,
+ * {@code {{{path}}}} и {@code {{& path}}} - подстановка без экранирования,
+ * {@code {{#path}}...{{/path}}} - секция (список, флаг или вложенный объект),
+ * {@code {{^path}}...{{/path}}} - инвертированная секция,
+ * {@code {{! comment}}} - комментарий.
+ */
+public final class TemplateCompiler {
+
+    private static final String OPEN = "{{";
+
+    private static final String CLOSE = "}}";
+
+    private static final Pattern PATH_SEPARATOR = Pattern.compile("\\.");
+
+    /**
+     * Компилирует контент шаблона.
+     *
+     * @param content Контент шаблона.
+     * @return Скомпилированный шаблон.
+     * @throws TemplateSyntaxException если контент содержит синтаксическую ошибку.
+     */
+    public CompiledTemplate compile(String content) {
+        if (content == null) {
+            throw new TemplateSyntaxException("Контент шаблона отсутствует", 0);
+        }
+        Deque<OpenSection> stack = new ArrayDeque<>();
+        List<Node> root = new ArrayList<>();
+        List<Node> current = root;
+        int position = 0;
+        while (position < content.length()) {
+            int open = content.indexOf(OPEN, position);
+            if (open < 0) {
+                current.add(new Text(content.substring(position)));
+                break;
+            }
+            if (open > position) {
+                current.add(new Text(content.substring(position, open)));
+            }
+            boolean triple = content.startsWith("{{{", open);
+            String closeTag = triple ? "}}}" : CLOSE;
+            int tagStart = open + (triple ? 3 : 2);
+            int close = content.indexOf(closeTag, tagStart);
+            if (close < 0) {
+                throw new TemplateSyntaxException("Незакрытый тег", open);
+            }
+            String tag = content.substring(tagStart, close).trim();
+            position = close + closeTag.length();
+            if (triple) {
+                current.add(new Variable(parsePath(tag, open), false));
+                continue;
+            }
+            if (tag.isEmpty()) {
+                throw new TemplateSyntaxException("Пустой тег", open);
+            }
+            char kind = tag.charAt(0);
+            String name = tag.substring(1).trim();
+            switch (kind) {
+                case '!' -> {
+                }
+                case '&' -> current.add(new Variable(parsePath(name, open), false));
+                case '#', '^' -> {
+                    List<Node> children = new ArrayList<>();
+                    stack.push(new OpenSection(name, kind == '^', open, current, children));
+                    current = children;
+                }
+                case '/' -> {
+                    if (stack.isEmpty()) {
+                        throw new TemplateSyntaxException("Закрывающий тег без открывающего: " + name, open);
+                    }
+                    OpenSection section = stack.pop();
+                    if (!section.name().equals(name)) {
+                        throw new TemplateSyntaxException("Ожидался закрывающий тег " + section.name()
+                                + ", найден " + name, open);
+                    }
+                    current = section.parent();
+                    current.add(new Section(parsePath(section.name(), section.position()),
+                            section.inverted(), section.children()));
+                }
+                default -> current.add(new Variable(parsePath(tag, open), true));
+            }
+        }
+        if (!stack.isEmpty()) {
+            OpenSection section = stack.peek();
+            throw new TemplateSyntaxException("Незакрытая секция " + section.name(), section.position());
+        }
+        return new CompiledTemplate(root, content, ContentDigest.of(content),
+                content.length() + content.length() / 2);
+    }
+
+    private static String[] parsePath(String path, int position) {
+        if (path.isEmpty()) {
+            throw new TemplateSyntaxException("Пустое имя переменной", position);
+        }
+        if (".".equals(path)) {
+            return new String[0];
+        }
+        return PATH_SEPARATOR.split(path);
+    }
+
+    /**
+     * Открытая, ещё не закрытая секция во время разбора.
+     */
+    private record OpenSection(String name, boolean inverted, int position,
+                               List<Node> parent, List<Node> children) {
+    }
+}
@@ -0,0 +1,27 @@
+package webapp.resumegenerator.application.render;
+
+/**
+ * Исключение, возникающее при разборе некорректного контента шаблона.
+ */
+public class TemplateSyntaxException extends IllegalArgumentException {
+
+    /**
+     * Позиция в контенте шаблона, на которой обнаружена ошибка.
+     */
+    private final int position;
+
+    /**
+     * Конструктор исключения.
+     *
+     * @param message Описание ошибки.
+     * @param position Позиция ошибки в контенте шаблона.
+     */
+    public TemplateSyntaxException(String message, int position) {
+        super(message + " (позиция " + position + ")");
+        this.position = position;
+    }
+
+    public int getPosition() {
+        return position;
+    }
+}
@@ -0,0 +1,293 @@
+package webapp.resumegenerator.application.render;
+
+import java.awt.Color;
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.RenderingHints;
+import java.awt.Shape;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URL;
+import java.util.Enumeration;
+import java.util.Set;
+import javax.imageio.ImageIO;
+import javax.swing.JEditorPane;
+import javax.swing.text.AttributeSet;
+import javax.swing.text.Document;
+import javax.swing.text.Element;
+import javax.swing.text.Position;
+import javax.swing.text.StyleConstants;
+import javax.swing.text.View;
+import javax.swing.text.ViewFactory;
+import javax.swing.text.html.CSS;
+import javax.swing.text.html.HTML;
+import javax.swing.text.html.HTMLDocument;
+import javax.swing.text.html.HTMLEditorKit;
+import javax.swing.text.html.StyleSheet;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Растеризация HTML резюме в миниатюру PNG средствами Java2D без графического окружения.
+ * Страница верстается {@link JEditorPane} по ширине листа A4 и уменьшается до ширины миниатюры.
+ * Контент шаблона не может обратиться к сети или создать произвольный класс через {@code <object>}:
+ * HTML сначала очищается по списку разрешённых тегов и атрибутов ({@link HtmlSanitizer}), а при вёрстке
+ * изображения, фреймы, поля форм и встроенные объекты заменяются заглушками, фоновые изображения
+ * и маркеры списков из CSS не загружаются, подключение внешних таблиц стилей игнорируется.
+ * Компоненты Swing не потокобезопасны, поэтому вызовы должны выполняться последовательно.
+ */
+@Component
+public class ThumbnailRenderer {
+
+    private final int pageWidth;
+
+    private final int pageHeight;
+
+    private final int width;
+
+    /**
+     * Конструктор.
+     *
+     * @param pageWidth Ширина страницы при вёрстке, пикселей.
+     * @param pageHeight Высота видимой части страницы, пикселей.
+     * @param width Ширина миниатюры, пикселей; высота сохраняет пропорции страницы.
+     */
+    public ThumbnailRenderer(@Value("${generator.thumbnail.page-width:794}") int pageWidth,
+                             @Value("${generator.thumbnail.page-height:1123}") int pageHeight,
+                             @Value("${generator.thumbnail.width:240}") int width) {
+        this.pageWidth = pageWidth;
+        this.pageHeight = pageHeight;
+        this.width = width;
+    }
+
+    /**
+     * Рендерит HTML в миниатюру.
+     *
+     * @param html HTML резюме.
+     * @return Изображение в формате PNG.
+     */
+    public byte[] render(String html) {
+        JEditorPane pane = new JEditorPane();
+        pane.setEditorKit(new OfflineHtmlEditorKit());
+        pane.setEditable(false);
+        pane.setBackground(Color.WHITE);
+        pane.setText(HtmlSanitizer.sanitize(html));
+        pane.setSize(pageWidth, pageHeight);
+
+        BufferedImage page = new BufferedImage(pageWidth, pageHeight, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = page.createGraphics();
+        try {
+            graphics.setColor(Color.WHITE);
+            graphics.fillRect(0, 0, pageWidth, pageHeight);
+            graphics.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+            graphics.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+            graphics.setClip(0, 0, pageWidth, pageHeight);
+            pane.print(graphics);
+        } finally {
+            graphics.dispose();
+        }
+        return toPng(scale(page, width, Math.max(1, pageHeight * width / pageWidth)));
+    }
+
+    /**
+     * Уменьшает изображение последовательными шагами не более чем вдвое,
+     * что даёт заметно более чёткий текст, чем одно бикубическое уменьшение.
+     */
+    private static BufferedImage scale(BufferedImage source, int targetWidth, int targetHeight) {
+        BufferedImage current = source;
+        int currentWidth = source.getWidth();
+        int currentHeight = source.getHeight();
+        do {
+            currentWidth = Math.max(targetWidth, currentWidth / 2);
+            currentHeight = Math.max(targetHeight, currentHeight / 2);
+            BufferedImage next = new BufferedImage(currentWidth, currentHeight, BufferedImage.TYPE_INT_RGB);
+            Graphics2D graphics = next.createGraphics();
+            try {
+                graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION,
+                        RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+                graphics.drawImage(current, 0, 0, currentWidth, currentHeight, null);
+            } finally {
+                graphics.dispose();
+            }
+            current = next;
+        } while (currentWidth != targetWidth || currentHeight != targetHeight);
+        return current;
+    }
+
+    private static byte[] toPng(BufferedImage image) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try {
+            ImageIO.write(image, "png", out);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * HTML-вёрстка без загрузки внешних ресурсов.
+     */
+    private static final class OfflineHtmlEditorKit extends HTMLEditorKit {
+
+        private static final Set<HTML.Tag> PLACEHOLDERS = Set.of(HTML.Tag.IMG, HTML.Tag.OBJECT, HTML.Tag.APPLET,
+                HTML.Tag.FRAME, HTML.Tag.FRAMESET, HTML.Tag.INPUT, HTML.Tag.SELECT, HTML.Tag.TEXTAREA);
+
+        private final ViewFactory factory = new HTMLFactory() {
+            @Override
+            public View create(Element element) {
+                Object tag = element.getAttributes().getAttribute(StyleConstants.NameAttribute);
+                if (PLACEHOLDERS.contains(tag)) {
+                    return new PlaceholderView(element);
+                }
+                return super.create(element);
+            }
+        };
+
+        @Override
+        public ViewFactory getViewFactory() {
+            return factory;
+        }
+
+        @Override
+        public Document createDefaultDocument() {
+            StyleSheet styles = new OfflineStyleSheet();
+            styles.addStyleSheet(getStyleSheet());
+            HTMLDocument document = new HTMLDocument(styles);
+            document.setParser(getParser());
+            return document;
+        }
+    }
+
+    /**
+     * Таблица стилей, которая не подключает внешние таблицы и не загружает изображения
+     * ({@code background-image}, атрибут {@code background}, {@code list-style-image}).
+     */
+    private static final class OfflineStyleSheet extends StyleSheet {
+
+        @Override
+        public void importStyleSheet(URL url) {
+        }
+
+        @Override
+        public BoxPainter getBoxPainter(AttributeSet attributes) {
+            return super.getBoxPainter(new WithoutImages(attributes));
+        }
+
+        @Override
+        public ListPainter getListPainter(AttributeSet attributes) {
+            return super.getListPainter(new WithoutImages(attributes));
+        }
+    }
+
+    /**
+     * Атрибуты элемента без ссылок на изображения.
+     */
+    private record WithoutImages(AttributeSet attributes) implements AttributeSet {
+
+        private static boolean isImage(Object name) {
+            return name == CSS.Attribute.BACKGROUND_IMAGE || name == CSS.Attribute.LIST_STYLE_IMAGE
+                    || name == HTML.Attribute.BACKGROUND;
+        }
+
+        @Override
+        public int getAttributeCount() {
+            return attributes.getAttributeCount();
+        }
+
+        @Override
+        public boolean isDefined(Object name) {
+            return !isImage(name) && attributes.isDefined(name);
+        }
+
+        @Override
+        public boolean isEqual(AttributeSet other) {
+            return attributes.isEqual(other);
+        }
+
+        @Override
+        public AttributeSet copyAttributes() {
+            return this;
+        }
+
+        @Override
+        public Object getAttribute(Object name) {
+            return isImage(name) ? null : attributes.getAttribute(name);
+        }
+
+        @Override
+        public Enumeration<?> getAttributeNames() {
+            return attributes.getAttributeNames();
+        }
+
+        @Override
+        public boolean containsAttribute(Object name, Object value) {
+            return !isImage(name) && attributes.containsAttribute(name, value);
+        }
+
+        @Override
+        public boolean containsAttributes(AttributeSet other) {
+            return attributes.containsAttributes(other);
+        }
+
+        @Override
+        public AttributeSet getResolveParent() {
+            return attributes.getResolveParent();
+        }
+    }
+
+    /**
+     * Серый прямоугольник размером, указанным в атрибутах элемента.
+     */
+    private static final class PlaceholderView extends View {
+
+        private static final Color FILL = new Color(0xE0E0E0);
+
+        private final int width;
+
+        private final int height;
+
+        PlaceholderView(Element element) {
+            super(element);
+            AttributeSet attributes = element.getAttributes();
+            this.width = size(attributes.getAttribute(HTML.Attribute.WIDTH));
+            this.height = size(attributes.getAttribute(HTML.Attribute.HEIGHT));
+        }
+
+        @Override
+        public float getPreferredSpan(int axis) {
+            return axis == X_AXIS ? width : height;
+        }
+
+        @Override
+        public void paint(Graphics graphics, Shape allocation) {
+            Rectangle bounds = allocation.getBounds();
+            graphics.setColor(FILL);
+            graphics.fillRect(bounds.x, bounds.y, bounds.width, bounds.height);
+        }
+
+        @Override
+        public Shape modelToView(int pos, Shape allocation, Position.Bias bias) {
+            return allocation;
+        }
+
+        @Override
+        public int viewToModel(float x, float y, Shape allocation, Position.Bias[] bias) {
+            return getStartOffset();
+        }
+
+        private static int size(Object value) {
+            if (value == null) {
+                return 0;
+            }
+            try {
+                return Math.max(0, Integer.parseInt(value.toString().replace("px", "").trim()));
+            } catch (NumberFormatException e) {
+                return 0;
+            }
+        }
+    }
+}
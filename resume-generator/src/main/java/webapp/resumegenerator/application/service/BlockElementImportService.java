@@ -0,0 +1,191 @@
+package webapp.resumegenerator.application.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mongodb.ErrorCategory;
+import com.mongodb.bulk.BulkWriteError;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations.BulkMode;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.stereotype.Service;
+import webapp.resumegenerator.domain.model.BlockElement;
+import webapp.resumegenerator.domain.model.BlockImportItemResult;
+import webapp.resumegenerator.domain.model.BlockImportItemResult.Status;
+import webapp.resumegenerator.domain.model.BlockImportResult;
+
+/**
+ * Сервис пакетного импорта блоков из NDJSON-потока.
+ * Уникальность имён обеспечивается уникальным индексом по полю {@code name}, а не
+ * предварительным запросом {@code existsByName}, поэтому каждый пакет сохраняется
+ * одной неупорядоченной операцией {@code bulkWrite}, а дубликаты возвращаются
+ * в результатах по отдельным записям. Совпадение имени и совпадение идентификатора
+ * различаются по индексу, названному в ошибке.
+ */
+@Service
+public class BlockElementImportService {
+
+    /**
+     * Имя уникального индекса по имени блока.
+     */
+    public static final String NAME_INDEX = "block_name_unique";
+
+    /**
+     * Имя индекса по идентификатору документа.
+     */
+    static final String ID_INDEX = "_id_";
+
+    private static final Pattern DUPLICATE_INDEX = Pattern.compile("index: (\\S+) dup key");
+
+    private final MongoTemplate mongoTemplate;
+
+    private final ObjectMapper objectMapper;
+
+    private final int batchSize;
+
+    private final AtomicBoolean nameIndexEnsured = new AtomicBoolean();
+
+    /**
+     * Конструктор для внедрения зависимостей.
+     *
+     * @param mongoTemplate Экземпляр MongoTemplate для взаимодействия с БД.
+     * @param objectMapper Сериализатор JSON.
+     * @param batchSize Количество блоков в одной операции {@code bulkWrite}.
+     */
+    @Autowired
+    public BlockElementImportService(MongoTemplate mongoTemplate, ObjectMapper objectMapper,
+                                     @Value("${generator.import.batch-size:1000}") int batchSize) {
+        this.mongoTemplate = mongoTemplate;
+        this.objectMapper = objectMapper;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Импортирует блоки из NDJSON-потока: одна строка - одно дерево {@link BlockElement}.
+     *
+     * @param ndjson Входной поток в кодировке UTF-8.
+     * @return Итог импорта с результатами по каждой записи.
+     * @throws IOException при ошибке чтения потока.
+     */
+    @CacheEvict(value = "blockElements", allEntries = true)
+    public BlockImportResult importBlocks(InputStream ndjson) throws IOException {
+        ensureNameIndex();
+        BlockImportResult result = new BlockImportResult();
+        List<PendingBlock> batch = new ArrayList<>(batchSize);
+        BufferedReader reader = new BufferedReader(new InputStreamReader(ndjson, StandardCharsets.UTF_8));
+        long lineNumber = 0;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            BlockElement block;
+            try {
+                block = objectMapper.readValue(line, BlockElement.class);
+            } catch (JsonProcessingException e) {
+                result.add(new BlockImportItemResult(lineNumber, null, null, Status.INVALID,
+                        e.getOriginalMessage()));
+                continue;
+            }
+            if (block.getName() == null || block.getName().isBlank()) {
+                result.add(new BlockImportItemResult(lineNumber, block.getId(), null, Status.INVALID,
+                        "Имя блока не может быть пустым"));
+                continue;
+            }
+            batch.add(new PendingBlock(lineNumber, block));
+            if (batch.size() == batchSize) {
+                insertBatch(batch, result);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            insertBatch(batch, result);
+        }
+        return result;
+    }
+
+    private void insertBatch(List<PendingBlock> batch, BlockImportResult result) {
+        Map<Integer, BulkWriteError> errors = new HashMap<>();
+        try {
+            mongoTemplate.bulkOps(BulkMode.UNORDERED, BlockElement.class)
+                    .insert(batch.stream().map(PendingBlock::block).toList())
+                    .execute();
+        } catch (BulkOperationException e) {
+            for (BulkWriteError error : e.getErrors()) {
+                errors.put(error.getIndex(), error);
+            }
+        }
+        for (int index = 0; index < batch.size(); index++) {
+            PendingBlock pending = batch.get(index);
+            BulkWriteError error = errors.get(index);
+            Status status = Status.CREATED;
+            String message = null;
+            if (error != null) {
+                String duplicateIndex = ErrorCategory.fromErrorCode(error.getCode()) == ErrorCategory.DUPLICATE_KEY
+                        ? duplicateIndex(error.getMessage())
+                        : null;
+                if (NAME_INDEX.equals(duplicateIndex)) {
+                    status = Status.DUPLICATE;
+                    message = "Block with name '" + pending.block().getName() + "' already exists";
+                } else if (ID_INDEX.equals(duplicateIndex)) {
+                    status = Status.DUPLICATE_ID;
+                    message = "Block with ID '" + pending.block().getId() + "' already exists";
+                } else {
+                    status = Status.FAILED;
+                    message = error.getMessage();
+                }
+            }
+            result.add(new BlockImportItemResult(pending.line(), pending.block().getId(),
+                    pending.block().getName(), status, message));
+        }
+    }
+
+    /**
+     * Имя индекса из сообщения об ошибке дублирования ключа
+     * ({@code E11000 duplicate key error collection: ... index: <имя> dup key: ...}).
+     *
+     * @param message Сообщение сервера.
+     * @return Имя индекса или {@code null}, если в сообщении его нет.
+     */
+    static String duplicateIndex(String message) {
+        Matcher matcher = DUPLICATE_INDEX.matcher(message == null ? "" : message);
+        return matcher.find() ? matcher.group(1) : null;
+    }
+
+    private void ensureNameIndex() {
+        if (!nameIndexEnsured.get()) {
+            mongoTemplate.indexOps(BlockElement.class).ensureIndex(new Index()
+                    .on("name", Sort.Direction.ASC)
+                    .unique()
+                    .sparse()
+                    .named(NAME_INDEX));
+            nameIndexEnsured.set(true);
+        }
+    }
+
+    /**
+     * Блок, ожидающий сохранения в текущем пакете.
+     *
+     * @param line Номер строки во входном потоке.
+     * @param block Блок.
+     */
+    private record PendingBlock(long line, BlockElement block) {
+    }
+}
@@ -0,0 +1,344 @@
+package webapp.resumegenerator.application.service;
+
+import com.github.luben.zstd.ZstdInputStream;
+import com.github.luben.zstd.ZstdOutputStream;
+import com.mongodb.ErrorCategory;
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.client.MongoCursor;
+import com.mongodb.client.model.BulkWriteOptions;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.InsertOneModel;
+import com.mongodb.client.model.ReplaceOneModel;
+import com.mongodb.client.model.ReplaceOptions;
+import com.mongodb.client.model.WriteModel;
+import java.io.BufferedInputStream;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import org.bson.BsonDocument;
+import org.bson.BsonValue;
+import org.bson.RawBsonDocument;
+import org.bson.json.JsonMode;
+import org.bson.json.JsonWriterSettings;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Service;
+import webapp.resumegenerator.application.etag.EntityTagRegistry;
+import webapp.resumegenerator.domain.model.BlockElement;
+import webapp.resumegenerator.domain.model.CatalogImportResult;
+import webapp.resumegenerator.domain.model.Layout;
+import webapp.resumegenerator.domain.model.SectionElementProps;
+import webapp.resumegenerator.domain.model.Template;
+import webapp.resumegenerator.domain.model.TemplateVersion;
+import webapp.resumegenerator.domain.repository.StyleSetStore;
+
+/**
+ * Перенос каталога шаблонов и блоков между окружениями сжатым NDJSON-архивом.
+ * <p>
+ * Первая строка архива — заголовок {@code {"format":"resum-catalog","version":1}}, далее по строке
+ * на документ: {@code {"collection":"...","document":{...}}}. Документы пишутся и читаются
+ * как BSON без преобразования в модели, в каноническом расширенном JSON, поэтому UUID, даты
+ * и ссылки на наборы стилей переносятся без изменений. Наборы стилей выгружаются первыми:
+ * блоки ссылаются на них по идентификатору. Вместе с шаблонами переносится история их версий
+ * ({@code template_versions}).
+ * <p>
+ * Выгрузка читает курсор MongoDB пакетами, загрузка пишет неупорядоченными {@code bulkWrite}
+ * по {@code generator.import.batch-size} документов; в памяти одновременно находится не больше
+ * одного пакета при любом размере каталога.
+ * <p>
+ * Кэши шаблонов, блоков и их ETag очищаются до загрузки и после неё, в том числе при ошибке:
+ * часть пакетов к этому моменту уже может быть записана.
+ */
+@Service
+public class CatalogArchiveService {
+
+    static final String FORMAT = "resum-catalog";
+
+    static final int VERSION = 1;
+
+    private static final JsonWriterSettings JSON = JsonWriterSettings.builder()
+            .outputMode(JsonMode.EXTENDED)
+            .build();
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private static final List<String> CACHES = List.of("templates", "blockElements", EntityTagRegistry.TEMPLATES,
+            EntityTagRegistry.BLOCKS);
+
+    private final MongoTemplate mongoTemplate;
+
+    private final CacheManager cacheManager;
+
+    private final int batchSize;
+
+    private final List<String> collections;
+
+    /**
+     * Конструктор для внедрения зависимостей.
+     *
+     * @param mongoTemplate Экземпляр MongoTemplate для взаимодействия с БД.
+     * @param cacheManager Менеджер кэшей шаблонов и блоков.
+     * @param batchSize Количество документов в одном пакете чтения и записи.
+     */
+    @Autowired
+    public CatalogArchiveService(MongoTemplate mongoTemplate, CacheManager cacheManager,
+                                 @Value("${generator.import.batch-size:1000}") int batchSize) {
+        this.mongoTemplate = mongoTemplate;
+        this.cacheManager = cacheManager;
+        this.batchSize = batchSize;
+        this.collections = List.of(
+                StyleSetStore.COLLECTION,
+                mongoTemplate.getCollectionName(Layout.class),
+                mongoTemplate.getCollectionName(SectionElementProps.class),
+                mongoTemplate.getCollectionName(BlockElement.class),
+                mongoTemplate.getCollectionName(Template.class),
+                mongoTemplate.getCollectionName(TemplateVersion.class));
+    }
+
+    /**
+     * Сжатие архива.
+     */
+    public enum Compression {
+        GZIP("application/gzip", ".ndjson.gz"),
+        ZSTD("application/zstd", ".ndjson.zst");
+
+        private final String mediaType;
+
+        private final String extension;
+
+        Compression(String mediaType, String extension) {
+            this.mediaType = mediaType;
+            this.extension = extension;
+        }
+
+        public String getMediaType() {
+            return mediaType;
+        }
+
+        public String getExtension() {
+            return extension;
+        }
+    }
+
+    /**
+     * Режим загрузки документов, идентификаторы которых уже есть в БД.
+     */
+    public enum ImportMode {
+        /**
+         * Существующие документы не изменяются, совпадения учитываются как дубликаты.
+         */
+        INSERT,
+        /**
+         * Существующие документы заменяются документами архива.
+         */
+        REPLACE
+    }
+
+    /**
+     * Выгружает каталог в поток.
+     *
+     * @param out Выходной поток; не закрывается.
+     * @param compression Сжатие архива.
+     * @throws IOException при ошибке записи.
+     */
+    public void exportCatalog(OutputStream out, Compression compression) throws IOException {
+        OutputStream compressed = compression == Compression.ZSTD
+                ? new ZstdOutputStream(new NonClosingOutputStream(out))
+                : new GZIPOutputStream(new NonClosingOutputStream(out), BUFFER_SIZE);
+        try (Writer writer = new BufferedWriter(new OutputStreamWriter(compressed, StandardCharsets.UTF_8),
+                BUFFER_SIZE)) {
+            writer.write("{\"format\":\"" + FORMAT + "\",\"version\":" + VERSION + "}\n");
+            for (String collection : collections) {
+                try (MongoCursor<RawBsonDocument> cursor = mongoTemplate.getCollection(collection)
+                        .withDocumentClass(RawBsonDocument.class)
+                        .find()
+                        .batchSize(batchSize)
+                        .iterator()) {
+                    while (cursor.hasNext()) {
+                        writer.write("{\"collection\":\"");
+                        writer.write(collection);
+                        writer.write("\",\"document\":");
+                        writer.write(cursor.next().toJson(JSON));
+                        writer.write("}\n");
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Загружает каталог из архива. Сжатие определяется по сигнатуре потока.
+     *
+     * @param archive Входной поток архива.
+     * @param mode Режим загрузки существующих документов.
+     * @return Итог импорта.
+     * @throws IOException при ошибке чтения потока.
+     * @throws IllegalArgumentException если поток не является архивом каталога.
+     */
+    public CatalogImportResult importCatalog(InputStream archive, ImportMode mode) throws IOException {
+        clearCaches();
+        try {
+            return load(archive, mode);
+        } finally {
+            clearCaches();
+        }
+    }
+
+    private CatalogImportResult load(InputStream archive, ImportMode mode) throws IOException {
+        Set<String> known = Set.copyOf(collections);
+        CatalogImportResult result = new CatalogImportResult();
+        List<BsonDocument> batch = new ArrayList<>(batchSize);
+        String batchCollection = null;
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(decompress(archive), StandardCharsets.UTF_8), BUFFER_SIZE)) {
+            readHeader(reader);
+            long lineNumber = 1;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                BsonDocument entry;
+                try {
+                    entry = RawBsonDocument.parse(line);
+                } catch (RuntimeException e) {
+                    result.addInvalid(lineNumber, "некорректный JSON");
+                    continue;
+                }
+                BsonValue collectionValue = entry.get("collection");
+                BsonValue documentValue = entry.get("document");
+                if (collectionValue == null || !collectionValue.isString()
+                        || !known.contains(collectionValue.asString().getValue())) {
+                    result.addInvalid(lineNumber, "неизвестная коллекция");
+                    continue;
+                }
+                if (documentValue == null || !documentValue.isDocument()
+                        || !documentValue.asDocument().containsKey("_id")) {
+                    result.addInvalid(lineNumber, "документ без идентификатора");
+                    continue;
+                }
+                String collection = collectionValue.asString().getValue();
+                if (!collection.equals(batchCollection) || batch.size() == batchSize) {
+                    writeBatch(batchCollection, batch, mode, result);
+                    batch.clear();
+                    batchCollection = collection;
+                }
+                batch.add(documentValue.asDocument());
+            }
+        }
+        writeBatch(batchCollection, batch, mode, result);
+        return result;
+    }
+
+    private void clearCaches() {
+        for (String name : CACHES) {
+            Cache cache = cacheManager.getCache(name);
+            if (cache != null) {
+                cache.clear();
+            }
+        }
+    }
+
+    private void writeBatch(String collection, List<BsonDocument> batch, ImportMode mode,
+                            CatalogImportResult result) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        List<WriteModel<BsonDocument>> writes = new ArrayList<>(batch.size());
+        for (BsonDocument document : batch) {
+            writes.add(mode == ImportMode.REPLACE
+                    ? new ReplaceOneModel<>(Filters.eq("_id", document.get("_id")), document,
+                            new ReplaceOptions().upsert(true))
+                    : new InsertOneModel<>(document));
+        }
+        int errors = 0;
+        try {
+            mongoTemplate.getCollection(collection)
+                    .withDocumentClass(BsonDocument.class)
+                    .bulkWrite(writes, new BulkWriteOptions().ordered(false));
+        } catch (MongoBulkWriteException e) {
+            for (BulkWriteError error : e.getWriteErrors()) {
+                errors++;
+                if (mode == ImportMode.INSERT
+                        && ErrorCategory.fromErrorCode(error.getCode()) == ErrorCategory.DUPLICATE_KEY) {
+                    result.addDuplicate();
+                } else {
+                    result.addFailed(collection + " " + batch.get(error.getIndex()).get("_id") + ": "
+                            + error.getMessage());
+                }
+            }
+        }
+        result.addWritten(collection, batch.size() - errors);
+    }
+
+    private static void readHeader(BufferedReader reader) throws IOException {
+        String line = reader.readLine();
+        BsonDocument header;
+        try {
+            header = line == null ? null : RawBsonDocument.parse(line);
+        } catch (RuntimeException e) {
+            header = null;
+        }
+        if (header == null || !header.isString("format") || !FORMAT.equals(header.getString("format").getValue())) {
+            throw new IllegalArgumentException("Stream is not a catalog archive");
+        }
+        if (!header.isNumber("version") || header.getNumber("version").intValue() != VERSION) {
+            throw new IllegalArgumentException("Unsupported catalog archive version");
+        }
+    }
+
+    /**
+     * Распаковка по сигнатуре: gzip {@code 1f 8b}, zstd {@code 28 b5 2f fd}, иначе несжатый NDJSON.
+     */
+    static InputStream decompress(InputStream archive) throws IOException {
+        BufferedInputStream in = new BufferedInputStream(archive, BUFFER_SIZE);
+        in.mark(4);
+        byte[] magic = in.readNBytes(4);
+        in.reset();
+        if (magic.length >= 2 && (magic[0] & 0xff) == 0x1f && (magic[1] & 0xff) == 0x8b) {
+            return new GZIPInputStream(in, BUFFER_SIZE);
+        }
+        if (magic.length == 4 && (magic[0] & 0xff) == 0x28 && (magic[1] & 0xff) == 0xb5
+                && (magic[2] & 0xff) == 0x2f && (magic[3] & 0xff) == 0xfd) {
+            return new ZstdInputStream(in);
+        }
+        return in;
+    }
+
+    /**
+     * Поток ответа закрывает контейнер сервлетов; сжатие только дописывает свой хвост.
+     */
+    private static final class NonClosingOutputStream extends FilterOutputStream {
+
+        NonClosingOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+        }
+
+        @Override
+        public void close() throws IOException {
+            flush();
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package webapp.resumegenerator.application.service;
+
+import java.util.List;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import webapp.resumegenerator.application.layout.GridLayoutEngine;
+import webapp.resumegenerator.application.layout.LayoutPacker;
+import webapp.resumegenerator.domain.model.BlockElement;
+import webapp.resumegenerator.domain.model.Layout;
+import webapp.resumegenerator.domain.service.LayoutService;
+
+/**
+ * Сервис расчёта макета блоков на стороне сервера.
+ */
+@Service
+public class LayoutServiceImpl implements LayoutService {
+    private final GridLayoutEngine gridLayoutEngine;
+
+    private final LayoutPacker layoutPacker;
+
+    /**
+     * Конструктор для внедрения зависимостей движка макета и компоновщика.
+     *
+     * @param gridLayoutEngine Движок сеточного макета.
+     * @param layoutPacker Автоматическая компоновка макета.
+     */
+    @Autowired
+    public LayoutServiceImpl(GridLayoutEngine gridLayoutEngine, LayoutPacker layoutPacker) {
+        this.gridLayoutEngine = gridLayoutEngine;
+        this.layoutPacker = layoutPacker;
+    }
+
+    @Override
+    public List<Layout> normalizeLayout(List<Layout> layouts, int columns) {
+        return gridLayoutEngine.normalize(layouts, columns);
+    }
+
+    @Override
+    public boolean isLayoutValid(List<Layout> layouts, int columns) {
+        return gridLayoutEngine.isValid(layouts, columns);
+    }
+
+    @Override
+    public BlockElement arrangeBlock(BlockElement block) {
+        return layoutPacker.arrange(block);
+    }
+}
@@ -0,0 +1,41 @@
+package webapp.resumegenerator.application.service;
+
+import java.util.UUID;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import webapp.resumegenerator.application.layout.PaginationEngine;
+import webapp.resumegenerator.domain.model.PageFormat;
+import webapp.resumegenerator.domain.model.PaginationResult;
+import webapp.resumegenerator.domain.service.BlockElementService;
+import webapp.resumegenerator.domain.service.PaginationService;
+
+/**
+ * Сервис разбиения блоков на печатные страницы.
+ * Блок читается через кэш блоков, раскладки неизменившихся поддеревьев берутся из кэша движка.
+ */
+@Service
+public class PaginationServiceImpl implements PaginationService {
+
+    private final BlockElementService blockElementService;
+
+    private final PaginationEngine paginationEngine;
+
+    /**
+     * Конструктор для внедрения зависимостей.
+     *
+     * @param blockElementService Сервис блоков.
+     * @param paginationEngine Движок разбиения на страницы.
+     */
+    @Autowired
+    public PaginationServiceImpl(BlockElementService blockElementService, PaginationEngine paginationEngine) {
+        this.blockElementService = blockElementService;
+        this.paginationEngine = paginationEngine;
+    }
+
+    @Override
+    public PaginationResult paginate(UUID blockId, PageFormat format) {
+        return blockElementService.getBlockById(blockId)
+                .map(block -> paginationEngine.paginate(block, format))
+                .orElseThrow(() -> new IllegalArgumentException("Block with ID '" + blockId + "' not found"));
+    }
+}
@@ -0,0 +1,347 @@
+package webapp.resumegenerator.application.service;
+
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import webapp.resumegenerator.domain.model.RenderJobOutput;
+import webapp.resumegenerator.domain.model.RenderJobRequest;
+import webapp.resumegenerator.domain.model.RenderJobStatus;
+import webapp.resumegenerator.domain.model.RenderJobStatus.State;
+import webapp.resumegenerator.domain.service.RenderJobService;
+import webapp.resumegenerator.domain.service.RenderService;
+import webapp.resumegenerator.domain.service.TemplateService;
+import webapp.resumegenerator.infrastructure.client.ResumeAnalyzerClient;
+import webapp.resumegenerator.infrastructure.client.ResumeAnalyzerClient.ResumePage;
+
+/**
+ * Сервис заданий пакетного рендеринга резюме.
+ * Каждое резюме рендерится в отдельном виртуальном потоке: ожидание resume-analyzer,
+ * MongoDB и Redis не занимает потоки платформы. Количество одновременно обрабатываемых
+ * резюме ограничено семафором задания, чтобы не перегрузить resume-analyzer.
+ * Результаты всегда попадают в кэш результатов рендеринга, а при выводе в каталог
+ * дополнительно записываются в файлы. Состояние заданий хранится в памяти реплики.
+ */
+@Service
+public class RenderJobServiceImpl implements RenderJobService {
+
+    private static final Logger log = LoggerFactory.getLogger(RenderJobServiceImpl.class);
+
+    private static final int MAX_ERRORS = 20;
+
+    private final TemplateService templateService;
+
+    private final RenderService renderService;
+
+    private final ResumeAnalyzerClient analyzerClient;
+
+    private final Path outputRoot;
+
+    private final int maxConcurrency;
+
+    private final int pageSize;
+
+    private final int retainedJobs;
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    private final Map<String, RenderJob> jobs = new ConcurrentHashMap<>();
+
+    /**
+     * Конструктор для внедрения зависимостей.
+     *
+     * @param templateService Сервис шаблонов.
+     * @param renderService Сервис рендеринга.
+     * @param analyzerClient Клиент resume-analyzer.
+     * @param outputRoot Каталог, в котором создаются каталоги заданий.
+     * @param maxConcurrency Максимальное количество одновременно рендерящихся резюме в задании.
+     * @param pageSize Размер страницы поиска резюме.
+     * @param retainedJobs Количество хранимых завершённых заданий.
+     */
+    @Autowired
+    public RenderJobServiceImpl(TemplateService templateService, RenderService renderService,
+                                ResumeAnalyzerClient analyzerClient,
+                                @Value("${generator.render.jobs.output-dir:${java.io.tmpdir}/resume-renders}")
+                                Path outputRoot,
+                                @Value("${generator.render.jobs.max-concurrency:64}") int maxConcurrency,
+                                @Value("${generator.render.jobs.page-size:200}") int pageSize,
+                                @Value("${generator.render.jobs.retained:100}") int retainedJobs) {
+        this.templateService = templateService;
+        this.renderService = renderService;
+        this.analyzerClient = analyzerClient;
+        this.outputRoot = outputRoot;
+        this.maxConcurrency = maxConcurrency;
+        this.pageSize = pageSize;
+        this.retainedJobs = retainedJobs;
+    }
+
+    /**
+     * Проверяет шаблон и запускает задание в виртуальном потоке.
+     *
+     * @param request Параметры задания.
+     * @return Состояние запущенного задания.
+     */
+    @Override
+    public RenderJobStatus submit(RenderJobRequest request) {
+        boolean hasIds = request.getResumeIds() != null && !request.getResumeIds().isEmpty();
+        boolean hasQuery = request.getQuery() != null && !request.getQuery().isBlank();
+        if (!hasIds && !hasQuery) {
+            throw new IllegalArgumentException("Не заданы резюме: укажите resumeIds или query");
+        }
+        try {
+            templateService.getTemplateById(request.getTemplateId());
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Шаблон " + request.getTemplateId() + " не найден", e);
+        }
+        int requested = request.getConcurrency() == null ? maxConcurrency : request.getConcurrency();
+        int concurrency = Math.max(1, Math.min(requested, maxConcurrency));
+        String id = UUID.randomUUID().toString();
+        Path directory = null;
+        if (request.getOutput() == RenderJobOutput.DIRECTORY) {
+            directory = outputRoot.resolve(id);
+            try {
+                Files.createDirectories(directory);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Не удалось создать каталог " + directory, e);
+            }
+        }
+        RenderJob job = new RenderJob(id, request, concurrency, directory);
+        jobs.put(id, job);
+        pruneFinishedJobs();
+        executor.execute(() -> run(job));
+        return job.status();
+    }
+
+    @Override
+    public Optional<RenderJobStatus> getStatus(String jobId) {
+        return Optional.ofNullable(jobs.get(jobId)).map(RenderJob::status);
+    }
+
+    @Override
+    public List<RenderJobStatus> getJobs() {
+        return jobs.values().stream()
+                .sorted(Comparator.comparingLong(RenderJob::startedNanos).reversed())
+                .map(RenderJob::status)
+                .toList();
+    }
+
+    @Override
+    public Optional<RenderJobStatus> cancel(String jobId) {
+        RenderJob job = jobs.get(jobId);
+        if (job == null) {
+            return Optional.empty();
+        }
+        job.cancelled = true;
+        return Optional.of(job.status());
+    }
+
+    /**
+     * Прерывает незавершённые задания при остановке приложения.
+     */
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Раздаёт резюме задания виртуальным потокам и дожидается их завершения.
+     */
+    private void run(RenderJob job) {
+        State state = State.COMPLETED;
+        try {
+            if (job.request.getResumeIds() != null && !job.request.getResumeIds().isEmpty()) {
+                job.total.set(job.request.getResumeIds().size());
+                for (String resumeId : job.request.getResumeIds()) {
+                    if (job.cancelled) {
+                        break;
+                    }
+                    dispatch(job, resumeId, null);
+                }
+            } else {
+                int page = 0;
+                while (!job.cancelled) {
+                    ResumePage resumes = analyzerClient.searchResumes(job.request.getQuery(), page++, pageSize);
+                    job.total.addAndGet(resumes.resumes().size());
+                    for (Map<String, Object> resume : resumes.resumes()) {
+                        if (job.cancelled) {
+                            break;
+                        }
+                        dispatch(job, String.valueOf(resume.get("id")), resume);
+                    }
+                    if (resumes.last()) {
+                        break;
+                    }
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            state = State.CANCELLED;
+        } catch (RuntimeException e) {
+            log.warn("Задание рендеринга {} прервано", job.id, e);
+            job.error("задание", e);
+            state = State.FAILED;
+        } finally {
+            job.permits.acquireUninterruptibly(job.concurrency);
+            job.finish(job.cancelled && state == State.COMPLETED ? State.CANCELLED : state);
+        }
+    }
+
+    private void dispatch(RenderJob job, String resumeId, Map<String, Object> resume) throws InterruptedException {
+        job.permits.acquire();
+        try {
+            executor.execute(() -> {
+                try {
+                    render(job, resumeId, resume);
+                } finally {
+                    job.permits.release();
+                }
+            });
+        } catch (RuntimeException e) {
+            job.permits.release();
+            throw e;
+        }
+    }
+
+    private void render(RenderJob job, String resumeId, Map<String, Object> resume) {
+        try {
+            Map<String, Object> data = resume != null ? resume : analyzerClient.getResume(resumeId);
+            if (data == null) {
+                job.failure(resumeId, "резюме не найдено");
+                return;
+            }
+            String html = renderService.renderTemplate(job.request.getTemplateId(), data, job.request.getBlockId());
+            if (job.directory != null) {
+                Files.writeString(job.directory.resolve(fileName(resumeId)), html);
+            }
+            job.completed.incrementAndGet();
+        } catch (IOException | RuntimeException e) {
+            job.error(resumeId, e);
+            job.failed.incrementAndGet();
+        }
+    }
+
+    private static String fileName(String resumeId) {
+        return resumeId.replaceAll("[^A-Za-z0-9._-]", "_") + ".html";
+    }
+
+    private void pruneFinishedJobs() {
+        int excess = jobs.size() - retainedJobs;
+        if (excess <= 0) {
+            return;
+        }
+        jobs.values().stream()
+                .filter(job -> job.state != State.RUNNING)
+                .sorted(Comparator.comparingLong(RenderJob::startedNanos))
+                .limit(excess)
+                .forEach(job -> jobs.remove(job.id));
+    }
+
+    /**
+     * Изменяемое состояние выполняющегося задания.
+     */
+    private static final class RenderJob {
+
+        private final String id;
+
+        private final RenderJobRequest request;
+
+        private final int concurrency;
+
+        private final Semaphore permits;
+
+        private final Path directory;
+
+        private final AtomicLong total = new AtomicLong();
+
+        private final AtomicLong completed = new AtomicLong();
+
+        private final AtomicLong failed = new AtomicLong();
+
+        private final AtomicInteger errorCount = new AtomicInteger();
+
+        private final Queue<String> errors = new ConcurrentLinkedQueue<>();
+
+        private final LocalDateTime startedAt = LocalDateTime.now();
+
+        private final long startedNanos = System.nanoTime();
+
+        private volatile long finishedNanos;
+
+        private volatile LocalDateTime finishedAt;
+
+        private volatile State state = State.RUNNING;
+
+        private volatile boolean cancelled;
+
+        RenderJob(String id, RenderJobRequest request, int concurrency, Path directory) {
+            this.id = id;
+            this.request = request;
+            this.concurrency = concurrency;
+            this.permits = new Semaphore(concurrency);
+            this.directory = directory;
+        }
+
+        long startedNanos() {
+            return startedNanos;
+        }
+
+        void failure(String resumeId, String message) {
+            failed.incrementAndGet();
+            if (errorCount.getAndIncrement() < MAX_ERRORS) {
+                errors.add(resumeId + ": " + message);
+            }
+        }
+
+        void error(String resumeId, Exception e) {
+            if (errorCount.getAndIncrement() < MAX_ERRORS) {
+                errors.add(resumeId + ": " + e.getMessage());
+            }
+        }
+
+        void finish(State finalState) {
+            finishedNanos = System.nanoTime();
+            finishedAt = LocalDateTime.now();
+            state = finalState;
+        }
+
+        RenderJobStatus status() {
+            long end = state == State.RUNNING ? System.nanoTime() : finishedNanos;
+            double seconds = Math.max(end - startedNanos, 1) / 1_000_000_000.0;
+            long done = completed.get();
+            return RenderJobStatus.builder()
+                    .id(id)
+                    .templateId(request.getTemplateId())
+                    .state(state)
+                    .total(total.get())
+                    .completed(done)
+                    .failed(failed.get())
+                    .throughput((done + failed.get()) / seconds)
+                    .startedAt(startedAt)
+                    .finishedAt(finishedAt)
+                    .outputDirectory(directory == null ? null : directory.toString())
+                    .errors(errors.isEmpty() ? null : new ArrayList<>(errors))
+                    .build();
+        }
+    }
+}
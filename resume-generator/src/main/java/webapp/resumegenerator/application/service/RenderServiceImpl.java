@@ -0,0 +1,186 @@
+package webapp.resumegenerator.application.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import webapp.resumegenerator.application.etag.EntityTagRegistry;
+import webapp.resumegenerator.application.export.ResumeDocumentCache;
+import webapp.resumegenerator.application.render.CompiledTemplate;
+import webapp.resumegenerator.application.render.CompiledTemplateCache;
+import webapp.resumegenerator.application.render.ContentDigest;
+import webapp.resumegenerator.application.render.RenderKey;
+import webapp.resumegenerator.application.render.RenderResultCache;
+import webapp.resumegenerator.domain.model.BlockElement;
+import webapp.resumegenerator.domain.model.ResumeDocument;
+import webapp.resumegenerator.domain.model.Template;
+import webapp.resumegenerator.domain.service.BlockElementService;
+import webapp.resumegenerator.domain.service.RenderService;
+import webapp.resumegenerator.domain.service.TemplateService;
+
+/**
+ * Сервис серверного рендеринга резюме.
+ * Использует кэш скомпилированных шаблонов, поэтому контент шаблона разбирается
+ * один раз на версию, а не при каждом запросе. Готовый HTML кэшируется по версии
+ * шаблона и отпечаткам контента шаблона, данных резюме и блока, поэтому повторные
+ * предпросмотры и скачивания того же резюме не рендерятся заново. Промежуточный документ
+ * для выгрузки в другие форматы кэшируется по тому же ключу.
+ */
+@Service
+public class RenderServiceImpl implements RenderService {
+    private static final TypeReference<Map<String, Object>> MAP_TYPE = new TypeReference<>() {
+    };
+
+    private final TemplateService templateService;
+
+    private final CompiledTemplateCache compiledTemplateCache;
+
+    private final RenderResultCache renderResultCache;
+
+    private final ResumeDocumentCache resumeDocumentCache;
+
+    private final BlockElementService blockElementService;
+
+    private final EntityTagRegistry entityTagRegistry;
+
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Сериализатор канонического JSON: ключи объектов упорядочены,
+     * поэтому одинаковые данные резюме дают одинаковый отпечаток.
+     */
+    private final ObjectMapper canonicalMapper;
+
+    /**
+     * Конструктор для внедрения зависимостей.
+     *
+     * @param templateService Сервис шаблонов.
+     * @param compiledTemplateCache Кэш скомпилированных шаблонов.
+     * @param renderResultCache Кэш результатов рендеринга.
+     * @param resumeDocumentCache Кэш промежуточных документов для выгрузки.
+     * @param blockElementService Сервис блоков.
+     * @param entityTagRegistry Реестр ETag, из которого берётся отпечаток блока.
+     * @param objectMapper Сериализатор данных резюме и блоков.
+     */
+    @Autowired
+    public RenderServiceImpl(TemplateService templateService, CompiledTemplateCache compiledTemplateCache,
+                             RenderResultCache renderResultCache, ResumeDocumentCache resumeDocumentCache,
+                             BlockElementService blockElementService, EntityTagRegistry entityTagRegistry,
+                             ObjectMapper objectMapper) {
+        this.templateService = templateService;
+        this.compiledTemplateCache = compiledTemplateCache;
+        this.renderResultCache = renderResultCache;
+        this.resumeDocumentCache = resumeDocumentCache;
+        this.blockElementService = blockElementService;
+        this.entityTagRegistry = entityTagRegistry;
+        this.objectMapper = objectMapper;
+        this.canonicalMapper = objectMapper.copy().configure(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS, true);
+    }
+
+    /**
+     * Рендерит данные резюме в HTML по указанному шаблону.
+     *
+     * @param templateId Идентификатор шаблона.
+     * @param resume Данные резюме.
+     * @return HTML-представление резюме.
+     */
+    @Override
+    public String renderTemplate(String templateId, Map<String, Object> resume) {
+        return renderTemplate(templateId, resume, null);
+    }
+
+    /**
+     * Рендерит данные резюме в HTML по указанному шаблону с деревом блока.
+     *
+     * @param templateId Идентификатор шаблона.
+     * @param resume Данные резюме.
+     * @param blockId Идентификатор блока или {@code null}.
+     * @return HTML-представление резюме.
+     */
+    @Override
+    public String renderTemplate(String templateId, Map<String, Object> resume, UUID blockId) {
+        RenderRequest request = prepare(templateId, resume, blockId);
+        return renderResultCache.get(request.key(), () -> render(request));
+    }
+
+    /**
+     * Строит промежуточный документ резюме; HTML берётся из кэша результатов рендеринга.
+     *
+     * @param templateId Идентификатор шаблона.
+     * @param resume Данные резюме.
+     * @param blockId Идентификатор блока или {@code null}.
+     * @return Документ резюме.
+     */
+    @Override
+    public ResumeDocument renderDocument(String templateId, Map<String, Object> resume, UUID blockId) {
+        RenderRequest request = prepare(templateId, resume, blockId);
+        return resumeDocumentCache.get(request.key(),
+                () -> renderResultCache.get(request.key(), () -> render(request)));
+    }
+
+    private RenderRequest prepare(String templateId, Map<String, Object> resume, UUID blockId) {
+        Template template = templateService.getTemplateById(templateId);
+        CompiledTemplate compiled = compiledTemplateCache.get(template);
+        BlockElement block = null;
+        String blockDigest = null;
+        if (blockId != null) {
+            block = blockElementService.getBlockById(blockId)
+                    .orElseThrow(() -> new IllegalArgumentException("Block with ID '" + blockId + "' not found"));
+            blockDigest = blockDigest(block);
+        }
+        RenderKey key = new RenderKey(template.getId(), template.getVersion(), compiled.getSourceDigest(),
+                resumeDigest(resume), blockId, blockDigest);
+        return new RenderRequest(key, compiled, resume, block);
+    }
+
+    private String render(RenderRequest request) {
+        return request.compiled().render(renderData(request.resume(), request.block()));
+    }
+
+    private String resumeDigest(Map<String, Object> resume) {
+        try {
+            return ContentDigest.of(canonicalMapper.writeValueAsBytes(resume == null ? Map.of() : resume));
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Некорректные данные резюме", e);
+        }
+    }
+
+    /**
+     * Отпечаток блока совпадает с его ETag, который сбрасывается при изменении блока,
+     * поэтому повторные запросы не сериализуют блок заново.
+     */
+    private String blockDigest(BlockElement block) {
+        String tag = entityTagRegistry.peek(EntityTagRegistry.BLOCKS, block.getId());
+        if (tag == null) {
+            tag = entityTagRegistry.blockTag(block);
+            entityTagRegistry.remember(EntityTagRegistry.BLOCKS, block.getId(), tag);
+        }
+        return tag.substring(1, tag.length() - 1);
+    }
+
+    private Map<String, Object> renderData(Map<String, Object> resume, BlockElement block) {
+        if (block == null) {
+            return resume;
+        }
+        Map<String, Object> data = resume == null ? new HashMap<>() : new HashMap<>(resume);
+        data.put("block", objectMapper.convertValue(block, MAP_TYPE));
+        return data;
+    }
+
+    /**
+     * Подготовленный запрос рендеринга.
+     *
+     * @param key Ключ кэшей результатов.
+     * @param compiled Скомпилированный шаблон.
+     * @param resume Данные резюме.
+     * @param block Блок или {@code null}.
+     */
+    private record RenderRequest(RenderKey key, CompiledTemplate compiled, Map<String, Object> resume,
+                                 BlockElement block) {
+    }
+}
@@ -1,18 +1,26 @@
 package webapp.resumegenerator.application.service;
 
 import org.springframework.cache.annotation.CacheEvict;
-import org.springframework.cache.annotation.CachePut;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import webapp.resumegenerator.application.render.RenderResultCache;
+import webapp.resumegenerator.domain.model.CursorPage;
 import webapp.resumegenerator.domain.model.Template;
+import webapp.resumegenerator.domain.model.TemplateCursor;
+import webapp.resumegenerator.domain.model.TemplateSummary;
 import webapp.resumegenerator.domain.repository.TemplateRepository;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import webapp.resumegenerator.domain.service.TemplateNotFoundException;
 import webapp.resumegenerator.domain.service.TemplateService;
+import webapp.resumegenerator.domain.service.TemplateVersionService;
 
 /**
  * Сервис для работы с шаблонами резюме.
@@ -20,16 +28,30 @@ import webapp.resumegenerator.domain.service.TemplateService;
  */
 @Service
 public class TemplateServiceImpl implements TemplateService {
+    private static final int MAX_CURSOR_PAGE_SIZE = 100;
+
+    private static final int MAX_SUGGESTIONS = 50;
+
     private final TemplateRepository templateRepository;
 
+    private final TemplateVersionService templateVersionService;
+
+    private final RenderResultCache renderResultCache;
+
     /**
-     * Конструктор для внедрения зависимости репозитория.
+     * Конструктор для внедрения зависимостей.
      *
      * @param templateRepository Репозиторий для работы с шаблонами.
+     * @param templateVersionService Сервис истории версий шаблонов.
+     * @param renderResultCache Кэш результатов рендеринга.
      */
     @Autowired
-    public TemplateServiceImpl(TemplateRepository templateRepository) {
+    public TemplateServiceImpl(TemplateRepository templateRepository,
+                               TemplateVersionService templateVersionService,
+                               RenderResultCache renderResultCache) {
         this.templateRepository = templateRepository;
+        this.templateVersionService = templateVersionService;
+        this.renderResultCache = renderResultCache;
     }
 
     /**
@@ -49,7 +71,7 @@ public class TemplateServiceImpl implements TemplateService {
      *
      * @param id Идентификатор шаблона.
      * @return Шаблон с заданным идентификатором.э
-     * @throws RuntimeException возникает исключение, если шаблон не найден.
+     * @throws TemplateNotFoundException если шаблон не найден.
      */
     @Override
     @Cacheable(value = "templates", key = "#id")
@@ -66,26 +88,37 @@ public class TemplateServiceImpl implements TemplateService {
      * @return Сохраненный шаблон.
      */
     @Override
+    @CacheEvict(value = "templates", key = "T(org.springframework.cache.interceptor.SimpleKey).EMPTY")
     public Template createTemplate(Template template) {
+        template.setRevision(0L);
         return templateRepository.save(template);
     }
 
     /**
-     * Обновление существующего шаблона.
+     * Обновление существующего шаблона одной условной заменой документа.
+     * Если клиент передал ревизию, шаблон заменяется только при её совпадении с текущей.
      *
      * @param id       Уникальный идентификатор шаблона, который требуется обновить.
      * @param template Новый шаблон с обновленными данными.
-     * @throws RuntimeException возникает исключение, если шаблон не нацден.
+     * @return Сохранённый шаблон со следующей ревизией.
+     * @throws TemplateNotFoundException если шаблон не найден.
+     * @throws OptimisticLockingFailureException если шаблон изменён другим клиентом.
      */
     @Override
-    @CachePut(value = "templates", key = "#template.id")
-    public void updateTemplate(String id, Template template) {
+    @Caching(evict = {
+        @CacheEvict(value = "templates", key = "#id"),
+        @CacheEvict(value = "templates", key = "T(org.springframework.cache.interceptor.SimpleKey).EMPTY"),
+        @CacheEvict(value = "templateETags", key = "#id")
+    })
+    public Template updateTemplate(String id, Template template) {
         UUID uuid = generateUUID(id);
-        if (!templateRepository.existsById(uuid)) {
-            throw new RuntimeException();
-        }
         template.setId(uuid);
-        templateRepository.save(template);
+        Template saved = templateRepository.replaceIfCurrent(template);
+        if (saved == null) {
+            throw new TemplateNotFoundException(id);
+        }
+        renderResultCache.evictTemplate(uuid);
+        return saved;
     }
 
     /**
@@ -95,13 +128,17 @@ public class TemplateServiceImpl implements TemplateService {
      * @throws RuntimeException возникает исключение, если шаблон не найден.
      */
     @Override
-    @CacheEvict(value = "templates", key = "#id")
+    @Caching(evict = {
+        @CacheEvict(value = "templates", key = "#id"),
+        @CacheEvict(value = "templates", key = "T(org.springframework.cache.interceptor.SimpleKey).EMPTY"),
+        @CacheEvict(value = "templateETags", key = "#id")
+    })
     public void deleteTemplate(String id) {
         UUID uuid = generateUUID(id);
-        if (!templateRepository.existsById(uuid)) {
-            throw new RuntimeException();
+        if (!templateRepository.removeById(uuid)) {
+            throw new TemplateNotFoundException(id);
         }
-        templateRepository.deleteById(uuid);
+        renderResultCache.evictTemplate(uuid);
     }
 
     /**
@@ -129,37 +166,61 @@ public class TemplateServiceImpl implements TemplateService {
 
     /**
      * Проверяет, существует ли шаблон с указанным именем.
+     * Имена сравниваются в нормализованной форме по индексу, без учёта регистра и лишних пробелов.
      *
      * @param name Имя шаблона.
      * @return Возвращает {@code true}, если шаблон с таким именем существует, иначе {@code false}.
      */
     @Override
     public boolean isTemplateNameExist(String name) {
-        return !templateRepository.findByName(name).isEmpty();
+        return templateRepository.existsByNormalizedName(name);
     }
 
     /**
-     * Находит все версии шаблона по имени.
+     * Подсказки имён шаблонов для автодополнения.
      *
-     * @param name Имя шаблона.
-     * @return Возвращает список всех существующих версий шаблона.
+     * @param query Введённая часть имени.
+     * @param limit Максимальное количество подсказок.
+     * @return Имена шаблонов, начинающиеся с запроса, а затем содержащие его.
      */
     @Override
-    public List<Template> findAllTemplateVersionsByName(String name) {
-        return templateRepository.findByNameOrderByVersionDesc(name);
+    public List<String> suggestTemplateNames(String query, int limit) {
+        return templateRepository.suggestNames(query, Math.max(1, Math.min(limit, MAX_SUGGESTIONS)));
     }
 
     /**
      * Создает новую версию шаблона на основе существующего.
+     * Шаблон сохраняется под тем же идентификатором с увеличенным номером версии, а затем
+     * в историю версий записывается его состояние до замены, полученное от той же операции.
+     * Замена выполняется при условии, что шаблон не изменился с момента чтения, поэтому
+     * при конфликте история не изменяется.
      *
      * @param template Шаблон, новую версию которого нужно создать.
      * @return Возвращает новую версию шаблона.
+     * @throws OptimisticLockingFailureException если шаблон изменён другим клиентом.
      */
     @Override
+    @Caching(evict = {
+        @CacheEvict(value = "templates", key = "#template.id"),
+        @CacheEvict(value = "templates", key = "T(org.springframework.cache.interceptor.SimpleKey).EMPTY"),
+        @CacheEvict(value = "templateETags", key = "#template.id")
+    })
     public Template createNewTemplateVersion(Template template) {
-        Template newTemplate = new Template(template.getName(), template.getContent(),
-                template.getDescription());
-        newTemplate.setVersion(template.getVersion() + 1);
+        Template newTemplate = Template.builder()
+                .id(template.getId())
+                .name(template.getName())
+                .description(template.getDescription())
+                .content(template.getContent())
+                .date(LocalDateTime.now())
+                .version(template.getVersion() + 1)
+                .revision(template.getRevision())
+                .build();
+        Template previous = templateRepository.replaceReturningPrevious(newTemplate);
+        if (previous == null) {
+            throw new TemplateNotFoundException(template.getId());
+        }
+        templateVersionService.recordVersion(previous);
+        renderResultCache.evictTemplate(template.getId());
         return newTemplate;
     }
 
@@ -174,4 +235,51 @@ public class TemplateServiceImpl implements TemplateService {
         return templateRepository.findAll(pageable);
     }
 
-}
\ No newline at end of file
+    /**
+     * Получение порции кратких представлений шаблонов с курсорной пагинацией.
+     * Запрашивается на один шаблон больше, чтобы без подсчёта понять, есть ли следующая порция.
+     *
+     * @param cursor Курсор из предыдущей порции или {@code null} для первой порции.
+     * @param size Количество шаблонов в порции.
+     * @param withTotal Нужно ли вернуть примерное общее количество шаблонов.
+     * @return Порция шаблонов с курсором следующей порции.
+     */
+    @Override
+    public CursorPage<TemplateSummary> getTemplatesAfter(String cursor, int size, boolean withTotal) {
+        int limit = Math.max(1, Math.min(size, MAX_CURSOR_PAGE_SIZE));
+        TemplateCursor after = cursor == null || cursor.isBlank() ? null : TemplateCursor.decode(cursor);
+        List<TemplateSummary> templates = templateRepository.findAfter(after, limit + 1);
+        String nextCursor = null;
+        if (templates.size() > limit) {
+            templates = templates.subList(0, limit);
+            nextCursor = TemplateCursor.after(templates.get(limit - 1)).encode();
+        }
+        Long total = withTotal ? templateRepository.estimateCount() : null;
+        return new CursorPage<>(templates, nextCursor, total);
+    }
+
+    /**
+     * Получение кратких представлений шаблонов с пагинацией.
+     * Контент шаблонов из БД не читается.
+     *
+     * @param pageable параметры пагинации.
+     * @return Страница кратких представлений шаблонов.
+     */
+    @Override
+    public Page<TemplateSummary> getTemplateSummaries(Pageable pageable) {
+        return templateRepository.findSummaries(pageable);
+    }
+
+    /**
+     * Краткие представления шаблонов, дата которых находится в указанном диапазоне.
+     * Контент шаблонов из БД не читается.
+     *
+     * @param startDate Начальная дата диапазона.
+     * @param endDate   Конечная дата диапазона.
+     * @return Краткие представления шаблонов, входящих в указанный диапазон дат.
+     */
+    @Override
+    public List<TemplateSummary> getTemplateSummariesByDateRange(LocalDate startDate, LocalDate endDate) {
+        return templateRepository.findSummariesByDate(startDate, endDate);
+    }
+}
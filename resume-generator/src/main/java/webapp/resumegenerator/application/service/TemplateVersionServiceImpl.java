@@ -0,0 +1,233 @@
+package webapp.resumegenerator.application.service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Stream;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import webapp.resumegenerator.domain.model.ContentDelta;
+import webapp.resumegenerator.domain.model.CursorPage;
+import webapp.resumegenerator.domain.model.Template;
+import webapp.resumegenerator.domain.model.TemplateVersion;
+import webapp.resumegenerator.domain.model.TemplateVersionInfo;
+import webapp.resumegenerator.domain.repository.TemplateVersionRepository;
+import webapp.resumegenerator.domain.service.TemplateVersionService;
+
+/**
+ * Сервис истории версий шаблонов с разностным хранением контента.
+ * Каждая версия сохраняется разницей относительно предыдущей, а через каждые
+ * {@code generator.versions.snapshot-interval} версий, либо если разница оказывается
+ * не меньше половины контента, сохраняется полный снимок.
+ */
+@Service
+public class TemplateVersionServiceImpl implements TemplateVersionService {
+    private static final int MAX_HISTORY_PAGE_SIZE = 100;
+
+    private final TemplateVersionRepository templateVersionRepository;
+
+    private final int snapshotInterval;
+
+    /**
+     * Конструктор для внедрения зависимостей.
+     *
+     * @param templateVersionRepository Репозиторий истории версий.
+     * @param snapshotInterval Максимальное количество разниц между полными снимками.
+     */
+    @Autowired
+    public TemplateVersionServiceImpl(TemplateVersionRepository templateVersionRepository,
+                                      @Value("${generator.versions.snapshot-interval:10}") int snapshotInterval) {
+        this.templateVersionRepository = templateVersionRepository;
+        this.snapshotInterval = Math.max(1, snapshotInterval);
+    }
+
+    /**
+     * Запись последней версии с тем же номером, но другим содержимым, перезаписывается: её могла
+     * оставить неудачная попытка создания версии по устаревшей копии шаблона.
+     */
+    @Override
+    public TemplateVersion recordVersion(Template template) {
+        Optional<TemplateVersion> latest = templateVersionRepository
+                .findFirstByTemplateIdOrderByVersionDesc(template.getId());
+        UUID id = UUID.randomUUID();
+        if (latest.isPresent() && latest.get().getVersion() >= template.getVersion()) {
+            TemplateVersion recorded = latest.get();
+            if (recorded.getVersion() > template.getVersion() || sameState(recorded, template)) {
+                return recorded;
+            }
+            id = recorded.getId();
+            latest = templateVersionRepository.findFirstByTemplateIdAndVersionLessThanOrderByVersionDesc(
+                    template.getId(), template.getVersion());
+        }
+        String content = template.getContent();
+        TemplateVersion.TemplateVersionBuilder version = TemplateVersion.builder()
+                .id(id)
+                .templateId(template.getId())
+                .version(template.getVersion())
+                .name(template.getName())
+                .description(template.getDescription())
+                .date(template.getDate())
+                .contentLength(content.length());
+        ContentDelta delta = null;
+        if (latest.isPresent() && latest.get().getChainLength() + 1 < snapshotInterval) {
+            String previous = reconstruct(template.getId(), latest.get().getVersion()).orElse(null);
+            if (previous != null) {
+                delta = ContentDelta.between(previous, content);
+            }
+        }
+        if (delta == null || delta.size() * 2 >= content.length()) {
+            version.snapshot(true).chainLength(0).content(content);
+        } else {
+            version.snapshot(false).chainLength(latest.get().getChainLength() + 1).delta(delta);
+        }
+        return templateVersionRepository.save(version.build());
+    }
+
+    @Override
+    public List<TemplateVersionInfo> getVersionHistory(Template current) {
+        List<TemplateVersionInfo> history = new ArrayList<>();
+        history.add(new CurrentVersionInfo(current));
+        for (TemplateVersionInfo info : templateVersionRepository.findByTemplateIdOrderByVersionDesc(current.getId())) {
+            if (info.getVersion() < current.getVersion()) {
+                history.add(info);
+            }
+        }
+        return history;
+    }
+
+    /**
+     * Порция версий шаблона. Курсором служит номер последней выданной версии,
+     * следующая порция читается условием {@code version < cursor} по индексу
+     * {@code (templateId, version)}.
+     */
+    @Override
+    public CursorPage<TemplateVersionInfo> getVersionHistory(Template current, String cursor, int size) {
+        int limit = Math.max(1, Math.min(size, MAX_HISTORY_PAGE_SIZE));
+        List<TemplateVersionInfo> history = new ArrayList<>();
+        int before;
+        if (cursor == null || cursor.isBlank()) {
+            history.add(new CurrentVersionInfo(current));
+            before = current.getVersion();
+        } else {
+            before = Integer.parseInt(cursor);
+        }
+        history.addAll(templateVersionRepository.findByTemplateIdAndVersionLessThanOrderByVersionDesc(
+                current.getId(), before, Limit.of(limit + 1 - history.size())));
+        String nextCursor = null;
+        if (history.size() > limit) {
+            history = history.subList(0, limit);
+            nextCursor = String.valueOf(history.get(limit - 1).getVersion());
+        }
+        return new CursorPage<>(history, nextCursor, null);
+    }
+
+    @Override
+    public Optional<Template> getTemplateVersion(Template current, int version) {
+        if (current.getVersion() == version) {
+            return Optional.of(current);
+        }
+        UUID id = current.getId();
+        Deque<TemplateVersion> chain = loadChain(id, version);
+        if (chain.isEmpty() || chain.peekLast().getVersion() != version) {
+            return Optional.empty();
+        }
+        TemplateVersion target = chain.peekLast();
+        return Optional.of(Template.builder()
+                .id(id)
+                .name(target.getName())
+                .description(target.getDescription())
+                .content(applyChain(chain))
+                .date(target.getDate())
+                .version(target.getVersion())
+                .build());
+    }
+
+    private boolean sameState(TemplateVersion recorded, Template template) {
+        return Objects.equals(recorded.getName(), template.getName())
+                && Objects.equals(recorded.getDescription(), template.getDescription())
+                && reconstruct(template.getId(), recorded.getVersion())
+                        .map(content -> content.equals(template.getContent()))
+                        .orElse(false);
+    }
+
+    private Optional<String> reconstruct(UUID templateId, int version) {
+        Deque<TemplateVersion> chain = loadChain(templateId, version);
+        return chain.isEmpty() ? Optional.empty() : Optional.of(applyChain(chain));
+    }
+
+    /**
+     * Загружает цепочку версий от ближайшего снимка до указанной версии включительно.
+     *
+     * @return Цепочка, начинающаяся со снимка, или пустая очередь, если снимок не найден.
+     */
+    private Deque<TemplateVersion> loadChain(UUID templateId, int version) {
+        Deque<TemplateVersion> chain = new ArrayDeque<>();
+        try (Stream<TemplateVersion> versions = templateVersionRepository
+                .findByTemplateIdAndVersionLessThanEqualOrderByVersionDesc(templateId, version)) {
+            for (TemplateVersion entry : (Iterable<TemplateVersion>) versions::iterator) {
+                chain.addFirst(entry);
+                if (entry.isSnapshot()) {
+                    return chain;
+                }
+            }
+        }
+        return new ArrayDeque<>();
+    }
+
+    private static String applyChain(Deque<TemplateVersion> chain) {
+        String content = null;
+        for (TemplateVersion entry : chain) {
+            content = entry.isSnapshot() ? entry.getContent() : entry.getDelta().applyTo(content);
+        }
+        return content;
+    }
+
+    /**
+     * Представление текущей версии шаблона в списке версий.
+     * Текущая версия хранится в коллекции шаблонов целиком, поэтому считается снимком.
+     */
+    private static final class CurrentVersionInfo implements TemplateVersionInfo {
+        private final Template template;
+
+        private CurrentVersionInfo(Template template) {
+            this.template = template;
+        }
+
+        @Override
+        public Integer getVersion() {
+            return template.getVersion();
+        }
+
+        @Override
+        public String getName() {
+            return template.getName();
+        }
+
+        @Override
+        public String getDescription() {
+            return template.getDescription();
+        }
+
+        @Override
+        public LocalDateTime getDate() {
+            return template.getDate();
+        }
+
+        @Override
+        public boolean isSnapshot() {
+            return true;
+        }
+
+        @Override
+        public int getContentLength() {
+            return template.getContent() == null ? 0 : template.getContent().length();
+        }
+    }
+}
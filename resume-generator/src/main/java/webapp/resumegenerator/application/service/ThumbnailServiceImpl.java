@@ -0,0 +1,112 @@
+package webapp.resumegenerator.application.service;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.locks.ReentrantLock;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Service;
+import webapp.resumegenerator.application.render.CompiledTemplateCache;
+import webapp.resumegenerator.application.render.ThumbnailRenderer;
+import webapp.resumegenerator.domain.model.Template;
+import webapp.resumegenerator.domain.model.TemplateThumbnail;
+import webapp.resumegenerator.domain.service.RenderService;
+import webapp.resumegenerator.domain.service.TemplateService;
+import webapp.resumegenerator.domain.service.ThumbnailService;
+import webapp.resumegenerator.infrastructure.cache.ThumbnailDiskCache;
+
+/**
+ * Сервис миниатюр шаблонов.
+ * Шаблон рендерится на демонстрационном резюме, результат растеризуется и сохраняется
+ * в дисковом кэше по ключу из идентификатора, версии и отпечатка контента шаблона,
+ * поэтому изменение шаблона без смены версии тоже даёт новую миниатюру, а старые
+ * записи вытесняются по LRU. Построение выполняется по одной миниатюре за раз.
+ */
+@Service
+public class ThumbnailServiceImpl implements ThumbnailService {
+
+    private static final TypeReference<Map<String, Object>> MAP_TYPE = new TypeReference<>() {
+    };
+
+    private static final int DIGEST_LENGTH = 16;
+
+    private final TemplateService templateService;
+
+    private final RenderService renderService;
+
+    private final CompiledTemplateCache compiledTemplateCache;
+
+    private final ThumbnailRenderer thumbnailRenderer;
+
+    private final ThumbnailDiskCache thumbnailCache;
+
+    private final Map<String, Object> sampleResume;
+
+    private final ReentrantLock renderLock = new ReentrantLock();
+
+    /**
+     * Конструктор для внедрения зависимостей.
+     *
+     * @param templateService Сервис шаблонов.
+     * @param renderService Сервис рендеринга.
+     * @param compiledTemplateCache Кэш скомпилированных шаблонов, хранящий отпечаток контента.
+     * @param thumbnailRenderer Растеризатор HTML.
+     * @param thumbnailCache Дисковый кэш миниатюр.
+     * @param objectMapper Парсер демонстрационного резюме.
+     * @param sampleResume Демонстрационное резюме, на котором рендерятся шаблоны.
+     */
+    @Autowired
+    public ThumbnailServiceImpl(TemplateService templateService, RenderService renderService,
+                                CompiledTemplateCache compiledTemplateCache, ThumbnailRenderer thumbnailRenderer,
+                                ThumbnailDiskCache thumbnailCache, ObjectMapper objectMapper,
+                                @Value("${generator.thumbnail.sample-resume:classpath:thumbnail/sample-resume.json}")
+                                Resource sampleResume) {
+        this.templateService = templateService;
+        this.renderService = renderService;
+        this.compiledTemplateCache = compiledTemplateCache;
+        this.thumbnailRenderer = thumbnailRenderer;
+        this.thumbnailCache = thumbnailCache;
+        try (InputStream in = sampleResume.getInputStream()) {
+            this.sampleResume = Map.copyOf(objectMapper.readValue(in, MAP_TYPE));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Не удалось прочитать демонстрационное резюме", e);
+        }
+    }
+
+    @Override
+    public String getThumbnailTag(String templateId) {
+        return tag(templateService.getTemplateById(templateId));
+    }
+
+    @Override
+    public TemplateThumbnail getThumbnail(String templateId) {
+        Template template = templateService.getTemplateById(templateId);
+        String tag = tag(template);
+        String key = template.getId() + "-" + tag;
+        byte[] png = thumbnailCache.get(key);
+        if (png == null) {
+            renderLock.lock();
+            try {
+                png = thumbnailCache.get(key);
+                if (png == null) {
+                    png = thumbnailRenderer.render(renderService.renderTemplate(templateId, sampleResume));
+                    thumbnailCache.put(key, png);
+                }
+            } finally {
+                renderLock.unlock();
+            }
+        }
+        return new TemplateThumbnail(tag, png);
+    }
+
+    private String tag(Template template) {
+        String digest = compiledTemplateCache.get(template).getSourceDigest();
+        return Objects.requireNonNullElse(template.getVersion(), 0) + "-" + digest.substring(0, DIGEST_LENGTH);
+    }
+}
@@ -0,0 +1,280 @@
+package webapp.resumegenerator.application.service.reactive;
+
+import java.time.LocalDate;
+import java.util.UUID;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.interceptor.SimpleKey;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import webapp.resumegenerator.application.etag.EntityTagRegistry;
+import webapp.resumegenerator.application.render.RenderResultCache;
+import webapp.resumegenerator.domain.model.CursorPage;
+import webapp.resumegenerator.domain.model.Template;
+import webapp.resumegenerator.domain.model.TemplateCursor;
+import webapp.resumegenerator.domain.model.TemplateSummary;
+import webapp.resumegenerator.domain.repository.TemplateNameIndex;
+import webapp.resumegenerator.domain.repository.RevisionedWrites;
+import webapp.resumegenerator.domain.repository.TemplateQueries;
+import webapp.resumegenerator.domain.repository.reactive.ReactiveTemplateRepository;
+import webapp.resumegenerator.domain.service.reactive.ReactiveTemplateService;
+import webapp.resumegenerator.infrastructure.cache.ReactiveRedisCache;
+
+/**
+ * Неблокирующий сервис шаблонов резюме на реактивном драйвере MongoDB.
+ * Запросы совпадают с запросами блокирующего репозитория ({@link TemplateQueries}),
+ * а кэш шаблонов и ETag общий с блокирующим сервисом: изменение шаблона через любой API
+ * сбрасывает одни и те же записи Redis и локальные кэши всех реплик.
+ */
+@Service
+public class ReactiveTemplateServiceImpl implements ReactiveTemplateService {
+    private static final String TEMPLATES_CACHE = "templates";
+
+    private static final int MAX_CURSOR_PAGE_SIZE = 100;
+
+    private static final int MAX_SUGGESTIONS = 50;
+
+    private final ReactiveTemplateRepository templateRepository;
+
+    private final ReactiveMongoTemplate mongoTemplate;
+
+    private final ReactiveRedisCache cache;
+
+    private final RenderResultCache renderResultCache;
+
+    /**
+     * Конструктор для внедрения зависимостей.
+     *
+     * @param templateRepository Реактивный репозиторий шаблонов.
+     * @param mongoTemplate Реактивный шаблон MongoDB для запросов с проекциями.
+     * @param cache Неблокирующий доступ к кэшам Redis.
+     * @param renderResultCache Кэш результатов рендеринга.
+     */
+    @Autowired
+    public ReactiveTemplateServiceImpl(ReactiveTemplateRepository templateRepository,
+                                       ReactiveMongoTemplate mongoTemplate,
+                                       ReactiveRedisCache cache,
+                                       RenderResultCache renderResultCache) {
+        this.templateRepository = templateRepository;
+        this.mongoTemplate = mongoTemplate;
+        this.cache = cache;
+        this.renderResultCache = renderResultCache;
+    }
+
+    /**
+     * Получение всех шаблонов с пагинацией.
+     * Страница и общее количество запрашиваются параллельно.
+     *
+     * @param pageable параметры пагинации.
+     * @return Страница с шаблонами.
+     */
+    @Override
+    public Mono<Page<Template>> getAllTemplates(Pageable pageable) {
+        return Mono.zip(mongoTemplate.find(new Query().with(pageable), Template.class).collectList(),
+                        mongoTemplate.count(new Query(), Template.class))
+                .map(result -> new PageImpl<>(result.getT1(), pageable, result.getT2()));
+    }
+
+    /**
+     * Краткие представления всех шаблонов в порядке (дата, идентификатор).
+     *
+     * @return Поток кратких представлений шаблонов.
+     */
+    @Override
+    public Flux<TemplateSummary> streamTemplateSummaries() {
+        Query query = TemplateQueries.summary().with(Sort.by(Sort.Order.asc("date"), Sort.Order.asc("_id")));
+        return mongoTemplate.find(query, TemplateSummary.class, TemplateQueries.TEMPLATES);
+    }
+
+    /**
+     * Получение кратких представлений шаблонов с пагинацией.
+     * Контент шаблонов из БД не читается.
+     *
+     * @param pageable параметры пагинации.
+     * @return Страница кратких представлений шаблонов.
+     */
+    @Override
+    public Mono<Page<TemplateSummary>> getTemplateSummaries(Pageable pageable) {
+        Query query = TemplateQueries.summary().with(pageable);
+        return Mono.zip(mongoTemplate.find(query, TemplateSummary.class, TemplateQueries.TEMPLATES).collectList(),
+                        mongoTemplate.count(new Query(), TemplateQueries.TEMPLATES))
+                .map(result -> new PageImpl<>(result.getT1(), pageable, result.getT2()));
+    }
+
+    /**
+     * Получение порции кратких представлений шаблонов с курсорной пагинацией.
+     * Запрашивается на один шаблон больше, чтобы без подсчёта понять, есть ли следующая порция.
+     *
+     * @param cursor Курсор из предыдущей порции или {@code null} для первой порции.
+     * @param size Количество шаблонов в порции.
+     * @param withTotal Нужно ли вернуть примерное общее количество шаблонов.
+     * @return Порция шаблонов с курсором следующей порции.
+     */
+    @Override
+    public Mono<CursorPage<TemplateSummary>> getTemplatesAfter(String cursor, int size, boolean withTotal) {
+        int limit = Math.max(1, Math.min(size, MAX_CURSOR_PAGE_SIZE));
+        return Mono.defer(() -> {
+            TemplateCursor after = cursor == null || cursor.isBlank() ? null : TemplateCursor.decode(cursor);
+            Mono<Long> total = withTotal ? mongoTemplate.estimatedCount(Template.class) : Mono.just(-1L);
+            return Mono.zip(mongoTemplate.find(TemplateQueries.after(after, limit + 1), TemplateSummary.class,
+                                    TemplateQueries.TEMPLATES).collectList(), total)
+                    .map(result -> {
+                        var templates = result.getT1();
+                        String nextCursor = null;
+                        if (templates.size() > limit) {
+                            templates = templates.subList(0, limit);
+                            nextCursor = TemplateCursor.after(templates.get(limit - 1)).encode();
+                        }
+                        return new CursorPage<>(templates, nextCursor, withTotal ? result.getT2() : null);
+                    });
+        });
+    }
+
+    /**
+     * Получение шаблона по уникальному идентификатору.
+     * Шаблон читается из общего с блокирующим API кэша Redis, а при промахе — из БД.
+     *
+     * @param id Идентификатор шаблона.
+     * @return Шаблон или пустой результат, если шаблон не найден.
+     */
+    @Override
+    public Mono<Template> getTemplateById(String id) {
+        return Mono.defer(() -> cache.get(TEMPLATES_CACHE, id, Template.class,
+                templateRepository.findById(UUID.fromString(id))));
+    }
+
+    /**
+     * Создание нового шаблона.
+     *
+     * @param template Объект шаблона, который будет сохранен.
+     * @return Сохраненный шаблон.
+     */
+    @Override
+    public Mono<Template> createTemplate(Template template) {
+        template.setRevision(0L);
+        return templateRepository.save(template)
+                .flatMap(saved -> cache.evict(TEMPLATES_CACHE, SimpleKey.EMPTY).thenReturn(saved));
+    }
+
+    /**
+     * Обновление существующего шаблона одной условной заменой документа по ревизии.
+     *
+     * @param id       Уникальный идентификатор шаблона, который требуется обновить.
+     * @param template Новый шаблон с обновленными данными.
+     * @return Сохраненный шаблон, пустой результат, если шаблон не найден, или ошибка
+     *         {@link org.springframework.dao.OptimisticLockingFailureException}, если шаблон изменён другим клиентом.
+     */
+    @Override
+    public Mono<Template> updateTemplate(String id, Template template) {
+        return Mono.defer(() -> {
+            template.setId(UUID.fromString(id));
+            return RevisionedWrites.replace(mongoTemplate, template, document -> Mono.fromRunnable(
+                            () -> TemplateNameIndex.apply(document, template.getName())))
+                    .flatMap(saved -> evict(id).thenReturn(saved));
+        });
+    }
+
+    /**
+     * Удаление шаблона.
+     *
+     * @param id Уникальный идентификатор шаблона.
+     * @return {@code true}, если шаблон был удалён, и {@code false}, если он не найден.
+     */
+    @Override
+    public Mono<Boolean> deleteTemplate(String id) {
+        return Mono.defer(() -> {
+            UUID uuid = UUID.fromString(id);
+            return mongoTemplate.remove(RevisionedWrites.byId(uuid), Template.class)
+                    .flatMap(result -> result.getDeletedCount() > 0
+                            ? evict(id).thenReturn(true)
+                            : Mono.just(false));
+        });
+    }
+
+    /**
+     * Шаблоны, дата которых находится в указанном диапазоне.
+     *
+     * @param startDate Начальная дата диапазона.
+     * @param endDate   Конечная дата диапазона.
+     * @return Поток шаблонов, входящих в указанный диапазон дат.
+     */
+    @Override
+    public Flux<Template> getTemplatesByDateRange(LocalDate startDate, LocalDate endDate) {
+        return mongoTemplate.find(new Query(TemplateQueries.dateBetween(startDate, endDate)), Template.class);
+    }
+
+    /**
+     * Краткие представления шаблонов, дата которых находится в указанном диапазоне.
+     * Контент шаблонов из БД не читается.
+     *
+     * @param startDate Начальная дата диапазона.
+     * @param endDate   Конечная дата диапазона.
+     * @return Поток кратких представлений шаблонов.
+     */
+    @Override
+    public Flux<TemplateSummary> getTemplateSummariesByDateRange(LocalDate startDate, LocalDate endDate) {
+        Query query = TemplateQueries.summary().addCriteria(TemplateQueries.dateBetween(startDate, endDate));
+        return mongoTemplate.find(query, TemplateSummary.class, TemplateQueries.TEMPLATES);
+    }
+
+    /**
+     * Проверяет, существует ли шаблон с указанным именем.
+     * Имена сравниваются в нормализованной форме по индексу.
+     *
+     * @param name Имя шаблона.
+     * @return {@code true}, если шаблон с таким именем существует, иначе {@code false}.
+     */
+    @Override
+    public Mono<Boolean> isTemplateNameExist(String name) {
+        return mongoTemplate.exists(TemplateQueries.exactName(name), Template.class);
+    }
+
+    /**
+     * Подсказки имён шаблонов: сначала имена, начинающиеся с запроса, затем содержащие его.
+     * Поиск по вхождению не выполняется, если префиксный запрос уже заполнил выдачу.
+     *
+     * @param query Введённая часть имени.
+     * @param limit Максимальное количество подсказок.
+     * @return Различные имена шаблонов.
+     */
+    @Override
+    public Flux<String> suggestTemplateNames(String query, int limit) {
+        String normalized = TemplateNameIndex.normalize(query);
+        if (normalized.isEmpty()) {
+            return Flux.empty();
+        }
+        int max = Math.max(1, Math.min(limit, MAX_SUGGESTIONS));
+        Flux<Template> prefix = mongoTemplate.find(TemplateQueries.namePrefix(normalized, max), Template.class);
+        Flux<Template> infix = Flux.defer(() -> {
+            if (normalized.length() < TemplateNameIndex.GRAM) {
+                return Flux.empty();
+            }
+            Query contains = new Query(TemplateQueries.nameContains(normalized)).limit(max * 2);
+            contains.fields().include("name");
+            return mongoTemplate.find(contains, Template.class);
+        });
+        return Flux.concat(prefix, infix)
+                .map(Template::getName)
+                .distinct()
+                .take(max);
+    }
+
+    /**
+     * Сбрасывает кэши шаблона; результаты рендеринга удаляются на отдельном пуле потоков,
+     * так как их хранилище в Redis блокирующее.
+     */
+    private Mono<Void> evict(String id) {
+        return cache.evict(TEMPLATES_CACHE, id, SimpleKey.EMPTY)
+                .then(cache.evict(EntityTagRegistry.TEMPLATES, id))
+                .then(Mono.fromRunnable(() -> renderResultCache.evictTemplate(UUID.fromString(id)))
+                        .subscribeOn(Schedulers.boundedElastic()))
+                .then();
+    }
+}
@@ -0,0 +1,68 @@
+package webapp.resumegenerator.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.time.Duration;
+import java.util.List;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.connection.ReactiveRedisConnectionFactory;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import webapp.resumegenerator.infrastructure.cache.CacheInvalidationBus;
+import webapp.resumegenerator.infrastructure.cache.ReactiveRedisCache;
+import webapp.resumegenerator.infrastructure.cache.RedisCacheCodecs;
+import webapp.resumegenerator.infrastructure.cache.RetryingRedisListenerContainer;
+import webapp.resumegenerator.infrastructure.cache.TwoLevelCacheManager;
+
+/**
+ * Конфигурация кэшей: Redis как общий кэш всех реплик и локальный Caffeine-кэш
+ * перед ним для наиболее часто читаемых данных.
+ */
+@Configuration
+public class CacheConfig {
+
+    @Bean
+    public CacheInvalidationBus cacheInvalidationBus(StringRedisTemplate redisTemplate, ObjectMapper objectMapper,
+            @Value("${generator.cache.invalidation-channel:generator:cache-invalidation}") String channel) {
+        return new CacheInvalidationBus(redisTemplate, objectMapper, channel);
+    }
+
+    @Bean
+    public RedisMessageListenerContainer cacheInvalidationListenerContainer(RedisConnectionFactory connectionFactory,
+            CacheInvalidationBus cacheInvalidationBus,
+            @Value("${generator.cache.invalidation-channel:generator:cache-invalidation}") String channel,
+            @Value("${generator.redis.subscribe-retry-delay:10s}") Duration retryDelay) {
+        RedisMessageListenerContainer container = new RetryingRedisListenerContainer(retryDelay);
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(cacheInvalidationBus, new ChannelTopic(channel));
+        return container;
+    }
+
+    @Bean
+    public CacheManager cacheManager(RedisConnectionFactory connectionFactory,
+            RedisCacheCodecs redisCacheCodecs,
+            CacheInvalidationBus cacheInvalidationBus,
+            @Value("${generator.cache.local.names:templates,blockElements,templateETags,blockETags}")
+            List<String> localCacheNames,
+            @Value("${generator.cache.local.max-size:10000}") long maxSize,
+            @Value("${generator.cache.local.ttl:5m}") Duration ttl) {
+        RedisCacheManager redisCacheManager = RedisCacheManager.builder(connectionFactory)
+                .cacheDefaults(redisCacheCodecs.getDefaults())
+                .withInitialCacheConfigurations(redisCacheCodecs.getConfigurations())
+                .build();
+        redisCacheManager.afterPropertiesSet();
+        return new TwoLevelCacheManager(redisCacheManager, localCacheNames, maxSize, ttl, cacheInvalidationBus);
+    }
+
+    @Bean
+    public ReactiveRedisCache reactiveRedisCache(ReactiveRedisConnectionFactory connectionFactory,
+            RedisCacheCodecs redisCacheCodecs,
+            CacheInvalidationBus cacheInvalidationBus) {
+        return new ReactiveRedisCache(connectionFactory, redisCacheCodecs, cacheInvalidationBus);
+    }
+}
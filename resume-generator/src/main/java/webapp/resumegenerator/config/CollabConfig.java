@@ -0,0 +1,37 @@
+package webapp.resumegenerator.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.time.Duration;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import webapp.resumegenerator.infrastructure.cache.RetryingRedisListenerContainer;
+import webapp.resumegenerator.infrastructure.collab.LayoutRelay;
+
+/**
+ * Рассылка событий комнат совместного редактирования раскладки между репликами через Redis.
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class CollabConfig {
+
+    @Bean
+    public LayoutRelay layoutRelay(StringRedisTemplate redisTemplate, ObjectMapper objectMapper,
+            @Value("${generator.collab.relay-channel:generator:layout-rooms}") String channel) {
+        return new LayoutRelay(redisTemplate, objectMapper, channel);
+    }
+
+    @Bean
+    public RedisMessageListenerContainer layoutRelayListenerContainer(RedisConnectionFactory connectionFactory,
+            LayoutRelay layoutRelay, @Value("${generator.redis.subscribe-retry-delay:10s}") Duration retryDelay) {
+        RedisMessageListenerContainer container = new RetryingRedisListenerContainer(retryDelay);
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(layoutRelay, new ChannelTopic(layoutRelay.getChannel()));
+        return container;
+    }
+}
@@ -1,17 +1,51 @@
 package webapp.resumegenerator.config;
 
+import java.util.List;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.cache.CacheProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.redis.cache.RedisCacheConfiguration;
 import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.RedisSerializationContext.SerializationPair;
+import org.springframework.util.unit.DataSize;
+import webapp.resumegenerator.infrastructure.cache.RedisCacheCodecs;
 
+/**
+ * Конфигурация кэшей Redis по умолчанию.
+ * Собственный менеджер кэшей отключает автоконфигурацию Spring Boot, поэтому настройки
+ * {@code spring.cache.redis.*} (время жизни, префикс ключей, кэширование {@code null})
+ * применяются здесь так же, как это сделала бы автоконфигурация.
+ */
 @Configuration
+@EnableConfigurationProperties(CacheProperties.class)
 public class RedisConfig {
 
     @Bean
-    public RedisCacheConfiguration cacheConfiguration() {
-        return RedisCacheConfiguration.defaultCacheConfig()
+    public RedisCacheConfiguration cacheConfiguration(CacheProperties cacheProperties) {
+        CacheProperties.Redis redis = cacheProperties.getRedis();
+        RedisCacheConfiguration configuration = RedisCacheConfiguration.defaultCacheConfig()
                 .serializeValuesWith(SerializationPair.fromSerializer(new GenericJackson2JsonRedisSerializer()));
+        if (redis.getTimeToLive() != null) {
+            configuration = configuration.entryTtl(redis.getTimeToLive());
+        }
+        if (redis.getKeyPrefix() != null) {
+            configuration = configuration.prefixCacheNameWith(redis.getKeyPrefix());
+        }
+        if (!redis.isCacheNullValues()) {
+            configuration = configuration.disableCachingNullValues();
+        }
+        if (!redis.isUseKeyPrefix()) {
+            configuration = configuration.disableKeyPrefix();
+        }
+        return configuration;
     }
-}
\ No newline at end of file
+
+    @Bean
+    public RedisCacheCodecs redisCacheCodecs(RedisCacheConfiguration cacheConfiguration,
+            @Value("${generator.cache.codec.compact-caches:}") List<String> compactCacheNames,
+            @Value("${generator.cache.codec.compress-threshold:1KB}") DataSize compressThreshold) {
+        return new RedisCacheCodecs(cacheConfiguration, compactCacheNames, (int) compressThreshold.toBytes());
+    }
+}
@@ -0,0 +1,36 @@
+package webapp.resumegenerator.config;
+
+import java.util.List;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.socket.config.annotation.EnableWebSocket;
+import org.springframework.web.socket.config.annotation.WebSocketConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketHandlerRegistry;
+import webapp.resumegenerator.infrastructure.controller.LayoutCollaborationHandler;
+
+/**
+ * Регистрация WebSocket-канала совместного редактирования раскладки.
+ * Без {@code generator.collab.allowed-origins} подключения принимаются только с того же источника.
+ */
+@Configuration
+@EnableWebSocket
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class WebSocketConfig implements WebSocketConfigurer {
+
+    private final LayoutCollaborationHandler layoutCollaborationHandler;
+
+    private final List<String> allowedOrigins;
+
+    public WebSocketConfig(LayoutCollaborationHandler layoutCollaborationHandler,
+                           @Value("${generator.collab.allowed-origins:}") List<String> allowedOrigins) {
+        this.layoutCollaborationHandler = layoutCollaborationHandler;
+        this.allowedOrigins = allowedOrigins;
+    }
+
+    @Override
+    public void registerWebSocketHandlers(WebSocketHandlerRegistry registry) {
+        registry.addHandler(layoutCollaborationHandler, "/ws/blocks/*/layout")
+                .setAllowedOriginPatterns(allowedOrigins.toArray(String[]::new));
+    }
+}
@@ -4,7 +4,7 @@ import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import java.io.Serializable;
 import org.springframework.data.annotation.Id;
-import org.springframework.data.mongodb.core.mapping.DBRef;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.util.List;
@@ -15,11 +15,16 @@ import java.util.UUID;
  * @author Ildar Khuzin
  * @version 1.0.0
  * Основной класс, который описывает блоки в резюме.
+ * Настройки, позиционирование и дочерние блоки хранятся внутри документа блока,
+ * поэтому всё дерево блока загружается из MongoDB одним запросом. Дочерние блоки существуют
+ * только внутри документа корня и отдельными документами {@code block_elements} не сохраняются.
+ * Уникальный индекс по имени обслуживает поиск блоков по имени и проверку уникальности.
  */
 @SuppressWarnings("checkstyle:SummaryJavadoc")
 @Document(collection = "block_elements")
+@CompoundIndex(name = "block_name_unique", def = "{'name': 1}", unique = true, sparse = true)
 @JsonInclude(JsonInclude.Include.NON_NULL)
-public class BlockElement implements Serializable {
+public class BlockElement implements Serializable, Revisioned {
 
     @Id
     private UUID id;
@@ -39,18 +44,19 @@ public class BlockElement implements Serializable {
     @JsonProperty("columns")
     private Integer columns;
 
-    @DBRef
     @JsonProperty("props")
     private SectionElementProps props;
 
-    @DBRef
     @JsonProperty("children")
     private List<BlockElement> children;
 
-    @DBRef
     @JsonProperty("layout")
     private Layout layout;
 
+    // Ревизия корневого блока для проверки параллельных изменений; у дочерних блоков не используется
+    @JsonProperty("revision")
+    private Long revision;
+
     public BlockElement() {
         this.id = UUID.randomUUID();
     }
@@ -76,6 +82,16 @@ public class BlockElement implements Serializable {
         this.id = id;
     }
 
+    @Override
+    public Long getRevision() {
+        return revision;
+    }
+
+    @Override
+    public void setRevision(Long revision) {
+        this.revision = revision;
+    }
+
     public String getName() {
         return name;
     }
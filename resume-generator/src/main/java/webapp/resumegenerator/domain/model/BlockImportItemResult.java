@@ -0,0 +1,53 @@
+package webapp.resumegenerator.domain.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import java.util.UUID;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * Результат импорта одного блока из NDJSON-потока.
+ */
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BlockImportItemResult {
+
+    /**
+     * Номер строки во входном потоке, начиная с 1.
+     */
+    private long line;
+
+    /**
+     * Идентификатор блока.
+     */
+    private UUID id;
+
+    /**
+     * Имя блока.
+     */
+    private String name;
+
+    /**
+     * Статус импорта.
+     */
+    private Status status;
+
+    /**
+     * Описание ошибки, если блок не был сохранён.
+     */
+    private String message;
+
+    /**
+     * Статус импорта блока.
+     */
+    public enum Status {
+        CREATED,
+        DUPLICATE,
+        DUPLICATE_ID,
+        INVALID,
+        FAILED
+    }
+}
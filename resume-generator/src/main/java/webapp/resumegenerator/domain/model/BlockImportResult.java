@@ -0,0 +1,65 @@
+package webapp.resumegenerator.domain.model;
+
+import java.util.ArrayList;
+import java.util.List;
+import lombok.Getter;
+
+/**
+ * Итог пакетного импорта блоков.
+ */
+@Getter
+public class BlockImportResult {
+
+    /**
+     * Количество обработанных записей.
+     */
+    private long total;
+
+    /**
+     * Количество сохранённых блоков.
+     */
+    private long created;
+
+    /**
+     * Количество блоков, отклонённых из-за совпадения имени.
+     */
+    private long duplicates;
+
+    /**
+     * Количество блоков, отклонённых из-за совпадения идентификатора, например при повторном
+     * импорте выгруженного дерева.
+     */
+    private long duplicateIds;
+
+    /**
+     * Количество некорректных записей.
+     */
+    private long invalid;
+
+    /**
+     * Количество записей, не сохранённых по другим причинам.
+     */
+    private long failed;
+
+    /**
+     * Результаты по каждой записи.
+     */
+    private final List<BlockImportItemResult> items = new ArrayList<>();
+
+    /**
+     * Добавляет результат импорта записи и обновляет счётчики.
+     *
+     * @param item Результат импорта записи.
+     */
+    public void add(BlockImportItemResult item) {
+        items.add(item);
+        total++;
+        switch (item.getStatus()) {
+            case CREATED -> created++;
+            case DUPLICATE -> duplicates++;
+            case DUPLICATE_ID -> duplicateIds++;
+            case INVALID -> invalid++;
+            case FAILED -> failed++;
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package webapp.resumegenerator.domain.model;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import lombok.Getter;
+
+/**
+ * Итог импорта архива каталога шаблонов и блоков.
+ */
+@Getter
+public class CatalogImportResult {
+
+    /**
+     * Максимальное количество сохраняемых сообщений об ошибках.
+     */
+    public static final int MAX_ERRORS = 20;
+
+    /**
+     * Количество записанных документов.
+     */
+    private long written;
+
+    /**
+     * Количество документов, пропущенных из-за совпадения идентификатора или уникального поля.
+     */
+    private long duplicates;
+
+    /**
+     * Количество некорректных строк архива.
+     */
+    private long invalid;
+
+    /**
+     * Количество документов, не записанных по другим причинам.
+     */
+    private long failed;
+
+    /**
+     * Количество записанных документов по коллекциям.
+     */
+    private final Map<String, Long> writtenByCollection = new LinkedHashMap<>();
+
+    /**
+     * Первые {@value #MAX_ERRORS} сообщений об ошибках.
+     */
+    private final List<String> errors = new ArrayList<>();
+
+    /**
+     * Учитывает записанные документы коллекции.
+     *
+     * @param collection Имя коллекции.
+     * @param count Количество документов.
+     */
+    public void addWritten(String collection, long count) {
+        written += count;
+        writtenByCollection.merge(collection, count, Long::sum);
+    }
+
+    /**
+     * Учитывает документ, пропущенный как дубликат.
+     */
+    public void addDuplicate() {
+        duplicates++;
+    }
+
+    /**
+     * Учитывает некорректную строку архива.
+     *
+     * @param line Номер строки.
+     * @param message Описание ошибки.
+     */
+    public void addInvalid(long line, String message) {
+        invalid++;
+        addError("Строка " + line + ": " + message);
+    }
+
+    /**
+     * Учитывает документ, который не удалось записать.
+     *
+     * @param message Описание ошибки.
+     */
+    public void addFailed(String message) {
+        failed++;
+        addError(message);
+    }
+
+    private void addError(String message) {
+        if (errors.size() < MAX_ERRORS) {
+            errors.add(message);
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package webapp.resumegenerator.domain.model;
+
+import java.io.Serializable;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Разница между двумя версиями контента шаблона.
+ * Описывается одной заменой: начиная с позиции {@code offset} удаляется
+ * {@code deleteLength} символов и вставляется строка {@code insert}.
+ * Совпадающие начало и конец контента не хранятся, поэтому правка
+ * в одном месте шаблона занимает столько места, сколько сама правка.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ContentDelta implements Serializable {
+
+    /**
+     * Позиция начала изменённого участка.
+     */
+    private int offset;
+
+    /**
+     * Количество удалённых символов исходного контента.
+     */
+    private int deleteLength;
+
+    /**
+     * Вставленный текст.
+     */
+    private String insert;
+
+    /**
+     * Вычисляет разницу между двумя версиями контента.
+     *
+     * @param from Исходный контент.
+     * @param to Новый контент.
+     * @return Разница, применение которой к {@code from} даёт {@code to}.
+     */
+    public static ContentDelta between(String from, String to) {
+        int limit = Math.min(from.length(), to.length());
+        int prefix = 0;
+        while (prefix < limit && from.charAt(prefix) == to.charAt(prefix)) {
+            prefix++;
+        }
+        int suffix = 0;
+        while (suffix < limit - prefix
+                && from.charAt(from.length() - 1 - suffix) == to.charAt(to.length() - 1 - suffix)) {
+            suffix++;
+        }
+        return new ContentDelta(prefix, from.length() - prefix - suffix,
+                to.substring(prefix, to.length() - suffix));
+    }
+
+    /**
+     * Применяет разницу к контенту.
+     *
+     * @param base Исходный контент.
+     * @return Контент новой версии.
+     */
+    public String applyTo(String base) {
+        return base.substring(0, offset) + insert + base.substring(offset + deleteLength);
+    }
+
+    /**
+     * Примерный размер разницы в символах.
+     *
+     * @return Размер хранимых данных.
+     */
+    public int size() {
+        return insert.length();
+    }
+}
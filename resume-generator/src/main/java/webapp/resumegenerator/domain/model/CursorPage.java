@@ -0,0 +1,34 @@
+package webapp.resumegenerator.domain.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Порция данных при курсорной (keyset) пагинации.
+ * Следующая порция запрашивается по {@code nextCursor}, поэтому чтение любой
+ * порции стоит столько же, сколько чтение первой.
+ *
+ * @param <T> Тип элементов.
+ */
+@Getter
+@AllArgsConstructor
+public class CursorPage<T> {
+
+    /**
+     * Элементы порции.
+     */
+    private List<T> items;
+
+    /**
+     * Непрозрачный курсор следующей порции; {@code null}, если порция последняя.
+     */
+    private String nextCursor;
+
+    /**
+     * Общее количество элементов; заполняется только по запросу.
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Long total;
+}
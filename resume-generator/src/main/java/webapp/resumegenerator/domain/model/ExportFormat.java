@@ -0,0 +1,28 @@
+package webapp.resumegenerator.domain.model;
+
+/**
+ * Формат выгрузки резюме.
+ */
+public enum ExportFormat {
+    HTML("text/html;charset=UTF-8", ".html"),
+    PDF("application/pdf", ".pdf"),
+    MARKDOWN("text/markdown;charset=UTF-8", ".md"),
+    TEXT("text/plain;charset=UTF-8", ".txt");
+
+    private final String mediaType;
+
+    private final String extension;
+
+    ExportFormat(String mediaType, String extension) {
+        this.mediaType = mediaType;
+        this.extension = extension;
+    }
+
+    public String getMediaType() {
+        return mediaType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+}
@@ -0,0 +1,27 @@
+package webapp.resumegenerator.domain.model;
+
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Перемещение элементов раскладки внутри дерева блока.
+ * Элементы определяются ключом {@link Layout#getI()}; у каждого передаются новые
+ * координаты и размеры, остальные элементы дерева не изменяются.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LayoutDelta {
+
+    /**
+     * Ревизия блока, которую редактировал клиент, или {@code null} для записи без проверки.
+     */
+    private Long revision;
+
+    /**
+     * Перемещённые элементы с ключом {@code i} и новыми {@code x}, {@code y}, {@code w}, {@code h}.
+     */
+    private List<Layout> items;
+}
@@ -0,0 +1,26 @@
+package webapp.resumegenerator.domain.model;
+
+/**
+ * Формат печатной страницы в CSS-пикселях (96 точек на дюйм).
+ */
+public enum PageFormat {
+    A4(794, 1123),
+    LETTER(816, 1056);
+
+    private final int width;
+
+    private final int height;
+
+    PageFormat(int width, int height) {
+        this.width = width;
+        this.height = height;
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+}
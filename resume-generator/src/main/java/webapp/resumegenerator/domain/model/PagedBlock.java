@@ -0,0 +1,65 @@
+package webapp.resumegenerator.domain.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import java.util.UUID;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Часть блока на странице. Координаты заданы в CSS-пикселях относительно области содержимого
+ * страницы (без полей).
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class PagedBlock {
+
+    /**
+     * Идентификатор блока.
+     */
+    private UUID blockId;
+
+    /**
+     * Ключ элемента раскладки блока.
+     */
+    private String key;
+
+    /**
+     * Идентификатор родительского блока или {@code null} для блоков верхнего уровня.
+     */
+    private UUID parentId;
+
+    /**
+     * Отступ слева.
+     */
+    private double left;
+
+    /**
+     * Отступ сверху.
+     */
+    private double top;
+
+    /**
+     * Ширина.
+     */
+    private double width;
+
+    /**
+     * Высота видимой на странице части.
+     */
+    private double height;
+
+    /**
+     * Блок начался на предыдущей странице.
+     */
+    private boolean continued;
+
+    /**
+     * Блок продолжается на следующей странице.
+     */
+    private boolean continues;
+}
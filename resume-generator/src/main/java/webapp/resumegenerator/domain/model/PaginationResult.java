@@ -0,0 +1,40 @@
+package webapp.resumegenerator.domain.model;
+
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Разбиение дерева блока на печатные страницы.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PaginationResult {
+
+    /**
+     * Формат страницы.
+     */
+    private PageFormat format;
+
+    /**
+     * Ширина области содержимого страницы.
+     */
+    private double contentWidth;
+
+    /**
+     * Высота области содержимого страницы.
+     */
+    private double contentHeight;
+
+    /**
+     * Страницы: блоки каждой страницы в порядке сверху вниз.
+     */
+    private List<List<PagedBlock>> pages;
+
+    /**
+     * Ключи неделимых блоков выше страницы, разрезанных границей страницы.
+     */
+    private List<String> overflowing;
+}
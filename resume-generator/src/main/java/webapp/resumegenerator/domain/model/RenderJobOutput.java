@@ -0,0 +1,16 @@
+package webapp.resumegenerator.domain.model;
+
+/**
+ * Назначение результатов пакетного рендеринга.
+ */
+public enum RenderJobOutput {
+    /**
+     * Только кэш результатов рендеринга: последующие запросы предпросмотра получают готовый HTML.
+     */
+    CACHE,
+
+    /**
+     * Файлы {@code <резюме>.html} в каталоге задания; результат также попадает в кэш.
+     */
+    DIRECTORY
+}
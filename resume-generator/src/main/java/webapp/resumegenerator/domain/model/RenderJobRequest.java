@@ -0,0 +1,51 @@
+package webapp.resumegenerator.domain.model;
+
+import jakarta.validation.constraints.NotBlank;
+import java.util.List;
+import java.util.UUID;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Запрос на пакетный рендеринг резюме по шаблону.
+ * Резюме задаются списком идентификаторов или поисковым запросом к resume-analyzer.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RenderJobRequest {
+
+    /**
+     * Идентификатор шаблона.
+     */
+    @NotBlank(message = "Идентификатор шаблона не может быть пустым.")
+    private String templateId;
+
+    /**
+     * Идентификаторы резюме.
+     */
+    private List<String> resumeIds;
+
+    /**
+     * Поисковый запрос к resume-analyzer, если идентификаторы не заданы.
+     */
+    private String query;
+
+    /**
+     * Идентификатор блока, доступного в шаблоне как {@code block}.
+     */
+    private UUID blockId;
+
+    /**
+     * Куда сохраняются результаты.
+     */
+    private RenderJobOutput output;
+
+    /**
+     * Количество одновременно рендерящихся резюме; ограничивается настройкой сервиса.
+     */
+    private Integer concurrency;
+}
@@ -0,0 +1,88 @@
+package webapp.resumegenerator.domain.model;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import java.time.LocalDateTime;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Состояние задания пакетного рендеринга на момент запроса.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class RenderJobStatus {
+
+    /**
+     * Идентификатор задания.
+     */
+    private String id;
+
+    /**
+     * Идентификатор шаблона.
+     */
+    private String templateId;
+
+    /**
+     * Этап выполнения.
+     */
+    private State state;
+
+    /**
+     * Количество резюме в задании; для поискового запроса растёт по мере чтения страниц.
+     */
+    private long total;
+
+    /**
+     * Количество отрендеренных резюме.
+     */
+    private long completed;
+
+    /**
+     * Количество резюме, которые не удалось отрендерить.
+     */
+    private long failed;
+
+    /**
+     * Средняя скорость рендеринга, резюме в секунду.
+     */
+    private double throughput;
+
+    /**
+     * Время запуска задания.
+     */
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+    private LocalDateTime startedAt;
+
+    /**
+     * Время завершения задания.
+     */
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+    private LocalDateTime finishedAt;
+
+    /**
+     * Каталог с результатами, если они сохраняются в файлы.
+     */
+    private String outputDirectory;
+
+    /**
+     * Первые ошибки рендеринга в формате {@code <резюме>: <сообщение>}.
+     */
+    private List<String> errors;
+
+    /**
+     * Этап выполнения задания.
+     */
+    public enum State {
+        RUNNING,
+        COMPLETED,
+        FAILED,
+        CANCELLED
+    }
+}
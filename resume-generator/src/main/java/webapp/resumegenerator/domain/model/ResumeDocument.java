@@ -0,0 +1,145 @@
+package webapp.resumegenerator.domain.model;
+
+import java.util.List;
+
+/**
+ * Промежуточное представление отрендеренного резюме, общее для всех форматов выгрузки.
+ * Содержит только структуру и текст: заголовки, абзацы, элементы списков и разделители
+ * с выделением и ссылками внутри строки. Вложенные списки развёрнуты в последовательность
+ * элементов с глубиной, поэтому любой формат записывается одним проходом по блокам.
+ * Экземпляр неизменяем и может использоваться из нескольких потоков одновременно.
+ */
+public final class ResumeDocument {
+
+    private final String title;
+
+    private final List<Block> blocks;
+
+    private final int textLength;
+
+    /**
+     * Конструктор документа.
+     *
+     * @param title Заголовок документа или {@code null}.
+     * @param blocks Блоки документа в порядке следования.
+     */
+    public ResumeDocument(String title, List<Block> blocks) {
+        this.title = title;
+        this.blocks = List.copyOf(blocks);
+        this.textLength = this.blocks.stream().mapToInt(Block::textLength).sum()
+                + (title == null ? 0 : title.length());
+    }
+
+    /**
+     * Заголовок документа из {@code <title>}.
+     *
+     * @return Заголовок или {@code null}.
+     */
+    public String getTitle() {
+        return title;
+    }
+
+    public List<Block> getBlocks() {
+        return blocks;
+    }
+
+    /**
+     * Суммарная длина текста документа, используется для оценки размера в кэше.
+     *
+     * @return Количество символов.
+     */
+    public int getTextLength() {
+        return textLength;
+    }
+
+    /**
+     * Блок документа.
+     */
+    public sealed interface Block permits Heading, Paragraph, ListItem, Rule {
+
+        /**
+         * Длина текста блока.
+         *
+         * @return Количество символов.
+         */
+        default int textLength() {
+            return 0;
+        }
+    }
+
+    /**
+     * Заголовок.
+     *
+     * @param level Уровень от 1 до 6.
+     * @param runs Текст заголовка.
+     */
+    public record Heading(int level, List<Run> runs) implements Block {
+
+        public Heading {
+            runs = List.copyOf(runs);
+        }
+
+        @Override
+        public int textLength() {
+            return Run.length(runs);
+        }
+    }
+
+    /**
+     * Абзац.
+     *
+     * @param runs Текст абзаца.
+     */
+    public record Paragraph(List<Run> runs) implements Block {
+
+        public Paragraph {
+            runs = List.copyOf(runs);
+        }
+
+        @Override
+        public int textLength() {
+            return Run.length(runs);
+        }
+    }
+
+    /**
+     * Элемент списка.
+     *
+     * @param depth Глубина вложенности, начиная с 0.
+     * @param ordered Элемент нумерованного списка.
+     * @param number Номер элемента в своём списке, начиная с 1.
+     * @param runs Текст элемента.
+     */
+    public record ListItem(int depth, boolean ordered, int number, List<Run> runs) implements Block {
+
+        public ListItem {
+            runs = List.copyOf(runs);
+        }
+
+        @Override
+        public int textLength() {
+            return Run.length(runs);
+        }
+    }
+
+    /**
+     * Горизонтальный разделитель.
+     */
+    public record Rule() implements Block {
+    }
+
+    /**
+     * Фрагмент текста с одинаковым оформлением; перевод строки внутри абзаца передаётся символом {@code \n}.
+     *
+     * @param text Текст.
+     * @param strong Полужирное начертание.
+     * @param emphasis Курсивное начертание.
+     * @param href Адрес ссылки или {@code null}.
+     */
+    public record Run(String text, boolean strong, boolean emphasis, String href) {
+
+        static int length(List<Run> runs) {
+            return runs.stream().mapToInt(run -> run.text().length()).sum();
+        }
+    }
+}
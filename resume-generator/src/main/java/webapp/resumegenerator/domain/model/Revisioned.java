@@ -0,0 +1,17 @@
+package webapp.resumegenerator.domain.model;
+
+import java.util.UUID;
+
+/**
+ * Документ, изменения которого проверяются по номеру ревизии.
+ * Ревизия увеличивается при каждой записи; запись с ревизией, отличной от текущей
+ * в БД, отклоняется как конфликт параллельного редактирования.
+ */
+public interface Revisioned {
+
+    UUID getId();
+
+    Long getRevision();
+
+    void setRevision(Long revision);
+}
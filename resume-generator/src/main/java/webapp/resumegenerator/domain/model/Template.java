@@ -16,20 +16,31 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 /**
  * Класс, представляющий шаблон резюме.
  * Данный класс хранит информацию о шаблоне,такую как название шаблона, описания,
  * контент и дату создания.
+ * Поисковые поля имени дописываются в документ {@code TemplateNameIndexCallback}.
+ * Индексы создаются при старте через {@code MongoIndexInitializer}; каждый
+ * обслуживает запрос репозитория, что проверяет {@code QueryPlanVerifier}.
  */
 @Document(collection = "templates")
+@CompoundIndexes({
+    @CompoundIndex(name = "date_id", def = "{'date': 1, '_id': 1}"),
+    @CompoundIndex(name = "name_version", def = "{'name': 1, 'version': -1}"),
+    @CompoundIndex(name = "name_lower", def = "{'nameLower': 1}"),
+    @CompoundIndex(name = "name_grams", def = "{'nameGrams': 1}")
+})
 @JsonIgnoreProperties(ignoreUnknown = true)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
-public class Template implements Serializable {
+public class Template implements Serializable, Revisioned {
     /**
      * Уникальный идентификатор, генерируется при создании нового шаблона.
      */
@@ -75,6 +86,12 @@ public class Template implements Serializable {
     @NotNull()
     private Integer version;
 
+    /**
+     * Ревизия документа для проверки параллельных изменений.
+     * Клиент возвращает полученное значение при обновлении; {@code null} означает запись без проверки.
+     */
+    private Long revision;
+
 
     /**
      * Конструктор с параметрами для создания шаблона.
@@ -92,6 +109,20 @@ public class Template implements Serializable {
         this.version = 1;
     }
 
+    /**
+     * Конструктор шаблона без ревизии.
+     *
+     * @param id Идентификатор шаблона.
+     * @param name Название шаблона.
+     * @param description Описание шаблона.
+     * @param content Контент шаблона.
+     * @param date Дата создания.
+     * @param version Версия шаблона.
+     */
+    public Template(UUID id, String name, String description, String content, LocalDateTime date, Integer version) {
+        this(id, name, description, content, date, version, null);
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) {
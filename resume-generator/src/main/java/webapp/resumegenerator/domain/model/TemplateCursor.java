@@ -0,0 +1,62 @@
+package webapp.resumegenerator.domain.model;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Позиция в списке шаблонов, упорядоченном по (дата, идентификатор).
+ * Передаётся клиенту в виде непрозрачной строки base64url. Шаблоны без даты идут
+ * в начале списка; их позиция кодируется пустой датой.
+ *
+ * @param date Дата последнего выданного шаблона или {@code null}, если даты у него нет.
+ * @param id Идентификатор последнего выданного шаблона.
+ */
+public record TemplateCursor(LocalDateTime date, UUID id) {
+
+    private static final char SEPARATOR = '|';
+
+    /**
+     * Курсор, указывающий на позицию сразу после шаблона.
+     *
+     * @param template Последний выданный шаблон.
+     * @return Курсор.
+     */
+    public static TemplateCursor after(TemplateSummary template) {
+        return new TemplateCursor(template.getDate(), template.getId());
+    }
+
+    /**
+     * Кодирует курсор в строку.
+     *
+     * @return Непрозрачная строка курсора.
+     */
+    public String encode() {
+        String raw = (date == null ? "" : date.toString()) + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Разбирает строку курсора.
+     *
+     * @param cursor Строка, полученная из {@link #encode()}.
+     * @return Курсор.
+     * @throws IllegalArgumentException если строка не является курсором.
+     */
+    public static TemplateCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(SEPARATOR);
+            if (separator < 0) {
+                throw new IllegalArgumentException("Некорректный курсор: " + cursor);
+            }
+            String date = raw.substring(0, separator);
+            return new TemplateCursor(date.isEmpty() ? null : LocalDateTime.parse(date),
+                    UUID.fromString(raw.substring(separator + 1)));
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Некорректный курсор: " + cursor, e);
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package webapp.resumegenerator.domain.model;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.ToStringSerializer;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Краткое представление шаблона резюме для списков.
+ * Не содержит контента шаблона, поэтому при выборке из MongoDB контент не читается.
+ * Полный шаблон загружается только при запросе одного шаблона по идентификатору.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TemplateSummary {
+    /**
+     * Уникальный идентификатор шаблона.
+     */
+    @JsonSerialize(using = ToStringSerializer.class)
+    private UUID id;
+
+    /**
+     * Название шаблона.
+     */
+    private String name;
+
+    /**
+     * Описание шаблона.
+     */
+    private String description;
+
+    /**
+     * Дата и время создания шаблона.
+     */
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+    private LocalDateTime date;
+
+    /**
+     * Версия шаблона.
+     */
+    private Integer version;
+}
@@ -0,0 +1,10 @@
+package webapp.resumegenerator.domain.model;
+
+/**
+ * Миниатюра шаблона для галереи.
+ *
+ * @param tag Метка состояния шаблона, по которому построена миниатюра: версия и отпечаток контента.
+ * @param png Изображение в формате PNG.
+ */
+public record TemplateThumbnail(String tag, byte[] png) {
+}
@@ -0,0 +1,84 @@
+package webapp.resumegenerator.domain.model;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+/**
+ * Зафиксированная версия шаблона резюме в истории версий.
+ * Версия хранится либо полным снимком контента, либо разницей {@link ContentDelta}
+ * относительно предыдущей версии. Полный снимок создаётся периодически, поэтому
+ * для восстановления любой версии достаточно применить ограниченное число разниц.
+ */
+@Document(collection = "template_versions")
+@CompoundIndex(name = "template_version_unique", def = "{'templateId': 1, 'version': -1}", unique = true)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TemplateVersion implements Serializable {
+    /**
+     * Уникальный идентификатор записи истории.
+     */
+    @Id
+    private UUID id;
+
+    /**
+     * Идентификатор шаблона.
+     */
+    private UUID templateId;
+
+    /**
+     * Номер версии шаблона.
+     */
+    private Integer version;
+
+    /**
+     * Название шаблона в этой версии.
+     */
+    private String name;
+
+    /**
+     * Описание шаблона в этой версии.
+     */
+    private String description;
+
+    /**
+     * Дата и время создания версии.
+     */
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+    private LocalDateTime date;
+
+    /**
+     * Признак полного снимка контента.
+     */
+    private boolean snapshot;
+
+    /**
+     * Количество разниц, отделяющих версию от ближайшего снимка; у снимка равно 0.
+     */
+    private int chainLength;
+
+    /**
+     * Длина контента версии.
+     */
+    private int contentLength;
+
+    /**
+     * Полный контент, заполняется только для снимков.
+     */
+    private String content;
+
+    /**
+     * Разница относительно предыдущей версии, заполняется только для не-снимков.
+     */
+    private ContentDelta delta;
+}
@@ -0,0 +1,24 @@
+package webapp.resumegenerator.domain.model;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import java.time.LocalDateTime;
+
+/**
+ * Облегчённое представление версии шаблона для списка версий.
+ * Проекция не содержит ни контента, ни разниц, поэтому они не читаются из MongoDB.
+ */
+public interface TemplateVersionInfo {
+
+    Integer getVersion();
+
+    String getName();
+
+    String getDescription();
+
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+    LocalDateTime getDate();
+
+    boolean isSnapshot();
+
+    int getContentLength();
+}
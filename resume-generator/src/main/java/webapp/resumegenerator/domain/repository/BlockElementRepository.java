@@ -13,7 +13,7 @@ import java.util.UUID;
  * интерфейс для управления сущностью BlockElement
  */
 @Repository
-public interface BlockElementRepository extends MongoRepository<BlockElement, UUID> {
+public interface BlockElementRepository extends MongoRepository<BlockElement, UUID>, CustomBlockElementRepository {
 
     // Поиск блоков по названию
     @Query("{ 'name': ?0 }")
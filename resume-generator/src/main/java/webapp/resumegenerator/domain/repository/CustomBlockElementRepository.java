@@ -0,0 +1,15 @@
+package webapp.resumegenerator.domain.repository;
+
+import webapp.resumegenerator.domain.model.BlockElement;
+import java.util.List;
+import java.util.UUID;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Update;
+
+public interface CustomBlockElementRepository {
+    BlockElement replaceIfCurrent(BlockElement block);
+
+    boolean removeById(UUID id);
+
+    BlockElement updateIfMatches(UUID id, List<Criteria> conditions, Update update);
+}
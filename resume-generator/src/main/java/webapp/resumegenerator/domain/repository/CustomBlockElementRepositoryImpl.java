@@ -0,0 +1,78 @@
+package webapp.resumegenerator.domain.repository;
+
+import java.util.List;
+import java.util.UUID;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Repository;
+import webapp.resumegenerator.domain.model.BlockElement;
+
+/**
+ * Условные операции записи блоков, выполняемые одним обращением к MongoDB.
+ */
+@Repository
+public class CustomBlockElementRepositoryImpl implements CustomBlockElementRepository {
+    private final MongoTemplate mongoTemplate;
+
+    private final StyleSetStore styleSetStore;
+
+    /**
+     * Конструктор для инъекции зависимости.
+     *
+     * @param mongoTemplate Экземпляр MongoTemplate для взаимодействия с БД.
+     * @param styleSetStore Общие наборы стилей блоков.
+     */
+    @Autowired
+    public CustomBlockElementRepositoryImpl(MongoTemplate mongoTemplate, StyleSetStore styleSetStore) {
+        this.mongoTemplate = mongoTemplate;
+        this.styleSetStore = styleSetStore;
+    }
+
+    /**
+     * Замена блока, если его ревизия совпадает с ревизией, прочитанной клиентом.
+     * Без ревизии блок записывается одной операцией {@code findAndModify}, карты стилей
+     * при этом заменяются ссылками на общие наборы.
+     *
+     * @param block Новое состояние блока с идентификатором и ожидаемой ревизией.
+     * @return Сохранённый блок со следующей ревизией или {@code null}, если блока нет.
+     * @throws org.springframework.dao.OptimisticLockingFailureException если блок изменён другим клиентом.
+     */
+    @Override
+    public BlockElement replaceIfCurrent(BlockElement block) {
+        return RevisionedWrites.replace(mongoTemplate, block, styleSetStore::extract);
+    }
+
+    /**
+     * Удаление блока одним запросом, без предварительной проверки существования.
+     *
+     * @param id Идентификатор блока.
+     * @return {@code true}, если блок был удалён.
+     */
+    @Override
+    public boolean removeById(UUID id) {
+        return mongoTemplate.remove(RevisionedWrites.byId(id), BlockElement.class).getDeletedCount() > 0;
+    }
+
+    /**
+     * Частичное обновление блока одним запросом {@code findAndModify}: поля меняются,
+     * только если документ удовлетворяет условиям, а ревизия увеличивается на единицу.
+     *
+     * @param id Идентификатор блока.
+     * @param conditions Условия на текущее состояние документа.
+     * @param update Изменяемые поля.
+     * @return Блок после изменения или {@code null}, если блока нет или условия не выполнены.
+     */
+    @Override
+    public BlockElement updateIfMatches(UUID id, List<Criteria> conditions, Update update) {
+        Query query = RevisionedWrites.byId(id);
+        if (!conditions.isEmpty()) {
+            query.addCriteria(new Criteria().andOperator(conditions));
+        }
+        return mongoTemplate.findAndModify(query, update.inc(RevisionedWrites.REVISION, 1),
+                FindAndModifyOptions.options().returnNew(true), BlockElement.class);
+    }
+}
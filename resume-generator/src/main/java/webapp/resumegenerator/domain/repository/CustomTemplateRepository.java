@@ -1,11 +1,34 @@
 package webapp.resumegenerator.domain.repository;
 
 import webapp.resumegenerator.domain.model.Template;
+import webapp.resumegenerator.domain.model.TemplateCursor;
+import webapp.resumegenerator.domain.model.TemplateSummary;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.UUID;
 
 public interface CustomTemplateRepository {
     List<Template> findByName(String name);
 
+    boolean existsByNormalizedName(String name);
+
+    List<String> suggestNames(String query, int limit);
+
     List<Template> findByDate(LocalDate startDate, LocalDate endDate);
-}
\ No newline at end of file
+
+    List<TemplateSummary> findAfter(TemplateCursor cursor, int limit);
+
+    Page<TemplateSummary> findSummaries(Pageable pageable);
+
+    List<TemplateSummary> findSummariesByDate(LocalDate startDate, LocalDate endDate);
+
+    long estimateCount();
+
+    Template replaceIfCurrent(Template template);
+
+    Template replaceReturningPrevious(Template template);
+
+    boolean removeById(UUID id);
+}
@@ -1,14 +1,20 @@
 package webapp.resumegenerator.domain.repository;
 
 import webapp.resumegenerator.domain.model.Template;
+import webapp.resumegenerator.domain.model.TemplateCursor;
+import webapp.resumegenerator.domain.model.TemplateSummary;
 import java.time.LocalDate;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.UUID;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.mongodb.core.MongoTemplate;
-import org.springframework.data.mongodb.core.query.Criteria;
 import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.support.PageableExecutionUtils;
 import org.springframework.stereotype.Repository;
-import webapp.resumegenerator.domain.repository.CustomTemplateRepository;
 
 /**
  * Реализация пользовательского репозитория для работы с коллекцией шаблонов в MongoDB.
@@ -28,15 +34,57 @@ public class CustomTemplateRepositoryImpl implements CustomTemplateRepository {
     }
 
     /**
-     * Поиск шаблонов по имени.
+     * Поиск шаблонов по подстроке имени без учёта регистра.
+     * Для запросов от трёх символов кандидаты отбираются по индексу триграмм,
+     * а подстрока проверяется только на них; более короткие запросы ищутся
+     * в начале имени по диапазону индекса нормализованного имени.
      *
      * @param name Имя шаблона для поиска.
      * @return Список шаблонов,  имя которых соответствует заданному.
      */
     @Override
     public List<Template> findByName(String name) {
-        Query query = new Query(Criteria.where("name").regex(name, "i"));
-        return mongoTemplate.find(query, Template.class);
+        return mongoTemplate.find(new Query(TemplateQueries.nameContains(TemplateNameIndex.normalize(name))),
+                Template.class);
+    }
+
+    /**
+     * Проверка существования шаблона с точно таким же нормализованным именем.
+     *
+     * @param name Имя шаблона.
+     * @return {@code true}, если шаблон с таким именем существует.
+     */
+    @Override
+    public boolean existsByNormalizedName(String name) {
+        return mongoTemplate.exists(TemplateQueries.exactName(name), Template.class);
+    }
+
+    /**
+     * Подсказки имён шаблонов: сначала имена, начинающиеся с запроса, затем содержащие его.
+     * Оба запроса читают только поле имени и ограничены размером выдачи.
+     *
+     * @param query Введённая часть имени.
+     * @param limit Максимальное количество подсказок.
+     * @return Различные имена шаблонов.
+     */
+    @Override
+    public List<String> suggestNames(String query, int limit) {
+        String normalized = TemplateNameIndex.normalize(query);
+        if (normalized.isEmpty()) {
+            return List.of();
+        }
+        Set<String> names = new LinkedHashSet<>();
+        mongoTemplate.find(TemplateQueries.namePrefix(normalized, limit), Template.class).forEach(template -> names.add(template.getName()));
+        if (names.size() < limit && normalized.length() >= TemplateNameIndex.GRAM) {
+            for (Template template : mongoTemplate.find(TemplateQueries.nameInfix(normalized, limit * 2),
+                    Template.class)) {
+                if (names.size() == limit) {
+                    break;
+                }
+                names.add(template.getName());
+            }
+        }
+        return List.copyOf(names);
     }
 
     /**
@@ -48,7 +96,98 @@ public class CustomTemplateRepositoryImpl implements CustomTemplateRepository {
      */
     @Override
     public List<Template> findByDate(LocalDate startDate, LocalDate endDate) {
-        Query query = new Query(Criteria.where("date").gte(startDate).lt(endDate));
-        return mongoTemplate.find(query, Template.class);
+        return mongoTemplate.find(new Query(TemplateQueries.dateBetween(startDate, endDate)), Template.class);
+    }
+
+    /**
+     * Порция шаблонов, следующих за курсором в порядке (дата, идентификатор).
+     * Условие по ключу вместо пропуска записей использует индекс {@code date_id},
+     * поэтому стоимость не зависит от глубины прокрутки.
+     *
+     * @param cursor Позиция последнего выданного шаблона или {@code null} для первой порции.
+     * @param limit Максимальное количество шаблонов.
+     * @return Шаблоны после курсора.
+     */
+    @Override
+    public List<TemplateSummary> findAfter(TemplateCursor cursor, int limit) {
+        return mongoTemplate.find(TemplateQueries.after(cursor, limit), TemplateSummary.class,
+                TemplateQueries.TEMPLATES);
+    }
+
+    /**
+     * Страница кратких представлений шаблонов без контента.
+     *
+     * @param pageable Параметры пагинации.
+     * @return Страница кратких представлений.
+     */
+    @Override
+    public Page<TemplateSummary> findSummaries(Pageable pageable) {
+        Query query = TemplateQueries.summary().with(pageable);
+        List<TemplateSummary> summaries = mongoTemplate.find(query, TemplateSummary.class,
+                TemplateQueries.TEMPLATES);
+        return PageableExecutionUtils.getPage(summaries, pageable,
+                () -> mongoTemplate.count(Query.of(query).limit(-1).skip(-1), TemplateQueries.TEMPLATES));
+    }
+
+    /**
+     * Краткие представления шаблонов за период, без контента.
+     *
+     * @param startDate Начальная дата диапазона.
+     * @param endDate Конечная дата диапазона.
+     * @return Краткие представления шаблонов, входящих в указанный диапазон дат.
+     */
+    @Override
+    public List<TemplateSummary> findSummariesByDate(LocalDate startDate, LocalDate endDate) {
+        return mongoTemplate.find(TemplateQueries.summariesBetween(startDate, endDate), TemplateSummary.class,
+                TemplateQueries.TEMPLATES);
+    }
+
+    /**
+     * Оценка количества шаблонов по метаданным коллекции, без просмотра документов.
+     *
+     * @return Примерное количество шаблонов.
+     */
+    @Override
+    public long estimateCount() {
+        return mongoTemplate.estimatedCount(Template.class);
+    }
+
+    /**
+     * Замена шаблона одной условной операцией {@code findAndReplace}: документ заменяется,
+     * только если его ревизия совпадает с ревизией, прочитанной клиентом. Без ревизии шаблон
+     * записывается одной операцией {@code findAndModify} вместе с поисковыми полями имени.
+     *
+     * @param template Новое состояние шаблона с идентификатором и ожидаемой ревизией.
+     * @return Сохранённый шаблон со следующей ревизией или {@code null}, если шаблона нет.
+     * @throws org.springframework.dao.OptimisticLockingFailureException если шаблон изменён другим клиентом.
+     */
+    @Override
+    public Template replaceIfCurrent(Template template) {
+        return RevisionedWrites.replace(mongoTemplate, template,
+                document -> TemplateNameIndex.apply(document, template.getName()));
+    }
+
+    /**
+     * Условная замена шаблона, возвращающая его состояние до замены. Ревизия проверяется всегда;
+     * шаблон без ревизии заменяется, только если он записан до появления ревизий.
+     *
+     * @param template Новое состояние шаблона с идентификатором и ожидаемой ревизией.
+     * @return Шаблон до замены или {@code null}, если шаблона нет.
+     * @throws org.springframework.dao.OptimisticLockingFailureException если шаблон изменён другим клиентом.
+     */
+    @Override
+    public Template replaceReturningPrevious(Template template) {
+        return RevisionedWrites.replaceReturningPrevious(mongoTemplate, template);
+    }
+
+    /**
+     * Удаление шаблона одним запросом, без предварительной проверки существования.
+     *
+     * @param id Идентификатор шаблона.
+     * @return {@code true}, если шаблон был удалён.
+     */
+    @Override
+    public boolean removeById(UUID id) {
+        return mongoTemplate.remove(RevisionedWrites.byId(id), Template.class).getDeletedCount() > 0;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,78 @@
+package webapp.resumegenerator.domain.repository;
+
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.index.IndexResolver;
+import org.springframework.data.mongodb.core.index.MongoPersistentEntityIndexResolver;
+import org.springframework.stereotype.Component;
+import webapp.resumegenerator.domain.model.BlockElement;
+import webapp.resumegenerator.domain.model.Template;
+import webapp.resumegenerator.domain.model.TemplateVersion;
+
+/**
+ * Создание индексов, объявленных в моделях ({@code @CompoundIndex}), при старте.
+ * <p>
+ * Индексы создаются явно через {@link IndexOperations#ensureIndex}, а не флагом
+ * {@code spring.data.mongodb.auto-index-creation}: флаг создаёт их при построении {@code mongoTemplate},
+ * и без доступной MongoDB приложение не запускается. Если сервер недоступен, в журнал пишется
+ * предупреждение и запуск продолжается; индексы будут созданы при следующем запуске.
+ * Существующие индексы {@code ensureIndex} не изменяет. Выполняется раньше остальных задач
+ * запуска, в том числе {@link QueryPlanVerifier}.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class MongoIndexInitializer implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(MongoIndexInitializer.class);
+
+    /**
+     * Модели, индексы которых создаются при старте.
+     */
+    static final List<Class<?>> INDEXED = List.of(Template.class, TemplateVersion.class, BlockElement.class);
+
+    private final MongoTemplate mongoTemplate;
+
+    /**
+     * Конструктор для внедрения зависимостей.
+     *
+     * @param mongoTemplate Экземпляр MongoTemplate для взаимодействия с БД.
+     */
+    @Autowired
+    public MongoIndexInitializer(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        IndexResolver resolver = new MongoPersistentEntityIndexResolver(
+                mongoTemplate.getConverter().getMappingContext());
+        int ensured = 0;
+        for (Class<?> type : INDEXED) {
+            IndexOperations operations = mongoTemplate.indexOps(type);
+            for (IndexDefinition index : resolver.resolveIndexFor(type)) {
+                try {
+                    operations.ensureIndex(index);
+                    ensured++;
+                } catch (DataAccessResourceFailureException e) {
+                    log.warn("MongoDB недоступна, индексы не созданы: {}", e.getMessage());
+                    return;
+                } catch (DataAccessException e) {
+                    log.warn("Не удалось создать индекс {} коллекции {}", index.getIndexOptions(),
+                            mongoTemplate.getCollectionName(type), e);
+                }
+            }
+        }
+        log.info("Индексы коллекций проверены: {}", ensured);
+    }
+}
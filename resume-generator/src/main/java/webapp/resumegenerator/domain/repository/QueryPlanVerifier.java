@@ -0,0 +1,323 @@
+package webapp.resumegenerator.domain.repository;
+
+import com.mongodb.ExplainVerbosity;
+import com.mongodb.client.FindIterable;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.convert.QueryMapper;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.repository.query.ConvertingParameterAccessor;
+import org.springframework.data.mongodb.repository.query.MongoParametersParameterAccessor;
+import org.springframework.data.mongodb.repository.query.MongoQueryMethod;
+import org.springframework.data.mongodb.repository.query.PartTreeMongoQuery;
+import org.springframework.data.mongodb.repository.query.StringBasedMongoQuery;
+import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
+import org.springframework.data.repository.core.RepositoryMetadata;
+import org.springframework.data.repository.core.support.AbstractRepositoryMetadata;
+import org.springframework.data.repository.query.ValueExpressionDelegate;
+import org.springframework.stereotype.Component;
+import webapp.resumegenerator.domain.model.Template;
+import webapp.resumegenerator.domain.model.TemplateCursor;
+
+/**
+ * Проверка планов запросов репозиториев при старте.
+ * Для каждого запроса с условием выполняется {@code explain}; если выбранный план просматривает
+ * коллекцию целиком ({@code COLLSCAN}), приложение не запускается, а в сообщении перечисляются
+ * запросы, которым не хватает индекса. Запросы без условий (полные списки) не проверяются.
+ * Включается {@code generator.mongo.verify-query-plans=true}, например в тестовом окружении.
+ * <p>
+ * Запросы методов репозиториев Spring Data строятся тем же механизмом, что и при их вызове
+ * (разбор имени метода или аннотация {@code @Query}), с примерами параметров по типам, поэтому
+ * новый метод репозитория проверяется без правок здесь. Реактивные репозитории повторяют запросы
+ * блокирующих. Запросы пользовательских реализаций берутся из {@link TemplateQueries};
+ * их методы, не попавшие в проверку, перечислены в {@link #UNVERIFIED_CUSTOM_METHODS}.
+ */
+@Component
+@ConditionalOnProperty(name = "generator.mongo.verify-query-plans", havingValue = "true")
+public class QueryPlanVerifier implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(QueryPlanVerifier.class);
+
+    private static final String COLLSCAN = "COLLSCAN";
+
+    /**
+     * Репозитории Spring Data, запросы методов которых проверяются.
+     */
+    static final List<Class<?>> REPOSITORIES = List.of(TemplateRepository.class, BlockElementRepository.class,
+            TemplateVersionRepository.class);
+
+    /**
+     * Методы пользовательских репозиториев без проверяемого условия: запросы без фильтра
+     * и операции по {@code _id}.
+     */
+    static final Set<String> UNVERIFIED_CUSTOM_METHODS = Set.of(
+            "CustomTemplateRepository.findSummaries", "CustomTemplateRepository.estimateCount",
+            "CustomTemplateRepository.replaceIfCurrent", "CustomTemplateRepository.replaceReturningPrevious",
+            "CustomTemplateRepository.removeById",
+            "CustomBlockElementRepository.replaceIfCurrent", "CustomBlockElementRepository.removeById",
+            "CustomBlockElementRepository.updateIfMatches");
+
+    private final MongoTemplate mongoTemplate;
+
+    private final QueryMapper queryMapper;
+
+    /**
+     * Конструктор для внедрения зависимостей.
+     *
+     * @param mongoTemplate Экземпляр MongoTemplate для взаимодействия с БД.
+     */
+    @Autowired
+    public QueryPlanVerifier(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+        this.queryMapper = new QueryMapper(mongoTemplate.getConverter());
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        List<String> scans = verify();
+        if (!scans.isEmpty()) {
+            throw new IllegalStateException("Queries without a supporting index: " + String.join(", ", scans));
+        }
+        log.info("Планы запросов проверены: полный просмотр коллекций не используется");
+    }
+
+    /**
+     * Выполняет {@code explain} для всех проверяемых запросов.
+     *
+     * @return Имена запросов, план которых просматривает коллекцию целиком.
+     */
+    List<String> verify() {
+        List<String> scans = new ArrayList<>();
+        queries().forEach((name, planned) -> {
+            if (hasCollectionScan(explain(planned))) {
+                scans.add(name);
+            }
+        });
+        scans.sort(null);
+        return scans;
+    }
+
+    /**
+     * Запросы с условием и примерами параметров; ключ — метод репозитория, который выполняет запрос.
+     *
+     * @return Запросы в порядке имён.
+     */
+    Map<String, PlannedQuery> queries() {
+        Map<String, PlannedQuery> queries = new LinkedHashMap<>();
+        for (Class<?> repository : REPOSITORIES) {
+            queries.putAll(repositoryQueries(repository));
+        }
+        queries.putAll(customQueries());
+        return queries;
+    }
+
+    /**
+     * Запросы пользовательских реализаций репозиториев с примерами параметров.
+     */
+    static Map<String, PlannedQuery> customQueries() {
+        UUID id = UUID.randomUUID();
+        LocalDate today = LocalDate.now();
+        String normalized = TemplateNameIndex.normalize("Шаблон");
+        Map<String, PlannedQuery> queries = new LinkedHashMap<>();
+        queries.put("CustomTemplateRepository.findByName",
+                new PlannedQuery(Template.class, new Query(TemplateQueries.nameContains(normalized))));
+        queries.put("CustomTemplateRepository.findByName (short)",
+                new PlannedQuery(Template.class, new Query(TemplateQueries.nameContains(normalized.substring(0, 2)))));
+        queries.put("CustomTemplateRepository.existsByNormalizedName",
+                new PlannedQuery(Template.class, TemplateQueries.exactName("Шаблон")));
+        queries.put("CustomTemplateRepository.suggestNames",
+                new PlannedQuery(Template.class, TemplateQueries.namePrefix(normalized, 10)));
+        queries.put("CustomTemplateRepository.suggestNames (infix)",
+                new PlannedQuery(Template.class, TemplateQueries.nameInfix(normalized, 20)));
+        queries.put("CustomTemplateRepository.findByDate",
+                new PlannedQuery(Template.class, new Query(TemplateQueries.dateBetween(today.minusDays(30), today))));
+        queries.put("CustomTemplateRepository.findSummariesByDate",
+                new PlannedQuery(Template.class, TemplateQueries.summariesBetween(today.minusDays(30), today)));
+        queries.put("CustomTemplateRepository.findAfter",
+                new PlannedQuery(Template.class, TemplateQueries.after(new TemplateCursor(LocalDateTime.now(), id), 20)));
+        return queries;
+    }
+
+    /**
+     * Запросы методов, объявленных в интерфейсе репозитория, в том виде, в каком их строит Spring Data.
+     */
+    private Map<String, PlannedQuery> repositoryQueries(Class<?> repository) {
+        RepositoryMetadata metadata = AbstractRepositoryMetadata.getMetadata(repository);
+        SpelAwareProxyProjectionFactory projectionFactory = new SpelAwareProxyProjectionFactory();
+        Map<String, PlannedQuery> queries = new LinkedHashMap<>();
+        Arrays.stream(repository.getDeclaredMethods())
+                .filter(method -> !method.isDefault() && !Modifier.isStatic(method.getModifiers()))
+                .sorted(Comparator.comparing(Method::getName))
+                .forEach(method -> {
+                    MongoQueryMethod queryMethod = new MongoQueryMethod(method, metadata, projectionFactory,
+                            mongoTemplate.getConverter().getMappingContext());
+                    Query query = QueryBuilder.create(queryMethod, mongoTemplate).build(sampleArguments(method));
+                    if (!query.getQueryObject().isEmpty()) {
+                        queries.put(repository.getSimpleName() + "." + method.getName(),
+                                new PlannedQuery(metadata.getDomainType(), query));
+                    }
+                });
+        return queries;
+    }
+
+    private static Object[] sampleArguments(Method method) {
+        return Arrays.stream(method.getParameterTypes()).map(QueryPlanVerifier::sampleArgument).toArray();
+    }
+
+    private static Object sampleArgument(Class<?> type) {
+        if (type == String.class) {
+            return "Шаблон";
+        } else if (type == UUID.class) {
+            return UUID.randomUUID();
+        } else if (type == Integer.class || type == int.class) {
+            return 10;
+        } else if (type == Long.class || type == long.class) {
+            return 10L;
+        } else if (type == Boolean.class || type == boolean.class) {
+            return true;
+        } else if (type == LocalDate.class) {
+            return LocalDate.now();
+        } else if (type == LocalDateTime.class) {
+            return LocalDateTime.now();
+        } else if (type == Limit.class) {
+            return Limit.of(20);
+        } else if (type == Pageable.class) {
+            return PageRequest.of(0, 20);
+        } else if (type == Sort.class) {
+            return Sort.unsorted();
+        }
+        throw new IllegalStateException("No sample value for repository parameter type " + type.getName());
+    }
+
+    private Document explain(PlannedQuery planned) {
+        MongoPersistentEntity<?> entity = mongoTemplate.getConverter().getMappingContext()
+                .getRequiredPersistentEntity(planned.entity());
+        Query query = planned.query();
+        FindIterable<Document> find = mongoTemplate.getCollection(entity.getCollection())
+                .find(queryMapper.getMappedObject(query.getQueryObject(), entity))
+                .sort(queryMapper.getMappedSort(query.getSortObject(), entity));
+        if (query.isLimited()) {
+            find.limit(query.getLimit());
+        }
+        return find.explain(ExplainVerbosity.QUERY_PLANNER);
+    }
+
+    /**
+     * Есть ли в выбранном плане стадия полного просмотра коллекции, в том числе на шардах.
+     *
+     * @param explain Результат {@code explain}.
+     * @return {@code true}, если план просматривает коллекцию целиком.
+     */
+    static boolean hasCollectionScan(Document explain) {
+        Object planner = explain.get("queryPlanner");
+        return planner instanceof Document document && containsStage(document.get("winningPlan"));
+    }
+
+    private static boolean containsStage(Object node) {
+        if (node instanceof Document document) {
+            if (COLLSCAN.equals(document.get("stage"))) {
+                return true;
+            }
+            return document.values().stream().anyMatch(QueryPlanVerifier::containsStage);
+        }
+        if (node instanceof List<?> list) {
+            return list.stream().anyMatch(QueryPlanVerifier::containsStage);
+        }
+        return false;
+    }
+
+    /**
+     * Построение запроса метода репозитория механизмом Spring Data без его выполнения.
+     */
+    private interface QueryBuilder {
+
+        Query build(Object[] arguments);
+
+        static QueryBuilder create(MongoQueryMethod method, MongoOperations operations) {
+            return method.hasAnnotatedQuery()
+                    ? new AnnotatedQuery(method, operations)
+                    : new DerivedQuery(method, operations);
+        }
+
+        static ConvertingParameterAccessor accessor(MongoQueryMethod method, MongoOperations operations,
+                                                    Object[] arguments) {
+            return new ConvertingParameterAccessor(operations.getConverter(),
+                    new MongoParametersParameterAccessor(method, arguments));
+        }
+    }
+
+    /**
+     * Запрос, построенный по имени метода.
+     */
+    private static final class DerivedQuery extends PartTreeMongoQuery implements QueryBuilder {
+
+        private final MongoQueryMethod method;
+
+        private final MongoOperations operations;
+
+        DerivedQuery(MongoQueryMethod method, MongoOperations operations) {
+            super(method, operations, ValueExpressionDelegate.create());
+            this.method = method;
+            this.operations = operations;
+        }
+
+        @Override
+        public Query build(Object[] arguments) {
+            return createQuery(QueryBuilder.accessor(method, operations, arguments));
+        }
+    }
+
+    /**
+     * Запрос из аннотации {@code @Query}.
+     */
+    private static final class AnnotatedQuery extends StringBasedMongoQuery implements QueryBuilder {
+
+        private final MongoQueryMethod method;
+
+        private final MongoOperations operations;
+
+        AnnotatedQuery(MongoQueryMethod method, MongoOperations operations) {
+            super(method, operations, ValueExpressionDelegate.create());
+            this.method = method;
+            this.operations = operations;
+        }
+
+        @Override
+        public Query build(Object[] arguments) {
+            return createQuery(QueryBuilder.accessor(method, operations, arguments));
+        }
+    }
+
+    /**
+     * Проверяемый запрос.
+     *
+     * @param entity Класс документа коллекции.
+     * @param query Запрос с примерами параметров.
+     */
+    record PlannedQuery(Class<?> entity, Query query) {
+    }
+}
@@ -0,0 +1,209 @@
+package webapp.resumegenerator.domain.repository;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import org.bson.Document;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.mapping.PropertyHandler;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.FindAndReplaceOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.convert.MongoConverter;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentProperty;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import reactor.core.publisher.Mono;
+import webapp.resumegenerator.domain.model.Revisioned;
+
+/**
+ * Запись документов с проверкой ревизии, общая для блокирующих и реактивных репозиториев.
+ * <p>
+ * Документ заменяется одной операцией {@code findAndReplace} по условию
+ * {@code _id = id and revision = ожидаемая}, поэтому проверка и запись выполняются
+ * за одно обращение к БД, а сохранение проходит через обычные колбэки маппинга.
+ * Только если ни один документ не подошёл, вторым обращением ({@code exists}) выясняется,
+ * отсутствует документ или его ревизия изменилась: во втором случае выбрасывается
+ * {@link OptimisticLockingFailureException}.
+ * <p>
+ * Если клиент не передал ревизию, документ тоже записывается одной операцией:
+ * {@code findAndModify} по {@code _id}, которая {@code $set}-ит поля сконвертированной сущности,
+ * {@code $unset}-ит отсутствующие в ней поля модели и увеличивает ревизию через {@code $inc}, так что
+ * параллельная запись не теряет увеличение ревизии. Колбэки сохранения при этом не вызываются,
+ * поэтому производные поля документа дописывает переданный вызывающим обработчик.
+ */
+public final class RevisionedWrites {
+
+    /**
+     * Поле ревизии в документе.
+     */
+    public static final String REVISION = "revision";
+
+    private RevisionedWrites() {
+    }
+
+    /**
+     * Заменяет документ, если его ревизия совпадает с ревизией сущности.
+     *
+     * @param mongoTemplate Экземпляр MongoTemplate для взаимодействия с БД.
+     * @param entity Новое состояние документа; при успехе получает следующую ревизию.
+     * @param derived Дописывает в документ производные поля, если ревизия не передана и запись идёт
+     *                в обход колбэков сохранения.
+     * @param <T> Тип документа.
+     * @return Сохранённый документ или {@code null}, если документ не найден.
+     * @throws OptimisticLockingFailureException если документ изменён после чтения клиентом.
+     */
+    public static <T extends Revisioned> T replace(MongoTemplate mongoTemplate, T entity,
+                                                   Consumer<Document> derived) {
+        Long expected = entity.getRevision();
+        if (expected == null) {
+            Update update = overwrite(mongoTemplate.getConverter(), entity, derived);
+            return mongoTemplate.findAndModify(byId(entity.getId()), update,
+                    FindAndModifyOptions.options().returnNew(true), type(entity));
+        }
+        T saved = replace(mongoTemplate, entity, expected, FindAndReplaceOptions.options().returnNew());
+        if (saved == null && mongoTemplate.exists(byId(entity.getId()), entity.getClass())) {
+            throw conflict(entity);
+        }
+        return saved;
+    }
+
+    /**
+     * Заменяет документ, если его ревизия совпадает с ревизией сущности, и возвращает состояние
+     * документа до замены. Запись всегда проверяется: сущность без ревизии ожидает ревизию 0,
+     * то есть документ, записанный до появления ревизий.
+     *
+     * @param mongoTemplate Экземпляр MongoTemplate для взаимодействия с БД.
+     * @param entity Новое состояние документа; при успехе получает следующую ревизию.
+     * @param <T> Тип документа.
+     * @return Документ до замены или {@code null}, если документ не найден.
+     * @throws OptimisticLockingFailureException если документ изменён после чтения клиентом.
+     */
+    public static <T extends Revisioned> T replaceReturningPrevious(MongoTemplate mongoTemplate, T entity) {
+        long expected = entity.getRevision() == null ? 0 : entity.getRevision();
+        T previous = replace(mongoTemplate, entity, expected, FindAndReplaceOptions.options());
+        if (previous == null && mongoTemplate.exists(byId(entity.getId()), entity.getClass())) {
+            throw conflict(entity);
+        }
+        return previous;
+    }
+
+    /**
+     * Реактивный вариант {@link #replace(MongoTemplate, Revisioned, Consumer)}.
+     *
+     * @param mongoTemplate Экземпляр ReactiveMongoTemplate для взаимодействия с БД.
+     * @param entity Новое состояние документа; при успехе получает следующую ревизию.
+     * @param derived Дописывает в документ производные поля, если ревизия не передана.
+     * @param <T> Тип документа.
+     * @return Сохранённый документ или пустой результат, если документ не найден;
+     *         ошибка {@link OptimisticLockingFailureException} при конфликте.
+     */
+    public static <T extends Revisioned> Mono<T> replace(ReactiveMongoTemplate mongoTemplate, T entity,
+                                                         Function<Document, Mono<Void>> derived) {
+        return Mono.defer(() -> {
+            Long expected = entity.getRevision();
+            if (expected == null) {
+                Document document = convert(mongoTemplate.getConverter(), entity);
+                return derived.apply(document)
+                        .then(Mono.defer(() -> mongoTemplate.findAndModify(byId(entity.getId()),
+                                overwrite(mongoTemplate.getConverter(), entity, document),
+                                FindAndModifyOptions.options().returnNew(true), type(entity))));
+            }
+            return replace(mongoTemplate, entity, expected)
+                    .switchIfEmpty(Mono.defer(() -> mongoTemplate.exists(byId(entity.getId()), entity.getClass())
+                            .flatMap(exists -> exists ? Mono.error(conflict(entity)) : Mono.empty())));
+        });
+    }
+
+    /**
+     * Условие поиска документа по идентификатору.
+     *
+     * @param id Идентификатор документа.
+     * @return Запрос.
+     */
+    public static Query byId(UUID id) {
+        return query(where("_id").is(id));
+    }
+
+    private static <T extends Revisioned> T replace(MongoTemplate mongoTemplate, T entity, long expected,
+                                                    FindAndReplaceOptions options) {
+        Long revision = entity.getRevision();
+        entity.setRevision(next(expected));
+        T result = mongoTemplate.findAndReplace(expectedRevision(entity.getId(), expected), entity, options);
+        if (result == null) {
+            entity.setRevision(revision);
+        }
+        return result;
+    }
+
+    private static <T extends Revisioned> Mono<T> replace(ReactiveMongoTemplate mongoTemplate, T entity,
+                                                          long expected) {
+        return Mono.defer(() -> {
+            entity.setRevision(next(expected));
+            return mongoTemplate.findAndReplace(expectedRevision(entity.getId(), expected), entity,
+                            FindAndReplaceOptions.options().returnNew())
+                    .switchIfEmpty(Mono.fromRunnable(() -> entity.setRevision(expected)));
+        });
+    }
+
+    /**
+     * Условие замены: документы, записанные до появления ревизий, поля ревизии не содержат
+     * и считаются документами с ревизией 0.
+     */
+    private static Query expectedRevision(UUID id, long expected) {
+        Criteria revision = expected == 0 ? where(REVISION).in(0L, null) : where(REVISION).is(expected);
+        return query(where("_id").is(id).andOperator(revision));
+    }
+
+    private static Update overwrite(MongoConverter converter, Revisioned entity, Consumer<Document> derived) {
+        Document document = convert(converter, entity);
+        derived.accept(document);
+        return overwrite(converter, entity, document);
+    }
+
+    /**
+     * Изменение, приводящее документ к состоянию сущности: поля документа, кроме идентификатора,
+     * записываются, поля модели, которых в нём нет (пустые значения), удаляются, ревизия увеличивается.
+     */
+    private static Update overwrite(MongoConverter converter, Revisioned entity, Document document) {
+        Update update = new Update();
+        document.forEach((field, value) -> {
+            if (!"_id".equals(field) && !REVISION.equals(field)) {
+                update.set(field, value);
+            }
+        });
+        converter.getMappingContext().getRequiredPersistentEntity(entity.getClass())
+                .doWithProperties((PropertyHandler<MongoPersistentProperty>) property -> {
+                    String field = property.getFieldName();
+                    if (!property.isIdProperty() && !REVISION.equals(field) && !document.containsKey(field)) {
+                        update.unset(field);
+                    }
+                });
+        return update.inc(REVISION, 1);
+    }
+
+    private static Document convert(MongoConverter converter, Revisioned entity) {
+        Document document = new Document();
+        converter.write(entity, document);
+        return document;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> Class<T> type(T entity) {
+        return (Class<T>) entity.getClass();
+    }
+
+    private static long next(long expected) {
+        return expected + 1;
+    }
+
+    private static OptimisticLockingFailureException conflict(Revisioned entity) {
+        return new OptimisticLockingFailureException(
+                "Document '" + entity.getId() + "' was modified concurrently");
+    }
+}
@@ -0,0 +1,33 @@
+package webapp.resumegenerator.domain.repository;
+
+import org.bson.Document;
+import org.springframework.data.mongodb.core.mapping.event.AfterConvertCallback;
+import org.springframework.data.mongodb.core.mapping.event.BeforeSaveCallback;
+import org.springframework.stereotype.Component;
+import webapp.resumegenerator.domain.model.BlockElement;
+
+/**
+ * Переводит карты стилей блока на общие наборы {@link StyleSetStore}: при сохранении заменяет
+ * их в документе ссылками, при чтении подставляет общие экземпляры карт.
+ */
+@Component
+public class StyleSetCallback implements BeforeSaveCallback<BlockElement>, AfterConvertCallback<BlockElement> {
+
+    private final StyleSetStore styleSetStore;
+
+    public StyleSetCallback(StyleSetStore styleSetStore) {
+        this.styleSetStore = styleSetStore;
+    }
+
+    @Override
+    public BlockElement onBeforeSave(BlockElement block, Document document, String collection) {
+        styleSetStore.extract(document);
+        return block;
+    }
+
+    @Override
+    public BlockElement onAfterConvert(BlockElement block, Document document, String collection) {
+        styleSetStore.resolve(block, document);
+        return block;
+    }
+}
@@ -0,0 +1,368 @@
+package webapp.resumegenerator.domain.repository;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.mongodb.client.model.BulkWriteOptions;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.UpdateOneModel;
+import com.mongodb.client.model.UpdateOptions;
+import com.mongodb.client.model.Updates;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+import webapp.resumegenerator.application.render.ContentDigest;
+import webapp.resumegenerator.domain.model.BlockElement;
+import webapp.resumegenerator.domain.model.SectionElementProps;
+
+/**
+ * Общие наборы стилей блоков.
+ * <p>
+ * Одинаковые карты стилей {@link SectionElementProps} встречаются в тысячах блоков, поэтому
+ * в документе блока вместо карты хранится ссылка {@code <поле>Ref} на документ коллекции
+ * {@code style_sets}, идентификатором которого служит хеш содержимого карты. При загрузке дерева
+ * блока ссылки разрешаются одним запросом, а все блоки получают один и тот же неизменяемый
+ * экземпляр карты. Документы со встроенными картами, сохранённые до появления наборов,
+ * читаются как раньше и переводятся на ссылки при следующем сохранении.
+ * <p>
+ * Хранилище вызывается из {@link StyleSetCallback}, который нужен конвертеру MongoDB ещё до создания
+ * {@link MongoTemplate}, поэтому шаблон запрашивается при первом обращении, а не в конструкторе.
+ */
+@Component
+public class StyleSetStore {
+
+    private static final Logger log = LoggerFactory.getLogger(StyleSetStore.class);
+
+    /**
+     * Коллекция общих наборов стилей.
+     */
+    public static final String COLLECTION = "style_sets";
+
+    static final String REF_SUFFIX = "Ref";
+
+    private final ObjectProvider<MongoTemplate> mongoTemplate;
+
+    private final Cache<String, Map<String, String>> interned;
+
+    private final Cache<String, Boolean> persisted;
+
+    /**
+     * Конструктор для внедрения зависимостей.
+     *
+     * @param mongoTemplate Поставщик MongoTemplate для взаимодействия с БД.
+     * @param maxSize Количество наборов, которые помнятся как уже сохранённые в {@code style_sets}.
+     */
+    public StyleSetStore(ObjectProvider<MongoTemplate> mongoTemplate,
+                         @Value("${generator.style-sets.max-size:10000}") long maxSize) {
+        this.mongoTemplate = mongoTemplate;
+        this.interned = Caffeine.newBuilder().weakValues().build();
+        this.persisted = Caffeine.newBuilder().maximumSize(maxSize).build();
+    }
+
+    /**
+     * Заменяет карты стилей в документе блока и его дочерних блоков ссылками на наборы,
+     * предварительно сохранив в {@code style_sets} ещё не известные наборы.
+     *
+     * @param block Документ блока, подготовленный к записи.
+     * @return {@code true}, если в документе была заменена хотя бы одна карта.
+     */
+    public boolean extract(Document block) {
+        Extraction extraction = prepareExtraction(block);
+        if (!extraction.writes().isEmpty()) {
+            mongoTemplate.getObject().getCollection(COLLECTION)
+                    .bulkWrite(extraction.writes(), new BulkWriteOptions().ordered(false));
+        }
+        extraction.complete();
+        return extraction.replaced();
+    }
+
+    /**
+     * Заменяет карты стилей в документе блока ссылками на наборы без обращения к БД.
+     * Ещё не сохранённые наборы вызывающий записывает сам, после чего вызывает
+     * {@link Extraction#complete()}.
+     *
+     * @param block Документ блока, подготовленный к записи.
+     * @return Наборы, найденные в документе, и запись ещё не сохранённых.
+     */
+    public Extraction prepareExtraction(Document block) {
+        Map<String, Map<String, String>> found = new LinkedHashMap<>();
+        extract(block, found);
+        List<UpdateOneModel<Document>> writes = new ArrayList<>();
+        found.forEach((digest, style) -> {
+            if (persisted.getIfPresent(digest) == null) {
+                writes.add(new UpdateOneModel<>(Filters.eq("_id", digest),
+                        Updates.setOnInsert("style", new Document(style)), new UpdateOptions().upsert(true)));
+            }
+        });
+        return new Extraction(found, writes);
+    }
+
+    /**
+     * Подставляет в дерево загруженного блока общие экземпляры карт стилей:
+     * по ссылкам из исходного документа или, для старых документов, по содержимому встроенных карт.
+     *
+     * @param block Блок, прочитанный из документа.
+     * @param document Исходный документ блока.
+     */
+    public void resolve(BlockElement block, Document document) {
+        Resolution resolution = prepareResolution(block, document);
+        resolution.complete(resolution.missing().isEmpty()
+                ? List.of()
+                : mongoTemplate.getObject().getCollection(COLLECTION).find(resolution.query()));
+    }
+
+    /**
+     * Находит наборы, на которые ссылается документ блока, среди уже известных без обращения к БД.
+     * Остальные вызывающий загружает запросом {@link Resolution#query()} и передаёт
+     * в {@link Resolution#complete(Iterable)}.
+     *
+     * @param block Блок, прочитанный из документа.
+     * @param document Исходный документ блока.
+     * @return Известные и недостающие наборы блока.
+     */
+    public Resolution prepareResolution(BlockElement block, Document document) {
+        Map<String, Map<String, String>> styles = new HashMap<>();
+        Set<String> missing = new HashSet<>();
+        collectReferences(document, styles, missing);
+        return new Resolution(block, document, styles, missing);
+    }
+
+    /**
+     * Возвращает общий экземпляр карты с тем же содержимым.
+     *
+     * @param style Карта стилей.
+     * @return Неизменяемая карта, общая для всех блоков с тем же набором стилей.
+     */
+    public Map<String, String> intern(Map<String, String> style) {
+        if (style == null) {
+            return null;
+        }
+        Map<String, String> canonical = new TreeMap<>(style);
+        return intern(digest(canonical), canonical);
+    }
+
+    /**
+     * Хеш содержимого карты стилей, не зависящий от порядка ключей.
+     *
+     * @param style Карта стилей.
+     * @return Идентификатор набора.
+     */
+    static String digest(Map<String, String> style) {
+        return ContentDigest.of(new Document(new TreeMap<String, Object>(style)).toJson());
+    }
+
+    private Map<String, String> intern(String digest, Map<String, String> style) {
+        return interned.get(digest, d -> Collections.unmodifiableMap(new TreeMap<>(style)));
+    }
+
+    private void extract(Document block, Map<String, Map<String, String>> found) {
+        if (block.get("props") instanceof Document props) {
+            for (StyleField field : StyleField.values()) {
+                if (props.get(field.name) instanceof Map<?, ?> map) {
+                    Map<String, String> style = new TreeMap<>();
+                    map.forEach((key, value) -> style.put(String.valueOf(key), value == null ? null : value.toString()));
+                    String digest = digest(style);
+                    found.putIfAbsent(digest, style);
+                    props.remove(field.name);
+                    props.put(field.name + REF_SUFFIX, digest);
+                }
+            }
+        }
+        if (block.get("children") instanceof Collection<?> children) {
+            for (Object child : children) {
+                if (child instanceof Document childDocument) {
+                    extract(childDocument, found);
+                }
+            }
+        }
+    }
+
+    private void collectReferences(Document block, Map<String, Map<String, String>> styles, Set<String> missing) {
+        if (block.get("props") instanceof Document props) {
+            for (StyleField field : StyleField.values()) {
+                if (props.get(field.name + REF_SUFFIX) instanceof String digest && !styles.containsKey(digest)) {
+                    Map<String, String> style = interned.getIfPresent(digest);
+                    if (style == null) {
+                        missing.add(digest);
+                    } else {
+                        styles.put(digest, style);
+                    }
+                }
+            }
+        }
+        if (block.get("children") instanceof Collection<?> children) {
+            for (Object child : children) {
+                if (child instanceof Document childDocument) {
+                    collectReferences(childDocument, styles, missing);
+                }
+            }
+        }
+    }
+
+    private Map<String, Map<String, String>> load(Iterable<Document> sets) {
+        Map<String, Map<String, String>> loaded = new HashMap<>();
+        for (Document set : sets) {
+            Map<String, String> style = new TreeMap<>();
+            set.get("style", Document.class).forEach((key, value) ->
+                    style.put(key, value == null ? null : value.toString()));
+            String digest = set.getString("_id");
+            persisted.put(digest, Boolean.TRUE);
+            loaded.put(digest, intern(digest, style));
+        }
+        return loaded;
+    }
+
+    private void resolve(BlockElement block, Document document, Map<String, Map<String, String>> styles) {
+        SectionElementProps props = block.getProps();
+        if (props != null) {
+            Document propsDocument = document.get("props") instanceof Document d ? d : new Document();
+            for (StyleField field : StyleField.values()) {
+                if (propsDocument.get(field.name + REF_SUFFIX) instanceof String digest) {
+                    Map<String, String> style = styles.get(digest);
+                    if (style == null) {
+                        log.warn("Набор стилей {} блока {} не найден", digest, block.getId());
+                    }
+                    field.setter.accept(props, style);
+                } else {
+                    field.setter.accept(props, intern(field.getter.apply(props)));
+                }
+            }
+        }
+        List<BlockElement> children = block.getChildren();
+        if (children != null && document.get("children") instanceof List<?> childDocuments
+                && childDocuments.size() == children.size()) {
+            for (int i = 0; i < children.size(); i++) {
+                if (children.get(i) != null && childDocuments.get(i) instanceof Document childDocument) {
+                    resolve(children.get(i), childDocument, styles);
+                }
+            }
+        }
+    }
+
+    /**
+     * Наборы стилей, найденные в документе блока при записи.
+     */
+    public final class Extraction {
+
+        private final Map<String, Map<String, String>> found;
+
+        private final List<UpdateOneModel<Document>> writes;
+
+        private Extraction(Map<String, Map<String, String>> found, List<UpdateOneModel<Document>> writes) {
+            this.found = found;
+            this.writes = writes;
+        }
+
+        /**
+         * Запись в {@code style_sets} наборов, которые ещё не известны как сохранённые.
+         *
+         * @return Операции {@code upsert}; пустой список, если обращаться к БД не нужно.
+         */
+        public List<UpdateOneModel<Document>> writes() {
+            return writes;
+        }
+
+        /**
+         * Отмечает наборы сохранёнными; вызывается после успешной записи {@link #writes()}.
+         */
+        public void complete() {
+            found.forEach((digest, style) -> {
+                persisted.put(digest, Boolean.TRUE);
+                intern(digest, style);
+            });
+        }
+
+        boolean replaced() {
+            return !found.isEmpty();
+        }
+    }
+
+    /**
+     * Наборы стилей, на которые ссылается загруженный блок.
+     */
+    public final class Resolution {
+
+        private final BlockElement block;
+
+        private final Document document;
+
+        private final Map<String, Map<String, String>> styles;
+
+        private final Set<String> missing;
+
+        private Resolution(BlockElement block, Document document, Map<String, Map<String, String>> styles,
+                           Set<String> missing) {
+            this.block = block;
+            this.document = document;
+            this.styles = styles;
+            this.missing = missing;
+        }
+
+        /**
+         * Идентификаторы наборов, которых нет среди известных.
+         *
+         * @return Недостающие наборы; пустое множество, если обращаться к БД не нужно.
+         */
+        public Set<String> missing() {
+            return missing;
+        }
+
+        /**
+         * Запрос недостающих наборов к коллекции {@code style_sets}.
+         *
+         * @return Условие отбора по идентификаторам.
+         */
+        public Bson query() {
+            return Filters.in("_id", missing);
+        }
+
+        /**
+         * Подставляет в дерево блока общие экземпляры карт.
+         *
+         * @param loaded Документы {@code style_sets}, загруженные запросом {@link #query()}.
+         */
+        public void complete(Iterable<Document> loaded) {
+            styles.putAll(load(loaded));
+            resolve(block, document, styles);
+        }
+    }
+
+    /**
+     * Поля {@link SectionElementProps}, хранящие карты стилей.
+     */
+    private enum StyleField {
+        WRAPPER("wrapperStyle", SectionElementProps::getWrapperStyle, SectionElementProps::setWrapperStyle),
+        TEXT("textStyle", SectionElementProps::getTextStyle, SectionElementProps::setTextStyle),
+        INPUT("inputStyle", SectionElementProps::getInputStyle, SectionElementProps::setInputStyle),
+        STYLE("style", SectionElementProps::getStyle, SectionElementProps::setStyle);
+
+        private final String name;
+
+        private final Function<SectionElementProps, Map<String, String>> getter;
+
+        private final BiConsumer<SectionElementProps, Map<String, String>> setter;
+
+        StyleField(String name, Function<SectionElementProps, Map<String, String>> getter,
+                   BiConsumer<SectionElementProps, Map<String, String>> setter) {
+            this.name = name;
+            this.getter = getter;
+            this.setter = setter;
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package webapp.resumegenerator.domain.repository;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+import org.bson.Document;
+
+/**
+ * Поисковое представление имени шаблона.
+ * Имя приводится к нормализованной форме (нижний регистр, без лишних пробелов, «ё» как «е»),
+ * по которой выполняются точный и префиксный поиск, и раскладывается на триграммы
+ * для поиска по подстроке. Оба поля индексируются в MongoDB.
+ */
+public final class TemplateNameIndex {
+
+    /**
+     * Поле нормализованного имени.
+     */
+    public static final String NAME_LOWER = "nameLower";
+
+    /**
+     * Поле триграмм нормализованного имени.
+     */
+    public static final String NAME_GRAMS = "nameGrams";
+
+    /**
+     * Длина n-граммы.
+     */
+    public static final int GRAM = 3;
+
+    private static final Pattern SPACES = Pattern.compile("\\s+");
+
+    private TemplateNameIndex() {
+    }
+
+    /**
+     * Нормализует имя шаблона.
+     *
+     * @param name Имя шаблона.
+     * @return Нормализованное имя или пустая строка для {@code null}.
+     */
+    public static String normalize(String name) {
+        if (name == null) {
+            return "";
+        }
+        return SPACES.matcher(name.trim()).replaceAll(" ")
+                .toLowerCase(Locale.ROOT)
+                .replace('ё', 'е');
+    }
+
+    /**
+     * Дописывает поисковые поля имени в документ шаблона.
+     *
+     * @param document Документ шаблона перед сохранением.
+     * @param name Имя шаблона.
+     */
+    public static void apply(Document document, String name) {
+        String normalized = normalize(name);
+        document.put(NAME_LOWER, normalized);
+        document.put(NAME_GRAMS, grams(normalized));
+    }
+
+    /**
+     * Раскладывает нормализованное имя на триграммы.
+     * Строка короче триграммы образует одну n-грамму из самой себя.
+     *
+     * @param normalized Нормализованное имя.
+     * @return Различные триграммы в порядке появления.
+     */
+    public static List<String> grams(String normalized) {
+        if (normalized.length() <= GRAM) {
+            return normalized.isEmpty() ? List.of() : List.of(normalized);
+        }
+        Set<String> grams = new LinkedHashSet<>();
+        for (int i = 0; i + GRAM <= normalized.length(); i++) {
+            grams.add(normalized.substring(i, i + GRAM));
+        }
+        return List.copyOf(grams);
+    }
+
+    /**
+     * Регулярное выражение префиксного поиска. Выражение, привязанное к началу строки
+     * и чувствительное к регистру, MongoDB выполняет как диапазон по индексу.
+     *
+     * @param normalizedPrefix Нормализованный префикс.
+     * @return Регулярное выражение.
+     */
+    public static String prefixRegex(String normalizedPrefix) {
+        return "^" + escape(normalizedPrefix);
+    }
+
+    /**
+     * Экранирует специальные символы регулярных выражений.
+     *
+     * @param text Исходный текст.
+     * @return Текст, совпадающий сам с собой как регулярное выражение.
+     */
+    public static String escape(String text) {
+        StringBuilder escaped = new StringBuilder(text.length() + 8);
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if ("\\^$.|?*+()[]{}".indexOf(c) >= 0) {
+                escaped.append('\\');
+            }
+            escaped.append(c);
+        }
+        return escaped.toString();
+    }
+}
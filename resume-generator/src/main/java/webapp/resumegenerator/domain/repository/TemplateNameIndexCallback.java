@@ -0,0 +1,21 @@
+package webapp.resumegenerator.domain.repository;
+
+import org.bson.Document;
+import org.springframework.data.mongodb.core.mapping.event.BeforeSaveCallback;
+import org.springframework.stereotype.Component;
+import webapp.resumegenerator.domain.model.Template;
+
+/**
+ * Дописывает поисковые поля имени в документ шаблона перед каждым сохранением,
+ * в том числе при пакетной вставке через {@code bulkOps}. Поля существуют только
+ * в MongoDB и в модель {@link Template} не читаются.
+ */
+@Component
+public class TemplateNameIndexCallback implements BeforeSaveCallback<Template> {
+
+    @Override
+    public Template onBeforeSave(Template template, Document document, String collection) {
+        TemplateNameIndex.apply(document, template.getName());
+        return template;
+    }
+}
@@ -0,0 +1,134 @@
+package webapp.resumegenerator.domain.repository;
+
+import java.time.LocalDate;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import webapp.resumegenerator.domain.model.TemplateCursor;
+
+/**
+ * Запросы к коллекции шаблонов, общие для блокирующего и реактивного репозиториев.
+ */
+public final class TemplateQueries {
+
+    /**
+     * Коллекция шаблонов.
+     */
+    public static final String TEMPLATES = "templates";
+
+    private TemplateQueries() {
+    }
+
+    /**
+     * Запрос, читающий только поля краткого представления шаблона.
+     *
+     * @return Запрос без контента шаблона.
+     */
+    public static Query summary() {
+        Query query = new Query();
+        query.fields().include("name", "description", "date", "version");
+        return query;
+    }
+
+    /**
+     * Порция кратких представлений после курсора в порядке (дата, идентификатор).
+     * MongoDB при сортировке по возрастанию ставит шаблоны без даты первыми, поэтому после
+     * курсора без даты идут оставшиеся шаблоны без даты и затем все шаблоны с датой.
+     *
+     * @param cursor Позиция последнего выданного шаблона или {@code null} для первой порции.
+     * @param limit Максимальное количество шаблонов.
+     * @return Запрос по индексу {@code date_id}.
+     */
+    public static Query after(TemplateCursor cursor, int limit) {
+        Query query = summary();
+        if (cursor != null && cursor.date() == null) {
+            query.addCriteria(new Criteria().orOperator(
+                    Criteria.where("date").ne(null),
+                    Criteria.where("date").is(null).and("_id").gt(cursor.id())));
+        } else if (cursor != null) {
+            query.addCriteria(new Criteria().orOperator(
+                    Criteria.where("date").gt(cursor.date()),
+                    Criteria.where("date").is(cursor.date()).and("_id").gt(cursor.id())));
+        }
+        return query.with(Sort.by(Sort.Order.asc("date"), Sort.Order.asc("_id"))).limit(limit);
+    }
+
+    /**
+     * Краткие представления шаблонов за период.
+     *
+     * @param startDate Начальная дата диапазона.
+     * @param endDate Конечная дата диапазона.
+     * @return Запрос без контента шаблона по индексу {@code date_id}.
+     */
+    public static Query summariesBetween(LocalDate startDate, LocalDate endDate) {
+        return summary().addCriteria(dateBetween(startDate, endDate));
+    }
+
+    /**
+     * Условие по диапазону дат.
+     *
+     * @param startDate Начальная дата диапазона.
+     * @param endDate Конечная дата диапазона.
+     * @return Условие {@code startDate <= date < endDate}.
+     */
+    public static Criteria dateBetween(LocalDate startDate, LocalDate endDate) {
+        return Criteria.where("date").gte(startDate).lt(endDate);
+    }
+
+    /**
+     * Точное совпадение нормализованного имени.
+     *
+     * @param name Имя шаблона.
+     * @return Запрос по индексу {@code name_lower}.
+     */
+    public static Query exactName(String name) {
+        return new Query(Criteria.where(TemplateNameIndex.NAME_LOWER).is(TemplateNameIndex.normalize(name)));
+    }
+
+    /**
+     * Имена шаблонов, начинающиеся с нормализованного префикса.
+     *
+     * @param normalized Нормализованный префикс.
+     * @param limit Максимальное количество шаблонов.
+     * @return Запрос, читающий только имя.
+     */
+    public static Query namePrefix(String normalized, int limit) {
+        Query query = new Query(Criteria.where(TemplateNameIndex.NAME_LOWER)
+                .regex(TemplateNameIndex.prefixRegex(normalized)))
+                .with(Sort.by(TemplateNameIndex.NAME_LOWER))
+                .limit(limit);
+        query.fields().include("name");
+        return query;
+    }
+
+    /**
+     * Имена шаблонов, содержащие нормализованную подстроку.
+     *
+     * @param normalized Нормализованная подстрока.
+     * @param limit Максимальное количество шаблонов.
+     * @return Запрос, читающий только имя.
+     */
+    public static Query nameInfix(String normalized, int limit) {
+        Query query = new Query(nameContains(normalized)).limit(limit);
+        query.fields().include("name");
+        return query;
+    }
+
+    /**
+     * Условие вхождения нормализованной подстроки в имя.
+     * Для подстрок от трёх символов кандидаты отбираются по индексу триграмм. Более короткие
+     * подстроки ищутся только в начале имени: неякорное выражение просматривало бы все ключи
+     * индекса {@code nameLower}, а якорное читает ограниченный диапазон.
+     *
+     * @param normalized Нормализованная подстрока.
+     * @return Условие поиска.
+     */
+    public static Criteria nameContains(String normalized) {
+        if (normalized.length() < TemplateNameIndex.GRAM) {
+            return Criteria.where(TemplateNameIndex.NAME_LOWER).regex(TemplateNameIndex.prefixRegex(normalized));
+        }
+        return new Criteria().andOperator(
+                Criteria.where(TemplateNameIndex.NAME_GRAMS).all(TemplateNameIndex.grams(normalized)),
+                Criteria.where(TemplateNameIndex.NAME_LOWER).regex(TemplateNameIndex.escape(normalized)));
+    }
+}
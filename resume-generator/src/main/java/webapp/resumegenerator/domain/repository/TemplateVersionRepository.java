@@ -0,0 +1,67 @@
+package webapp.resumegenerator.domain.repository;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Stream;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+import webapp.resumegenerator.domain.model.TemplateVersion;
+import webapp.resumegenerator.domain.model.TemplateVersionInfo;
+
+/**
+ * Репозиторий для работы с коллекцией "template_versions" в MongoDB.
+ */
+@Repository
+public interface TemplateVersionRepository extends MongoRepository<TemplateVersion, UUID> {
+
+    /**
+     * Список версий шаблона без контента, от новой к старой.
+     *
+     * @param templateId Идентификатор шаблона.
+     * @return Облегчённые представления версий.
+     */
+    List<TemplateVersionInfo> findByTemplateIdOrderByVersionDesc(UUID templateId);
+
+    /**
+     * Порция версий шаблона без контента, старше указанной, от новой к старой.
+     *
+     * @param templateId Идентификатор шаблона.
+     * @param version Номер версии, после которой начинается порция.
+     * @param limit Максимальное количество версий.
+     * @return Облегчённые представления версий.
+     */
+    List<TemplateVersionInfo> findByTemplateIdAndVersionLessThanOrderByVersionDesc(UUID templateId,
+                                                                                  Integer version, Limit limit);
+
+    /**
+     * Последняя зафиксированная версия шаблона.
+     *
+     * @param templateId Идентификатор шаблона.
+     * @return Последняя версия, если история не пуста.
+     */
+    Optional<TemplateVersion> findFirstByTemplateIdOrderByVersionDesc(UUID templateId);
+
+    /**
+     * Ближайшая зафиксированная версия шаблона старше указанной.
+     *
+     * @param templateId Идентификатор шаблона.
+     * @param version Номер версии.
+     * @return Версия, если она есть.
+     */
+    Optional<TemplateVersion> findFirstByTemplateIdAndVersionLessThanOrderByVersionDesc(UUID templateId,
+                                                                                        Integer version);
+
+    /**
+     * Курсор по версиям шаблона не новее указанной, от новой к старой.
+     * Чтение прекращается на ближайшем снимке, поэтому из БД читается не больше
+     * одного интервала между снимками.
+     *
+     * @param templateId Идентификатор шаблона.
+     * @param version Номер версии.
+     * @return Поток версий; должен быть закрыт после использования.
+     */
+    Stream<TemplateVersion> findByTemplateIdAndVersionLessThanEqualOrderByVersionDesc(UUID templateId,
+                                                                                      Integer version);
+}
@@ -0,0 +1,23 @@
+package webapp.resumegenerator.domain.repository.reactive;
+
+import java.util.UUID;
+import org.springframework.data.mongodb.repository.Query;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import webapp.resumegenerator.domain.model.BlockElement;
+
+/**
+ * Реактивный репозиторий для работы с коллекцией "block_elements" в MongoDB.
+ */
+@Repository
+public interface ReactiveBlockElementRepository extends ReactiveMongoRepository<BlockElement, UUID> {
+
+    // Поиск блоков по названию
+    @Query("{ 'name': ?0 }")
+    Flux<BlockElement> findByName(String name);
+
+    // Проверка на уникальность имени
+    Mono<Boolean> existsByName(String name);
+}
@@ -0,0 +1,79 @@
+package webapp.resumegenerator.domain.repository.reactive;
+
+import com.mongodb.client.model.BulkWriteOptions;
+import java.util.List;
+import org.bson.Document;
+import org.reactivestreams.Publisher;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.mapping.event.ReactiveAfterConvertCallback;
+import org.springframework.data.mongodb.core.mapping.event.ReactiveBeforeSaveCallback;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import webapp.resumegenerator.domain.model.BlockElement;
+import webapp.resumegenerator.domain.repository.StyleSetStore;
+
+/**
+ * Переводит карты стилей блока на общие наборы при работе через реактивный драйвер.
+ * Известные наборы подставляются и распознаются синхронно, без смены потока; к {@code style_sets}
+ * через {@link ReactiveMongoTemplate} обращаются только за наборами, которых нет в памяти,
+ * и для записи ещё не сохранённых наборов.
+ * <p>
+ * Шаблон запрашивается при первом обращении: обработчик нужен конвертеру ещё до создания
+ * {@link ReactiveMongoTemplate}.
+ */
+@Component
+public class ReactiveStyleSetCallback implements ReactiveBeforeSaveCallback<BlockElement>,
+        ReactiveAfterConvertCallback<BlockElement> {
+
+    private final StyleSetStore styleSetStore;
+
+    private final ObjectProvider<ReactiveMongoTemplate> mongoTemplate;
+
+    public ReactiveStyleSetCallback(StyleSetStore styleSetStore, ObjectProvider<ReactiveMongoTemplate> mongoTemplate) {
+        this.styleSetStore = styleSetStore;
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public Publisher<BlockElement> onBeforeSave(BlockElement block, Document document, String collection) {
+        return extract(document).thenReturn(block);
+    }
+
+    /**
+     * Заменяет карты стилей в документе блока ссылками на общие наборы
+     * для записей, которые обходят колбэки сохранения.
+     *
+     * @param document Документ блока, подготовленный к записи.
+     * @return Завершение после сохранения новых наборов.
+     */
+    public Mono<Void> extract(Document document) {
+        return Mono.defer(() -> {
+            StyleSetStore.Extraction extraction = styleSetStore.prepareExtraction(document);
+            if (extraction.writes().isEmpty()) {
+                extraction.complete();
+                return Mono.empty();
+            }
+            return mongoTemplate.getObject().getCollection(StyleSetStore.COLLECTION)
+                    .flatMap(sets -> Mono.from(sets.bulkWrite(extraction.writes(),
+                            new BulkWriteOptions().ordered(false))))
+                    .then(Mono.fromRunnable(extraction::complete));
+        });
+    }
+
+    @Override
+    public Publisher<BlockElement> onAfterConvert(BlockElement block, Document document, String collection) {
+        StyleSetStore.Resolution resolution = styleSetStore.prepareResolution(block, document);
+        if (resolution.missing().isEmpty()) {
+            resolution.complete(List.of());
+            return Mono.just(block);
+        }
+        return mongoTemplate.getObject().getCollection(StyleSetStore.COLLECTION)
+                .flatMapMany(sets -> sets.find(resolution.query()))
+                .collectList()
+                .map(loaded -> {
+                    resolution.complete(loaded);
+                    return block;
+                });
+    }
+}
@@ -0,0 +1,22 @@
+package webapp.resumegenerator.domain.repository.reactive;
+
+import org.bson.Document;
+import org.reactivestreams.Publisher;
+import org.springframework.data.mongodb.core.mapping.event.ReactiveBeforeSaveCallback;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import webapp.resumegenerator.domain.model.Template;
+import webapp.resumegenerator.domain.repository.TemplateNameIndex;
+
+/**
+ * Дописывает поисковые поля имени в документ шаблона при сохранении через реактивный драйвер.
+ */
+@Component
+public class ReactiveTemplateNameIndexCallback implements ReactiveBeforeSaveCallback<Template> {
+
+    @Override
+    public Publisher<Template> onBeforeSave(Template template, Document document, String collection) {
+        TemplateNameIndex.apply(document, template.getName());
+        return Mono.just(template);
+    }
+}
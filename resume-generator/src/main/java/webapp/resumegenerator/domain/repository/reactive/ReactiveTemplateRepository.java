@@ -0,0 +1,13 @@
+package webapp.resumegenerator.domain.repository.reactive;
+
+import java.util.UUID;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import org.springframework.stereotype.Repository;
+import webapp.resumegenerator.domain.model.Template;
+
+/**
+ * Реактивный репозиторий для работы с коллекцией "templates" в MongoDB.
+ */
+@Repository
+public interface ReactiveTemplateRepository extends ReactiveMongoRepository<Template, UUID> {
+}
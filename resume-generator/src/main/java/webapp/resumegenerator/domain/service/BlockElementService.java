@@ -1,11 +1,17 @@
 package webapp.resumegenerator.domain.service;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import org.springframework.cache.annotation.CacheEvict;
-import org.springframework.cache.annotation.CachePut;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import webapp.resumegenerator.application.patch.BlockPatchPlan;
+import webapp.resumegenerator.application.patch.BlockPatchPlanner;
+import webapp.resumegenerator.application.render.RenderResultCache;
 import webapp.resumegenerator.domain.model.BlockElement;
+import webapp.resumegenerator.domain.model.LayoutDelta;
 import webapp.resumegenerator.domain.repository.BlockElementRepository;
 
 import java.util.List;
@@ -21,47 +27,84 @@ public class BlockElementService {
 
     private final BlockElementRepository repository;
 
-    public BlockElementService(BlockElementRepository repository) {
+    private final RenderResultCache renderResultCache;
+
+    private final BlockPatchPlanner patchPlanner;
+
+    public BlockElementService(BlockElementRepository repository, RenderResultCache renderResultCache,
+                               BlockPatchPlanner patchPlanner) {
         this.repository = repository;
+        this.renderResultCache = renderResultCache;
+        this.patchPlanner = patchPlanner;
     }
 
     // Создание нового блока
     @Transactional
+    @CacheEvict(value = "blockElements", key = "T(org.springframework.cache.interceptor.SimpleKey).EMPTY")
     public BlockElement createBlock(BlockElement blockElement) {
         if (repository.existsByName(blockElement.getName())) {
             throw new IllegalArgumentException("Block with name '" + blockElement.getName() + "' already exists");
         }
+        blockElement.setRevision(0L);
         return repository.save(blockElement);
     }
 
-    // Обновление существующего блока
+    // Обновление существующего блока одной условной заменой по ревизии; кэш сбрасывается на всех репликах
     @Transactional
-    @CachePut(value = "blockElements", key = "#updatedBlock.id")
+    @Caching(evict = {
+        @CacheEvict(value = "blockElements", key = "#id"),
+        @CacheEvict(value = "blockElements", key = "T(org.springframework.cache.interceptor.SimpleKey).EMPTY"),
+        @CacheEvict(value = "blockETags", key = "#id")
+    })
     public BlockElement updateBlock(UUID id, BlockElement updatedBlock) {
-        BlockElement existingBlock = repository.findById(id)
-                .orElseThrow(() -> new IllegalArgumentException("Block with ID '" + id + "' not found"));
+        updatedBlock.setId(id);
+        BlockElement saved = repository.replaceIfCurrent(updatedBlock);
+        if (saved == null) {
+            throw new IllegalArgumentException("Block with ID '" + id + "' not found");
+        }
+        renderResultCache.evictBlock(id);
+        return saved;
+    }
 
-        // Обновляем поля
-        existingBlock.setName(updatedBlock.getName());
-        existingBlock.setTitle(updatedBlock.getTitle());
-        existingBlock.setType(updatedBlock.getType());
-        existingBlock.setSource(updatedBlock.getSource());
-        existingBlock.setColumns(updatedBlock.getColumns());
-        existingBlock.setProps(updatedBlock.getProps());
-        existingBlock.setChildren(updatedBlock.getChildren());
-        existingBlock.setLayout(updatedBlock.getLayout());
-
-        return repository.save(existingBlock);
+    // Частичное обновление блока по JSON Patch одной операцией $set/$unset, без перезаписи дерева
+    @Transactional
+    @Caching(evict = {
+        @CacheEvict(value = "blockElements", key = "#id"),
+        @CacheEvict(value = "blockElements", key = "T(org.springframework.cache.interceptor.SimpleKey).EMPTY"),
+        @CacheEvict(value = "blockETags", key = "#id")
+    })
+    public BlockElement patchBlock(UUID id, JsonNode patch) {
+        return apply(id, patchPlanner.fromJsonPatch(patch));
     }
 
-    // Удаление блока
+    // Перемещение элементов раскладки по ключу Layout.i: меняются только координаты перемещённых элементов
     @Transactional
-    @CacheEvict(value = "blockElements", key = "#id")
-    public void deleteBlock(UUID id) {
-        BlockElement blockElement = repository.findById(id)
+    @Caching(evict = {
+        @CacheEvict(value = "blockElements", key = "#id"),
+        @CacheEvict(value = "blockElements", key = "T(org.springframework.cache.interceptor.SimpleKey).EMPTY"),
+        @CacheEvict(value = "blockETags", key = "#id")
+    })
+    public BlockElement moveLayouts(UUID id, LayoutDelta delta) {
+        BlockElement current = repository.findById(id)
                 .orElseThrow(() -> new IllegalArgumentException("Block with ID '" + id + "' not found"));
+        if (delta.getRevision() != null && !delta.getRevision().equals(current.getRevision())) {
+            throw new OptimisticLockingFailureException("Block '" + id + "' was modified concurrently");
+        }
+        return apply(id, patchPlanner.fromMoves(current, delta));
+    }
 
-        repository.delete(blockElement);
+    // Удаление блока
+    @Transactional
+    @Caching(evict = {
+        @CacheEvict(value = "blockElements", key = "#id"),
+        @CacheEvict(value = "blockElements", key = "T(org.springframework.cache.interceptor.SimpleKey).EMPTY"),
+        @CacheEvict(value = "blockETags", key = "#id")
+    })
+    public void deleteBlock(UUID id) {
+        if (!repository.removeById(id)) {
+            throw new IllegalArgumentException("Block with ID '" + id + "' not found");
+        }
+        renderResultCache.evictBlock(id);
     }
 
     // Получение всех блоков
@@ -80,4 +123,17 @@ public class BlockElementService {
     public Optional<BlockElement> getBlockById(UUID id) {
         return repository.findById(id);
     }
+
+    // Применение плана одним запросом; если условия не выполнены, блок удалён или изменён другим клиентом
+    private BlockElement apply(UUID id, BlockPatchPlan plan) {
+        BlockElement saved = repository.updateIfMatches(id, plan.conditions(), plan.update());
+        if (saved == null) {
+            if (!repository.existsById(id)) {
+                throw new IllegalArgumentException("Block with ID '" + id + "' not found");
+            }
+            throw new OptimisticLockingFailureException("Block '" + id + "' was modified concurrently");
+        }
+        renderResultCache.evictBlock(id);
+        return saved;
+    }
 }
@@ -0,0 +1,40 @@
+package webapp.resumegenerator.domain.service;
+
+import java.util.List;
+import webapp.resumegenerator.domain.model.BlockElement;
+import webapp.resumegenerator.domain.model.Layout;
+
+/**
+ * Интерфейс сервиса расчёта макета блоков.
+ */
+public interface LayoutService {
+
+    /**
+     * Нормализует макет: применяет ограничения размеров, разрешает пересечения
+     * и выполняет вертикальное уплотнение.
+     *
+     * @param layouts Элементы макета.
+     * @param columns Количество колонок сетки.
+     * @return Нормализованный макет.
+     */
+    List<Layout> normalizeLayout(List<Layout> layouts, int columns);
+
+    /**
+     * Проверяет, что макет не содержит пересечений и нарушений ограничений.
+     *
+     * @param layouts Элементы макета.
+     * @param columns Количество колонок сетки.
+     * @return {@code true}, если макет корректен.
+     */
+    boolean isLayoutValid(List<Layout> layouts, int columns);
+
+    /**
+     * Автоматически компонует дерево блока: ищет размещение дочерних блоков каждого блока
+     * с минимальной высотой с учётом статических элементов, ограничений размеров и колонок блока.
+     * Поиск ограничен по времени.
+     *
+     * @param block Блок с дочерними блоками и их макетами.
+     * @return Блок с найденными макетами дочерних блоков.
+     */
+    BlockElement arrangeBlock(BlockElement block);
+}
@@ -0,0 +1,21 @@
+package webapp.resumegenerator.domain.service;
+
+import java.util.UUID;
+import webapp.resumegenerator.domain.model.PageFormat;
+import webapp.resumegenerator.domain.model.PaginationResult;
+
+/**
+ * Интерфейс сервиса разбиения блоков на печатные страницы.
+ */
+public interface PaginationService {
+
+    /**
+     * Разбивает дерево блока на страницы заданного формата.
+     *
+     * @param blockId Идентификатор корневого блока.
+     * @param format Формат страницы.
+     * @return Блоки каждой страницы.
+     * @throws IllegalArgumentException Исключение, возникающее если блок не найден.
+     */
+    PaginationResult paginate(UUID blockId, PageFormat format);
+}
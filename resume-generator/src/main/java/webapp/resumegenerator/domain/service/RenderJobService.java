@@ -0,0 +1,44 @@
+package webapp.resumegenerator.domain.service;
+
+import java.util.List;
+import java.util.Optional;
+import webapp.resumegenerator.domain.model.RenderJobRequest;
+import webapp.resumegenerator.domain.model.RenderJobStatus;
+
+/**
+ * Интерфейс сервиса заданий пакетного рендеринга резюме.
+ */
+public interface RenderJobService {
+
+    /**
+     * Запускает задание рендеринга в фоне.
+     *
+     * @param request Параметры задания.
+     * @return Состояние запущенного задания.
+     * @throws IllegalArgumentException если шаблон не найден или не заданы резюме.
+     */
+    RenderJobStatus submit(RenderJobRequest request);
+
+    /**
+     * Состояние задания.
+     *
+     * @param jobId Идентификатор задания.
+     * @return Состояние задания или пустой результат, если задание неизвестно.
+     */
+    Optional<RenderJobStatus> getStatus(String jobId);
+
+    /**
+     * Состояние всех хранимых заданий, от новых к старым.
+     *
+     * @return Список состояний заданий.
+     */
+    List<RenderJobStatus> getJobs();
+
+    /**
+     * Останавливает выдачу новых резюме в работу; начатые рендеринги завершаются.
+     *
+     * @param jobId Идентификатор задания.
+     * @return Состояние задания или пустой результат, если задание неизвестно.
+     */
+    Optional<RenderJobStatus> cancel(String jobId);
+}
@@ -0,0 +1,46 @@
+package webapp.resumegenerator.domain.service;
+
+import java.util.Map;
+import java.util.UUID;
+import webapp.resumegenerator.domain.model.ResumeDocument;
+
+/**
+ * Интерфейс сервиса серверного рендеринга резюме по шаблону.
+ */
+public interface RenderService {
+
+    /**
+     * Рендерит данные резюме в HTML по указанному шаблону.
+     *
+     * @param templateId Идентификатор шаблона.
+     * @param resume Данные резюме.
+     * @return HTML-представление резюме.
+     * @throws RuntimeException Исключение, возникающее если шаблон не найден.
+     */
+    String renderTemplate(String templateId, Map<String, Object> resume);
+
+    /**
+     * Рендерит данные резюме в HTML по указанному шаблону с деревом блока,
+     * доступным в шаблоне как {@code block}.
+     *
+     * @param templateId Идентификатор шаблона.
+     * @param resume Данные резюме.
+     * @param blockId Идентификатор блока или {@code null}.
+     * @return HTML-представление резюме.
+     * @throws IllegalArgumentException Исключение, возникающее если блок не найден.
+     */
+    String renderTemplate(String templateId, Map<String, Object> resume, UUID blockId);
+
+    /**
+     * Строит промежуточный документ резюме для выгрузки в HTML, PDF, Markdown или текст.
+     * Документ кэшируется по тем же входным данным, что и HTML, поэтому выгрузка
+     * в каждый следующий формат не рендерит и не разбирает резюме заново.
+     *
+     * @param templateId Идентификатор шаблона.
+     * @param resume Данные резюме.
+     * @param blockId Идентификатор блока или {@code null}.
+     * @return Документ резюме.
+     * @throws IllegalArgumentException Исключение, возникающее если блок не найден.
+     */
+    ResumeDocument renderDocument(String templateId, Map<String, Object> resume, UUID blockId);
+}
@@ -0,0 +1,18 @@
+package webapp.resumegenerator.domain.service;
+
+/**
+ * Шаблон с указанным идентификатором не найден.
+ * Наследует {@link IllegalArgumentException}, как и остальные ошибки входных данных шаблонов;
+ * отдельный тип позволяет ответить 404, а не 400, как на некорректный идентификатор.
+ */
+public class TemplateNotFoundException extends IllegalArgumentException {
+
+    /**
+     * Конструктор исключения.
+     *
+     * @param id Идентификатор шаблона.
+     */
+    public TemplateNotFoundException(Object id) {
+        super("Template with ID '" + id + "' not found");
+    }
+}
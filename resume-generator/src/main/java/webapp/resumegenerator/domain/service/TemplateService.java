@@ -2,7 +2,9 @@ package webapp.resumegenerator.domain.service;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import webapp.resumegenerator.domain.model.CursorPage;
 import webapp.resumegenerator.domain.model.Template;
+import webapp.resumegenerator.domain.model.TemplateSummary;
 import java.time.LocalDate;
 import java.util.List;
 
@@ -40,15 +42,16 @@ public interface TemplateService {
      *
      * @param id       Уникальный идентификатор шаблона, который требуется обновить.
      * @param template Новый шаблон с обновленными данными.
-     * @throws RuntimeException Исключение, возникающее если шаблон не найден.
+     * @return Сохранённый шаблон со следующей ревизией.
+     * @throws TemplateNotFoundException Исключение, возникающее если шаблон не найден.
      */
-    void updateTemplate(String id, Template template);
+    Template updateTemplate(String id, Template template);
 
     /**
      * Удаление шаблона.
      *
      * @param id Уникальный идентификатор шаблона.
-     * @throws RuntimeException Исключение, возникающее если шаблон не найден.
+     * @throws TemplateNotFoundException Исключение, возникающее если шаблон не найден.
      */
     void deleteTemplate(String id);
 
@@ -70,18 +73,20 @@ public interface TemplateService {
     boolean isTemplateNameExist(String name);
 
     /**
-     * Находит все версии шаблона по имени.
+     * Подсказки имён шаблонов для автодополнения.
      *
-     * @param name Имя шаблона.
-     * @return Возвращает список всех существующих версий шаблона.
+     * @param query Введённая часть имени.
+     * @param limit Максимальное количество подсказок.
+     * @return Имена шаблонов, начинающиеся с запроса, а затем содержащие его.
      */
-    List<Template> findAllTemplateVersionsByName(String name);
+    List<String> suggestTemplateNames(String query, int limit);
 
     /**
      * Создает новую версию шаблона на основе существующего.
      *
      * @param template Шаблон, новую версию которого нужно создать.
      * @return Возвращает новую версию шаблона.
+     * @throws TemplateNotFoundException Исключение, возникающее если шаблон удалён.
      */
     Template createNewTemplateVersion(Template template);
 
@@ -93,4 +98,33 @@ public interface TemplateService {
      */
     Page<Template> getAllTemplates(Pageable pageable);
 
+    /**
+     * Получение порции кратких представлений шаблонов с курсорной пагинацией
+     * в порядке (дата, идентификатор).
+     *
+     * @param cursor Курсор из предыдущей порции или {@code null} для первой порции.
+     * @param size Количество шаблонов в порции.
+     * @param withTotal Нужно ли вернуть примерное общее количество шаблонов.
+     * @return Порция шаблонов с курсором следующей порции.
+     * @throws IllegalArgumentException если курсор некорректен.
+     */
+    CursorPage<TemplateSummary> getTemplatesAfter(String cursor, int size, boolean withTotal);
+
+    /**
+     * Получение кратких представлений шаблонов (без контента) с пагинацией.
+     *
+     * @param pageable параметры пагинации.
+     * @return Страница кратких представлений шаблонов.
+     */
+    Page<TemplateSummary> getTemplateSummaries(Pageable pageable);
+
+    /**
+     * Краткие представления шаблонов (без контента), дата которых находится в указанном диапазоне.
+     *
+     * @param startDate Начальная дата диапазона.
+     * @param endDate   Конечная дата диапазона.
+     * @return Краткие представления шаблонов, входящих в указанный диапазон дат.
+     */
+    List<TemplateSummary> getTemplateSummariesByDateRange(LocalDate startDate, LocalDate endDate);
+
 }
\ No newline at end of file
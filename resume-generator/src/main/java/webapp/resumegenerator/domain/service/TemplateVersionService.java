@@ -0,0 +1,53 @@
+package webapp.resumegenerator.domain.service;
+
+import java.util.List;
+import java.util.Optional;
+import webapp.resumegenerator.domain.model.CursorPage;
+import webapp.resumegenerator.domain.model.Template;
+import webapp.resumegenerator.domain.model.TemplateVersion;
+import webapp.resumegenerator.domain.model.TemplateVersionInfo;
+
+/**
+ * Интерфейс сервиса истории версий шаблонов.
+ * Версии хранятся разницами относительно периодических полных снимков.
+ */
+public interface TemplateVersionService {
+
+    /**
+     * Фиксирует текущее состояние шаблона в истории версий.
+     * Повторная фиксация той же версии не создаёт новой записи; если последняя запись с тем же
+     * номером версии хранит другое состояние, она перезаписывается.
+     *
+     * @param template Шаблон, состояние которого нужно зафиксировать.
+     * @return Запись истории для версии шаблона.
+     */
+    TemplateVersion recordVersion(Template template);
+
+    /**
+     * Список версий шаблона без контента: текущая версия и зафиксированные предыдущие.
+     *
+     * @param current Текущее состояние шаблона.
+     * @return Версии шаблона от новой к старой.
+     */
+    List<TemplateVersionInfo> getVersionHistory(Template current);
+
+    /**
+     * Порция версий шаблона без контента, от новой к старой.
+     *
+     * @param current Текущее состояние шаблона.
+     * @param cursor Курсор из предыдущей порции или {@code null} для первой порции.
+     * @param size Количество версий в порции.
+     * @return Порция версий с курсором следующей порции.
+     * @throws IllegalArgumentException если курсор некорректен.
+     */
+    CursorPage<TemplateVersionInfo> getVersionHistory(Template current, String cursor, int size);
+
+    /**
+     * Восстанавливает шаблон в указанной версии.
+     *
+     * @param current Текущее состояние шаблона.
+     * @param version Номер версии.
+     * @return Шаблон в указанной версии, если она существует.
+     */
+    Optional<Template> getTemplateVersion(Template current, int version);
+}
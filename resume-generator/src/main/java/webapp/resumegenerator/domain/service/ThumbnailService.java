@@ -0,0 +1,28 @@
+package webapp.resumegenerator.domain.service;
+
+import webapp.resumegenerator.domain.model.TemplateThumbnail;
+
+/**
+ * Интерфейс сервиса миниатюр шаблонов.
+ */
+public interface ThumbnailService {
+
+    /**
+     * Метка текущего состояния шаблона, с которой будет выдана его миниатюра.
+     * Позволяет ответить на условный запрос, не читая изображение.
+     *
+     * @param templateId Идентификатор шаблона.
+     * @return Метка миниатюры.
+     * @throws RuntimeException Исключение, возникающее если шаблон не найден.
+     */
+    String getThumbnailTag(String templateId);
+
+    /**
+     * Возвращает миниатюру шаблона, построив её при первом обращении к текущему состоянию шаблона.
+     *
+     * @param templateId Идентификатор шаблона.
+     * @return Миниатюра.
+     * @throws RuntimeException Исключение, возникающее если шаблон не найден.
+     */
+    TemplateThumbnail getThumbnail(String templateId);
+}
@@ -0,0 +1,147 @@
+package webapp.resumegenerator.domain.service.reactive;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import java.util.UUID;
+import org.springframework.cache.interceptor.SimpleKey;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import webapp.resumegenerator.application.etag.EntityTagRegistry;
+import webapp.resumegenerator.application.patch.BlockPatchPlan;
+import webapp.resumegenerator.application.patch.BlockPatchPlanner;
+import webapp.resumegenerator.application.render.RenderResultCache;
+import webapp.resumegenerator.domain.model.BlockElement;
+import webapp.resumegenerator.domain.model.LayoutDelta;
+import webapp.resumegenerator.domain.repository.RevisionedWrites;
+import webapp.resumegenerator.domain.repository.reactive.ReactiveBlockElementRepository;
+import webapp.resumegenerator.domain.repository.reactive.ReactiveStyleSetCallback;
+import webapp.resumegenerator.infrastructure.cache.ReactiveRedisCache;
+
+/**
+ * Неблокирующий сервисный слой для сущности BlockElement.
+ * Изменения сбрасывают те же записи кэша, что и {@link webapp.resumegenerator.domain.service.BlockElementService}.
+ */
+@Service
+public class ReactiveBlockElementService {
+
+    private static final String BLOCKS_CACHE = "blockElements";
+
+    private final ReactiveBlockElementRepository repository;
+
+    private final ReactiveMongoTemplate mongoTemplate;
+
+    private final ReactiveRedisCache cache;
+
+    private final RenderResultCache renderResultCache;
+
+    private final BlockPatchPlanner patchPlanner;
+
+    private final ReactiveStyleSetCallback styleSets;
+
+    public ReactiveBlockElementService(ReactiveBlockElementRepository repository, ReactiveMongoTemplate mongoTemplate,
+                                       ReactiveRedisCache cache, RenderResultCache renderResultCache,
+                                       BlockPatchPlanner patchPlanner, ReactiveStyleSetCallback styleSets) {
+        this.repository = repository;
+        this.mongoTemplate = mongoTemplate;
+        this.cache = cache;
+        this.renderResultCache = renderResultCache;
+        this.patchPlanner = patchPlanner;
+        this.styleSets = styleSets;
+    }
+
+    // Создание нового блока
+    public Mono<BlockElement> createBlock(BlockElement blockElement) {
+        return repository.existsByName(blockElement.getName())
+                .flatMap(exists -> {
+                    if (exists) {
+                        return Mono.error(new IllegalArgumentException(
+                                "Block with name '" + blockElement.getName() + "' already exists"));
+                    }
+                    blockElement.setRevision(0L);
+                    return repository.save(blockElement);
+                })
+                .flatMap(saved -> cache.evict(BLOCKS_CACHE, SimpleKey.EMPTY).thenReturn(saved));
+    }
+
+    // Обновление существующего блока одной условной заменой по ревизии; кэш сбрасывается на всех репликах
+    public Mono<BlockElement> updateBlock(UUID id, BlockElement updatedBlock) {
+        return Mono.defer(() -> {
+                    updatedBlock.setId(id);
+                    return RevisionedWrites.replace(mongoTemplate, updatedBlock, styleSets::extract);
+                })
+                .switchIfEmpty(Mono.error(() -> notFound(id)))
+                .flatMap(saved -> evict(id).thenReturn(saved));
+    }
+
+    // Частичное обновление блока по JSON Patch одной операцией $set/$unset, без перезаписи дерева
+    public Mono<BlockElement> patchBlock(UUID id, JsonNode patch) {
+        return Mono.fromCallable(() -> patchPlanner.fromJsonPatch(patch))
+                .flatMap(plan -> apply(id, plan));
+    }
+
+    // Перемещение элементов раскладки по ключу Layout.i: меняются только координаты перемещённых элементов
+    public Mono<BlockElement> moveLayouts(UUID id, LayoutDelta delta) {
+        return repository.findById(id)
+                .switchIfEmpty(Mono.error(() -> notFound(id)))
+                .flatMap(current -> delta.getRevision() != null && !delta.getRevision().equals(current.getRevision())
+                        ? Mono.error(conflict(id))
+                        : apply(id, patchPlanner.fromMoves(current, delta)));
+    }
+
+    // Удаление блока одним запросом, без предварительного чтения
+    public Mono<Void> deleteBlock(UUID id) {
+        return mongoTemplate.remove(RevisionedWrites.byId(id), BlockElement.class)
+                .flatMap(result -> result.getDeletedCount() > 0 ? evict(id) : Mono.error(notFound(id)));
+    }
+
+    // Получение всех блоков по мере чтения из БД
+    public Flux<BlockElement> getAllBlocks() {
+        return repository.findAll();
+    }
+
+    // Поиск блоков по названию
+    public Flux<BlockElement> getBlocksByName(String name) {
+        return repository.findByName(name);
+    }
+
+    // Получение блока по ID
+    public Mono<BlockElement> getBlockById(UUID id) {
+        return repository.findById(id);
+    }
+
+    // Применение плана одним запросом; если условия не выполнены, блок удалён или изменён другим клиентом
+    private Mono<BlockElement> apply(UUID id, BlockPatchPlan plan) {
+        Query query = RevisionedWrites.byId(id);
+        if (!plan.conditions().isEmpty()) {
+            query.addCriteria(new Criteria().andOperator(plan.conditions()));
+        }
+        return mongoTemplate.findAndModify(query, plan.update().inc(RevisionedWrites.REVISION, 1),
+                        FindAndModifyOptions.options().returnNew(true), BlockElement.class)
+                .switchIfEmpty(Mono.defer(() -> repository.existsById(id)
+                        .flatMap(exists -> Mono.error(exists ? conflict(id) : notFound(id)))))
+                .flatMap(saved -> evict(id).thenReturn(saved));
+    }
+
+    private static OptimisticLockingFailureException conflict(UUID id) {
+        return new OptimisticLockingFailureException("Block '" + id + "' was modified concurrently");
+    }
+
+    private static IllegalArgumentException notFound(UUID id) {
+        return new IllegalArgumentException("Block with ID '" + id + "' not found");
+    }
+
+    // Результаты рендеринга удаляются на отдельном пуле потоков: их хранилище в Redis блокирующее
+    private Mono<Void> evict(UUID id) {
+        return cache.evict(BLOCKS_CACHE, id, SimpleKey.EMPTY)
+                .then(cache.evict(EntityTagRegistry.BLOCKS, id))
+                .then(Mono.fromRunnable(() -> renderResultCache.evictBlock(id))
+                        .subscribeOn(Schedulers.boundedElastic()))
+                .then();
+    }
+}
@@ -0,0 +1,123 @@
+package webapp.resumegenerator.domain.service.reactive;
+
+import java.time.LocalDate;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import webapp.resumegenerator.domain.model.CursorPage;
+import webapp.resumegenerator.domain.model.Template;
+import webapp.resumegenerator.domain.model.TemplateSummary;
+
+/**
+ * Неблокирующий вариант сервиса шаблонов резюме.
+ * Методы повторяют {@link webapp.resumegenerator.domain.service.TemplateService},
+ * но не занимают поток на время обращения к MongoDB и Redis.
+ * Отсутствующий шаблон обозначается пустым результатом, а не исключением.
+ */
+public interface ReactiveTemplateService {
+
+    /**
+     * Получение всех шаблонов с пагинацией.
+     *
+     * @param pageable параметры пагинации.
+     * @return Страница с шаблонами.
+     */
+    Mono<Page<Template>> getAllTemplates(Pageable pageable);
+
+    /**
+     * Краткие представления всех шаблонов в порядке (дата, идентификатор).
+     * Элементы выдаются по мере чтения из БД, без накопления всего списка в памяти.
+     *
+     * @return Поток кратких представлений шаблонов.
+     */
+    Flux<TemplateSummary> streamTemplateSummaries();
+
+    /**
+     * Получение кратких представлений шаблонов (без контента) с пагинацией.
+     *
+     * @param pageable параметры пагинации.
+     * @return Страница кратких представлений шаблонов.
+     */
+    Mono<Page<TemplateSummary>> getTemplateSummaries(Pageable pageable);
+
+    /**
+     * Получение порции кратких представлений шаблонов с курсорной пагинацией
+     * в порядке (дата, идентификатор).
+     *
+     * @param cursor Курсор из предыдущей порции или {@code null} для первой порции.
+     * @param size Количество шаблонов в порции.
+     * @param withTotal Нужно ли вернуть примерное общее количество шаблонов.
+     * @return Порция шаблонов с курсором следующей порции
+     *         или ошибка {@link IllegalArgumentException}, если курсор некорректен.
+     */
+    Mono<CursorPage<TemplateSummary>> getTemplatesAfter(String cursor, int size, boolean withTotal);
+
+    /**
+     * Получение шаблона по id.
+     *
+     * @param id Идентификатор шаблона.
+     * @return Шаблон или пустой результат, если шаблон не найден.
+     */
+    Mono<Template> getTemplateById(String id);
+
+    /**
+     * Создание нового шаблона.
+     *
+     * @param template Объект шаблона, который будет сохранен.
+     * @return Сохраненный шаблон.
+     */
+    Mono<Template> createTemplate(Template template);
+
+    /**
+     * Обновление существующего шаблона.
+     *
+     * @param id       Уникальный идентификатор шаблона, который требуется обновить.
+     * @param template Новый шаблон с обновленными данными.
+     * @return Сохраненный шаблон или пустой результат, если шаблон не найден.
+     */
+    Mono<Template> updateTemplate(String id, Template template);
+
+    /**
+     * Удаление шаблона.
+     *
+     * @param id Уникальный идентификатор шаблона.
+     * @return {@code true}, если шаблон был удалён, и {@code false}, если он не найден.
+     */
+    Mono<Boolean> deleteTemplate(String id);
+
+    /**
+     * Шаблоны, дата которых находится в указанном диапазоне дат.
+     *
+     * @param startDate Начальная дата диапазона.
+     * @param endDate   Конечная дата диапазона.
+     * @return Поток шаблонов, входящих в указанный диапазон дат.
+     */
+    Flux<Template> getTemplatesByDateRange(LocalDate startDate, LocalDate endDate);
+
+    /**
+     * Краткие представления шаблонов (без контента), дата которых находится в указанном диапазоне.
+     *
+     * @param startDate Начальная дата диапазона.
+     * @param endDate   Конечная дата диапазона.
+     * @return Поток кратких представлений шаблонов.
+     */
+    Flux<TemplateSummary> getTemplateSummariesByDateRange(LocalDate startDate, LocalDate endDate);
+
+    /**
+     * Проверяет, существует ли шаблон с указанным именем.
+     *
+     * @param name Имя шаблона.
+     * @return {@code true}, если шаблон с таким именем существует, иначе {@code false}.
+     */
+    Mono<Boolean> isTemplateNameExist(String name);
+
+    /**
+     * Подсказки имён шаблонов для автодополнения.
+     *
+     * @param query Введённая часть имени.
+     * @param limit Максимальное количество подсказок.
+     * @return Имена шаблонов, начинающиеся с запроса, а затем содержащие его.
+     */
+    Flux<String> suggestTemplateNames(String query, int limit);
+}
@@ -0,0 +1,135 @@
+package webapp.resumegenerator.infrastructure.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+/**
+ * Шина инвалидации локальных кэшей между репликами генератора.
+ * Реплика, изменившая данные, публикует {@link CacheInvalidationMessage} в канал Redis,
+ * остальные реплики удаляют соответствующую запись из своих локальных кэшей.
+ * Ошибки Redis не прерывают операцию записи: локальные копии в худшем случае
+ * доживают до истечения TTL.
+ */
+public class CacheInvalidationBus implements MessageListener {
+
+    private static final Logger log = LoggerFactory.getLogger(CacheInvalidationBus.class);
+
+    private final String nodeId = UUID.randomUUID().toString();
+
+    private final Map<String, LocalCacheInvalidator> caches = new ConcurrentHashMap<>();
+
+    private final StringRedisTemplate redisTemplate;
+
+    private final ObjectMapper objectMapper;
+
+    private final String channel;
+
+    /**
+     * Конструктор шины.
+     *
+     * @param redisTemplate Шаблон Redis для публикации сообщений.
+     * @param objectMapper Сериализатор сообщений.
+     * @param channel Имя канала Redis.
+     */
+    public CacheInvalidationBus(StringRedisTemplate redisTemplate, ObjectMapper objectMapper, String channel) {
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        this.channel = channel;
+    }
+
+    /**
+     * Регистрирует локальный кэш для получения сообщений об инвалидации.
+     *
+     * @param cacheName Имя кэша.
+     * @param invalidator Локальный кэш.
+     */
+    public void register(String cacheName, LocalCacheInvalidator invalidator) {
+        caches.put(cacheName, invalidator);
+    }
+
+    /**
+     * Сообщает остальным репликам об удалении записи.
+     *
+     * @param cacheName Имя кэша.
+     * @param key Строковый ключ записи или {@code null} для очистки всего кэша.
+     */
+    public void publish(String cacheName, String key) {
+        try {
+            redisTemplate.convertAndSend(channel, encode(cacheName, key));
+        } catch (JsonProcessingException | RuntimeException e) {
+            log.warn("Не удалось отправить инвалидацию кэша {} по ключу {}", cacheName, key, e);
+        }
+    }
+
+    /**
+     * Сериализует сообщение об инвалидации от имени текущей реплики.
+     * Используется также реактивным кэшем, публикующим сообщения без блокировки.
+     *
+     * @param cacheName Имя кэша.
+     * @param key Строковый ключ записи или {@code null} для очистки всего кэша.
+     * @return Тело сообщения.
+     * @throws JsonProcessingException при ошибке сериализации.
+     */
+    public String encode(String cacheName, String key) throws JsonProcessingException {
+        return objectMapper.writeValueAsString(new CacheInvalidationMessage(nodeId, cacheName, key));
+    }
+
+    /**
+     * Канал Redis, в который публикуются сообщения.
+     *
+     * @return Имя канала.
+     */
+    public String getChannel() {
+        return channel;
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        CacheInvalidationMessage invalidation;
+        try {
+            invalidation = objectMapper.readValue(message.getBody(), CacheInvalidationMessage.class);
+        } catch (IOException e) {
+            log.warn("Некорректное сообщение инвалидации кэша", e);
+            return;
+        }
+        if (!nodeId.equals(invalidation.node())) {
+            evictLocal(invalidation.cache(), invalidation.key());
+        }
+    }
+
+    /**
+     * Удаляет запись из локального кэша текущей реплики без рассылки сообщений.
+     *
+     * @param cacheName Имя кэша.
+     * @param key Строковый ключ записи или {@code null} для очистки всего кэша.
+     */
+    public void evictLocal(String cacheName, String key) {
+        LocalCacheInvalidator cache = caches.get(cacheName);
+        if (cache == null) {
+            return;
+        }
+        if (key == null) {
+            cache.clearLocal();
+        } else {
+            cache.evictLocal(key);
+        }
+    }
+
+    /**
+     * Идентификатор текущей реплики.
+     *
+     * @return Идентификатор, которым помечаются отправляемые сообщения.
+     */
+    public String getNodeId() {
+        return nodeId;
+    }
+}
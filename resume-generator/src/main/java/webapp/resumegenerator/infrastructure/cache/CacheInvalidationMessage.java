@@ -0,0 +1,11 @@
+package webapp.resumegenerator.infrastructure.cache;
+
+/**
+ * Сообщение об инвалидации локального кэша, рассылаемое через Redis pub/sub.
+ *
+ * @param node Идентификатор реплики-отправителя; свои сообщения реплика игнорирует.
+ * @param cache Имя кэша.
+ * @param key Строковый ключ записи; {@code null} означает очистку всего кэша.
+ */
+public record CacheInvalidationMessage(String node, String cache, String key) {
+}
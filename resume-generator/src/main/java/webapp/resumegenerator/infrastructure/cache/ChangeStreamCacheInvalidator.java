@@ -0,0 +1,371 @@
+package webapp.resumegenerator.infrastructure.cache;
+
+import com.mongodb.MongoCommandException;
+import com.mongodb.MongoException;
+import com.mongodb.client.MongoChangeStreamCursor;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.Aggregates;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.ReplaceOptions;
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+import com.mongodb.client.model.changestream.OperationType;
+import java.time.Duration;
+import java.util.Date;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.bson.BsonBinary;
+import org.bson.BsonBinarySubType;
+import org.bson.BsonDocument;
+import org.bson.BsonValue;
+import org.bson.Document;
+import org.bson.UuidRepresentation;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.interceptor.SimpleKey;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+import webapp.resumegenerator.application.etag.EntityTagRegistry;
+import webapp.resumegenerator.application.render.RenderResultCache;
+import webapp.resumegenerator.domain.model.BlockElement;
+import webapp.resumegenerator.domain.model.Template;
+
+/**
+ * Инвалидация кэшей по потоку изменений MongoDB.
+ * Каждая реплика читает изменения коллекций шаблонов и блоков и удаляет соответствующие
+ * записи из своего L1 и из Redis, поэтому записи в обход сервиса (другие реплики, скрипты,
+ * миграции) перестают быть видны сразу, а не по истечении TTL. Сообщения через
+ * {@link CacheInvalidationBus} не рассылаются: остальные реплики получают то же событие сами.
+ * <p>
+ * Позиция потока (resume token) периодически сохраняется в коллекцию {@code change_stream_tokens},
+ * и после перезапуска чтение продолжается с неё, так что изменения, сделанные во время простоя,
+ * тоже приводят к удалению записей. Если сохранённая позиция уже вытеснена из oplog,
+ * точная инвалидация невозможна и кэши очищаются целиком.
+ * <p>
+ * Потоки изменений доступны только на наборе реплик; на одиночном сервере слушатель
+ * пишет предупреждение и останавливается. После прочих ошибок поток открывается заново
+ * через {@code generator.cache.change-stream.retry-delay}.
+ */
+@Component
+@ConditionalOnProperty(name = "generator.cache.change-stream.enabled", havingValue = "true")
+public class ChangeStreamCacheInvalidator implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(ChangeStreamCacheInvalidator.class);
+
+    /**
+     * Коллекция сохранённых позиций потоков изменений.
+     */
+    static final String TOKENS = "change_stream_tokens";
+
+    private static final String STREAM_ID = "cache-invalidation";
+
+    private static final String TEMPLATES_CACHE = "templates";
+
+    private static final String BLOCKS_CACHE = "blockElements";
+
+    /**
+     * Ошибки, после которых продолжить поток с сохранённой позиции нельзя:
+     * InvalidResumeToken, ChangeStreamFatalError, ChangeStreamHistoryLost.
+     */
+    private static final Set<Integer> LOST_POSITION_CODES = Set.of(260, 280, 286);
+
+    /**
+     * Сервер не поддерживает потоки изменений (одиночный сервер без набора реплик).
+     */
+    private static final int NOT_REPLICA_SET_CODE = 40573;
+
+    private final MongoTemplate mongoTemplate;
+
+    private final CacheManager cacheManager;
+
+    private final RenderResultCache renderResultCache;
+
+    private final String templatesCollection;
+
+    private final String blocksCollection;
+
+    private final Duration pollTimeout;
+
+    private final Duration tokenSaveInterval;
+
+    private final Duration retryDelay;
+
+    private volatile boolean running;
+
+    private Thread worker;
+
+    private BsonDocument token;
+
+    private boolean tokenDirty;
+
+    private long tokenSavedAt;
+
+    /**
+     * Конструктор слушателя.
+     *
+     * @param mongoTemplate Экземпляр MongoTemplate для взаимодействия с БД.
+     * @param cacheManager Менеджер кэшей шаблонов и блоков.
+     * @param renderResultCache Кэш результатов рендеринга.
+     * @param pollTimeout Максимальное ожидание новых событий одним запросом к серверу.
+     * @param tokenSaveInterval Минимальный интервал между сохранениями позиции потока.
+     * @param retryDelay Пауза перед повторным открытием потока после ошибки.
+     */
+    public ChangeStreamCacheInvalidator(MongoTemplate mongoTemplate, CacheManager cacheManager,
+            RenderResultCache renderResultCache,
+            @Value("${generator.cache.change-stream.poll-timeout:1s}") Duration pollTimeout,
+            @Value("${generator.cache.change-stream.token-save-interval:5s}") Duration tokenSaveInterval,
+            @Value("${generator.cache.change-stream.retry-delay:10s}") Duration retryDelay) {
+        this.mongoTemplate = mongoTemplate;
+        this.cacheManager = cacheManager;
+        this.renderResultCache = renderResultCache;
+        this.templatesCollection = mongoTemplate.getCollectionName(Template.class);
+        this.blocksCollection = mongoTemplate.getCollectionName(BlockElement.class);
+        this.pollTimeout = pollTimeout;
+        this.tokenSaveInterval = tokenSaveInterval;
+        this.retryDelay = retryDelay;
+    }
+
+    @Override
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        worker = Thread.ofPlatform().name("cache-change-stream").daemon().start(this::listen);
+    }
+
+    @Override
+    public void stop() {
+        Thread thread;
+        synchronized (this) {
+            if (!running) {
+                return;
+            }
+            running = false;
+            thread = worker;
+        }
+        thread.interrupt();
+        try {
+            thread.join(pollTimeout.plusSeconds(1).toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Читает поток изменений, пока слушатель не остановлен, и переоткрывает его после ошибок.
+     * При первом открытии поток продолжается с сохранённой позиции, при повторных — с последней прочитанной.
+     */
+    private void listen() {
+        token = loadToken();
+        while (running) {
+            try (MongoChangeStreamCursor<ChangeStreamDocument<Document>> opened = open()) {
+                read(opened);
+            } catch (MongoCommandException e) {
+                if (!running) {
+                    break;
+                }
+                if (e.getErrorCode() == NOT_REPLICA_SET_CODE) {
+                    log.warn("MongoDB не поддерживает потоки изменений, кэши инвалидируются только по TTL "
+                            + "и сообщениям реплик: {}", e.getErrorMessage());
+                    running = false;
+                } else if (LOST_POSITION_CODES.contains(e.getErrorCode())) {
+                    log.warn("Позиция потока изменений потеряна, кэши шаблонов и блоков очищаются", e);
+                    clearAll();
+                    deleteToken();
+                } else {
+                    pause(e);
+                }
+            } catch (RuntimeException e) {
+                if (!running) {
+                    break;
+                }
+                pause(e);
+            }
+        }
+        // Флаг прерывания от stop() иначе помешает драйверу записать позицию
+        Thread.interrupted();
+        saveToken(true);
+    }
+
+    private MongoChangeStreamCursor<ChangeStreamDocument<Document>> open() {
+        var stream = mongoTemplate.getDb()
+                .watch(List.of(Aggregates.match(Filters.or(
+                        Filters.in("ns.coll", templatesCollection, blocksCollection),
+                        Filters.eq("operationType", OperationType.INVALIDATE.getValue())))))
+                .maxAwaitTime(pollTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        if (token != null) {
+            stream = stream.startAfter(token);
+        }
+        return stream.cursor();
+    }
+
+    private void read(MongoChangeStreamCursor<ChangeStreamDocument<Document>> opened) {
+        while (running) {
+            ChangeStreamDocument<Document> event = opened.tryNext();
+            if (event != null) {
+                String collection = event.getNamespace() == null ? null : event.getNamespace().getCollectionName();
+                BsonValue id = event.getDocumentKey() == null ? null : event.getDocumentKey().get("_id");
+                handle(event.getOperationType(), collection, id);
+            }
+            BsonDocument resumeToken = opened.getResumeToken();
+            if (resumeToken != null && !resumeToken.equals(token)) {
+                token = resumeToken;
+                tokenDirty = true;
+                saveToken(false);
+            }
+            if (event != null && event.getOperationType() == OperationType.INVALIDATE) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Удаляет записи кэшей, затронутые одним событием потока изменений.
+     *
+     * @param type Тип операции.
+     * @param collection Коллекция, в которой произошло изменение.
+     * @param documentId Идентификатор изменённого документа.
+     */
+    void handle(OperationType type, String collection, BsonValue documentId) {
+        switch (type) {
+            case INSERT, UPDATE, REPLACE, DELETE -> {
+                UUID id = toUuid(documentId);
+                if (id == null) {
+                    return;
+                }
+                if (templatesCollection.equals(collection)) {
+                    evict(TEMPLATES_CACHE, id.toString(), SimpleKey.EMPTY);
+                    evict(EntityTagRegistry.TEMPLATES, id.toString());
+                    renderResultCache.evictTemplateQuietly(id);
+                } else if (blocksCollection.equals(collection)) {
+                    evict(BLOCKS_CACHE, id, SimpleKey.EMPTY);
+                    evict(EntityTagRegistry.BLOCKS, id);
+                    renderResultCache.evictBlockQuietly(id);
+                }
+            }
+            case DROP, RENAME, DROP_DATABASE, INVALIDATE -> clearAll();
+            default -> {
+            }
+        }
+    }
+
+    private void evict(String cacheName, Object... keys) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache == null) {
+            return;
+        }
+        for (Object key : keys) {
+            if (cache instanceof TwoLevelCache twoLevelCache) {
+                twoLevelCache.evictQuietly(key);
+            } else {
+                cache.evict(key);
+            }
+        }
+    }
+
+    private void clearAll() {
+        for (String cacheName : List.of(TEMPLATES_CACHE, BLOCKS_CACHE, EntityTagRegistry.TEMPLATES,
+                EntityTagRegistry.BLOCKS)) {
+            Cache cache = cacheManager.getCache(cacheName);
+            try {
+                if (cache instanceof TwoLevelCache twoLevelCache) {
+                    twoLevelCache.clearQuietly();
+                } else if (cache != null) {
+                    cache.clear();
+                }
+            } catch (RuntimeException e) {
+                log.warn("Не удалось очистить кэш {}", cacheName, e);
+            }
+        }
+        renderResultCache.clearLocal();
+    }
+
+    /**
+     * Идентификаторы сохраняются как UUID в стандартном или унаследованном двоичном представлении.
+     */
+    static UUID toUuid(BsonValue value) {
+        if (value == null) {
+            return null;
+        }
+        if (value.isBinary()) {
+            BsonBinary binary = value.asBinary();
+            if (binary.getType() == BsonBinarySubType.UUID_STANDARD.getValue()) {
+                return binary.asUuid();
+            }
+            if (binary.getType() == BsonBinarySubType.UUID_LEGACY.getValue()) {
+                return binary.asUuid(UuidRepresentation.JAVA_LEGACY);
+            }
+            return null;
+        }
+        if (value.isString()) {
+            try {
+                return UUID.fromString(value.asString().getValue());
+            } catch (IllegalArgumentException e) {
+                return null;
+            }
+        }
+        return null;
+    }
+
+    private BsonDocument loadToken() {
+        try {
+            Document stored = tokens().find(Filters.eq("_id", STREAM_ID)).first();
+            return stored != null && stored.get("token") instanceof Document saved ? saved.toBsonDocument() : null;
+        } catch (MongoException e) {
+            log.warn("Не удалось прочитать позицию потока изменений, чтение начнётся с текущего момента", e);
+            return null;
+        }
+    }
+
+    private void saveToken(boolean force) {
+        long now = System.nanoTime();
+        if (!tokenDirty || !force && now - tokenSavedAt < tokenSaveInterval.toNanos()) {
+            return;
+        }
+        try {
+            tokens().replaceOne(Filters.eq("_id", STREAM_ID),
+                    new Document("_id", STREAM_ID).append("token", token).append("savedAt", new Date()),
+                    new ReplaceOptions().upsert(true));
+            tokenDirty = false;
+            tokenSavedAt = now;
+        } catch (MongoException e) {
+            log.warn("Не удалось сохранить позицию потока изменений", e);
+        }
+    }
+
+    private void deleteToken() {
+        token = null;
+        tokenDirty = false;
+        try {
+            tokens().deleteOne(Filters.eq("_id", STREAM_ID));
+        } catch (MongoException e) {
+            log.warn("Не удалось удалить позицию потока изменений", e);
+        }
+    }
+
+    private MongoCollection<Document> tokens() {
+        return mongoTemplate.getCollection(TOKENS);
+    }
+
+    private void pause(RuntimeException e) {
+        log.warn("Поток изменений MongoDB недоступен, повтор через {}", retryDelay, e);
+        try {
+            Thread.sleep(retryDelay.toMillis());
+        } catch (InterruptedException interrupted) {
+            Thread.currentThread().interrupt();
+            running = false;
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package webapp.resumegenerator.infrastructure.cache;
+
+/**
+ * Локальный (внутрипроцессный) кэш, копии которого на всех репликах генератора
+ * сбрасываются по сообщениям {@link CacheInvalidationBus}.
+ */
+public interface LocalCacheInvalidator {
+
+    /**
+     * Удаляет запись из локального кэша без обращения к общему хранилищу.
+     *
+     * @param key Строковое представление ключа.
+     */
+    void evictLocal(String key);
+
+    /**
+     * Очищает локальный кэш без обращения к общему хранилищу.
+     */
+    void clearLocal();
+}
@@ -0,0 +1,152 @@
+package webapp.resumegenerator.infrastructure.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.connection.ReactiveRedisConnectionFactory;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.serializer.RedisSerializationContext;
+import org.springframework.data.redis.serializer.RedisSerializationContext.SerializationPair;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Неблокирующий доступ к кэшам Redis для реактивного API.
+ * Ключи и формат значений совпадают с {@code RedisCache}, которым пользуются блокирующие
+ * сервисы: ключ имеет вид {@code <кэш>::<ключ>}, значения сериализуются тем же сериализатором,
+ * который {@link RedisCacheCodecs} назначает кэшу. Поэтому обе реализации API видят одни и те же записи,
+ * а удаление записи любой из них рассылает инвалидацию локальных кэшей через тот же канал.
+ */
+public class ReactiveRedisCache {
+
+    private final Map<RedisCacheConfiguration, ReactiveRedisTemplate<String, Object>> templates =
+            new ConcurrentHashMap<>();
+
+    private final ReactiveRedisConnectionFactory connectionFactory;
+
+    private final ReactiveStringRedisTemplate messageTemplate;
+
+    private final RedisCacheCodecs codecs;
+
+    private final CacheInvalidationBus invalidationBus;
+
+    /**
+     * Конструктор кэша.
+     *
+     * @param connectionFactory Фабрика реактивных соединений Redis.
+     * @param codecs Конфигурации кэшей Redis блокирующего API.
+     * @param invalidationBus Шина инвалидации локальных кэшей.
+     */
+    public ReactiveRedisCache(ReactiveRedisConnectionFactory connectionFactory,
+                              RedisCacheCodecs codecs,
+                              CacheInvalidationBus invalidationBus) {
+        this.connectionFactory = connectionFactory;
+        this.messageTemplate = new ReactiveStringRedisTemplate(connectionFactory);
+        this.codecs = codecs;
+        this.invalidationBus = invalidationBus;
+    }
+
+    /**
+     * Чтение по схеме cache-aside: значение из Redis, а при промахе — из загрузчика
+     * с последующей записью в Redis. Пустой результат загрузчика не кэшируется.
+     *
+     * @param cacheName Имя кэша.
+     * @param key Ключ записи.
+     * @param type Тип значения.
+     * @param loader Загрузка значения из БД.
+     * @param <T> Тип значения.
+     * @return Значение или пустой результат.
+     */
+    public <T> Mono<T> get(String cacheName, Object key, Class<T> type, Mono<T> loader) {
+        String redisKey = redisKey(cacheName, key);
+        return template(cacheName).opsForValue().get(redisKey)
+                .filter(type::isInstance)
+                .map(type::cast)
+                .onErrorResume(e -> Mono.empty())
+                .switchIfEmpty(Mono.defer(() -> loader.flatMap(value -> put(cacheName, key, value).thenReturn(value))));
+    }
+
+    /**
+     * Чтение значения только из Redis.
+     *
+     * @param cacheName Имя кэша.
+     * @param key Ключ записи.
+     * @param type Тип значения.
+     * @param <T> Тип значения.
+     * @return Значение или пустой результат.
+     */
+    public <T> Mono<T> peek(String cacheName, Object key, Class<T> type) {
+        return template(cacheName).opsForValue().get(redisKey(cacheName, key))
+                .filter(type::isInstance)
+                .map(type::cast)
+                .onErrorResume(e -> Mono.empty());
+    }
+
+    /**
+     * Запись значения в Redis с временем жизни из конфигурации кэша.
+     *
+     * @param cacheName Имя кэша.
+     * @param key Ключ записи.
+     * @param value Значение.
+     * @return Завершение записи; ошибки Redis не прерывают запрос.
+     */
+    public Mono<Void> put(String cacheName, Object key, Object value) {
+        Duration ttl = codecs.configurationFor(cacheName).getTtlFunction().getTimeToLive(key, value);
+        String redisKey = redisKey(cacheName, key);
+        ReactiveRedisTemplate<String, Object> redisTemplate = template(cacheName);
+        Mono<Boolean> write = ttl == null || ttl.isZero() || ttl.isNegative()
+                ? redisTemplate.opsForValue().set(redisKey, value)
+                : redisTemplate.opsForValue().set(redisKey, value, ttl);
+        return write.onErrorResume(e -> Mono.just(false)).then();
+    }
+
+    /**
+     * Удаляет записи из Redis и из локальных кэшей текущей реплики,
+     * после чего рассылает инвалидацию локальных кэшей остальных реплик.
+     *
+     * @param cacheName Имя кэша.
+     * @param keys Ключи записей.
+     * @return Завершение удаления.
+     */
+    public Mono<Void> evict(String cacheName, Object... keys) {
+        String[] redisKeys = Arrays.stream(keys).map(key -> redisKey(cacheName, key)).toArray(String[]::new);
+        Mono<Long> delete = template(cacheName).delete(redisKeys).onErrorResume(e -> Mono.just(0L));
+        Flux<Long> publish = Flux.fromArray(keys)
+                .map(String::valueOf)
+                .doOnNext(key -> invalidationBus.evictLocal(cacheName, key))
+                .concatMap(key -> publish(cacheName, key));
+        return delete.thenMany(publish).then();
+    }
+
+    private Mono<Long> publish(String cacheName, String key) {
+        try {
+            return messageTemplate.convertAndSend(invalidationBus.getChannel(), invalidationBus.encode(cacheName, key))
+                    .onErrorResume(e -> Mono.just(0L));
+        } catch (JsonProcessingException e) {
+            return Mono.just(0L);
+        }
+    }
+
+    private ReactiveRedisTemplate<String, Object> template(String cacheName) {
+        return templates.computeIfAbsent(codecs.configurationFor(cacheName), this::createTemplate);
+    }
+
+    private ReactiveRedisTemplate<String, Object> createTemplate(RedisCacheConfiguration configuration) {
+        RedisSerializationContext<String, Object> context = RedisSerializationContext
+                .<String, Object>newSerializationContext(RedisSerializer.string())
+                .value(configuration.getValueSerializationPair())
+                .hashKey(SerializationPair.fromSerializer(RedisSerializer.string()))
+                .hashValue(SerializationPair.fromSerializer(RedisSerializer.string()))
+                .build();
+        return new ReactiveRedisTemplate<>(connectionFactory, context);
+    }
+
+    private String redisKey(String cacheName, Object key) {
+        return codecs.configurationFor(cacheName).getKeyPrefixFor(cacheName) + key;
+    }
+}
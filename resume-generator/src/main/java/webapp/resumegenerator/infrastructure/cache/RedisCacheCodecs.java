@@ -0,0 +1,73 @@
+package webapp.resumegenerator.infrastructure.cache;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.serializer.RedisSerializationContext.SerializationPair;
+import webapp.rediscodec.CompactRedisSerializer;
+
+/**
+ * Выбор формата значений для кэшей Redis по имени кэша.
+ * Перечисленные кэши хранят значения в компактном формате {@link CompactRedisSerializer},
+ * остальные — в формате конфигурации по умолчанию. Используется и менеджером кэшей
+ * блокирующего API, и {@link ReactiveRedisCache}, чтобы обе реализации читали записи
+ * друг друга.
+ */
+public class RedisCacheCodecs {
+
+    /**
+     * Пакет, типы которого восстанавливаются из значений компактных кэшей.
+     */
+    static final String APPLICATION_PACKAGE = "webapp.resumegenerator.";
+
+    private final RedisCacheConfiguration defaults;
+
+    private final Map<String, RedisCacheConfiguration> configurations = new LinkedHashMap<>();
+
+    /**
+     * Конструктор набора кодеков.
+     *
+     * @param defaults Конфигурация кэшей по умолчанию.
+     * @param compactCacheNames Имена кэшей в компактном формате.
+     * @param compressThreshold Порог сжатия значений компактных кэшей в байтах;
+     *                          отрицательное значение отключает сжатие.
+     */
+    public RedisCacheCodecs(RedisCacheConfiguration defaults, Collection<String> compactCacheNames,
+                            int compressThreshold) {
+        this.defaults = defaults;
+        if (!compactCacheNames.isEmpty()) {
+            RedisCacheConfiguration compact = defaults.serializeValuesWith(
+                    SerializationPair.fromSerializer(new CompactRedisSerializer(compressThreshold, APPLICATION_PACKAGE)));
+            compactCacheNames.forEach(name -> configurations.put(name, compact));
+        }
+    }
+
+    /**
+     * Конфигурация кэшей, не перечисленных явно.
+     *
+     * @return Конфигурация по умолчанию.
+     */
+    public RedisCacheConfiguration getDefaults() {
+        return defaults;
+    }
+
+    /**
+     * Конфигурации кэшей с отличным от умолчания форматом.
+     *
+     * @return Конфигурации по именам кэшей.
+     */
+    public Map<String, RedisCacheConfiguration> getConfigurations() {
+        return Map.copyOf(configurations);
+    }
+
+    /**
+     * Конфигурация конкретного кэша.
+     *
+     * @param cacheName Имя кэша.
+     * @return Конфигурация кэша.
+     */
+    public RedisCacheConfiguration configurationFor(String cacheName) {
+        return configurations.getOrDefault(cacheName, defaults);
+    }
+}
@@ -0,0 +1,198 @@
+package webapp.resumegenerator.infrastructure.cache;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Хранилище результатов рендеринга в Redis, общее для всех реплик.
+ * HTML больше порога сохраняется в gzip; первый байт значения указывает формат.
+ * Для точного удаления ключи результатов собираются в множества по шаблону и по блоку.
+ * Ошибки Redis не прерывают рендеринг: результат в худшем случае будет отрендерен заново.
+ */
+@Component
+@ConditionalOnProperty(name = "generator.render.result-cache.redis.enabled", havingValue = "true")
+public class RenderResultRedisStore {
+
+    private static final Logger log = LoggerFactory.getLogger(RenderResultRedisStore.class);
+
+    private static final String KEY_PREFIX = "renderResults::";
+
+    private static final String TEMPLATE_INDEX = "renderResults:template::";
+
+    private static final String BLOCK_INDEX = "renderResults:block::";
+
+    static final byte PLAIN = 0;
+
+    static final byte GZIP = 1;
+
+    private final RedisTemplate<String, byte[]> valueTemplate;
+
+    private final StringRedisTemplate indexTemplate;
+
+    private final Duration ttl;
+
+    private final long compressThreshold;
+
+    /**
+     * Конструктор хранилища.
+     *
+     * @param connectionFactory Фабрика соединений Redis.
+     * @param indexTemplate Шаблон Redis для множеств ключей.
+     * @param ttl Время жизни результата.
+     * @param compressThreshold Размер HTML, начиная с которого он сжимается.
+     */
+    public RenderResultRedisStore(RedisConnectionFactory connectionFactory, StringRedisTemplate indexTemplate,
+            @Value("${generator.render.result-cache.redis.ttl:1h}") Duration ttl,
+            @Value("${generator.render.result-cache.redis.compress-threshold:1KB}") DataSize compressThreshold) {
+        RedisTemplate<String, byte[]> template = new RedisTemplate<>();
+        template.setConnectionFactory(connectionFactory);
+        template.setKeySerializer(RedisSerializer.string());
+        template.setValueSerializer(RedisSerializer.byteArray());
+        template.afterPropertiesSet();
+        this.valueTemplate = template;
+        this.indexTemplate = indexTemplate;
+        this.ttl = ttl;
+        this.compressThreshold = compressThreshold.toBytes();
+    }
+
+    /**
+     * Чтение результата.
+     *
+     * @param key Ключ результата.
+     * @return HTML или {@code null}, если результата нет или Redis недоступен.
+     */
+    public String get(String key) {
+        try {
+            byte[] value = valueTemplate.opsForValue().get(KEY_PREFIX + key);
+            return value == null ? null : decode(value);
+        } catch (RuntimeException e) {
+            log.warn("Не удалось прочитать результат рендеринга {}", key, e);
+            return null;
+        }
+    }
+
+    /**
+     * Сохранение результата с добавлением ключа в множества шаблона и блока.
+     *
+     * @param key Ключ результата.
+     * @param html HTML-представление резюме.
+     * @param templateId Идентификатор шаблона.
+     * @param blockId Идентификатор блока или {@code null}.
+     */
+    public void put(String key, String html, UUID templateId, UUID blockId) {
+        String redisKey = KEY_PREFIX + key;
+        try {
+            valueTemplate.opsForValue().set(redisKey, encode(html, compressThreshold), ttl);
+            index(TEMPLATE_INDEX + templateId, redisKey);
+            if (blockId != null) {
+                index(BLOCK_INDEX + blockId, redisKey);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Не удалось сохранить результат рендеринга {}", key, e);
+        }
+    }
+
+    /**
+     * Удаляет все результаты рендеринга шаблона.
+     *
+     * @param templateId Идентификатор шаблона.
+     */
+    public void evictTemplate(UUID templateId) {
+        evictIndexed(TEMPLATE_INDEX + templateId);
+    }
+
+    /**
+     * Удаляет все результаты рендеринга с блоком.
+     *
+     * @param blockId Идентификатор блока.
+     */
+    public void evictBlock(UUID blockId) {
+        evictIndexed(BLOCK_INDEX + blockId);
+    }
+
+    private void index(String indexKey, String redisKey) {
+        indexTemplate.opsForSet().add(indexKey, redisKey);
+        indexTemplate.expire(indexKey, ttl);
+    }
+
+    private void evictIndexed(String indexKey) {
+        try {
+            Set<String> keys = indexTemplate.opsForSet().members(indexKey);
+            List<String> toDelete = new ArrayList<>();
+            if (keys != null) {
+                toDelete.addAll(keys);
+            }
+            toDelete.add(indexKey);
+            indexTemplate.delete(toDelete);
+        } catch (RuntimeException e) {
+            log.warn("Не удалось удалить результаты рендеринга по {}", indexKey, e);
+        }
+    }
+
+    /**
+     * Кодирует HTML: маркер формата и UTF-8, сжатый gzip, если размер не меньше порога.
+     *
+     * @param html HTML.
+     * @param compressThreshold Порог сжатия в байтах.
+     * @return Значение для Redis.
+     */
+    static byte[] encode(String html, long compressThreshold) {
+        byte[] bytes = html.getBytes(StandardCharsets.UTF_8);
+        ByteArrayOutputStream out = new ByteArrayOutputStream(bytes.length / 4 + 16);
+        if (bytes.length < compressThreshold) {
+            out.write(PLAIN);
+            out.writeBytes(bytes);
+            return out.toByteArray();
+        }
+        out.write(GZIP);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(bytes);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * Декодирует значение, записанное {@link #encode(String, long)}.
+     *
+     * @param value Значение из Redis.
+     * @return HTML.
+     */
+    static String decode(byte[] value) {
+        if (value.length == 0) {
+            throw new IllegalArgumentException("Пустое значение результата рендеринга");
+        }
+        if (value[0] == PLAIN) {
+            return new String(value, 1, value.length - 1, StandardCharsets.UTF_8);
+        }
+        if (value[0] != GZIP) {
+            throw new IllegalArgumentException("Неизвестный формат результата рендеринга: " + value[0]);
+        }
+        try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(value, 1, value.length - 1))) {
+            return new String(gzip.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package webapp.resumegenerator.infrastructure.cache;
+
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+/**
+ * Контейнер подписок Redis, который не мешает запуску приложения без Redis.
+ * <p>
+ * Обычный контейнер подписывается на каналы в {@code start()} и при недоступном Redis
+ * прерывает запуск контекста. Здесь неудачная подписка записывается в журнал и повторяется
+ * через {@code retryDelay}, пока не удастся или контейнер не будет остановлен. До подписки
+ * сообщения каналов не доставляются.
+ */
+public class RetryingRedisListenerContainer extends RedisMessageListenerContainer {
+
+    private static final Logger log = LoggerFactory.getLogger(RetryingRedisListenerContainer.class);
+
+    private final Duration retryDelay;
+
+    private final ScheduledExecutorService retries = Executors.newSingleThreadScheduledExecutor(runnable ->
+            Thread.ofPlatform().name("redis-subscribe-retry").daemon().unstarted(runnable));
+
+    private ScheduledFuture<?> retry;
+
+    private volatile boolean active;
+
+    /**
+     * Конструктор контейнера.
+     *
+     * @param retryDelay Пауза перед повторной попыткой подписки.
+     */
+    public RetryingRedisListenerContainer(Duration retryDelay) {
+        this.retryDelay = retryDelay;
+    }
+
+    @Override
+    public synchronized void start() {
+        active = true;
+        subscribe();
+    }
+
+    @Override
+    public synchronized void stop() {
+        active = false;
+        if (retry != null) {
+            retry.cancel(false);
+            retry = null;
+        }
+        super.stop();
+    }
+
+    @Override
+    public void destroy() throws Exception {
+        retries.shutdownNow();
+        super.destroy();
+    }
+
+    private synchronized void subscribe() {
+        retry = null;
+        if (!active) {
+            return;
+        }
+        try {
+            super.start();
+        } catch (DataAccessException e) {
+            super.stop();
+            log.warn("Не удалось подписаться на каналы Redis, повтор через {}: {}", retryDelay, e.getMessage());
+            retry = retries.schedule(this::subscribe, retryDelay.toMillis(), TimeUnit.MILLISECONDS);
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package webapp.resumegenerator.infrastructure.cache;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Дисковый LRU-кэш миниатюр шаблонов, ограниченный суммарным размером файлов.
+ * Каждая запись — файл {@code <ключ>.png} в каталоге кэша. Порядок использования хранится
+ * в памяти и дублируется временем изменения файла, поэтому после перезапуска кэш
+ * восстанавливается из каталога в прежнем порядке вытеснения.
+ * Файлы записываются во временный файл и переименовываются, так что читатель
+ * никогда не видит недописанное изображение.
+ */
+@Component
+public class ThumbnailDiskCache {
+
+    private static final Logger log = LoggerFactory.getLogger(ThumbnailDiskCache.class);
+
+    private static final String EXTENSION = ".png";
+
+    private static final String TEMPORARY = ".tmp";
+
+    private final Path directory;
+
+    private final long maxBytes;
+
+    private final LinkedHashMap<String, Long> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    private long totalBytes;
+
+    /**
+     * Конструктор кэша.
+     *
+     * @param directory Каталог кэша.
+     * @param maxSize Максимальный суммарный размер миниатюр.
+     * @throws UncheckedIOException если каталог недоступен.
+     */
+    public ThumbnailDiskCache(@Value("${generator.thumbnail.cache.directory:${java.io.tmpdir}/resume-thumbnails}")
+                              Path directory,
+                              @Value("${generator.thumbnail.cache.max-size:256MB}") DataSize maxSize) {
+        this.directory = directory;
+        this.maxBytes = maxSize.toBytes();
+        try {
+            Files.createDirectories(directory);
+            load();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Каталог миниатюр " + directory + " недоступен", e);
+        }
+    }
+
+    /**
+     * Читает миниатюру из кэша.
+     *
+     * @param key Ключ записи.
+     * @return Изображение или {@code null}, если записи нет.
+     */
+    public byte[] get(String key) {
+        synchronized (this) {
+            if (entries.get(key) == null) {
+                return null;
+            }
+        }
+        Path file = file(key);
+        try {
+            byte[] png = Files.readAllBytes(file);
+            Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis()));
+            return png;
+        } catch (NoSuchFileException e) {
+            remove(key);
+            return null;
+        } catch (IOException e) {
+            log.warn("Не удалось прочитать миниатюру {}", file, e);
+            return null;
+        }
+    }
+
+    /**
+     * Сохраняет миниатюру и вытесняет давно не использованные записи сверх лимита.
+     * Ошибки записи не прерывают запрос: миниатюра будет построена заново при следующем обращении.
+     *
+     * @param key Ключ записи.
+     * @param png Изображение.
+     */
+    public void put(String key, byte[] png) {
+        if (png.length > maxBytes) {
+            return;
+        }
+        Path file = file(key);
+        try {
+            Path temporary = Files.createTempFile(directory, key, TEMPORARY);
+            Files.write(temporary, png);
+            Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            log.warn("Не удалось сохранить миниатюру {}", file, e);
+            return;
+        }
+        synchronized (this) {
+            Long previous = entries.put(key, (long) png.length);
+            totalBytes += png.length - (previous == null ? 0 : previous);
+            evictOverflow();
+        }
+    }
+
+    /**
+     * Суммарный размер миниатюр в кэше.
+     *
+     * @return Размер в байтах.
+     */
+    public synchronized long size() {
+        return totalBytes;
+    }
+
+    private synchronized void remove(String key) {
+        Long size = entries.remove(key);
+        if (size != null) {
+            totalBytes -= size;
+        }
+    }
+
+    private void evictOverflow() {
+        Iterator<Map.Entry<String, Long>> iterator = entries.entrySet().iterator();
+        while (totalBytes > maxBytes && iterator.hasNext()) {
+            Map.Entry<String, Long> eldest = iterator.next();
+            iterator.remove();
+            totalBytes -= eldest.getValue();
+            try {
+                Files.deleteIfExists(file(eldest.getKey()));
+            } catch (IOException e) {
+                log.warn("Не удалось удалить миниатюру {}", eldest.getKey(), e);
+            }
+        }
+    }
+
+    private void load() throws IOException {
+        List<Path> files;
+        try (Stream<Path> stream = Files.list(directory)) {
+            files = stream.filter(Files::isRegularFile).toList();
+        }
+        for (Path path : files) {
+            if (path.getFileName().toString().endsWith(TEMPORARY)) {
+                Files.deleteIfExists(path);
+            }
+        }
+        List<Path> thumbnails = files.stream()
+                .filter(path -> path.getFileName().toString().endsWith(EXTENSION))
+                .sorted(Comparator.comparing(ThumbnailDiskCache::lastModified))
+                .toList();
+        synchronized (this) {
+            for (Path path : thumbnails) {
+                String name = path.getFileName().toString();
+                long size = Files.size(path);
+                entries.put(name.substring(0, name.length() - EXTENSION.length()), size);
+                totalBytes += size;
+            }
+            evictOverflow();
+        }
+    }
+
+    private static FileTime lastModified(Path path) {
+        try {
+            return Files.getLastModifiedTime(path);
+        } catch (IOException e) {
+            return FileTime.fromMillis(0);
+        }
+    }
+
+    private Path file(String key) {
+        return directory.resolve(key + EXTENSION);
+    }
+}
@@ -0,0 +1,166 @@
+package webapp.resumegenerator.infrastructure.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import java.time.Duration;
+import java.util.concurrent.Callable;
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.SimpleValueWrapper;
+
+/**
+ * Двухуровневый кэш: локальный Caffeine (L1) перед общим кэшем Redis (L2).
+ * Чтение сначала обращается к L1 и только при промахе идёт в Redis, заполняя L1.
+ * Удаление и очистка выполняются в L2, затем в L1, после чего остальные реплики
+ * получают сообщение через {@link CacheInvalidationBus}. Запись в кэш после загрузки
+ * из БД сообщений не рассылает, поэтому изменение данных должно сопровождаться
+ * {@code @CacheEvict}, а не {@code @CachePut}.
+ * Ключи L1 приводятся к строке так же, как их приводит к строке Redis,
+ * поэтому {@code UUID} и его строковое представление указывают на одну запись.
+ * Значения L1 разделяются между вызывающими и не должны изменяться.
+ */
+public class TwoLevelCache implements Cache, LocalCacheInvalidator {
+
+    private final String name;
+
+    private final Cache remote;
+
+    private final com.github.benmanes.caffeine.cache.Cache<String, ValueWrapper> local;
+
+    private final CacheInvalidationBus invalidationBus;
+
+    /**
+     * Конструктор кэша.
+     *
+     * @param remote Общий кэш второго уровня.
+     * @param maxSize Максимальное количество записей в L1.
+     * @param ttl Время жизни записи в L1 с момента заполнения.
+     * @param invalidationBus Шина инвалидации между репликами.
+     */
+    public TwoLevelCache(Cache remote, long maxSize, Duration ttl, CacheInvalidationBus invalidationBus) {
+        this.name = remote.getName();
+        this.remote = remote;
+        this.local = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .build();
+        this.invalidationBus = invalidationBus;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return local;
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        String localKey = localKey(key);
+        ValueWrapper wrapper = local.getIfPresent(localKey);
+        if (wrapper == null) {
+            wrapper = remote.get(key);
+            if (wrapper != null) {
+                local.put(localKey, wrapper);
+            }
+        }
+        return wrapper;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Class<T> type) {
+        ValueWrapper wrapper = get(key);
+        if (wrapper == null) {
+            return null;
+        }
+        Object value = wrapper.get();
+        if (value != null && type != null && !type.isInstance(value)) {
+            throw new IllegalStateException("Значение кэша " + name + " по ключу " + key
+                    + " не является экземпляром " + type.getName());
+        }
+        return (T) value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        ValueWrapper wrapper = get(key);
+        if (wrapper != null) {
+            return (T) wrapper.get();
+        }
+        T value = remote.get(key, valueLoader);
+        local.put(localKey(key), new SimpleValueWrapper(value));
+        return value;
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        remote.put(key, value);
+        local.put(localKey(key), new SimpleValueWrapper(value));
+    }
+
+    @Override
+    public void evict(Object key) {
+        remote.evict(key);
+        evictLocal(localKey(key));
+        invalidationBus.publish(name, localKey(key));
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        boolean evicted = remote.evictIfPresent(key);
+        evictLocal(localKey(key));
+        invalidationBus.publish(name, localKey(key));
+        return evicted;
+    }
+
+    @Override
+    public void clear() {
+        remote.clear();
+        clearLocal();
+        invalidationBus.publish(name, null);
+    }
+
+    @Override
+    public boolean invalidate() {
+        boolean invalidated = remote.invalidate();
+        clearLocal();
+        invalidationBus.publish(name, null);
+        return invalidated;
+    }
+
+    /**
+     * Удаляет запись из L2 и L1 без рассылки сообщений остальным репликам.
+     * Используется, когда каждая реплика узнаёт об изменении сама.
+     *
+     * @param key Ключ записи.
+     */
+    public void evictQuietly(Object key) {
+        remote.evict(key);
+        evictLocal(localKey(key));
+    }
+
+    /**
+     * Очищает L2 и L1 без рассылки сообщений остальным репликам.
+     */
+    public void clearQuietly() {
+        remote.clear();
+        clearLocal();
+    }
+
+    @Override
+    public void evictLocal(String key) {
+        local.invalidate(key);
+    }
+
+    @Override
+    public void clearLocal() {
+        local.invalidateAll();
+    }
+
+    private static String localKey(Object key) {
+        return String.valueOf(key);
+    }
+}
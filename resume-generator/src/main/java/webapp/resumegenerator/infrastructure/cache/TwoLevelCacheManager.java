@@ -0,0 +1,72 @@
+package webapp.resumegenerator.infrastructure.cache;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+/**
+ * Менеджер кэшей, добавляющий локальный уровень {@link TwoLevelCache}
+ * к перечисленным кэшам общего менеджера. Остальные кэши отдаются без изменений.
+ */
+public class TwoLevelCacheManager implements CacheManager {
+
+    private final CacheManager remote;
+
+    private final Set<String> localCacheNames;
+
+    private final long maxSize;
+
+    private final Duration ttl;
+
+    private final CacheInvalidationBus invalidationBus;
+
+    private final Map<String, Cache> caches = new ConcurrentHashMap<>();
+
+    /**
+     * Конструктор менеджера.
+     *
+     * @param remote Менеджер общих кэшей.
+     * @param localCacheNames Имена кэшей, получающих локальный уровень.
+     * @param maxSize Максимальное количество записей в локальном уровне каждого кэша.
+     * @param ttl Время жизни записи в локальном уровне.
+     * @param invalidationBus Шина инвалидации между репликами.
+     */
+    public TwoLevelCacheManager(CacheManager remote, Collection<String> localCacheNames, long maxSize,
+                                Duration ttl, CacheInvalidationBus invalidationBus) {
+        this.remote = remote;
+        this.localCacheNames = Set.copyOf(localCacheNames);
+        this.maxSize = maxSize;
+        this.ttl = ttl;
+        this.invalidationBus = invalidationBus;
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        if (!localCacheNames.contains(name)) {
+            return remote.getCache(name);
+        }
+        return caches.computeIfAbsent(name, this::createCache);
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        Set<String> names = new LinkedHashSet<>(remote.getCacheNames());
+        names.addAll(localCacheNames);
+        return names;
+    }
+
+    private Cache createCache(String name) {
+        Cache remoteCache = remote.getCache(name);
+        if (remoteCache == null) {
+            throw new IllegalStateException("Кэш " + name + " не найден");
+        }
+        TwoLevelCache cache = new TwoLevelCache(remoteCache, maxSize, ttl, invalidationBus);
+        invalidationBus.register(name, cache);
+        return cache;
+    }
+}
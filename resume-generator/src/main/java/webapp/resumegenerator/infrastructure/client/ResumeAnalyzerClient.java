@@ -0,0 +1,125 @@
+package webapp.resumegenerator.infrastructure.client;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import okhttp3.ConnectionPool;
+import okhttp3.HttpUrl;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * HTTP-клиент сервиса resume-analyzer, из которого берутся данные резюме для рендеринга.
+ * Вызовы синхронные и рассчитаны на виртуальные потоки: ожидание ответа не занимает
+ * поток платформы. Пул соединений переиспользуется всеми запросами.
+ */
+@Component
+public class ResumeAnalyzerClient {
+
+    private static final TypeReference<Map<String, Object>> MAP_TYPE = new TypeReference<>() {
+    };
+
+    private final OkHttpClient httpClient;
+
+    private final HttpUrl baseUrl;
+
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Конструктор клиента.
+     *
+     * @param baseUrl Адрес resume-analyzer.
+     * @param timeout Таймаут одного запроса.
+     * @param maxConnections Максимальное количество простаивающих соединений в пуле.
+     * @param objectMapper Десериализатор ответов.
+     */
+    public ResumeAnalyzerClient(@Value("${generator.analyzer.base-url:http://localhost:8083}") String baseUrl,
+                                @Value("${generator.analyzer.timeout:10s}") Duration timeout,
+                                @Value("${generator.analyzer.max-idle-connections:64}") int maxConnections,
+                                ObjectMapper objectMapper) {
+        this.httpClient = new OkHttpClient.Builder()
+                .connectionPool(new ConnectionPool(maxConnections, 5, TimeUnit.MINUTES))
+                .callTimeout(timeout)
+                .build();
+        this.baseUrl = HttpUrl.get(baseUrl);
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Данные резюме по идентификатору.
+     *
+     * @param id Идентификатор резюме.
+     * @return Резюме в виде дерева JSON или {@code null}, если резюме не найдено.
+     * @throws IllegalStateException если сервис ответил ошибкой.
+     * @throws UncheckedIOException при ошибке соединения.
+     */
+    public Map<String, Object> getResume(String id) {
+        HttpUrl url = baseUrl.newBuilder().addPathSegment("resumes").addPathSegment(id).build();
+        try (Response response = httpClient.newCall(new Request.Builder().url(url).get().build()).execute()) {
+            if (response.code() == 404) {
+                return null;
+            }
+            return objectMapper.readValue(body(response).byteStream(), MAP_TYPE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Не удалось получить резюме " + id, e);
+        }
+    }
+
+    /**
+     * Страница результатов поиска резюме.
+     *
+     * @param query Поисковый запрос.
+     * @param page Номер страницы, начиная с 0.
+     * @param size Размер страницы.
+     * @return Резюме страницы и признак последней страницы.
+     * @throws IllegalStateException если сервис ответил ошибкой.
+     * @throws UncheckedIOException при ошибке соединения.
+     */
+    public ResumePage searchResumes(String query, int page, int size) {
+        HttpUrl url = baseUrl.newBuilder()
+                .addPathSegment("resumes")
+                .addPathSegment("search")
+                .addQueryParameter("query", query)
+                .addQueryParameter("page", String.valueOf(page))
+                .addQueryParameter("size", String.valueOf(size))
+                .build();
+        try (Response response = httpClient.newCall(new Request.Builder().url(url).get().build()).execute()) {
+            JsonNode root = objectMapper.readTree(body(response).byteStream());
+            List<Map<String, Object>> resumes = new ArrayList<>();
+            for (JsonNode resume : root.path("content")) {
+                resumes.add(objectMapper.convertValue(resume, MAP_TYPE));
+            }
+            return new ResumePage(resumes, root.path("last").asBoolean(resumes.size() < size));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Не удалось выполнить поиск резюме", e);
+        }
+    }
+
+    private static ResponseBody body(Response response) {
+        if (!response.isSuccessful() || response.body() == null) {
+            throw new IllegalStateException("resume-analyzer ответил " + response.code()
+                    + " на " + response.request().url());
+        }
+        return response.body();
+    }
+
+    /**
+     * Страница результатов поиска резюме.
+     *
+     * @param resumes Резюме страницы.
+     * @param last Признак последней страницы.
+     */
+    public record ResumePage(List<Map<String, Object>> resumes, boolean last) {
+    }
+}
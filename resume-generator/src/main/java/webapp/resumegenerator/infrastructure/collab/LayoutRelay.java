@@ -0,0 +1,111 @@
+package webapp.resumegenerator.infrastructure.collab;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.util.UUID;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+/**
+ * Ретранслятор событий комнат совместного редактирования между репликами.
+ * <p>
+ * События публикуются в канал Redis и доставляются всем подписанным репликам, включая
+ * отправителя, в одном и том же порядке канала. Поэтому комнаты одного блока на разных
+ * репликах применяют перемещения в одинаковом порядке и приходят к одной раскладке.
+ * Получатель узнаёт, что событие отправлено его репликой, по признаку {@code own}.
+ */
+public class LayoutRelay implements MessageListener {
+
+    private static final Logger log = LoggerFactory.getLogger(LayoutRelay.class);
+
+    private final String nodeId = UUID.randomUUID().toString();
+
+    private final StringRedisTemplate redisTemplate;
+
+    private final ObjectMapper objectMapper;
+
+    private final String channel;
+
+    private volatile Listener listener;
+
+    /**
+     * Конструктор ретранслятора.
+     *
+     * @param redisTemplate Шаблон Redis для публикации сообщений.
+     * @param objectMapper Сериализатор сообщений.
+     * @param channel Имя канала Redis.
+     */
+    public LayoutRelay(StringRedisTemplate redisTemplate, ObjectMapper objectMapper, String channel) {
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        this.channel = channel;
+    }
+
+    /**
+     * Устанавливает получателя событий.
+     *
+     * @param listener Получатель событий всех реплик.
+     */
+    public void subscribe(Listener listener) {
+        this.listener = listener;
+    }
+
+    /**
+     * Публикует событие от имени текущей реплики.
+     *
+     * @param message Событие.
+     * @return {@code false}, если событие не удалось отправить и его нужно применить локально.
+     */
+    public boolean publish(LayoutRelayMessage message) {
+        try {
+            redisTemplate.convertAndSend(channel, objectMapper.writeValueAsString(message.from(nodeId)));
+            return true;
+        } catch (JsonProcessingException | RuntimeException e) {
+            log.warn("Не удалось разослать событие {} комнаты блока {}", message.type(), message.block(), e);
+            return false;
+        }
+    }
+
+    /**
+     * Канал Redis, в который публикуются сообщения.
+     *
+     * @return Имя канала.
+     */
+    public String getChannel() {
+        return channel;
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        LayoutRelayMessage event;
+        try {
+            event = objectMapper.readValue(message.getBody(), LayoutRelayMessage.class);
+        } catch (IOException e) {
+            log.warn("Некорректное событие комнаты совместного редактирования", e);
+            return;
+        }
+        Listener current = listener;
+        if (current != null && event.block() != null && event.type() != null) {
+            current.onEvent(event, nodeId.equals(event.node()));
+        }
+    }
+
+    /**
+     * Получатель событий комнат.
+     */
+    @FunctionalInterface
+    public interface Listener {
+
+        /**
+         * Обрабатывает событие.
+         *
+         * @param message Событие.
+         * @param own Событие отправлено текущей репликой.
+         */
+        void onEvent(LayoutRelayMessage message, boolean own);
+    }
+}
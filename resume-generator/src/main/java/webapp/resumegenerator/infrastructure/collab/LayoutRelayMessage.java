@@ -0,0 +1,62 @@
+package webapp.resumegenerator.infrastructure.collab;
+
+import java.util.List;
+import java.util.UUID;
+import webapp.resumegenerator.application.collab.LayoutMove;
+
+/**
+ * Событие комнаты совместного редактирования, рассылаемое между репликами через Redis pub/sub.
+ *
+ * @param node Идентификатор реплики-отправителя.
+ * @param block Идентификатор корневого блока комнаты.
+ * @param type Тип события: {@value #MOVED}, {@value #RESYNC} или {@value #CLOSED}.
+ * @param session Идентификатор сессии автора перемещения.
+ * @param items Новые положения элементов для {@value #MOVED}.
+ * @param reason Причина для {@value #RESYNC} и {@value #CLOSED}.
+ */
+public record LayoutRelayMessage(String node, UUID block, String type, String session, List<LayoutMove> items,
+                                 String reason) {
+
+    /**
+     * Перемещение элементов участником.
+     */
+    public static final String MOVED = "moved";
+
+    /**
+     * Раскладка разошлась с сохранённой, участники должны её перечитать.
+     */
+    public static final String RESYNC = "resync";
+
+    /**
+     * Блок удалён, сессии комнаты закрываются.
+     */
+    public static final String CLOSED = "closed";
+
+    /**
+     * Перемещение элементов.
+     *
+     * @param block Идентификатор корневого блока.
+     * @param session Идентификатор сессии автора.
+     * @param items Новые положения элементов.
+     * @return Сообщение без отправителя; его проставляет {@link LayoutRelay}.
+     */
+    public static LayoutRelayMessage moved(UUID block, String session, List<LayoutMove> items) {
+        return new LayoutRelayMessage(null, block, MOVED, session, items, null);
+    }
+
+    /**
+     * Событие комнаты без перемещений.
+     *
+     * @param block Идентификатор корневого блока.
+     * @param type {@value #RESYNC} или {@value #CLOSED}.
+     * @param reason Причина.
+     * @return Сообщение без отправителя; его проставляет {@link LayoutRelay}.
+     */
+    public static LayoutRelayMessage of(UUID block, String type, String reason) {
+        return new LayoutRelayMessage(null, block, type, null, null, reason);
+    }
+
+    LayoutRelayMessage from(String nodeId) {
+        return new LayoutRelayMessage(nodeId, block, type, session, items, reason);
+    }
+}
@@ -0,0 +1,376 @@
+package webapp.resumegenerator.infrastructure.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import jakarta.servlet.http.HttpServletRequest;
+import java.io.IOException;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import webapp.resumegenerator.application.etag.EntityTagRegistry;
+import webapp.resumegenerator.application.patch.BlockPatchPlanner;
+import webapp.resumegenerator.application.patch.InvalidPatchException;
+import webapp.resumegenerator.application.service.BlockElementImportService;
+import webapp.resumegenerator.domain.model.BlockElement;
+import webapp.resumegenerator.domain.model.BlockImportResult;
+import webapp.resumegenerator.domain.model.LayoutDelta;
+import webapp.resumegenerator.domain.model.PageFormat;
+import webapp.resumegenerator.domain.model.PaginationResult;
+import webapp.resumegenerator.domain.service.BlockElementService;
+import webapp.resumegenerator.domain.service.PaginationService;
+
+/**
+ * REST-контроллер для управления блоками резюме.
+ * Обрабатывает HTTP-запросы, связанные с операциями CRUD для сущности {@link BlockElement}
+ * и пакетным импортом блоков.
+ */
+@RestController
+@RequestMapping("/blocks")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class BlockElementController {
+
+    /**
+     * Сервис для выполнения бизнес логики.
+     */
+    private final BlockElementService blockElementService;
+
+    /**
+     * Сервис пакетного импорта блоков.
+     */
+    private final BlockElementImportService blockElementImportService;
+
+    /**
+     * Реестр ETag блоков.
+     */
+    private final EntityTagRegistry entityTagRegistry;
+
+    /**
+     * Сервис разбиения блоков на страницы.
+     */
+    private final PaginationService paginationService;
+
+    /**
+     * Конструктор для внедрения зависимостей.
+     *
+     * @param blockElementService сервис для управления блоками.
+     * @param blockElementImportService сервис пакетного импорта блоков.
+     * @param entityTagRegistry реестр ETag блоков.
+     * @param paginationService сервис разбиения блоков на страницы.
+     */
+    @Autowired
+    public BlockElementController(BlockElementService blockElementService,
+                                  BlockElementImportService blockElementImportService,
+                                  EntityTagRegistry entityTagRegistry,
+                                  PaginationService paginationService) {
+        this.blockElementService = blockElementService;
+        this.blockElementImportService = blockElementImportService;
+        this.entityTagRegistry = entityTagRegistry;
+        this.paginationService = paginationService;
+    }
+
+    /**
+     * Получение списка всех блоков.
+     *
+     * @return Список блоков.
+     */
+    @Operation(summary = "Получить все блоки", description = "Возвращает список всех блоков резюме.")
+    @GetMapping
+    public List<BlockElement> getAllBlocks() {
+        return blockElementService.getAllBlocks();
+    }
+
+    /**
+     * Получение блока по идентификатору.
+     * Ответ содержит сильный ETag; при совпадении {@code If-None-Match} с известным тегом
+     * возвращается 304 без чтения блока.
+     *
+     * @param id Идентификатор блока.
+     * @param ifNoneMatch Теги блока, уже имеющиеся у клиента.
+     * @return {@link ResponseEntity} с HTTP статусом 200 (OK) и блоком, 304 (Not Modified), или 404 (Not Found).
+     */
+    @Operation(summary = "Получить блок по ID", description = "Возвращает дерево блока по его идентификатору.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Блок найден", content = {
+                    @Content(mediaType = "application/json", schema = @Schema(implementation = BlockElement.class))
+            }),
+            @ApiResponse(responseCode = "304", description = "Блок не изменился"),
+            @ApiResponse(responseCode = "404", description = "Блок не найден")
+    })
+    @GetMapping("/{id}")
+    public ResponseEntity<BlockElement> getBlockById(
+            @Parameter(description = "Идентификатор блока")
+            @PathVariable UUID id,
+            @Parameter(description = "ETag блока, имеющийся у клиента")
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        if (ifNoneMatch != null) {
+            String knownTag = entityTagRegistry.peek(EntityTagRegistry.BLOCKS, id);
+            if (EntityTagRegistry.matches(ifNoneMatch, knownTag, true)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(knownTag).build();
+            }
+        }
+        Optional<BlockElement> block = blockElementService.getBlockById(id);
+        if (block.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        String tag = entityTagRegistry.blockTag(block.get());
+        entityTagRegistry.remember(EntityTagRegistry.BLOCKS, id, tag);
+        if (EntityTagRegistry.matches(ifNoneMatch, tag, true)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(tag).build();
+        }
+        return ResponseEntity.ok().eTag(tag).body(block.get());
+    }
+
+    /**
+     * Разбиение дерева блока на печатные страницы.
+     *
+     * @param id Идентификатор корневого блока.
+     * @param format Формат страницы.
+     * @return {@link ResponseEntity} с HTTP статусом 200 (OK) и блоками каждой страницы,
+     *         404 (Not Found), если блок не найден, или 422 (Unprocessable Entity), если блок
+     *         не помещается в допустимое количество страниц.
+     */
+    @Operation(summary = "Разбить блок на страницы",
+            description = "Раскладывает дерево блока по ширине страницы и выбирает разрывы страниц, "
+                    + "не разрезая неделимые блоки и секции.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Страницы блока", content = {
+                    @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = PaginationResult.class))
+            }),
+            @ApiResponse(responseCode = "404", description = "Блок не найден"),
+            @ApiResponse(responseCode = "422", description = "Блок не помещается в допустимое количество страниц")
+    })
+    @GetMapping("/{id}/pages")
+    public ResponseEntity<PaginationResult> paginate(
+            @Parameter(description = "Идентификатор блока")
+            @PathVariable UUID id,
+            @Parameter(description = "Формат страницы", example = "A4")
+            @RequestParam(defaultValue = "A4") PageFormat format) {
+        try {
+            return ResponseEntity.ok(paginationService.paginate(id, format));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.notFound().build();
+        } catch (IllegalStateException e) {
+            return ResponseEntity.unprocessableEntity().build();
+        }
+    }
+
+    /**
+     * Поиск блоков по названию.
+     *
+     * @param name Название блока.
+     * @return Список блоков с указанным названием.
+     */
+    @Operation(summary = "Найти блоки по названию", description = "Возвращает блоки с указанным названием.")
+    @GetMapping("/search")
+    public List<BlockElement> getBlocksByName(
+            @Parameter(description = "Название блока", example = "experience")
+            @RequestParam String name) {
+        return blockElementService.getBlocksByName(name);
+    }
+
+    /**
+     * Создание нового блока.
+     *
+     * @param blockElement Данные блока.
+     * @return {@link ResponseEntity} с HTTP статусом 201 (Created), или 409 (Conflict), если имя занято.
+     */
+    @Operation(summary = "Создать блок", description = "Создаёт новый блок резюме.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "201", description = "Блок успешно создан"),
+            @ApiResponse(responseCode = "409", description = "Блок с таким именем уже существует")
+    })
+    @PostMapping(consumes = "application/json", produces = "application/json")
+    public ResponseEntity<BlockElement> createBlock(
+            @Parameter(description = "Данные нового блока")
+            @RequestBody BlockElement blockElement) {
+        try {
+            return ResponseEntity.status(HttpStatus.CREATED).body(blockElementService.createBlock(blockElement));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+    }
+
+    /**
+     * Обновление существующего блока.
+     * При наличии {@code If-Match} ревизия из тега передаётся в условную запись блока.
+     *
+     * @param id Идентификатор блока.
+     * @param blockElement Обновлённые данные блока.
+     * @param ifMatch ETag состояния блока, которое редактировал клиент.
+     * @return {@link ResponseEntity} с HTTP статусом 200 (OK) и обновлённым блоком, 404 (Not Found),
+     *         409 (Conflict), если ревизия блока в теле устарела,
+     *         или 412 (Precondition Failed), если блок изменён после получения клиентом.
+     */
+    @Operation(summary = "Обновить блок", description = "Обновляет существующий блок резюме.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Блок успешно обновлён"),
+            @ApiResponse(responseCode = "404", description = "Блок не найден"),
+            @ApiResponse(responseCode = "409", description = "Ревизия блока устарела: блок изменён другим клиентом"),
+            @ApiResponse(responseCode = "412", description = "Блок изменён после получения клиентом")
+    })
+    @PutMapping("/{id}")
+    public ResponseEntity<BlockElement> updateBlock(
+            @Parameter(description = "Идентификатор блока")
+            @PathVariable UUID id,
+            @Parameter(description = "Обновлённые данные блока")
+            @RequestBody BlockElement blockElement,
+            @Parameter(description = "ETag редактируемого состояния блока")
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        boolean conditional = ifMatch != null && !EntityTagRegistry.isWildcard(ifMatch);
+        if (conditional) {
+            Long revision = EntityTagRegistry.revisionOf(ifMatch);
+            if (revision == null) {
+                return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build();
+            }
+            blockElement.setRevision(revision);
+        }
+        try {
+            BlockElement updated = blockElementService.updateBlock(id, blockElement);
+            return ResponseEntity.ok().eTag(entityTagRegistry.blockTag(updated)).body(updated);
+        } catch (OptimisticLockingFailureException e) {
+            return ResponseEntity.status(conditional ? HttpStatus.PRECONDITION_FAILED : HttpStatus.CONFLICT).build();
+        } catch (IllegalArgumentException e) {
+            return ifMatch != null
+                    ? ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build()
+                    : ResponseEntity.notFound().build();
+        }
+    }
+
+    /**
+     * Частичное обновление блока по JSON Patch (RFC 6902).
+     * Изменяются только указанные поля, дерево блока целиком не передаётся и не перезаписывается.
+     *
+     * @param id Идентификатор блока.
+     * @param patch Операции JSON Patch.
+     * @return {@link ResponseEntity} с HTTP статусом 200 (OK) и изменённым блоком, 400 (Bad Request),
+     *         404 (Not Found) или 409 (Conflict), если не выполнена операция {@code test}.
+     */
+    @Operation(summary = "Частично обновить блок",
+            description = "Применяет JSON Patch к раскладке и простым полям блока; "
+                    + "операция test по пути /revision проверяет ревизию блока.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Патч применён"),
+            @ApiResponse(responseCode = "400", description = "Некорректный патч"),
+            @ApiResponse(responseCode = "404", description = "Блок не найден"),
+            @ApiResponse(responseCode = "409", description = "Блок изменён другим клиентом или не выполнена операция test")
+    })
+    @PatchMapping(value = "/{id}", consumes = BlockPatchPlanner.JSON_PATCH)
+    public ResponseEntity<BlockElement> patchBlock(
+            @Parameter(description = "Идентификатор блока")
+            @PathVariable UUID id,
+            @Parameter(description = "Операции JSON Patch")
+            @RequestBody JsonNode patch) {
+        try {
+            BlockElement patched = blockElementService.patchBlock(id, patch);
+            return ResponseEntity.ok().eTag(entityTagRegistry.blockTag(patched)).body(patched);
+        } catch (OptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        } catch (InvalidPatchException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    /**
+     * Перемещение элементов раскладки блока по ключу {@code i}.
+     * Предназначено для автосохранения после перетаскивания: передаются только перемещённые элементы.
+     *
+     * @param id Идентификатор блока.
+     * @param delta Перемещённые элементы и ревизия, которую редактировал клиент.
+     * @return {@link ResponseEntity} с HTTP статусом 200 (OK) и изменённым блоком, 400 (Bad Request),
+     *         404 (Not Found) или 409 (Conflict), если блок изменён другим клиентом.
+     */
+    @Operation(summary = "Переместить элементы раскладки",
+            description = "Обновляет координаты и размеры элементов раскладки, найденных по ключу i.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Элементы перемещены"),
+            @ApiResponse(responseCode = "400", description = "Пустое перемещение или элемент не найден"),
+            @ApiResponse(responseCode = "404", description = "Блок не найден"),
+            @ApiResponse(responseCode = "409", description = "Блок изменён другим клиентом")
+    })
+    @PatchMapping(value = "/{id}/layout", consumes = "application/json")
+    public ResponseEntity<BlockElement> moveLayouts(
+            @Parameter(description = "Идентификатор блока")
+            @PathVariable UUID id,
+            @Parameter(description = "Перемещённые элементы раскладки")
+            @RequestBody LayoutDelta delta) {
+        try {
+            BlockElement moved = blockElementService.moveLayouts(id, delta);
+            return ResponseEntity.ok().eTag(entityTagRegistry.blockTag(moved)).body(moved);
+        } catch (OptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        } catch (InvalidPatchException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    /**
+     * Удаление блока.
+     *
+     * @param id Идентификатор блока.
+     * @return {@link ResponseEntity} с HTTP статусом 204 (No Content), или 404 (Not Found).
+     */
+    @Operation(summary = "Удалить блок", description = "Удаляет блок резюме по идентификатору.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "204", description = "Блок успешно удалён"),
+            @ApiResponse(responseCode = "404", description = "Блок не найден")
+    })
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> deleteBlock(
+            @Parameter(description = "Идентификатор блока")
+            @PathVariable UUID id) {
+        try {
+            blockElementService.deleteBlock(id);
+            return ResponseEntity.noContent().build();
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    /**
+     * Пакетный импорт блоков из NDJSON-потока.
+     *
+     * @param request HTTP-запрос, тело которого содержит по одному дереву блока на строку.
+     * @return {@link ResponseEntity} с HTTP статусом 200 (OK) и результатами по каждой записи.
+     * @throws IOException при ошибке чтения тела запроса.
+     */
+    @Operation(summary = "Импортировать блоки",
+            description = "Принимает NDJSON-поток блоков и сохраняет их пакетами; возвращает результат по каждой строке.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Импорт выполнен", content = {
+                    @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = BlockImportResult.class))
+            })
+    })
+    @PostMapping(value = "/import", consumes = "application/x-ndjson", produces = "application/json")
+    public ResponseEntity<BlockImportResult> importBlocks(HttpServletRequest request) throws IOException {
+        return ResponseEntity.ok(blockElementImportService.importBlocks(request.getInputStream()));
+    }
+
+}
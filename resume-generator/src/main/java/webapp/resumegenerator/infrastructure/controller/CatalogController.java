@@ -0,0 +1,111 @@
+package webapp.resumegenerator.infrastructure.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import jakarta.servlet.http.HttpServletRequest;
+import java.io.IOException;
+import java.time.LocalDate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import webapp.resumegenerator.application.service.CatalogArchiveService;
+import webapp.resumegenerator.application.service.CatalogArchiveService.Compression;
+import webapp.resumegenerator.application.service.CatalogArchiveService.ImportMode;
+import webapp.resumegenerator.domain.model.CatalogImportResult;
+
+/**
+ * REST-контроллер переноса каталога шаблонов и блоков между окружениями.
+ * Архив передаётся потоком в обе стороны и не собирается в памяти целиком.
+ */
+@RestController
+@RequestMapping("/catalog")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class CatalogController {
+
+    /**
+     * Сервис архивов каталога.
+     */
+    private final CatalogArchiveService catalogArchiveService;
+
+    /**
+     * Конструктор для внедрения зависимостей.
+     *
+     * @param catalogArchiveService сервис архивов каталога.
+     */
+    @Autowired
+    public CatalogController(CatalogArchiveService catalogArchiveService) {
+        this.catalogArchiveService = catalogArchiveService;
+    }
+
+    /**
+     * Выгрузка каталога в сжатый NDJSON-архив.
+     *
+     * @param compression Сжатие архива.
+     * @return {@link ResponseEntity} с HTTP статусом 200 (OK) и архивом в теле ответа.
+     */
+    @Operation(summary = "Выгрузить каталог",
+            description = "Передаёт шаблоны, блоки, настройки секций, элементы раскладки и наборы стилей "
+                    + "потоком NDJSON, сжатым gzip или zstd.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Архив каталога", content = {
+                    @Content(mediaType = "application/gzip"),
+                    @Content(mediaType = "application/zstd")
+            })
+    })
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportCatalog(
+            @Parameter(description = "Сжатие архива", example = "GZIP")
+            @RequestParam(defaultValue = "GZIP") Compression compression) {
+        String fileName = "catalog-" + LocalDate.now() + compression.getExtension();
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(compression.getMediaType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename(fileName).build().toString())
+                .body(out -> catalogArchiveService.exportCatalog(out, compression));
+    }
+
+    /**
+     * Загрузка каталога из архива, полученного {@link #exportCatalog}.
+     *
+     * @param mode Режим загрузки документов, которые уже есть в БД.
+     * @param request HTTP-запрос, тело которого содержит архив.
+     * @return {@link ResponseEntity} с HTTP статусом 200 (OK) и итогом импорта,
+     *         или 400 (Bad Request), если тело запроса не является архивом каталога.
+     * @throws IOException при ошибке чтения тела запроса.
+     */
+    @Operation(summary = "Загрузить каталог",
+            description = "Принимает архив каталога в gzip, zstd или без сжатия и сохраняет документы пакетами.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Импорт выполнен", content = {
+                    @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = CatalogImportResult.class))
+            }),
+            @ApiResponse(responseCode = "400", description = "Тело запроса не является архивом каталога")
+    })
+    @PostMapping(value = "/import",
+            consumes = {"application/gzip", "application/zstd", "application/x-ndjson", "application/octet-stream"},
+            produces = "application/json")
+    public ResponseEntity<CatalogImportResult> importCatalog(
+            @Parameter(description = "Режим загрузки существующих документов", example = "INSERT")
+            @RequestParam(defaultValue = "INSERT") ImportMode mode,
+            HttpServletRequest request) throws IOException {
+        try {
+            return ResponseEntity.ok(catalogArchiveService.importCatalog(request.getInputStream(), mode));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package webapp.resumegenerator.infrastructure.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.ConcurrentWebSocketSessionDecorator;
+import org.springframework.web.socket.handler.TextWebSocketHandler;
+import webapp.resumegenerator.application.collab.LayoutMove;
+import webapp.resumegenerator.application.collab.LayoutRoomRegistry;
+import webapp.resumegenerator.application.layout.GridLayoutEngine;
+
+/**
+ * WebSocket-канал совместного редактирования раскладки дерева блока: {@code /ws/blocks/{id}/layout}.
+ * <p>
+ * Клиент отправляет {@code {"type":"move","items":[{"i":..,"x":..,"y":..,"w":..,"h":..}]}}.
+ * Сервер отвечает сначала {@code snapshot} с текущими положениями элементов, затем рассылает
+ * всем участникам {@code moved} с номером {@code seq} в порядке комнаты; сообщения {@code moved}
+ * с номером не больше номера снимка клиент пропускает. {@code resync} означает, что раскладку
+ * нужно перечитать через REST. {@code rejected} получает только автор сообщения с элементами, которых
+ * нет в дереве блока; такое сообщение не рассылается и не сохраняется. Отправка каждой сессии ограничена по времени и размеру буфера,
+ * поэтому медленный участник отключается, а не задерживает рассылку остальным.
+ */
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class LayoutCollaborationHandler extends TextWebSocketHandler {
+
+    private final LayoutRoomRegistry registry;
+
+    private final ObjectMapper objectMapper;
+
+    private final int sendTimeLimit;
+
+    private final int sendBufferLimit;
+
+    private final int maxItems;
+
+    private final Map<String, UUID> sessionBlocks = new ConcurrentHashMap<>();
+
+    /**
+     * Конструктор для внедрения зависимостей.
+     *
+     * @param registry Комнаты совместного редактирования.
+     * @param objectMapper Разбор сообщений.
+     * @param sendTimeLimit Максимальное время отправки одного сообщения сессии.
+     * @param sendBufferLimit Максимальный объём неотправленных сообщений сессии.
+     * @param maxItems Максимальное количество элементов в одном сообщении.
+     */
+    public LayoutCollaborationHandler(LayoutRoomRegistry registry, ObjectMapper objectMapper,
+                                      @Value("${generator.collab.send-time-limit:5s}") Duration sendTimeLimit,
+                                      @Value("${generator.collab.send-buffer-limit:512KB}") DataSize sendBufferLimit,
+                                      @Value("${generator.collab.max-items-per-message:200}") int maxItems) {
+        this.registry = registry;
+        this.objectMapper = objectMapper;
+        this.sendTimeLimit = (int) sendTimeLimit.toMillis();
+        this.sendBufferLimit = (int) sendBufferLimit.toBytes();
+        this.maxItems = maxItems;
+    }
+
+    @Override
+    public void afterConnectionEstablished(WebSocketSession session) throws IOException {
+        UUID blockId = blockId(session.getUri());
+        if (blockId == null) {
+            session.close(CloseStatus.BAD_DATA.withReason("Некорректный идентификатор блока"));
+            return;
+        }
+        WebSocketSession concurrent = new ConcurrentWebSocketSessionDecorator(session, sendTimeLimit,
+                sendBufferLimit, ConcurrentWebSocketSessionDecorator.OverflowStrategy.TERMINATE);
+        try {
+            registry.join(blockId, concurrent);
+        } catch (IllegalArgumentException e) {
+            session.close(CloseStatus.NOT_ACCEPTABLE.withReason("Блок не найден"));
+            return;
+        }
+        sessionBlocks.put(session.getId(), blockId);
+    }
+
+    @Override
+    protected void handleTextMessage(WebSocketSession session, TextMessage message) throws IOException {
+        UUID blockId = sessionBlocks.get(session.getId());
+        if (blockId == null) {
+            return;
+        }
+        List<LayoutMove> moves = parseMoves(message.getPayload());
+        if (moves == null) {
+            session.close(CloseStatus.BAD_DATA.withReason("Некорректное сообщение"));
+            return;
+        }
+        registry.move(blockId, session.getId(), moves);
+    }
+
+    @Override
+    public void afterConnectionClosed(WebSocketSession session, CloseStatus status) {
+        UUID blockId = sessionBlocks.remove(session.getId());
+        if (blockId != null) {
+            registry.leave(blockId, session.getId());
+        }
+    }
+
+    /**
+     * Перемещения из сообщения клиента или {@code null}, если сообщение некорректно.
+     */
+    private List<LayoutMove> parseMoves(String payload) {
+        JsonNode root;
+        try {
+            root = objectMapper.readTree(payload);
+        } catch (IOException e) {
+            return null;
+        }
+        JsonNode items = root == null ? null : root.get("items");
+        if (!"move".equals(root == null ? null : root.path("type").asText(null))
+                || items == null || !items.isArray() || items.size() > maxItems) {
+            return null;
+        }
+        List<LayoutMove> moves = new ArrayList<>(items.size());
+        for (JsonNode item : items) {
+            JsonNode key = item.get("i");
+            if (key == null || !key.isTextual() || !isInt(item, "x") || !isInt(item, "y")
+                    || !isInt(item, "w") || !isInt(item, "h")) {
+                return null;
+            }
+            LayoutMove move = new LayoutMove(key.asText(), item.get("x").asInt(), item.get("y").asInt(),
+                    item.get("w").asInt(), item.get("h").asInt());
+            if (!GridLayoutEngine.isInBounds(move.x(), move.y(), move.w(), move.h())) {
+                return null;
+            }
+            moves.add(move);
+        }
+        return moves;
+    }
+
+    private static boolean isInt(JsonNode item, String field) {
+        JsonNode value = item.get(field);
+        return value != null && value.canConvertToInt() && value.isIntegralNumber();
+    }
+
+    /**
+     * Идентификатор блока из пути {@code /ws/blocks/{id}/layout}.
+     */
+    static UUID blockId(URI uri) {
+        if (uri == null) {
+            return null;
+        }
+        String[] segments = uri.getPath().split("/");
+        if (segments.length < 2) {
+            return null;
+        }
+        try {
+            return UUID.fromString(segments[segments.length - 2]);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package webapp.resumegenerator.infrastructure.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import java.util.List;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import webapp.resumegenerator.domain.model.BlockElement;
+import webapp.resumegenerator.domain.model.Layout;
+import webapp.resumegenerator.domain.service.LayoutService;
+
+/**
+ * REST-контроллер для серверной обработки макета блоков.
+ */
+@RestController
+@RequestMapping("/layouts")
+public class LayoutController {
+
+    /**
+     * Сервис расчёта макета.
+     */
+    private final LayoutService layoutService;
+
+    /**
+     * Конструктор для внедрения зависимости LayoutService.
+     *
+     * @param layoutService сервис расчёта макета.
+     */
+    @Autowired
+    public LayoutController(LayoutService layoutService) {
+        this.layoutService = layoutService;
+    }
+
+    /**
+     * Нормализует макет: разрешает пересечения, уплотняет элементы и применяет ограничения.
+     *
+     * @param columns Количество колонок сетки.
+     * @param layouts Элементы макета.
+     * @return {@link ResponseEntity} с HTTP статусом 200 (OK) и нормализованным макетом
+     *         или 400 (Bad Request), если макет выходит за пределы сетки.
+     */
+    @Operation(summary = "Нормализовать макет",
+            description = "Разрешает пересечения, выполняет вертикальное уплотнение и применяет ограничения размеров.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Макет нормализован", content = {
+                    @Content(mediaType = "application/json", schema = @Schema(implementation = List.class))
+            }),
+            @ApiResponse(responseCode = "400", description = "Макет выходит за пределы сетки")
+    })
+    @PostMapping("/normalize")
+    public ResponseEntity<List<Layout>> normalizeLayout(
+            @Parameter(description = "Количество колонок сетки", example = "12")
+            @RequestParam(defaultValue = "12") int columns,
+            @Parameter(description = "Элементы макета")
+            @RequestBody List<Layout> layouts) {
+        try {
+            return ResponseEntity.ok(layoutService.normalizeLayout(layouts, columns));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * Проверяет корректность макета.
+     *
+     * @param columns Количество колонок сетки.
+     * @param layouts Элементы макета.
+     * @return {@code true}, если макет не содержит пересечений и нарушений ограничений,
+     *         или HTTP статус 400 (Bad Request) при недопустимом количестве колонок.
+     */
+    @Operation(summary = "Проверить макет",
+            description = "Возвращает `true`, если элементы макета не пересекаются и удовлетворяют ограничениям.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Результат проверки"),
+            @ApiResponse(responseCode = "400", description = "Недопустимое количество колонок")
+    })
+    @PostMapping("/validate")
+    public ResponseEntity<Boolean> validateLayout(
+            @Parameter(description = "Количество колонок сетки", example = "12")
+            @RequestParam(defaultValue = "12") int columns,
+            @Parameter(description = "Элементы макета")
+            @RequestBody List<Layout> layouts) {
+        try {
+            return ResponseEntity.ok(layoutService.isLayoutValid(layouts, columns));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * Автоматически компонует дерево блока с минимальной высотой.
+     *
+     * @param block Блок с дочерними блоками и их макетами.
+     * @return {@link ResponseEntity} с HTTP статусом 200 (OK) и блоком с найденными макетами
+     *         или 400 (Bad Request), если макет выходит за пределы сетки.
+     */
+    @Operation(summary = "Автоматически скомпоновать блок",
+            description = "Для каждого блока дерева ищет размещение дочерних блоков по его колонкам с минимальной "
+                    + "высотой. Статические элементы не перемещаются, размеры остаются в пределах ограничений. "
+                    + "Поиск ограничен по времени (`generator.layout.arrange.time-limit`).")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Блок скомпонован", content = {
+                    @Content(mediaType = "application/json", schema = @Schema(implementation = BlockElement.class))
+            }),
+            @ApiResponse(responseCode = "400", description = "Макет выходит за пределы сетки")
+    })
+    @PostMapping("/arrange")
+    public ResponseEntity<BlockElement> arrangeBlock(
+            @Parameter(description = "Блок с дочерними блоками и их макетами")
+            @RequestBody BlockElement block) {
+        try {
+            return ResponseEntity.ok(layoutService.arrangeBlock(block));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+}
@@ -0,0 +1,250 @@
+package webapp.resumegenerator.infrastructure.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import java.time.Duration;
+import java.util.Map;
+import java.util.UUID;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import webapp.resumegenerator.application.etag.EntityTagRegistry;
+import webapp.resumegenerator.application.export.DocumentWriter;
+import webapp.resumegenerator.application.export.DocumentWriters;
+import webapp.resumegenerator.application.render.TemplateSyntaxException;
+import webapp.resumegenerator.domain.model.ExportFormat;
+import webapp.resumegenerator.domain.model.ResumeDocument;
+import webapp.resumegenerator.domain.model.TemplateThumbnail;
+import webapp.resumegenerator.domain.service.RenderService;
+import webapp.resumegenerator.domain.service.ThumbnailService;
+
+/**
+ * REST-контроллер для серверного рендеринга резюме по шаблону.
+ */
+@RestController
+@RequestMapping("/templates")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class RenderController {
+
+    /**
+     * Сервис рендеринга.
+     */
+    private final RenderService renderService;
+
+    /**
+     * Сервис миниатюр шаблонов.
+     */
+    private final ThumbnailService thumbnailService;
+
+    /**
+     * Запись документов резюме по форматам выгрузки.
+     */
+    private final DocumentWriters documentWriters;
+
+    /**
+     * Время кэширования миниатюры, запрошенной без метки.
+     */
+    private final Duration thumbnailMaxAge;
+
+    /**
+     * Время кэширования миниатюры, запрошенной по метке текущего состояния шаблона.
+     */
+    private final Duration taggedThumbnailMaxAge;
+
+    /**
+     * Конструктор для внедрения зависимостей.
+     *
+     * @param renderService сервис рендеринга резюме.
+     * @param thumbnailService сервис миниатюр шаблонов.
+     * @param documentWriters запись документов резюме по форматам выгрузки.
+     * @param thumbnailMaxAge время кэширования миниатюры без метки.
+     * @param taggedThumbnailMaxAge время кэширования миниатюры с меткой.
+     */
+    @Autowired
+    public RenderController(RenderService renderService, ThumbnailService thumbnailService,
+                            DocumentWriters documentWriters,
+                            @Value("${generator.thumbnail.max-age:1d}") Duration thumbnailMaxAge,
+                            @Value("${generator.thumbnail.tagged-max-age:365d}") Duration taggedThumbnailMaxAge) {
+        this.renderService = renderService;
+        this.thumbnailService = thumbnailService;
+        this.documentWriters = documentWriters;
+        this.thumbnailMaxAge = thumbnailMaxAge;
+        this.taggedThumbnailMaxAge = taggedThumbnailMaxAge;
+    }
+
+    /**
+     * Рендерит резюме в HTML по шаблону.
+     *
+     * @param id Идентификатор шаблона.
+     * @param resume Данные резюме.
+     * @param blockId Идентификатор блока, доступного в шаблоне как {@code block}.
+     * @return {@link ResponseEntity} с HTTP статусом 200 (OK) и HTML-представлением резюме
+     *         или 404 (Not Found), если блок не найден.
+     */
+    @Operation(summary = "Отрендерить резюме по шаблону",
+            description = "Возвращает HTML-представление переданных данных резюме по указанному шаблону.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Резюме успешно отрендерено", content = {
+                    @Content(mediaType = "text/html", schema = @Schema(implementation = String.class))
+            }),
+            @ApiResponse(responseCode = "400", description = "Ошибка в контенте шаблона"),
+            @ApiResponse(responseCode = "404", description = "Блок не найден")
+    })
+    @PostMapping(value = "/{id}/render", consumes = MediaType.APPLICATION_JSON_VALUE,
+            produces = MediaType.TEXT_HTML_VALUE)
+    public ResponseEntity<String> renderTemplate(
+            @Parameter(description = "Идентификатор шаблона", example = "12345")
+            @PathVariable String id,
+            @Parameter(description = "Данные резюме")
+            @RequestBody Map<String, Object> resume,
+            @Parameter(description = "Идентификатор блока, доступного в шаблоне как block")
+            @RequestParam(required = false) UUID blockId) {
+        try {
+            return ResponseEntity.ok(renderService.renderTemplate(id, resume, blockId));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    /**
+     * Выгружает резюме по шаблону в HTML, PDF, Markdown или простой текст.
+     * Промежуточный документ строится до начала ответа, поэтому ошибки шаблона и отсутствие
+     * блока возвращаются статусом; сам файл пишется в ответ потоком.
+     *
+     * @param id Идентификатор шаблона.
+     * @param format Формат выгрузки.
+     * @param resume Данные резюме.
+     * @param blockId Идентификатор блока, доступного в шаблоне как {@code block}.
+     * @return {@link ResponseEntity} с HTTP статусом 200 (OK) и файлом резюме
+     *         или 404 (Not Found), если блок не найден.
+     */
+    @Operation(summary = "Выгрузить резюме",
+            description = "Возвращает файл резюме в выбранном формате. Документ резюме кэшируется, "
+                    + "поэтому выгрузка того же резюме в другой формат не рендерит шаблон заново.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Файл резюме", content = {
+                    @Content(mediaType = "text/html"),
+                    @Content(mediaType = "application/pdf"),
+                    @Content(mediaType = "text/markdown"),
+                    @Content(mediaType = "text/plain")
+            }),
+            @ApiResponse(responseCode = "400", description = "Ошибка в контенте шаблона"),
+            @ApiResponse(responseCode = "404", description = "Блок не найден")
+    })
+    @PostMapping(value = "/{id}/export", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportResume(
+            @Parameter(description = "Идентификатор шаблона", example = "12345")
+            @PathVariable String id,
+            @Parameter(description = "Формат выгрузки", example = "PDF")
+            @RequestParam(defaultValue = "PDF") ExportFormat format,
+            @Parameter(description = "Данные резюме")
+            @RequestBody Map<String, Object> resume,
+            @Parameter(description = "Идентификатор блока, доступного в шаблоне как block")
+            @RequestParam(required = false) UUID blockId) {
+        ResumeDocument document;
+        try {
+            document = renderService.renderDocument(id, resume, blockId);
+        } catch (TemplateSyntaxException e) {
+            throw e;
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.notFound().build();
+        }
+        DocumentWriter writer = documentWriters.get(format);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(format.getMediaType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename("resume" + format.getExtension()).build().toString())
+                .body(out -> writer.write(document, out));
+    }
+
+    /**
+     * Возвращает миниатюру шаблона в PNG для галереи.
+     * Метка миниатюры передаётся в ETag; запрос с параметром {@code v}, равным текущей метке,
+     * кэшируется клиентом как неизменяемый, без метки — на {@code generator.thumbnail.max-age}
+     * с последующей проверкой по {@code If-None-Match}.
+     *
+     * @param id Идентификатор шаблона.
+     * @param tag Метка миниатюры, полученная ранее из ETag.
+     * @param ifNoneMatch ETag миниатюры, имеющийся у клиента.
+     * @return {@link ResponseEntity} с HTTP статусом 200 (OK) и изображением,
+     *         304 (Not Modified) или 404 (Not Found), если идентификатор некорректен.
+     */
+    @Operation(summary = "Получить миниатюру шаблона",
+            description = "Возвращает PNG-миниатюру шаблона, отрендеренного на демонстрационном резюме.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Миниатюра шаблона", content = {
+                    @Content(mediaType = "image/png")
+            }),
+            @ApiResponse(responseCode = "304", description = "Миниатюра не изменилась"),
+            @ApiResponse(responseCode = "400", description = "Ошибка в контенте шаблона"),
+            @ApiResponse(responseCode = "404", description = "Шаблон не найден")
+    })
+    @GetMapping(value = "/{id}/thumbnail", produces = MediaType.IMAGE_PNG_VALUE)
+    public ResponseEntity<byte[]> getThumbnail(
+            @Parameter(description = "Идентификатор шаблона", example = "12345")
+            @PathVariable String id,
+            @Parameter(description = "Метка миниатюры из ETag")
+            @RequestParam(name = "v", required = false) String tag,
+            @Parameter(description = "ETag миниатюры, имеющийся у клиента")
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        try {
+            String currentTag = thumbnailService.getThumbnailTag(id);
+            String etag = "\"" + currentTag + "\"";
+            if (EntityTagRegistry.matches(ifNoneMatch, etag, true)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                        .eTag(etag)
+                        .cacheControl(thumbnailCacheControl(currentTag, tag))
+                        .build();
+            }
+            TemplateThumbnail thumbnail = thumbnailService.getThumbnail(id);
+            return ResponseEntity.ok()
+                    .eTag("\"" + thumbnail.tag() + "\"")
+                    .cacheControl(thumbnailCacheControl(thumbnail.tag(), tag))
+                    .contentType(MediaType.IMAGE_PNG)
+                    .body(thumbnail.png());
+        } catch (TemplateSyntaxException e) {
+            throw e;
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    private CacheControl thumbnailCacheControl(String currentTag, String requestedTag) {
+        return currentTag.equals(requestedTag)
+                ? CacheControl.maxAge(taggedThumbnailMaxAge).cachePublic().immutable()
+                : CacheControl.maxAge(thumbnailMaxAge).cachePublic().mustRevalidate();
+    }
+
+    /**
+     * Обрабатывает ошибки разбора контента шаблона.
+     *
+     * @param ex Исключение разбора шаблона.
+     * @return {@link ResponseEntity} с HTTP статусом 400 и описанием ошибки.
+     */
+    @ExceptionHandler(TemplateSyntaxException.class)
+    public ResponseEntity<Map<String, String>> handleTemplateSyntaxException(TemplateSyntaxException ex) {
+        return ResponseEntity.badRequest()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(Map.of("content", ex.getMessage()));
+    }
+}
@@ -0,0 +1,123 @@
+package webapp.resumegenerator.infrastructure.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import jakarta.validation.Valid;
+import java.net.URI;
+import java.util.List;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import webapp.resumegenerator.domain.model.RenderJobRequest;
+import webapp.resumegenerator.domain.model.RenderJobStatus;
+import webapp.resumegenerator.domain.service.RenderJobService;
+
+/**
+ * REST-контроллер заданий пакетного рендеринга резюме.
+ * Задание выполняется в фоне; клиент опрашивает его состояние по идентификатору.
+ */
+@RestController
+@RequestMapping("/render-jobs")
+public class RenderJobController {
+
+    /**
+     * Сервис заданий пакетного рендеринга.
+     */
+    private final RenderJobService renderJobService;
+
+    /**
+     * Конструктор для внедрения зависимостей.
+     *
+     * @param renderJobService сервис заданий пакетного рендеринга.
+     */
+    @Autowired
+    public RenderJobController(RenderJobService renderJobService) {
+        this.renderJobService = renderJobService;
+    }
+
+    /**
+     * Запускает задание пакетного рендеринга.
+     *
+     * @param request Параметры задания.
+     * @return {@link ResponseEntity} с HTTP статусом 202 (Accepted) и состоянием задания,
+     *         или 400 (Bad Request), если шаблон не найден или не заданы резюме.
+     */
+    @Operation(summary = "Запустить пакетный рендеринг",
+            description = "Рендерит резюме из списка идентификаторов или поискового запроса по шаблону в фоне.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "202", description = "Задание запущено", content = {
+                    @Content(mediaType = "application/json", schema = @Schema(implementation = RenderJobStatus.class))
+            }),
+            @ApiResponse(responseCode = "400", description = "Шаблон не найден или не заданы резюме")
+    })
+    @PostMapping(consumes = "application/json", produces = "application/json")
+    public ResponseEntity<RenderJobStatus> submit(
+            @Parameter(description = "Параметры задания")
+            @Valid @RequestBody RenderJobRequest request) {
+        try {
+            RenderJobStatus status = renderJobService.submit(request);
+            return ResponseEntity.accepted().location(URI.create("/render-jobs/" + status.getId())).body(status);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * Состояние всех хранимых заданий.
+     *
+     * @return Список состояний заданий, от новых к старым.
+     */
+    @Operation(summary = "Получить задания пакетного рендеринга")
+    @GetMapping
+    public List<RenderJobStatus> getJobs() {
+        return renderJobService.getJobs();
+    }
+
+    /**
+     * Состояние задания: количество обработанных резюме, ошибки и скорость.
+     *
+     * @param id Идентификатор задания.
+     * @return {@link ResponseEntity} с HTTP статусом 200 (OK) и состоянием задания, или 404 (Not Found).
+     */
+    @Operation(summary = "Получить состояние задания пакетного рендеринга")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Состояние задания", content = {
+                    @Content(mediaType = "application/json", schema = @Schema(implementation = RenderJobStatus.class))
+            }),
+            @ApiResponse(responseCode = "404", description = "Задание не найдено")
+    })
+    @GetMapping("/{id}")
+    public ResponseEntity<RenderJobStatus> getStatus(
+            @Parameter(description = "Идентификатор задания")
+            @PathVariable String id) {
+        return renderJobService.getStatus(id)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Отменяет задание: новые резюме в работу не выдаются, начатые рендеринги завершаются.
+     *
+     * @param id Идентификатор задания.
+     * @return {@link ResponseEntity} с HTTP статусом 202 (Accepted) и состоянием задания, или 404 (Not Found).
+     */
+    @Operation(summary = "Отменить задание пакетного рендеринга")
+    @DeleteMapping("/{id}")
+    public ResponseEntity<RenderJobStatus> cancel(
+            @Parameter(description = "Идентификатор задания")
+            @PathVariable String id) {
+        return renderJobService.cancel(id)
+                .map(status -> ResponseEntity.accepted().body(status))
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+}
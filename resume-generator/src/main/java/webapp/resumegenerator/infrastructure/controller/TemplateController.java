@@ -9,16 +9,25 @@ import io.swagger.v3.oas.annotations.media.ExampleObject;
 import io.swagger.v3.oas.annotations.media.Schema;
 import org.springframework.web.bind.annotation.*;
 import jakarta.validation.Valid;
+import webapp.resumegenerator.application.etag.EntityTagRegistry;
+import webapp.resumegenerator.domain.service.TemplateNotFoundException;
 import webapp.resumegenerator.domain.service.TemplateService;
+import webapp.resumegenerator.domain.model.CursorPage;
 import webapp.resumegenerator.domain.model.Template;
+import webapp.resumegenerator.domain.model.TemplateSummary;
+import webapp.resumegenerator.domain.model.TemplateVersionInfo;
+import webapp.resumegenerator.domain.service.TemplateVersionService;
 import java.time.LocalDate;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
@@ -30,6 +39,7 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
@@ -42,6 +52,7 @@ import webapp.resumegenerator.domain.service.TemplateService;
  */
 @RestController
 @RequestMapping("/templates")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class TemplateController {
 
     /**
@@ -50,13 +61,29 @@ public class TemplateController {
     private final TemplateService templateService;
 
     /**
-     * Конструктор для внедрения зависимсоти TemplateService.
+     * Сервис истории версий шаблонов.
+     */
+    private final TemplateVersionService templateVersionService;
+
+    /**
+     * Реестр ETag шаблонов.
+     */
+    private final EntityTagRegistry entityTagRegistry;
+
+    /**
+     * Конструктор для внедрения зависимостей.
      *
      * @param templateService сервис для управления шаблонами.
+     * @param templateVersionService сервис истории версий шаблонов.
+     * @param entityTagRegistry реестр ETag шаблонов.
      */
     @Autowired
-    public TemplateController(TemplateService templateService) {
+    public TemplateController(TemplateService templateService,
+                              TemplateVersionService templateVersionService,
+                              EntityTagRegistry entityTagRegistry) {
         this.templateService = templateService;
+        this.templateVersionService = templateVersionService;
+        this.entityTagRegistry = entityTagRegistry;
     }
 
     /**
@@ -86,11 +113,75 @@ public class TemplateController {
         return templateService.getAllTemplates(pageable);
     }
 
+    /**
+     * Получение списка кратких представлений шаблонов (без контента) с пагинацией.
+     *
+     * @param page Номер страницы.
+     * @param size Количество элементов на странице.
+     * @return Страница кратких представлений шаблонов.
+     */
+    @Operation(summary = "Получить список шаблонов без контента с пагинацией",
+            description = "Возвращает страницу с названием, описанием, датой и версией шаблонов.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Успешный ответ", content = {
+                    @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = Page.class))
+            }),
+            @ApiResponse(responseCode = "400", description = "Неверные параметры запроса")
+    })
+    @GetMapping("/summaries")
+    public Page<TemplateSummary> getTemplateSummaries(
+            @Parameter(description = "Номер страницы", example = "0")
+            @RequestParam(defaultValue = "0") int page,
+            @Parameter(description = "Количество элементов на странице", example = "10")
+            @RequestParam(defaultValue = "10") int size) {
+        return templateService.getTemplateSummaries(PageRequest.of(page, size));
+    }
+
+    /**
+     * Получение списка шаблонов с курсорной пагинацией.
+     * В отличие от постраничного списка не пропускает записи и не подсчитывает их
+     * на каждом запросе, поэтому глубокие порции читаются так же быстро, как первая.
+     *
+     * @param cursor Курсор из предыдущей порции; не указывается для первой порции.
+     * @param size Количество элементов в порции.
+     * @param count Нужно ли вернуть примерное общее количество шаблонов.
+     * @return {@link ResponseEntity} с HTTP статусом 200 (OK) и порцией шаблонов или 400 при некорректном курсоре.
+     */
+    @Operation(summary = "Получить список шаблонов с курсорной пагинацией",
+            description = "Возвращает порцию шаблонов без контента в порядке (дата, идентификатор) "
+                    + "и курсор следующей порции.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Успешный ответ", content = {
+                    @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = CursorPage.class))
+            }),
+            @ApiResponse(responseCode = "400", description = "Некорректный курсор")
+    })
+    @GetMapping("/scroll")
+    public ResponseEntity<CursorPage<TemplateSummary>> scrollTemplates(
+            @Parameter(description = "Курсор следующей порции")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Количество элементов в порции", example = "10")
+            @RequestParam(defaultValue = "10") int size,
+            @Parameter(description = "Вернуть примерное общее количество шаблонов", example = "false")
+            @RequestParam(defaultValue = "false") boolean count) {
+        try {
+            return ResponseEntity.ok(templateService.getTemplatesAfter(cursor, size, count));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
     /**
      * Метод для получения шаблона по его уникальному идентификатору.
+     * Ответ содержит сильный ETag; если тег из {@code If-None-Match} совпадает с известным
+     * реестру тегом, возвращается 304 без чтения шаблона.
      *
      * @param id Уникальный идентификатор.
-     * @return {@link ResponseEntity} с HTTP статусом 200 (OK) и шаблоном, или 404 (Not Found), если шаблон не найден
+     * @param ifNoneMatch Теги шаблона, уже имеющиеся у клиента.
+     * @return {@link ResponseEntity} с HTTP статусом 200 (OK) и шаблоном, 304 (Not Modified),
+     *         если шаблон не изменился, или 404 (Not Found), если шаблон не найден
      */
     @Operation(summary = "Получить шаблон по ID", description = "Возвращает шаблон резюме по его идентификатору.")
     @ApiResponses({
@@ -98,17 +189,31 @@ public class TemplateController {
                     @Content(mediaType = "application/json",
                             schema = @Schema(implementation = Template.class))
             }),
+            @ApiResponse(responseCode = "304", description = "Шаблон не изменился"),
             @ApiResponse(responseCode = "404", description = "Шаблон не найден")
     })
     @GetMapping("/{id}")
     public ResponseEntity<Template> getTemplateById(
             @Parameter(description = "Идентификатор шаблона", example = "12345")
-            @PathVariable String id) {
+            @PathVariable String id,
+            @Parameter(description = "ETag шаблона, имеющийся у клиента")
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        if (ifNoneMatch != null) {
+            String knownTag = entityTagRegistry.peek(EntityTagRegistry.TEMPLATES, id);
+            if (EntityTagRegistry.matches(ifNoneMatch, knownTag, true)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(knownTag).build();
+            }
+        }
         Template template = templateService.getTemplateById(id);
         if (template == null) {
             return ResponseEntity.notFound().build();
         }
-        return ResponseEntity.ok(template);
+        String tag = EntityTagRegistry.templateTag(template);
+        entityTagRegistry.remember(EntityTagRegistry.TEMPLATES, id, tag);
+        if (EntityTagRegistry.matches(ifNoneMatch, tag, true)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(tag).build();
+        }
+        return ResponseEntity.ok().eTag(tag).body(template);
     }
 
     /**
@@ -137,27 +242,39 @@ public class TemplateController {
      * Метод для удаления шаблона по его уникальному идентификатору.
      *
      * @param id Уникальный идентификатор шаблона.
-     * @return {@link ResponseEntity} с HTTP статусом 204 (No Content), если удаление успешно.
+     * @return {@link ResponseEntity} с HTTP статусом 204 (No Content), если удаление успешно,
+     *         или 404 (Not Found), если шаблон не найден.
      */
     @Operation(summary = "Удалить шаблон", description = "Удаляет шаблон резюме по идентификатору.")
     @ApiResponses({
             @ApiResponse(responseCode = "204", description = "Шаблон успешно удалён"),
+            @ApiResponse(responseCode = "400", description = "Некорректный идентификатор"),
             @ApiResponse(responseCode = "404", description = "Шаблон не найден")
     })
     @DeleteMapping("/{id}")
     public ResponseEntity<Template> deleteTemplate(
             @Parameter(description = "Идентификатор шаблона", example = "12345")
             @PathVariable String id) {
-        templateService.deleteTemplate(id);
-        return ResponseEntity.noContent().build();
+        try {
+            templateService.deleteTemplate(id);
+            return ResponseEntity.noContent().build();
+        } catch (TemplateNotFoundException e) {
+            return ResponseEntity.notFound().build();
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
     }
 
     /**
      * Обновляет существующий шаблон.
+     * При наличии {@code If-Match} ревизия из тега передаётся в условную запись, и шаблон
+     * обновляется, только если клиент редактировал его текущее состояние; иначе возвращается 412.
+     * Если в теле передана ревизия шаблона, а шаблон успели изменить, возвращается 409.
      *
      * @param id Уникальный идентификатор, обновленного шаблона.
      *
      * @param template Обновленный шаблон.
+     * @param ifMatch ETag состояния шаблона, которое редактировал клиент.
      * @return Обновленный шаблон.
      */
     @Operation(summary = "Обновить шаблон", description = "Обновляет существующий шаблон резюме.")
@@ -166,17 +283,36 @@ public class TemplateController {
                     @Content(mediaType = "application/json",
                             schema = @Schema(implementation = Template.class))
             }),
-            @ApiResponse(responseCode = "400", description = "Неверные данные")
+            @ApiResponse(responseCode = "400", description = "Неверные данные"),
+            @ApiResponse(responseCode = "404", description = "Шаблон не найден"),
+            @ApiResponse(responseCode = "409", description = "Ревизия шаблона устарела: шаблон изменён другим клиентом"),
+            @ApiResponse(responseCode = "412", description = "Шаблон изменён после получения клиентом")
     })
     @PutMapping(("/{id}"))
     public ResponseEntity<Template> updateTemplate(
             @Parameter(description = "Идентификатор обновляемого шаблона", example = "12345")
             @PathVariable String id,
             @Parameter(description = "Данные обновляемого шаблона")
-            @Valid @RequestBody Template template) {
+            @Valid @RequestBody Template template,
+            @Parameter(description = "ETag редактируемого состояния шаблона")
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        boolean conditional = ifMatch != null && !EntityTagRegistry.isWildcard(ifMatch);
+        if (conditional) {
+            Long revision = EntityTagRegistry.revisionOf(ifMatch);
+            if (revision == null) {
+                return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build();
+            }
+            template.setRevision(revision);
+        }
         try {
-            templateService.updateTemplate(id, template);
-            return ResponseEntity.ok(template);
+            Template saved = templateService.updateTemplate(id, template);
+            return ResponseEntity.ok().eTag(EntityTagRegistry.templateTag(saved)).body(saved);
+        } catch (OptimisticLockingFailureException e) {
+            return ResponseEntity.status(conditional ? HttpStatus.PRECONDITION_FAILED : HttpStatus.CONFLICT).build();
+        } catch (TemplateNotFoundException e) {
+            return ifMatch != null
+                    ? ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build()
+                    : ResponseEntity.notFound().build();
         } catch (IllegalArgumentException e) {
             return ResponseEntity.badRequest().build();
         }
@@ -212,6 +348,33 @@ public class TemplateController {
         return templateService.getTemplatesByDateRange(start, end);
     }
 
+    /**
+     * Извлекает краткие представления шаблонов (без контента) за указанный период.
+     *
+     * @param startDate Начальная дата диапазона.
+     * @param endDate Конечная дата диапазона.
+     * @return Список кратких представлений шаблонов за указанный период.
+     */
+    @Operation(
+            summary = "Получить шаблоны без контента за указанный период",
+            description = "Возвращает название, описание, дату и версию шаблонов, созданных в заданном диапазоне дат."
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Успешный ответ", content = {
+                    @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = List.class))
+            }),
+            @ApiResponse(responseCode = "400", description = "Неверный формат даты")
+    })
+    @GetMapping("/summaries/data")
+    public List<TemplateSummary> getTemplateSummaryData(
+            @Parameter(description = "Начальная дата диапазона в формате YYYY-MM-DD", example = "2023-01-01")
+            @RequestParam String startDate,
+            @Parameter(description = "Конечная дата диапазона в формате YYYY-MM-DD", example = "2023-12-31")
+            @RequestParam String endDate) {
+        return templateService.getTemplateSummariesByDateRange(LocalDate.parse(startDate), LocalDate.parse(endDate));
+    }
+
     /**
      * Проверка существует ли шаблон с данным именем.
      *
@@ -237,6 +400,32 @@ public class TemplateController {
         return ResponseEntity.ok(exists);
     }
 
+    /**
+     * Подсказки имён шаблонов для автодополнения.
+     *
+     * @param q Введённая часть имени.
+     * @param limit Максимальное количество подсказок.
+     * @return {@link ResponseEntity} с HTTP статусом 200 и списком имён шаблонов.
+     */
+    @Operation(
+            summary = "Автодополнение имени шаблона",
+            description = "Возвращает имена шаблонов, начинающиеся с введённой строки, а затем содержащие её."
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Успешный ответ", content = {
+                    @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = List.class))
+            })
+    })
+    @GetMapping("/autocomplete")
+    public ResponseEntity<List<String>> autocompleteTemplateNames(
+            @Parameter(description = "Введённая часть имени", example = "resu")
+            @RequestParam String q,
+            @Parameter(description = "Максимальное количество подсказок", example = "10")
+            @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(templateService.suggestTemplateNames(q, limit));
+    }
+
     /**
      * Создает новую версию шаблона.
      *
@@ -252,7 +441,8 @@ public class TemplateController {
                     @Content(mediaType = "application/json",
                             schema = @Schema(implementation = Template.class))
             }),
-            @ApiResponse(responseCode = "404", description = "Шаблон с указанным ID не найден")
+            @ApiResponse(responseCode = "404", description = "Шаблон с указанным ID не найден"),
+            @ApiResponse(responseCode = "409", description = "Шаблон изменён во время создания версии")
     })
     @PostMapping("/{id}/version")
     public ResponseEntity<Template> createNewTemplateVersion(
@@ -263,21 +453,28 @@ public class TemplateController {
         if (template == null) {
             response = ResponseEntity.notFound().build();
         } else {
-            Template newTemplate = templateService.createNewTemplateVersion(template);
-            response = ResponseEntity.status(HttpStatus.CREATED).body(newTemplate);
+            try {
+                Template newTemplate = templateService.createNewTemplateVersion(template);
+                response = ResponseEntity.status(HttpStatus.CREATED).body(newTemplate);
+            } catch (OptimisticLockingFailureException e) {
+                response = ResponseEntity.status(HttpStatus.CONFLICT).build();
+            } catch (TemplateNotFoundException e) {
+                response = ResponseEntity.notFound().build();
+            }
         }
         return response;
     }
 
     /**
      * Находит все версии шаблона.
+     * Список не содержит контента версий.
      *
      * @param id Id шаблона.
      * @return {@link ResponseEntity} с HTTP статусом 200 и списком всех версий шаблона.
      */
     @Operation(
             summary = "Получить все версии шаблона",
-            description = "Возвращает список всех версий шаблона по его идентификатору."
+            description = "Возвращает список всех версий шаблона по его идентификатору, от новой к старой, без контента."
     )
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "Список версий успешно получен", content = {
@@ -287,15 +484,86 @@ public class TemplateController {
             @ApiResponse(responseCode = "404", description = "Шаблон с указанным ID не найден")
     })
     @GetMapping("/{id}/versions")
-    public ResponseEntity<List<Template>> getTemplateVersions(
+    public ResponseEntity<List<TemplateVersionInfo>> getTemplateVersions(
             @Parameter(description = "Идентификатор шаблона", example = "12345")
             @PathVariable String id) {
         Template template = templateService.getTemplateById(id);
         if (template == null) {
             return ResponseEntity.notFound().build();
         }
-        List<Template> listTemplate = templateService.findAllTemplateVersionsByName(template.getName());
-        return ResponseEntity.ok(listTemplate);
+        return ResponseEntity.ok(templateVersionService.getVersionHistory(template));
+    }
+
+    /**
+     * Находит версии шаблона порциями, от новой к старой.
+     *
+     * @param id Id шаблона.
+     * @param cursor Курсор из предыдущей порции; не указывается для первой порции.
+     * @param size Количество версий в порции.
+     * @return {@link ResponseEntity} с HTTP статусом 200 и порцией версий шаблона.
+     */
+    @Operation(
+            summary = "Получить версии шаблона с курсорной пагинацией",
+            description = "Возвращает порцию версий шаблона без контента и курсор следующей порции."
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Порция версий успешно получена", content = {
+                    @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = CursorPage.class))
+            }),
+            @ApiResponse(responseCode = "400", description = "Некорректный курсор"),
+            @ApiResponse(responseCode = "404", description = "Шаблон с указанным ID не найден")
+    })
+    @GetMapping("/{id}/versions/scroll")
+    public ResponseEntity<CursorPage<TemplateVersionInfo>> scrollTemplateVersions(
+            @Parameter(description = "Идентификатор шаблона", example = "12345")
+            @PathVariable String id,
+            @Parameter(description = "Курсор следующей порции")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Количество версий в порции", example = "20")
+            @RequestParam(defaultValue = "20") int size) {
+        Template template = templateService.getTemplateById(id);
+        if (template == null) {
+            return ResponseEntity.notFound().build();
+        }
+        try {
+            return ResponseEntity.ok(templateVersionService.getVersionHistory(template, cursor, size));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * Возвращает шаблон в указанной версии.
+     *
+     * @param id Id шаблона.
+     * @param version Номер версии.
+     * @return {@link ResponseEntity} с HTTP статусом 200 и шаблоном в указанной версии.
+     */
+    @Operation(
+            summary = "Получить версию шаблона",
+            description = "Восстанавливает шаблон в указанной версии из истории версий."
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Версия шаблона успешно получена", content = {
+                    @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = Template.class))
+            }),
+            @ApiResponse(responseCode = "404", description = "Шаблон или версия не найдены")
+    })
+    @GetMapping("/{id}/versions/{version}")
+    public ResponseEntity<Template> getTemplateVersion(
+            @Parameter(description = "Идентификатор шаблона", example = "12345")
+            @PathVariable String id,
+            @Parameter(description = "Номер версии", example = "2")
+            @PathVariable int version) {
+        Template template = templateService.getTemplateById(id);
+        if (template == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return templateVersionService.getTemplateVersion(template, version)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
     }
 
     /**
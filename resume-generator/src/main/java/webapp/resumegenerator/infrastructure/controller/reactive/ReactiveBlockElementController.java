@@ -0,0 +1,247 @@
+package webapp.resumegenerator.infrastructure.controller.reactive;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import java.util.UUID;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import webapp.resumegenerator.application.etag.EntityTagRegistry;
+import webapp.resumegenerator.application.patch.BlockPatchPlanner;
+import webapp.resumegenerator.application.patch.InvalidPatchException;
+import webapp.resumegenerator.domain.model.BlockElement;
+import webapp.resumegenerator.domain.model.LayoutDelta;
+import webapp.resumegenerator.domain.service.reactive.ReactiveBlockElementService;
+import webapp.resumegenerator.infrastructure.cache.ReactiveRedisCache;
+
+/**
+ * Неблокирующий REST-контроллер блоков резюме для запуска на WebFlux.
+ * Повторяет CRUD-операции {@link webapp.resumegenerator.infrastructure.controller.BlockElementController};
+ * списки отдаются потоком и доступны в формате NDJSON.
+ */
+@RestController
+@RequestMapping("/blocks")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveBlockElementController {
+
+    /**
+     * Неблокирующий сервис блоков.
+     */
+    private final ReactiveBlockElementService blockElementService;
+
+    /**
+     * Реестр ETag блоков; используется только для вычисления тегов.
+     */
+    private final EntityTagRegistry entityTagRegistry;
+
+    /**
+     * Кэш Redis, хранящий ETag блоков.
+     */
+    private final ReactiveRedisCache cache;
+
+    /**
+     * Конструктор для внедрения зависимостей.
+     *
+     * @param blockElementService неблокирующий сервис блоков.
+     * @param entityTagRegistry реестр ETag блоков.
+     * @param cache кэш Redis с ETag блоков.
+     */
+    @Autowired
+    public ReactiveBlockElementController(ReactiveBlockElementService blockElementService,
+                                          EntityTagRegistry entityTagRegistry,
+                                          ReactiveRedisCache cache) {
+        this.blockElementService = blockElementService;
+        this.entityTagRegistry = entityTagRegistry;
+        this.cache = cache;
+    }
+
+    /**
+     * Получение всех блоков по мере чтения из БД.
+     *
+     * @return Поток блоков.
+     */
+    @Operation(summary = "Получить все блоки")
+    @GetMapping(produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public Flux<BlockElement> getAllBlocks() {
+        return blockElementService.getAllBlocks();
+    }
+
+    /**
+     * Получение блока по идентификатору.
+     * При совпадении {@code If-None-Match} с известным тегом возвращается 304 без чтения блока.
+     *
+     * @param id Идентификатор блока.
+     * @param ifNoneMatch Теги блока, уже имеющиеся у клиента.
+     * @return Блок с ETag, 304 (Not Modified) или 404 (Not Found).
+     */
+    @Operation(summary = "Получить блок по ID")
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<BlockElement>> getBlockById(
+            @Parameter(description = "Идентификатор блока")
+            @PathVariable UUID id,
+            @Parameter(description = "ETag блока, имеющийся у клиента")
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        Mono<String> knownTag = ifNoneMatch == null
+                ? Mono.empty()
+                : cache.peek(EntityTagRegistry.BLOCKS, id, String.class)
+                        .filter(tag -> EntityTagRegistry.matches(ifNoneMatch, tag, true));
+        return knownTag
+                .map(tag -> ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(tag).<BlockElement>build())
+                .switchIfEmpty(Mono.defer(() -> blockElementService.getBlockById(id)
+                        .flatMap(block -> {
+                            String tag = entityTagRegistry.blockTag(block);
+                            return cache.put(EntityTagRegistry.BLOCKS, id, tag)
+                                    .thenReturn(EntityTagRegistry.matches(ifNoneMatch, tag, true)
+                                            ? ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(tag)
+                                                    .<BlockElement>build()
+                                            : ResponseEntity.ok().eTag(tag).body(block));
+                        })
+                        .defaultIfEmpty(ResponseEntity.notFound().build())));
+    }
+
+    /**
+     * Поиск блоков по названию.
+     *
+     * @param name Название блока.
+     * @return Поток блоков с указанным названием.
+     */
+    @Operation(summary = "Найти блоки по названию")
+    @GetMapping(value = "/search", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public Flux<BlockElement> getBlocksByName(
+            @Parameter(description = "Название блока", example = "experience")
+            @RequestParam String name) {
+        return blockElementService.getBlocksByName(name);
+    }
+
+    /**
+     * Создание нового блока.
+     *
+     * @param blockElement Данные блока.
+     * @return Созданный блок со статусом 201 (Created), или 409 (Conflict), если имя занято.
+     */
+    @Operation(summary = "Создать блок")
+    @PostMapping(consumes = "application/json", produces = "application/json")
+    public Mono<ResponseEntity<BlockElement>> createBlock(
+            @Parameter(description = "Данные нового блока")
+            @RequestBody BlockElement blockElement) {
+        return blockElementService.createBlock(blockElement)
+                .map(created -> ResponseEntity.status(HttpStatus.CREATED).body(created))
+                .onErrorResume(IllegalArgumentException.class,
+                        e -> Mono.just(ResponseEntity.status(HttpStatus.CONFLICT).build()));
+    }
+
+    /**
+     * Обновление существующего блока.
+     *
+     * @param id Идентификатор блока.
+     * @param blockElement Обновлённые данные блока.
+     * @param ifMatch ETag состояния блока, которое редактировал клиент; ревизия из тега передаётся в условную запись.
+     * @return Обновлённый блок, 404 (Not Found), 409 (Conflict) при устаревшей ревизии или 412 (Precondition Failed).
+     */
+    @Operation(summary = "Обновить блок")
+    @PutMapping("/{id}")
+    public Mono<ResponseEntity<BlockElement>> updateBlock(
+            @Parameter(description = "Идентификатор блока")
+            @PathVariable UUID id,
+            @Parameter(description = "Обновлённые данные блока")
+            @RequestBody BlockElement blockElement,
+            @Parameter(description = "ETag редактируемого состояния блока")
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        boolean conditional = ifMatch != null && !EntityTagRegistry.isWildcard(ifMatch);
+        if (conditional) {
+            Long revision = EntityTagRegistry.revisionOf(ifMatch);
+            if (revision == null) {
+                return Mono.just(ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build());
+            }
+            blockElement.setRevision(revision);
+        }
+        HttpStatus missing = ifMatch != null ? HttpStatus.PRECONDITION_FAILED : HttpStatus.NOT_FOUND;
+        HttpStatus stale = conditional ? HttpStatus.PRECONDITION_FAILED : HttpStatus.CONFLICT;
+        return blockElementService.updateBlock(id, blockElement)
+                .map(updated -> ResponseEntity.ok().eTag(entityTagRegistry.blockTag(updated)).body(updated))
+                .onErrorResume(OptimisticLockingFailureException.class,
+                        e -> Mono.just(ResponseEntity.status(stale).build()))
+                .onErrorResume(IllegalArgumentException.class,
+                        e -> Mono.just(ResponseEntity.status(missing).build()));
+    }
+
+    /**
+     * Частичное обновление блока по JSON Patch (RFC 6902).
+     *
+     * @param id Идентификатор блока.
+     * @param patch Операции JSON Patch.
+     * @return Изменённый блок, 400 (Bad Request), 404 (Not Found) или 409 (Conflict).
+     */
+    @Operation(summary = "Частично обновить блок")
+    @PatchMapping(value = "/{id}", consumes = BlockPatchPlanner.JSON_PATCH)
+    public Mono<ResponseEntity<BlockElement>> patchBlock(
+            @Parameter(description = "Идентификатор блока")
+            @PathVariable UUID id,
+            @Parameter(description = "Операции JSON Patch")
+            @RequestBody JsonNode patch) {
+        return changed(blockElementService.patchBlock(id, patch));
+    }
+
+    /**
+     * Перемещение элементов раскладки блока по ключу {@code i}.
+     *
+     * @param id Идентификатор блока.
+     * @param delta Перемещённые элементы и ревизия, которую редактировал клиент.
+     * @return Изменённый блок, 400 (Bad Request), 404 (Not Found) или 409 (Conflict).
+     */
+    @Operation(summary = "Переместить элементы раскладки")
+    @PatchMapping(value = "/{id}/layout", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<ResponseEntity<BlockElement>> moveLayouts(
+            @Parameter(description = "Идентификатор блока")
+            @PathVariable UUID id,
+            @Parameter(description = "Перемещённые элементы раскладки")
+            @RequestBody LayoutDelta delta) {
+        return changed(blockElementService.moveLayouts(id, delta));
+    }
+
+    /**
+     * Удаление блока.
+     *
+     * @param id Идентификатор блока.
+     * @return 204 (No Content), или 404 (Not Found).
+     */
+    @Operation(summary = "Удалить блок")
+    @DeleteMapping("/{id}")
+    public Mono<ResponseEntity<Void>> deleteBlock(
+            @Parameter(description = "Идентификатор блока")
+            @PathVariable UUID id) {
+        return blockElementService.deleteBlock(id)
+                .thenReturn(ResponseEntity.noContent().<Void>build())
+                .onErrorResume(IllegalArgumentException.class,
+                        e -> Mono.just(ResponseEntity.notFound().build()));
+    }
+
+    private Mono<ResponseEntity<BlockElement>> changed(Mono<BlockElement> change) {
+        return change
+                .map(block -> ResponseEntity.ok().eTag(entityTagRegistry.blockTag(block)).body(block))
+                .onErrorResume(OptimisticLockingFailureException.class,
+                        e -> Mono.just(ResponseEntity.status(HttpStatus.CONFLICT).build()))
+                .onErrorResume(InvalidPatchException.class,
+                        e -> Mono.just(ResponseEntity.badRequest().build()))
+                .onErrorResume(IllegalArgumentException.class,
+                        e -> Mono.just(ResponseEntity.notFound().build()));
+    }
+}
@@ -0,0 +1,435 @@
+package webapp.resumegenerator.infrastructure.controller.reactive;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import jakarta.validation.Valid;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.FieldError;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.bind.support.WebExchangeBindException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import webapp.resumegenerator.application.etag.EntityTagRegistry;
+import webapp.resumegenerator.domain.model.CursorPage;
+import webapp.resumegenerator.domain.model.Template;
+import webapp.resumegenerator.domain.model.TemplateSummary;
+import webapp.resumegenerator.domain.model.TemplateVersionInfo;
+import webapp.resumegenerator.domain.service.TemplateService;
+import webapp.resumegenerator.domain.service.TemplateVersionService;
+import webapp.resumegenerator.domain.service.reactive.ReactiveTemplateService;
+import webapp.resumegenerator.infrastructure.cache.ReactiveRedisCache;
+
+/**
+ * Неблокирующий REST-контроллер шаблонов резюме для запуска на WebFlux.
+ * Повторяет API {@link webapp.resumegenerator.infrastructure.controller.TemplateController};
+ * списки дополнительно доступны потоком NDJSON, элементы которого отправляются по мере чтения из БД.
+ * Работа с историей версий выполняется блокирующими сервисами на отдельном пуле потоков,
+ * поскольку это редкие операции над цепочкой разниц.
+ */
+@RestController
+@RequestMapping("/templates")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveTemplateController {
+
+    /**
+     * Неблокирующий сервис шаблонов.
+     */
+    private final ReactiveTemplateService templateService;
+
+    /**
+     * Блокирующий сервис шаблонов для создания версий.
+     */
+    private final TemplateService blockingTemplateService;
+
+    /**
+     * Сервис истории версий шаблонов.
+     */
+    private final TemplateVersionService templateVersionService;
+
+    /**
+     * Кэш Redis, хранящий в том числе ETag шаблонов.
+     */
+    private final ReactiveRedisCache cache;
+
+    /**
+     * Конструктор для внедрения зависимостей.
+     *
+     * @param templateService неблокирующий сервис шаблонов.
+     * @param blockingTemplateService блокирующий сервис шаблонов.
+     * @param templateVersionService сервис истории версий шаблонов.
+     * @param cache кэш Redis с ETag шаблонов.
+     */
+    @Autowired
+    public ReactiveTemplateController(ReactiveTemplateService templateService,
+                                      TemplateService blockingTemplateService,
+                                      TemplateVersionService templateVersionService,
+                                      ReactiveRedisCache cache) {
+        this.templateService = templateService;
+        this.blockingTemplateService = blockingTemplateService;
+        this.templateVersionService = templateVersionService;
+        this.cache = cache;
+    }
+
+    /**
+     * Получение списка шаблонов с поддержкой пагинации.
+     *
+     * @param page Номер страницы.
+     * @param size Количество элементов на странице.
+     * @return Страница шаблонов.
+     */
+    @Operation(summary = "Получить список шаблонов с пагинацией")
+    @GetMapping
+    public Mono<Page<Template>> getTemplates(
+            @Parameter(description = "Номер страницы", example = "0")
+            @RequestParam(defaultValue = "0") int page,
+            @Parameter(description = "Количество элементов на странице", example = "10")
+            @RequestParam(defaultValue = "10") int size) {
+        return templateService.getAllTemplates(PageRequest.of(page, size));
+    }
+
+    /**
+     * Краткие представления всех шаблонов потоком NDJSON, по одному на строку.
+     *
+     * @return Поток кратких представлений шаблонов в порядке (дата, идентификатор).
+     */
+    @Operation(summary = "Получить все шаблоны без контента потоком NDJSON")
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<TemplateSummary> streamTemplateSummaries() {
+        return templateService.streamTemplateSummaries();
+    }
+
+    /**
+     * Получение списка кратких представлений шаблонов (без контента) с пагинацией.
+     *
+     * @param page Номер страницы.
+     * @param size Количество элементов на странице.
+     * @return Страница кратких представлений шаблонов.
+     */
+    @Operation(summary = "Получить список шаблонов без контента с пагинацией")
+    @GetMapping("/summaries")
+    public Mono<Page<TemplateSummary>> getTemplateSummaries(
+            @Parameter(description = "Номер страницы", example = "0")
+            @RequestParam(defaultValue = "0") int page,
+            @Parameter(description = "Количество элементов на странице", example = "10")
+            @RequestParam(defaultValue = "10") int size) {
+        return templateService.getTemplateSummaries(PageRequest.of(page, size));
+    }
+
+    /**
+     * Получение порции кратких представлений шаблонов с курсорной пагинацией.
+     *
+     * @param cursor Курсор из предыдущей порции; не указывается для первой порции.
+     * @param size Количество шаблонов в порции.
+     * @param count Нужно ли вернуть примерное общее количество шаблонов.
+     * @return Порция шаблонов или 400 (Bad Request), если курсор некорректен.
+     */
+    @Operation(summary = "Получить шаблоны с курсорной пагинацией")
+    @GetMapping("/scroll")
+    public Mono<ResponseEntity<CursorPage<TemplateSummary>>> scrollTemplates(
+            @Parameter(description = "Курсор следующей порции")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Количество элементов в порции", example = "10")
+            @RequestParam(defaultValue = "10") int size,
+            @Parameter(description = "Вернуть примерное общее количество шаблонов", example = "false")
+            @RequestParam(defaultValue = "false") boolean count) {
+        return templateService.getTemplatesAfter(cursor, size, count)
+                .map(ResponseEntity::ok)
+                .onErrorResume(IllegalArgumentException.class, e -> Mono.just(ResponseEntity.badRequest().build()));
+    }
+
+    /**
+     * Получение шаблона по его уникальному идентификатору.
+     * Если тег из {@code If-None-Match} совпадает с известным тегом, возвращается 304 без чтения шаблона.
+     *
+     * @param id Уникальный идентификатор.
+     * @param ifNoneMatch Теги шаблона, уже имеющиеся у клиента.
+     * @return Шаблон с ETag, 304 (Not Modified) или 404 (Not Found).
+     */
+    @Operation(summary = "Получить шаблон по ID")
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<Template>> getTemplateById(
+            @Parameter(description = "Идентификатор шаблона", example = "12345")
+            @PathVariable String id,
+            @Parameter(description = "ETag шаблона, имеющийся у клиента")
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        Mono<String> knownTag = ifNoneMatch == null
+                ? Mono.empty()
+                : cache.peek(EntityTagRegistry.TEMPLATES, id, String.class)
+                        .filter(tag -> EntityTagRegistry.matches(ifNoneMatch, tag, true));
+        return knownTag
+                .map(tag -> ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(tag).<Template>build())
+                .switchIfEmpty(Mono.defer(() -> templateService.getTemplateById(id)
+                        .flatMap(template -> {
+                            String tag = EntityTagRegistry.templateTag(template);
+                            return cache.put(EntityTagRegistry.TEMPLATES, id, tag)
+                                    .thenReturn(EntityTagRegistry.matches(ifNoneMatch, tag, true)
+                                            ? ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(tag).<Template>build()
+                                            : ResponseEntity.ok().eTag(tag).body(template));
+                        })
+                        .defaultIfEmpty(ResponseEntity.notFound().build())));
+    }
+
+    /**
+     * Создание нового шаблона.
+     *
+     * @param template объект {@link Template}, содержащий данные для создания.
+     * @return Созданный шаблон со статусом 201 (Created).
+     */
+    @Operation(summary = "Создать новый шаблон")
+    @PostMapping(consumes = "application/json", produces = "application/json")
+    public Mono<ResponseEntity<Template>> createTemplate(
+            @Parameter(description = "Данные нового шаблона")
+            @Valid @RequestBody Template template) {
+        return templateService.createTemplate(template)
+                .map(saved -> ResponseEntity.status(HttpStatus.CREATED).body(saved));
+    }
+
+    /**
+     * Удаление шаблона по его уникальному идентификатору.
+     *
+     * @param id Уникальный идентификатор шаблона.
+     * @return 204 (No Content), если удаление успешно, или 404 (Not Found).
+     */
+    @Operation(summary = "Удалить шаблон")
+    @DeleteMapping("/{id}")
+    public Mono<ResponseEntity<Void>> deleteTemplate(
+            @Parameter(description = "Идентификатор шаблона", example = "12345")
+            @PathVariable String id) {
+        return templateService.deleteTemplate(id)
+                .map(deleted -> deleted
+                        ? ResponseEntity.noContent().<Void>build()
+                        : ResponseEntity.notFound().<Void>build());
+    }
+
+    /**
+     * Обновляет существующий шаблон.
+     * При наличии {@code If-Match} ревизия из тега передаётся в условную запись, и шаблон
+     * обновляется, только если клиент редактировал его текущее состояние; иначе возвращается 412.
+     *
+     * @param id Уникальный идентификатор обновляемого шаблона.
+     * @param template Обновленный шаблон.
+     * @param ifMatch ETag состояния шаблона, которое редактировал клиент.
+     * @return Обновленный шаблон, 404 (Not Found), 409 (Conflict) при устаревшей ревизии,
+     *         412 (Precondition Failed) или 400 (Bad Request).
+     */
+    @Operation(summary = "Обновить шаблон")
+    @PutMapping("/{id}")
+    public Mono<ResponseEntity<Template>> updateTemplate(
+            @Parameter(description = "Идентификатор обновляемого шаблона", example = "12345")
+            @PathVariable String id,
+            @Parameter(description = "Данные обновляемого шаблона")
+            @Valid @RequestBody Template template,
+            @Parameter(description = "ETag редактируемого состояния шаблона")
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        boolean conditional = ifMatch != null && !EntityTagRegistry.isWildcard(ifMatch);
+        if (conditional) {
+            Long revision = EntityTagRegistry.revisionOf(ifMatch);
+            if (revision == null) {
+                return Mono.just(ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build());
+            }
+            template.setRevision(revision);
+        }
+        HttpStatus missing = ifMatch != null ? HttpStatus.PRECONDITION_FAILED : HttpStatus.NOT_FOUND;
+        HttpStatus stale = conditional ? HttpStatus.PRECONDITION_FAILED : HttpStatus.CONFLICT;
+        return templateService.updateTemplate(id, template)
+                .map(saved -> ResponseEntity.ok().eTag(EntityTagRegistry.templateTag(saved)).body(saved))
+                .defaultIfEmpty(ResponseEntity.status(missing).build())
+                .onErrorResume(OptimisticLockingFailureException.class,
+                        e -> Mono.just(ResponseEntity.status(stale).build()))
+                .onErrorResume(IllegalArgumentException.class,
+                        e -> Mono.just(ResponseEntity.badRequest().build()));
+    }
+
+    /**
+     * Шаблоны за указанный период потоком.
+     *
+     * @param startDate Начальная дата диапазона.
+     * @param endDate Конечная дата диапазона.
+     * @return Шаблоны за указанный период.
+     */
+    @Operation(summary = "Получить шаблоны за указанный период")
+    @GetMapping(value = "/data", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public Flux<Template> getTemplateData(
+            @Parameter(description = "Начальная дата диапазона в формате YYYY-MM-DD", example = "2023-01-01")
+            @RequestParam String startDate,
+            @Parameter(description = "Конечная дата диапазона в формате YYYY-MM-DD", example = "2023-12-31")
+            @RequestParam String endDate) {
+        return templateService.getTemplatesByDateRange(LocalDate.parse(startDate), LocalDate.parse(endDate));
+    }
+
+    /**
+     * Краткие представления шаблонов (без контента) за указанный период потоком.
+     *
+     * @param startDate Начальная дата диапазона.
+     * @param endDate Конечная дата диапазона.
+     * @return Краткие представления шаблонов за указанный период.
+     */
+    @Operation(summary = "Получить шаблоны без контента за указанный период")
+    @GetMapping(value = "/summaries/data",
+            produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public Flux<TemplateSummary> getTemplateSummaryData(
+            @Parameter(description = "Начальная дата диапазона в формате YYYY-MM-DD", example = "2023-01-01")
+            @RequestParam String startDate,
+            @Parameter(description = "Конечная дата диапазона в формате YYYY-MM-DD", example = "2023-12-31")
+            @RequestParam String endDate) {
+        return templateService.getTemplateSummariesByDateRange(LocalDate.parse(startDate), LocalDate.parse(endDate));
+    }
+
+    /**
+     * Проверка существует ли шаблон с данным именем.
+     *
+     * @param name Имя шаблона.
+     * @return {@code true}, если шаблон существует.
+     */
+    @Operation(summary = "Проверить существование шаблона по имени")
+    @GetMapping("/exists")
+    public Mono<Boolean> existsTemplateName(
+            @Parameter(description = "Имя шаблона", example = "MyTemplate")
+            @RequestParam String name) {
+        return templateService.isTemplateNameExist(name);
+    }
+
+    /**
+     * Подсказки имён шаблонов для автодополнения.
+     *
+     * @param q Введённая часть имени.
+     * @param limit Максимальное количество подсказок.
+     * @return Список имён шаблонов.
+     */
+    @Operation(summary = "Автодополнение имени шаблона")
+    @GetMapping("/autocomplete")
+    public Mono<List<String>> autocompleteTemplateNames(
+            @Parameter(description = "Введённая часть имени", example = "resu")
+            @RequestParam String q,
+            @Parameter(description = "Максимальное количество подсказок", example = "10")
+            @RequestParam(defaultValue = "10") int limit) {
+        return templateService.suggestTemplateNames(q, limit).collectList();
+    }
+
+    /**
+     * Создает новую версию шаблона.
+     *
+     * @param id Id шаблона.
+     * @return Новая версия шаблона со статусом 201 (Created), 404 (Not Found)
+     *         или 409 (Conflict), если шаблон изменён во время создания версии.
+     */
+    @Operation(summary = "Создать новую версию шаблона")
+    @PostMapping("/{id}/version")
+    public Mono<ResponseEntity<Template>> createNewTemplateVersion(
+            @Parameter(description = "Идентификатор шаблона", example = "12345")
+            @PathVariable String id) {
+        return templateService.getTemplateById(id)
+                .flatMap(template -> blocking(() -> blockingTemplateService.createNewTemplateVersion(template)))
+                .map(created -> ResponseEntity.status(HttpStatus.CREATED).body(created))
+                .defaultIfEmpty(ResponseEntity.notFound().build())
+                .onErrorResume(OptimisticLockingFailureException.class,
+                        e -> Mono.just(ResponseEntity.status(HttpStatus.CONFLICT).build()));
+    }
+
+    /**
+     * Находит все версии шаблона без контента.
+     *
+     * @param id Id шаблона.
+     * @return Список версий шаблона или 404 (Not Found).
+     */
+    @Operation(summary = "Получить все версии шаблона")
+    @GetMapping("/{id}/versions")
+    public Mono<ResponseEntity<List<TemplateVersionInfo>>> getTemplateVersions(
+            @Parameter(description = "Идентификатор шаблона", example = "12345")
+            @PathVariable String id) {
+        return templateService.getTemplateById(id)
+                .flatMap(template -> blocking(() -> templateVersionService.getVersionHistory(template)))
+                .map(ResponseEntity::ok)
+                .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Находит версии шаблона порциями, от новой к старой.
+     *
+     * @param id Id шаблона.
+     * @param cursor Курсор из предыдущей порции; не указывается для первой порции.
+     * @param size Количество версий в порции.
+     * @return Порция версий шаблона, 404 (Not Found) или 400 (Bad Request).
+     */
+    @Operation(summary = "Получить версии шаблона с курсорной пагинацией")
+    @GetMapping("/{id}/versions/scroll")
+    public Mono<ResponseEntity<CursorPage<TemplateVersionInfo>>> scrollTemplateVersions(
+            @Parameter(description = "Идентификатор шаблона", example = "12345")
+            @PathVariable String id,
+            @Parameter(description = "Курсор следующей порции")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Количество версий в порции", example = "20")
+            @RequestParam(defaultValue = "20") int size) {
+        return templateService.getTemplateById(id)
+                .flatMap(template -> blocking(() -> templateVersionService.getVersionHistory(template, cursor, size)))
+                .map(ResponseEntity::ok)
+                .defaultIfEmpty(ResponseEntity.notFound().build())
+                .onErrorResume(IllegalArgumentException.class, e -> Mono.just(ResponseEntity.badRequest().build()));
+    }
+
+    /**
+     * Возвращает шаблон в указанной версии.
+     *
+     * @param id Id шаблона.
+     * @param version Номер версии.
+     * @return Шаблон в указанной версии или 404 (Not Found).
+     */
+    @Operation(summary = "Получить версию шаблона")
+    @GetMapping("/{id}/versions/{version}")
+    public Mono<ResponseEntity<Template>> getTemplateVersion(
+            @Parameter(description = "Идентификатор шаблона", example = "12345")
+            @PathVariable String id,
+            @Parameter(description = "Номер версии", example = "2")
+            @PathVariable int version) {
+        return templateService.getTemplateById(id)
+                .flatMap(template -> blocking(() -> templateVersionService.getTemplateVersion(template, version)))
+                .flatMap(Mono::justOrEmpty)
+                .map(ResponseEntity::ok)
+                .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Обрабатывает исключения валидации.
+     *
+     * @param ex Содержит ошибки валидации.
+     * @return {@link ResponseEntity} с картой ошибок (поле - сообщение).
+     */
+    @ExceptionHandler(WebExchangeBindException.class)
+    public ResponseEntity<Map<String, String>> handleValidationExceptions(WebExchangeBindException ex) {
+        Map<String, String> errors = new HashMap<>();
+        ex.getBindingResult().getAllErrors().forEach(error -> {
+            String fieldName = ((FieldError) error).getField();
+            String errorMessage = error.getDefaultMessage();
+            errors.put(fieldName, errorMessage);
+        });
+        return new ResponseEntity<>(errors, HttpStatus.BAD_REQUEST);
+    }
+
+    private static <T> Mono<T> blocking(Callable<T> call) {
+        return Mono.fromCallable(call).subscribeOn(Schedulers.boundedElastic());
+    }
+}
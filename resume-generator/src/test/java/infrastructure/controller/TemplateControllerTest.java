@@ -11,6 +11,7 @@ import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
@@ -18,8 +19,11 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import webapp.resumegenerator.application.etag.EntityTagRegistry;
 import webapp.resumegenerator.domain.model.Template;
+import webapp.resumegenerator.domain.model.TemplateSummary;
 import webapp.resumegenerator.domain.service.TemplateService;
+import webapp.resumegenerator.domain.service.TemplateVersionService;
 import webapp.resumegenerator.infrastructure.controller.TemplateController;
 
 import java.time.LocalDateTime;
@@ -33,6 +37,12 @@ class TemplateControllerTest {
     @Mock
     private TemplateService templateService;
 
+    @Mock
+    private TemplateVersionService templateVersionService;
+
+    @Mock
+    private EntityTagRegistry entityTagRegistry;
+
     @InjectMocks
     private TemplateController templateController;
 
@@ -69,6 +79,26 @@ class TemplateControllerTest {
         verify(templateService, times(1)).getAllTemplates(any(Pageable.class));
     }
 
+    @Test
+    @DisplayName("Получение списка шаблонов без контента")
+    void testGetTemplateSummaries() throws Exception {
+        TemplateSummary summary = new TemplateSummary(UUID.randomUUID(), "Template1", "Description1", LocalDateTime.now(), 1);
+        List<TemplateSummary> summaries = List.of(summary);
+        Page<TemplateSummary> page = new PageImpl<>(summaries, PageRequest.of(0, 10), summaries.size());
+
+        when(templateService.getTemplateSummaries(any(Pageable.class))).thenReturn(page);
+
+        mockMvc.perform(get("/templates/summaries")
+                        .param("page", "0")
+                        .param("size", "10")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].name").value("Template1"))
+                .andExpect(jsonPath("$.content[0].content").doesNotExist());
+
+        verify(templateService, times(1)).getTemplateSummaries(any(Pageable.class));
+    }
+
     @Test
     @DisplayName("Получение шаблона по ID")
     void testGetTemplateById() throws Exception {
@@ -119,7 +149,8 @@ class TemplateControllerTest {
     void testUpdateTemplate() throws Exception {
         UUID id = UUID.randomUUID();
         Template template = new Template("UpdatedName", "UpdatedDescription", "UpdatedContent");
-        doNothing().when(templateService).updateTemplate(eq(id.toString()), any(Template.class));
+        when(templateService.updateTemplate(eq(id.toString()), any(Template.class)))
+                .thenAnswer(invocation -> invocation.getArgument(1));
 
         mockMvc.perform(put("/templates/{id}", id)
                         .contentType(MediaType.APPLICATION_JSON)
@@ -160,4 +191,69 @@ class TemplateControllerTest {
 
         verify(templateService, times(1)).isTemplateNameExist(name);
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Условный GET с известным ETag возвращает 304 без чтения шаблона")
+    void testGetTemplateByIdNotModified() throws Exception {
+        UUID id = UUID.randomUUID();
+        when(entityTagRegistry.peek(EntityTagRegistry.TEMPLATES, id.toString())).thenReturn("\"tag\"");
+
+        mockMvc.perform(get("/templates/{id}", id)
+                        .header("If-None-Match", "\"tag\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", "\"tag\""));
+
+        verify(templateService, never()).getTemplateById(any());
+    }
+
+    @Test
+    @DisplayName("Ответ на получение шаблона содержит ETag, совпадающий с If-None-Match при повторном запросе")
+    void testGetTemplateByIdReturnsETag() throws Exception {
+        UUID id = UUID.randomUUID();
+        Template template = new Template(id, "Template1", "Description1", "Content1", LocalDateTime.now(), 1);
+        String tag = EntityTagRegistry.templateTag(template);
+        when(templateService.getTemplateById(id.toString())).thenReturn(template);
+
+        mockMvc.perform(get("/templates/{id}", id))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", tag));
+        mockMvc.perform(get("/templates/{id}", id)
+                        .header("If-None-Match", tag))
+                .andExpect(status().isNotModified());
+
+        verify(entityTagRegistry, times(2)).remember(EntityTagRegistry.TEMPLATES, id.toString(), tag);
+    }
+
+    @Test
+    @DisplayName("Обновление с устаревшим If-Match отклоняется с 412 по результату условной записи")
+    void testUpdateTemplatePreconditionFailed() throws Exception {
+        UUID id = UUID.randomUUID();
+        Template edited = new Template(id, "Template1", "Description1", "Content1", LocalDateTime.now(), 1);
+        edited.setRevision(3L);
+        when(templateService.updateTemplate(eq(id.toString()), any(Template.class)))
+                .thenThrow(new OptimisticLockingFailureException("stale"));
+
+        mockMvc.perform(put("/templates/{id}", id)
+                        .header("If-Match", EntityTagRegistry.templateTag(edited))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(edited)))
+                .andExpect(status().isPreconditionFailed());
+
+        verify(templateService).updateTemplate(eq(id.toString()), argThat(template -> template.getRevision() == 3L));
+        verify(templateService, never()).getTemplateById(any());
+    }
+
+    @Test
+    @DisplayName("If-Match с тегом, выданным не реестром, отклоняется с 412 без записи")
+    void testUpdateTemplateUnknownTag() throws Exception {
+        UUID id = UUID.randomUUID();
+
+        mockMvc.perform(put("/templates/{id}", id)
+                        .header("If-Match", "\"stale\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new Template("Name", "Description", "Content"))))
+                .andExpect(status().isPreconditionFailed());
+
+        verifyNoInteractions(templateService);
+    }
+}
@@ -0,0 +1,148 @@
+package webapp.resumegenerator.application.collab;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+import webapp.resumegenerator.domain.model.BlockElement;
+import webapp.resumegenerator.domain.model.Layout;
+import webapp.resumegenerator.domain.model.LayoutDelta;
+import webapp.resumegenerator.domain.service.BlockElementService;
+import webapp.resumegenerator.infrastructure.collab.LayoutRelay;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@DisplayName("Тестирование комнат совместного редактирования на нескольких репликах")
+class LayoutRoomRegistryTest {
+
+    private static final String CHANNEL = "layout-rooms";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final List<LayoutRelay> subscribers = new CopyOnWriteArrayList<>();
+
+    private final UUID blockId = UUID.randomUUID();
+
+    private BlockElementService blockElementService;
+
+    private LayoutRoomRegistry first;
+
+    private LayoutRoomRegistry second;
+
+    @BeforeEach
+    void setUp() {
+        StringRedisTemplate redisTemplate = mock(StringRedisTemplate.class);
+        when(redisTemplate.convertAndSend(eq(CHANNEL), anyString())).thenAnswer(invocation -> {
+            byte[] body = invocation.getArgument(1, String.class).getBytes(StandardCharsets.UTF_8);
+            subscribers.forEach(relay -> relay.onMessage(new DefaultMessage(CHANNEL.getBytes(), body), null));
+            return (long) subscribers.size();
+        });
+        BlockElement block = new BlockElement();
+        block.setId(blockId);
+        block.setLayout(new Layout(null, "x", 0, 0, 1, 1, null, null, null, null, null, null, null, null, null,
+                null));
+        blockElementService = mock(BlockElementService.class);
+        when(blockElementService.getBlockById(blockId)).thenReturn(Optional.of(block));
+        first = registry(redisTemplate);
+        second = registry(redisTemplate);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        first.shutdown();
+        second.shutdown();
+    }
+
+    @Test
+    @DisplayName("Перемещения доходят до участников другой реплики, а сохраняет их реплика последнего автора")
+    void move_shouldRelayBetweenReplicasAndPersistOnce() throws Exception {
+        WebSocketSession alice = session("alice");
+        WebSocketSession bob = session("bob");
+        first.join(blockId, alice);
+        second.join(blockId, bob);
+
+        first.move(blockId, "alice", List.of(new LayoutMove("x", 1, 0, 1, 1)));
+        second.move(blockId, "bob", List.of(new LayoutMove("x", 5, 5, 1, 1)));
+        first.flushAll();
+        second.flushAll();
+
+        ArgumentCaptor<TextMessage> received = ArgumentCaptor.forClass(TextMessage.class);
+        verify(alice, times(3)).sendMessage(received.capture());
+        verify(bob, times(3)).sendMessage(any());
+        JsonNode last = objectMapper.readTree(received.getValue().getPayload());
+        assertEquals("bob", last.get("session").asText());
+        assertEquals(5, last.get("items").get(0).get("x").asInt());
+        ArgumentCaptor<LayoutDelta> saved = ArgumentCaptor.forClass(LayoutDelta.class);
+        verify(blockElementService).moveLayouts(eq(blockId), saved.capture());
+        assertEquals(5, saved.getValue().getItems().get(0).getX());
+    }
+
+    @Test
+    @DisplayName("Без Redis перемещения применяются и сохраняются на своей реплике")
+    void move_shouldApplyLocallyWhenRelayFails() throws Exception {
+        StringRedisTemplate broken = mock(StringRedisTemplate.class);
+        when(broken.convertAndSend(anyString(), anyString())).thenThrow(new IllegalStateException("down"));
+        LayoutRoomRegistry isolated = registry(broken);
+        WebSocketSession alice = session("alice");
+        isolated.join(blockId, alice);
+
+        isolated.move(blockId, "alice", List.of(new LayoutMove("x", 2, 0, 1, 1)));
+        isolated.flushAll();
+
+        verify(alice, times(2)).sendMessage(any());
+        verify(blockElementService).moveLayouts(eq(blockId), any());
+        isolated.shutdown();
+    }
+
+    @Test
+    @DisplayName("Перемещение неизвестного элемента отклоняется только для автора и не сбрасывает чужие перемещения")
+    void move_shouldRejectUnknownElementOnly() throws Exception {
+        WebSocketSession alice = session("alice");
+        WebSocketSession bob = session("bob");
+        first.join(blockId, alice);
+        first.join(blockId, bob);
+
+        first.move(blockId, "bob", List.of(new LayoutMove("x", 3, 0, 1, 1)));
+        first.move(blockId, "alice", List.of(new LayoutMove("missing", 1, 0, 1, 1)));
+        first.flushAll();
+
+        ArgumentCaptor<TextMessage> received = ArgumentCaptor.forClass(TextMessage.class);
+        verify(alice, times(3)).sendMessage(received.capture());
+        JsonNode rejected = objectMapper.readTree(received.getValue().getPayload());
+        assertEquals("rejected", rejected.get("type").asText());
+        assertEquals("missing", rejected.get("items").get(0).get("i").asText());
+        verify(bob, times(2)).sendMessage(any());
+        ArgumentCaptor<LayoutDelta> saved = ArgumentCaptor.forClass(LayoutDelta.class);
+        verify(blockElementService).moveLayouts(eq(blockId), saved.capture());
+        assertEquals(List.of("x"), saved.getValue().getItems().stream().map(Layout::getI).toList());
+    }
+
+    private LayoutRoomRegistry registry(StringRedisTemplate redisTemplate) {
+        LayoutRelay relay = new LayoutRelay(redisTemplate, objectMapper, CHANNEL);
+        subscribers.add(relay);
+        return new LayoutRoomRegistry(blockElementService, objectMapper, relay, Duration.ofHours(1));
+    }
+
+    private static WebSocketSession session(String id) {
+        WebSocketSession session = mock(WebSocketSession.class);
+        lenient().when(session.getId()).thenReturn(id);
+        lenient().when(session.isOpen()).thenReturn(true);
+        return session;
+    }
+}
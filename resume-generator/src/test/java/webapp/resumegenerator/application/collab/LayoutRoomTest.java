@@ -0,0 +1,120 @@
+package webapp.resumegenerator.application.collab;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+import java.io.IOException;
+import java.util.List;
+import java.util.UUID;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class LayoutRoomTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private LayoutRoom room;
+
+    @BeforeEach
+    void setUp() {
+        room = new LayoutRoom(UUID.randomUUID(), objectMapper);
+    }
+
+    @Test
+    @DisplayName("Перемещения получают возрастающие номера и рассылаются всем участникам одним сообщением")
+    void move_shouldBroadcastOrderedMessages() throws Exception {
+        WebSocketSession first = session("a");
+        WebSocketSession second = session("b");
+        room.add(first);
+        room.add(second);
+
+        assertEquals(1, room.move("a", List.of(new LayoutMove("x", 0, 0, 2, 1))));
+        assertEquals(2, room.move("b", List.of(new LayoutMove("x", 3, 1, 2, 1))));
+
+        ArgumentCaptor<TextMessage> sent = ArgumentCaptor.forClass(TextMessage.class);
+        verify(first, times(2)).sendMessage(sent.capture());
+        verify(second, times(2)).sendMessage(any());
+        JsonNode last = objectMapper.readTree(sent.getValue().getPayload());
+        assertEquals("moved", last.get("type").asText());
+        assertEquals(2, last.get("seq").asLong());
+        assertEquals("b", last.get("session").asText());
+        assertEquals(3, last.get("items").get(0).get("x").asInt());
+    }
+
+    @Test
+    @DisplayName("К сохранению уходит последнее положение элемента, неудачная запись возвращается в очередь")
+    void drain_shouldReturnLatestPositions() {
+        room.move("a", List.of(new LayoutMove("x", 0, 0, 1, 1), new LayoutMove("y", 1, 0, 1, 1)));
+        room.move("b", List.of(new LayoutMove("x", 5, 5, 1, 1)));
+
+        List<LayoutMove> drained = room.drain();
+
+        assertEquals(List.of(new LayoutMove("x", 5, 5, 1, 1), new LayoutMove("y", 1, 0, 1, 1)), drained);
+        assertTrue(room.drain().isEmpty());
+        room.move("a", List.of(new LayoutMove("x", 7, 7, 1, 1)));
+        room.restore(drained);
+        assertEquals(List.of(new LayoutMove("x", 7, 7, 1, 1), new LayoutMove("y", 1, 0, 1, 1)), room.drain());
+        assertTrue(room.isIdle());
+    }
+
+    @Test
+    @DisplayName("Снимок накладывает перемещения комнаты на сохранённую раскладку")
+    void sendSnapshot_shouldOverlayRoomPositions() throws Exception {
+        WebSocketSession session = session("a");
+        room.move("b", List.of(new LayoutMove("x", 4, 2, 1, 1)));
+
+        room.sendSnapshot(session, List.of(new LayoutMove("x", 0, 0, 1, 1), new LayoutMove("y", 1, 1, 1, 1)));
+
+        ArgumentCaptor<TextMessage> sent = ArgumentCaptor.forClass(TextMessage.class);
+        verify(session).sendMessage(sent.capture());
+        JsonNode snapshot = objectMapper.readTree(sent.getValue().getPayload());
+        assertEquals("snapshot", snapshot.get("type").asText());
+        assertEquals(1, snapshot.get("seq").asLong());
+        assertEquals(4, snapshot.get("items").get(0).get("x").asInt());
+        assertEquals(1, snapshot.get("items").get(1).get("x").asInt());
+    }
+
+    @Test
+    @DisplayName("Перемещение с другой реплики рассылается, но снимает элемент с сохранения на этой")
+    void move_shouldLeaveRemoteMovesToTheirReplica() throws Exception {
+        WebSocketSession session = session("a");
+        room.add(session);
+        room.move("a", List.of(new LayoutMove("x", 1, 0, 1, 1), new LayoutMove("y", 2, 0, 1, 1)));
+
+        room.move("remote", List.of(new LayoutMove("x", 6, 6, 1, 1)), false);
+
+        verify(session, times(2)).sendMessage(any());
+        assertEquals(List.of(new LayoutMove("y", 2, 0, 1, 1)), room.drain());
+    }
+
+    @Test
+    @DisplayName("Участник, которому не удалось отправить сообщение, отключается")
+    void move_shouldDropFailingSession() throws Exception {
+        WebSocketSession slow = session("slow");
+        WebSocketSession fast = session("fast");
+        doThrow(new IOException("closed")).when(slow).sendMessage(any());
+        room.add(slow);
+        room.add(fast);
+
+        room.move("fast", List.of(new LayoutMove("x", 1, 1, 1, 1)));
+        room.move("fast", List.of(new LayoutMove("x", 2, 1, 1, 1)));
+
+        verify(slow, times(1)).sendMessage(any());
+        verify(slow).close(CloseStatus.SESSION_NOT_RELIABLE);
+        verify(fast, times(2)).sendMessage(any());
+    }
+
+    private static WebSocketSession session(String id) {
+        WebSocketSession session = mock(WebSocketSession.class);
+        lenient().when(session.getId()).thenReturn(id);
+        lenient().when(session.isOpen()).thenReturn(true);
+        return session;
+    }
+}
@@ -0,0 +1,54 @@
+package webapp.resumegenerator.application.etag;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import webapp.resumegenerator.domain.model.Template;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import static org.junit.jupiter.api.Assertions.*;
+
+class EntityTagRegistryTest {
+
+    @Test
+    @DisplayName("Тег шаблона меняется при изменении версии или контента")
+    void testTemplateTagDependsOnVersionAndContent() {
+        UUID id = UUID.randomUUID();
+        LocalDateTime date = LocalDateTime.now();
+        String tag = EntityTagRegistry.templateTag(new Template(id, "Name", "Description", "Content", date, 1));
+
+        assertTrue(tag.startsWith("\"") && tag.endsWith("\""), "Сильный тег должен быть в кавычках");
+        assertEquals(tag, EntityTagRegistry.templateTag(new Template(id, "Name", "Description", "Content", date, 1)));
+        assertNotEquals(tag, EntityTagRegistry.templateTag(new Template(id, "Name", "Description", "Content", date, 2)));
+        assertNotEquals(tag, EntityTagRegistry.templateTag(new Template(id, "Name", "Description", "Other", date, 1)));
+    }
+
+    @Test
+    @DisplayName("Ревизия читается из выданного тега; чужие, слабые теги и звёздочка ревизии не задают")
+    void testRevisionOf() {
+        Template template = new Template(UUID.randomUUID(), "Name", "Description", "Content", LocalDateTime.now(), 1);
+        template.setRevision(42L);
+        String tag = EntityTagRegistry.templateTag(template);
+
+        assertEquals(42L, EntityTagRegistry.revisionOf(tag));
+        assertEquals(42L, EntityTagRegistry.revisionOf("\"x\", " + tag));
+        assertEquals(0L, EntityTagRegistry.revisionOf(EntityTagRegistry.templateTag(new Template("N", "D", "C"))));
+        assertNull(EntityTagRegistry.revisionOf("W/" + tag));
+        assertNull(EntityTagRegistry.revisionOf("\"stale\""));
+        assertNull(EntityTagRegistry.revisionOf("*"));
+        assertTrue(EntityTagRegistry.isWildcard(" * "));
+    }
+
+    @Test
+    @DisplayName("Сравнение тегов: список, звёздочка и слабые теги")
+    void testMatches() {
+        String tag = "\"abc\"";
+
+        assertTrue(EntityTagRegistry.matches("\"x\", \"abc\"", tag, false));
+        assertTrue(EntityTagRegistry.matches("*", tag, false));
+        assertTrue(EntityTagRegistry.matches("W/\"abc\"", tag, true));
+        assertFalse(EntityTagRegistry.matches("W/\"abc\"", tag, false));
+        assertFalse(EntityTagRegistry.matches("\"x\"", tag, true));
+        assertFalse(EntityTagRegistry.matches(null, tag, true));
+        assertFalse(EntityTagRegistry.matches("\"abc\"", null, true));
+    }
+}
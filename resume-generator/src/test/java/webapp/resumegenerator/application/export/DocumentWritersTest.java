@@ -0,0 +1,161 @@
+package webapp.resumegenerator.application.export;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import webapp.resumegenerator.domain.model.ExportFormat;
+import webapp.resumegenerator.domain.model.PageFormat;
+import webapp.resumegenerator.domain.model.ResumeDocument;
+import webapp.resumegenerator.domain.model.ResumeDocument.Block;
+import webapp.resumegenerator.domain.model.ResumeDocument.Heading;
+import webapp.resumegenerator.domain.model.ResumeDocument.ListItem;
+import webapp.resumegenerator.domain.model.ResumeDocument.Paragraph;
+import webapp.resumegenerator.domain.model.ResumeDocument.Rule;
+import webapp.resumegenerator.domain.model.ResumeDocument.Run;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+@DisplayName("Тестирование записи документа резюме в форматы выгрузки")
+class DocumentWritersTest {
+
+    private static final String FONT = "/usr/share/fonts/truetype/dejavu/DejaVuSans.ttf";
+
+    private static final ResumeDocument DOCUMENT = new ResumeDocument("Резюме", List.of(
+            new Heading(1, List.of(plain("Иван Петров"))),
+            new Paragraph(List.of(plain("Опыт "), new Run("5 лет", true, false, null), plain(", см. "),
+                    new Run("сайт", false, false, "https://example.com"), plain(".\nМосква"))),
+            new ListItem(0, false, 1, List.of(plain("Java"))),
+            new ListItem(1, true, 1, List.of(plain("Spring_Boot"))),
+            new ListItem(0, false, 2, List.of(plain("Go"))),
+            new Rule()));
+
+    @Test
+    @DisplayName("Markdown: выделение, ссылки, вложенные списки и экранирование")
+    void markdown_shouldWriteCommonMark() throws IOException {
+        assertEquals("""
+                # Иван Петров
+
+                Опыт **5 лет**, см. [сайт](https://example.com).\s\s
+                Москва
+
+                - Java
+                    1. Spring\\_Boot
+                - Go
+
+                ---
+                """, write(new MarkdownDocumentWriter()));
+    }
+
+    @Test
+    @DisplayName("Простой текст: подчёркнутые заголовки, маркеры списков и адреса ссылок")
+    void text_shouldWritePlainText() throws IOException {
+        assertEquals("""
+                Иван Петров
+                ===========
+
+                Опыт 5 лет, см. сайт <https://example.com>.
+                Москва
+
+                • Java
+                  1. Spring_Boot
+                • Go
+
+                ----------------------------------------
+                """, write(new TextDocumentWriter()));
+    }
+
+    @Test
+    @DisplayName("HTML: вложенный список остаётся внутри элемента родительского списка")
+    void html_shouldNestListsInsideItems() throws IOException {
+        String html = write(new HtmlDocumentWriter());
+
+        assertTrue(html.startsWith("<!DOCTYPE html>"));
+        assertTrue(html.contains("<title>Резюме</title>"));
+        assertTrue(html.contains("<p>Опыт <strong>5 лет</strong>, см. <a href=\"https://example.com\">сайт</a>"
+                + ".<br>\nМосква</p>"));
+        assertTrue(html.contains("<ul>\n<li>Java<ol>\n<li>Spring_Boot</li>\n</ol>\n</li>\n<li>Go</li>\n</ul>\n<hr>"));
+        assertTrue(html.endsWith("</body>\n</html>\n"));
+    }
+
+    @Test
+    @DisplayName("PDF: длинный документ разбивается на страницы, таблица ссылок указывает на объекты")
+    void pdf_shouldWritePagesAndValidCrossReferences() throws IOException {
+        List<Block> blocks = new ArrayList<>(DOCUMENT.getBlocks());
+        for (int index = 0; index < 120; index++) {
+            blocks.add(new Paragraph(List.of(plain("Paragraph " + index + " with enough words to wrap. ".repeat(4)))));
+        }
+        PdfDocumentWriter writer = new PdfDocumentWriter(PageFormat.A4, 48, "", "");
+
+        byte[] pdf = writeBytes(writer, new ResumeDocument("Resume", blocks));
+
+        String content = new String(pdf, StandardCharsets.ISO_8859_1);
+        assertTrue(content.startsWith("%PDF-1.4\n"));
+        assertTrue(content.endsWith("%%EOF\n"));
+        assertTrue(content.contains("/BaseFont /Helvetica-Bold"));
+        assertTrue(content.contains("/URI (https://example.com)"));
+        Matcher count = Pattern.compile("/Type /Pages /Kids \\[[^]]*] /Count (\\d+)").matcher(content);
+        assertTrue(count.find());
+        assertTrue(Integer.parseInt(count.group(1)) > 1);
+        assertCrossReferences(content);
+    }
+
+    @Test
+    @DisplayName("PDF: кириллица выводится встроенным TrueType-шрифтом с таблицей ToUnicode")
+    void pdf_shouldEmbedTrueTypeFontForCyrillic() throws IOException {
+        assumeTrue(Files.isReadable(Path.of(FONT)));
+        PdfDocumentWriter writer = new PdfDocumentWriter(PageFormat.A4, 48, FONT, "");
+
+        String content = new String(writeBytes(writer, DOCUMENT), StandardCharsets.ISO_8859_1);
+
+        assertTrue(content.contains("/Subtype /Type0"));
+        assertTrue(content.contains("/FontFile2"));
+        assertTrue(content.contains("<0418>"), "ToUnicode содержит букву И");
+        assertFalse(content.contains("/Helvetica"));
+        assertCrossReferences(content);
+    }
+
+    @Test
+    @DisplayName("Реестр выбирает запись по формату")
+    void writers_shouldResolveByFormat() throws IOException {
+        DocumentWriters writers = new DocumentWriters(List.of(new HtmlDocumentWriter(), new MarkdownDocumentWriter(),
+                new TextDocumentWriter(), new PdfDocumentWriter(PageFormat.LETTER, 48, "", "")));
+
+        for (ExportFormat format : ExportFormat.values()) {
+            assertEquals(format, writers.get(format).format());
+        }
+    }
+
+    private static void assertCrossReferences(String content) {
+        int xref = Integer.parseInt(content.substring(content.lastIndexOf("startxref\n") + 10,
+                content.lastIndexOf("\n%%EOF")));
+        assertTrue(content.startsWith("xref\n", xref));
+        String[] lines = content.substring(xref).split("\n");
+        int size = Integer.parseInt(lines[1].split(" ")[1]);
+        for (int number = 1; number < size; number++) {
+            int offset = Integer.parseInt(lines[2 + number].substring(0, 10));
+            assertTrue(content.startsWith(number + " 0 obj\n", offset), "Смещение объекта " + number);
+        }
+    }
+
+    private static Run plain(String text) {
+        return new Run(text, false, false, null);
+    }
+
+    private static String write(DocumentWriter writer) throws IOException {
+        return new String(writeBytes(writer, DOCUMENT), StandardCharsets.UTF_8);
+    }
+
+    private static byte[] writeBytes(DocumentWriter writer, ResumeDocument document) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        writer.write(document, out);
+        return out.toByteArray();
+    }
+}
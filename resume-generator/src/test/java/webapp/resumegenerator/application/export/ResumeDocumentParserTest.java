@@ -0,0 +1,52 @@
+package webapp.resumegenerator.application.export;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import webapp.resumegenerator.domain.model.ResumeDocument;
+import webapp.resumegenerator.domain.model.ResumeDocument.Heading;
+import webapp.resumegenerator.domain.model.ResumeDocument.ListItem;
+import webapp.resumegenerator.domain.model.ResumeDocument.Paragraph;
+import webapp.resumegenerator.domain.model.ResumeDocument.Rule;
+import webapp.resumegenerator.domain.model.ResumeDocument.Run;
+import java.util.List;
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Тестирование построения документа резюме из HTML")
+class ResumeDocumentParserTest {
+
+    private final ResumeDocumentParser parser = new ResumeDocumentParser();
+
+    @Test
+    @DisplayName("Структура, выделение и ссылки переносятся в документ, стили и скрипты отбрасываются")
+    void parse_shouldKeepStructureAndInlineFormatting() {
+        ResumeDocument document = parser.parse("<html><head><title>Резюме &amp; CV</title>"
+                + "<style>p{color:red}</style><script>var x = 1;</script></head><body>"
+                + "<header><h1>Иван <b>Петров</b></h1></header>"
+                + "<section><p>Опыт  <em>работы</em> в\n <a href=\"https://example.com\">компании</a>.<br>Москва</p>"
+                + "<div>Java-разработчик</div><hr></section><footer>Контакты</footer></body></html>");
+
+        assertEquals("Резюме & CV", document.getTitle());
+        assertEquals(List.of(
+                new Heading(1, List.of(new Run("Иван ", false, false, null), new Run("Петров", true, false, null))),
+                new Paragraph(List.of(new Run("Опыт ", false, false, null), new Run("работы", false, true, null),
+                        new Run(" в ", false, false, null), new Run("компании", false, false, "https://example.com"),
+                        new Run(".\nМосква", false, false, null))),
+                new Paragraph(List.of(new Run("Java-разработчик", false, false, null))),
+                new Rule(),
+                new Paragraph(List.of(new Run("Контакты", false, false, null)))), document.getBlocks());
+    }
+
+    @Test
+    @DisplayName("Вложенные списки разворачиваются с глубиной и номерами, небезопасные ссылки отбрасываются")
+    void parse_shouldFlattenNestedListsAndDropUnsafeLinks() {
+        ResumeDocument document = parser.parse("<ol><li>Java<ul><li>Spring</li><li>Hibernate</li></ul></li>"
+                + "<li><a href=\"javascript:alert(1)\">Go</a></li></ol>");
+
+        assertEquals(List.of(
+                new ListItem(0, true, 1, List.of(new Run("Java", false, false, null))),
+                new ListItem(1, false, 1, List.of(new Run("Spring", false, false, null))),
+                new ListItem(1, false, 2, List.of(new Run("Hibernate", false, false, null))),
+                new ListItem(0, true, 2, List.of(new Run("Go", false, false, null)))), document.getBlocks());
+        assertNull(document.getTitle());
+    }
+}
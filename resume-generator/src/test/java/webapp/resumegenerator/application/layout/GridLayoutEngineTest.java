@@ -0,0 +1,105 @@
+package webapp.resumegenerator.application.layout;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import webapp.resumegenerator.domain.model.Layout;
+import java.util.ArrayList;
+import java.util.List;
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Тестирование движка сеточного макета")
+class GridLayoutEngineTest {
+
+    private final GridLayoutEngine engine = new GridLayoutEngine();
+
+    private static Layout layout(String i, int x, int y, int w, int h) {
+        return new Layout(null, i, x, y, w, h, null, null, null, null, null, null, null, null, null, null);
+    }
+
+    @Test
+    @DisplayName("Вертикальное уплотнение поднимает элементы вверх")
+    void normalize_shouldCompactVertically() {
+        List<Layout> result = engine.normalize(List.of(layout("a", 0, 5, 4, 2), layout("b", 0, 10, 4, 3)), 12);
+
+        assertEquals(0, result.get(0).getY());
+        assertEquals(2, result.get(1).getY());
+    }
+
+    @Test
+    @DisplayName("Пересекающийся элемент сдвигается под занятую область")
+    void normalize_shouldResolveCollisions() {
+        List<Layout> result = engine.normalize(List.of(layout("a", 0, 0, 6, 2), layout("b", 3, 1, 6, 2)), 12);
+
+        assertEquals(0, result.get(0).getY());
+        assertEquals(2, result.get(1).getY());
+        assertTrue(engine.isValid(result, 12));
+    }
+
+    @Test
+    @DisplayName("Статические элементы не перемещаются, остальные их обходят")
+    void normalize_shouldKeepStaticItems() {
+        Layout fixed = layout("static", 0, 0, 12, 1);
+        fixed.setStatic(true);
+        Layout moving = layout("moving", 0, 0, 4, 2);
+
+        List<Layout> result = engine.normalize(List.of(moving, fixed), 12);
+
+        assertEquals(1, result.get(0).getY());
+        assertEquals(0, result.get(1).getY());
+    }
+
+    @Test
+    @DisplayName("Ограничения размеров и границы сетки применяются")
+    void normalize_shouldApplyConstraints() {
+        Layout item = layout("a", 10, 0, 1, 20);
+        item.setMinW(4);
+        item.setMaxH(5);
+
+        Layout result = engine.normalize(List.of(item), 12).get(0);
+
+        assertEquals(4, result.getW());
+        assertEquals(5, result.getH());
+        assertEquals(8, result.getX());
+        assertEquals(10, item.getX(), "Исходный объект не должен изменяться");
+    }
+
+    @Test
+    @DisplayName("Большой макет нормализуется без пересечений")
+    void normalize_shouldHandleLargeLayouts() {
+        List<Layout> layouts = new ArrayList<>();
+        for (int n = 0; n < 500; n++) {
+            layouts.add(layout("i" + n, (n * 5) % 12, n % 7, 1 + n % 4, 1 + n % 3));
+        }
+
+        List<Layout> result = engine.normalize(layouts, 12);
+
+        assertTrue(engine.isValid(result, 12));
+        assertFalse(engine.isValid(layouts, 12));
+    }
+
+    @Test
+    @DisplayName("Координаты за пределами сетки отклоняются без выделения памяти под все строки")
+    void normalize_shouldRejectOutOfRangeCoordinates() {
+        Layout far = layout("far", 0, Integer.MAX_VALUE - 1, 4, 2);
+        far.setStatic(true);
+        Layout tall = layout("tall", 0, 0, 4, Integer.MAX_VALUE);
+
+        assertThrows(IllegalArgumentException.class, () -> engine.normalize(List.of(far), 12));
+        assertThrows(IllegalArgumentException.class, () -> engine.normalize(List.of(tall), 12));
+        assertThrows(IllegalArgumentException.class,
+                () -> engine.normalize(List.of(layout("a", 0, 0, 1, 1)), Integer.MAX_VALUE));
+        assertFalse(engine.isValid(List.of(layout("far", 0, Integer.MAX_VALUE - 1, 4, 2)), 12));
+        assertFalse(engine.isValid(List.of(layout("edge", 0, GridLayoutEngine.MAX_ROWS - 1, 4, 2)), 12));
+        assertTrue(engine.isValid(List.of(layout("edge", 0, GridLayoutEngine.MAX_ROWS - 2, 4, 2)), 12));
+    }
+
+    @Test
+    @DisplayName("Элементы в пределах сетки уплотняются, даже если исходная y велика")
+    void normalize_shouldCompactLargeMovableY() {
+        Layout item = layout("a", 0, Integer.MAX_VALUE - 1, 4, 2);
+
+        Layout result = engine.normalize(List.of(item), 12).get(0);
+
+        assertEquals(0, result.getY());
+    }
+}
@@ -0,0 +1,130 @@
+package webapp.resumegenerator.application.layout;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import webapp.resumegenerator.domain.model.BlockElement;
+import webapp.resumegenerator.domain.model.Layout;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Тестирование автоматической компоновки макета")
+class LayoutPackerTest {
+
+    private final GridLayoutEngine engine = new GridLayoutEngine();
+
+    private static final Duration TIME_LIMIT = Duration.ofMillis(40);
+
+    private static final Duration TIME_HEADROOM = Duration.ofMillis(100);
+
+    private final LayoutPacker packer = new LayoutPacker(engine, TIME_LIMIT);
+
+    private static Layout layout(String i, int x, int y, int w, int h) {
+        return new Layout(null, i, x, y, w, h, null, null, null, null, null, null, null, null, null, null);
+    }
+
+    private static long deadline() {
+        return System.nanoTime() + Duration.ofMillis(20).toNanos();
+    }
+
+    @Test
+    @DisplayName("Элементы друг под другом ставятся рядом, если это уменьшает высоту")
+    void pack_shouldPlaceItemsSideBySide() {
+        List<Layout> layouts = List.of(layout("a", 0, 0, 6, 4), layout("b", 0, 4, 6, 4), layout("c", 0, 8, 6, 4));
+
+        List<Layout> result = packer.pack(layouts, 12, deadline());
+
+        assertEquals(8, LayoutPacker.heightOf(result));
+        assertTrue(engine.isValid(result, 12));
+        assertEquals(List.of("a", "b", "c"), result.stream().map(Layout::getI).toList());
+        assertEquals(8, layouts.get(2).getY());
+    }
+
+    @Test
+    @DisplayName("Статические элементы не перемещаются, ширина меняется только в пределах minW")
+    void pack_shouldKeepStaticItemsAndWidthBounds() {
+        Layout pinned = layout("pinned", 0, 0, 6, 4);
+        pinned.setStatic(true);
+        Layout wide = layout("wide", 0, 4, 8, 4);
+        wide.setMinW(6);
+        Layout fixed = layout("fixed", 0, 4, 8, 4);
+        fixed.setMinW(6);
+        fixed.setResizable(false);
+
+        List<Layout> resized = packer.pack(List.of(pinned, wide), 12, deadline());
+        List<Layout> unchanged = packer.pack(List.of(pinned, fixed), 12, deadline());
+
+        assertEquals(0, resized.get(0).getX());
+        assertEquals(0, resized.get(0).getY());
+        assertEquals(6, resized.get(1).getX());
+        assertEquals(0, resized.get(1).getY());
+        assertEquals(6, resized.get(1).getW());
+        assertEquals(8, LayoutPacker.heightOf(unchanged));
+        assertEquals(8, unchanged.get(1).getW());
+    }
+
+    @Test
+    @DisplayName("Без выигрыша по высоте возвращается нормализованный макет")
+    void pack_shouldKeepNormalizedLayoutWithoutGain() {
+        List<Layout> layouts = List.of(layout("a", 0, 0, 12, 2), layout("b", 3, 5, 4, 3));
+
+        List<Layout> result = packer.pack(layouts, 12, deadline());
+
+        assertEquals(positions(engine.normalize(layouts, 12)), positions(result));
+    }
+
+    @Test
+    @DisplayName("После наступления срока возвращается нормализованный макет")
+    void pack_shouldReturnNormalizedLayoutAfterDeadline() {
+        List<Layout> layouts = List.of(layout("a", 0, 0, 6, 4), layout("b", 0, 4, 6, 4), layout("c", 0, 8, 6, 4));
+
+        List<Layout> result = packer.pack(layouts, 12, System.nanoTime());
+
+        assertEquals(positions(engine.normalize(layouts, 12)), positions(result));
+    }
+
+    @Test
+    @DisplayName("Большое дерево компонуется по колонкам каждого блока за отведённое время")
+    void arrange_shouldPackLargeTreeWithinTimeLimit() {
+        Random random = new Random(7);
+        List<BlockElement> sections = new ArrayList<>();
+        for (int section = 0; section < 4; section++) {
+            List<BlockElement> children = new ArrayList<>();
+            for (int index = 0; index < 150; index++) {
+                children.add(block("s" + section + "-" + index, random.nextInt(12), random.nextInt(300),
+                        1 + random.nextInt(6), 1 + random.nextInt(4)));
+            }
+            BlockElement container = block("s" + section, 0, section, 12, 1);
+            container.setColumns(section % 2 == 0 ? 12 : 24);
+            container.setChildren(children);
+            sections.add(container);
+        }
+        BlockElement root = block("root", 0, 0, 12, 0);
+        root.setChildren(sections);
+
+        long start = System.nanoTime();
+        packer.arrange(root);
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+
+        assertTrue(elapsed.compareTo(TIME_LIMIT.plus(TIME_HEADROOM)) < 0,
+                "Компоновка заняла " + elapsed.toMillis() + " мс");
+        for (BlockElement section : sections) {
+            List<Layout> layouts = section.getChildren().stream().map(BlockElement::getLayout).toList();
+            assertTrue(engine.isValid(layouts, section.getColumns()));
+        }
+    }
+
+    private static List<List<Integer>> positions(List<Layout> layouts) {
+        return layouts.stream().map(layout -> List.of(layout.getX(), layout.getY(), layout.getW(), layout.getH()))
+                .toList();
+    }
+
+    private static BlockElement block(String key, int x, int y, int w, int h) {
+        BlockElement block = new BlockElement();
+        block.setName(key);
+        block.setLayout(layout(key, x, y, w, h));
+        return block;
+    }
+}
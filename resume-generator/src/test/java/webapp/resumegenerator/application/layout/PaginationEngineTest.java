@@ -0,0 +1,145 @@
+package webapp.resumegenerator.application.layout;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import webapp.resumegenerator.domain.model.BlockElement;
+import webapp.resumegenerator.domain.model.Layout;
+import webapp.resumegenerator.domain.model.PageFormat;
+import webapp.resumegenerator.domain.model.PagedBlock;
+import webapp.resumegenerator.domain.model.PaginationResult;
+import webapp.resumegenerator.domain.model.SectionElementProps;
+import java.util.List;
+import java.util.Map;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.Mockito.*;
+
+@DisplayName("Тестирование разбиения блоков на страницы")
+class PaginationEngineTest {
+
+    private BlockMeasurer measurer;
+
+    private PaginationEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        measurer = spy(new BlockMeasurer());
+        engine = new PaginationEngine(measurer, 30, 48, 1000, 50);
+    }
+
+    @Test
+    @DisplayName("Неделимый блок, пересекающий границу страницы, переносится на следующую")
+    void paginate_shouldMoveKeptTogetherBlockToNextPage() {
+        BlockElement root = container("root", 0, 0, 12, 0, block("a", 0, 0, 12, 20), block("b", 0, 20, 12, 20));
+
+        PaginationResult result = engine.paginate(root, PageFormat.A4);
+
+        assertEquals(2, result.getPages().size());
+        assertEquals(List.of("a"), keys(result.getPages().get(0)));
+        PagedBlock moved = result.getPages().get(1).get(0);
+        assertEquals("b", moved.getKey());
+        assertEquals(0, moved.getTop());
+        assertFalse(moved.isContinued());
+        assertTrue(result.getOverflowing().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Секция выше страницы делится между дочерними блоками, дочерние блоки не разрезаются")
+    void paginate_shouldSplitTallSectionBetweenChildren() {
+        BlockElement section = container("section", 0, 0, 12, 0,
+                block("c1", 0, 0, 12, 15), block("c2", 0, 15, 12, 15), block("c3", 0, 30, 12, 15));
+        BlockElement root = container("root", 0, 0, 12, 0, section);
+
+        PaginationResult result = engine.paginate(root, PageFormat.A4);
+
+        assertEquals(List.of("section", "c1", "c2"), keys(result.getPages().get(0)));
+        assertTrue(result.getPages().get(0).get(0).isContinues());
+        assertEquals(List.of("section", "c3"), keys(result.getPages().get(1)));
+        assertTrue(result.getPages().get(1).get(0).isContinued());
+        assertEquals(section.getId(), result.getPages().get(1).get(1).getParentId());
+    }
+
+    @Test
+    @DisplayName("Текст выше строки сетки сдвигает блоки ниже, break-before начинает новую страницу")
+    void paginate_shouldGrowMeasuredBlocksAndHonourForcedBreaks() {
+        BlockElement text = block("text", 0, 0, 12, 1);
+        text.setProps(new SectionElementProps(null, "строка\n".repeat(9) + "строка", null, null, null, null, null));
+        BlockElement next = block("next", 0, 1, 12, 1);
+        BlockElement chapter = block("chapter", 0, 2, 12, 1);
+        chapter.setProps(new SectionElementProps(null, null, Map.of("breakBefore", "page"), null, null, null, null));
+        BlockElement root = container("root", 0, 0, 12, 0, text, next, chapter);
+
+        PaginationResult result = engine.paginate(root, PageFormat.A4);
+
+        PagedBlock shifted = result.getPages().get(0).get(1);
+        assertEquals("next", shifted.getKey());
+        assertEquals(10 * BlockMeasurer.DEFAULT_FONT_SIZE * BlockMeasurer.DEFAULT_LINE_HEIGHT, shifted.getTop(), 0.001);
+        assertEquals(List.of("chapter"), keys(result.getPages().get(1)));
+    }
+
+    @Test
+    @DisplayName("После изменения одного блока заново измеряются только он и его предки")
+    void paginate_shouldReuseMeasurementsOfUnchangedBlocks() {
+        BlockElement edited = block("edited", 0, 0, 6, 2);
+        BlockElement unchanged = block("unchanged", 6, 0, 6, 2);
+        unchanged.setTitle("Опыт");
+        BlockElement section = container("section", 0, 0, 12, 0, edited, unchanged);
+        BlockElement root = container("root", 0, 0, 12, 0, section, block("other", 0, 5, 12, 2));
+        engine.paginate(root, PageFormat.A4);
+        verify(measurer, times(5)).measure(any(), anyDouble());
+        clearInvocations(measurer);
+
+        edited.setTitle("Новый заголовок");
+        engine.paginate(root, PageFormat.A4);
+
+        verify(measurer).measure(same(root), anyDouble());
+        verify(measurer).measure(same(section), anyDouble());
+        verify(measurer).measure(same(edited), anyDouble());
+        verify(measurer, times(3)).measure(any(), anyDouble());
+    }
+
+    @Test
+    @DisplayName("Бесконечные и огромные длины в стилях не раздувают высоту блока")
+    void paginate_shouldClampMeasuredLengths() {
+        BlockElement text = block("text", 0, 0, 12, 1);
+        text.setProps(new SectionElementProps(null, "строка",
+                Map.of("padding", "1e9px", "marginTop", "NaNpx", "marginBottom", "-Infinity"),
+                Map.of("fontSize", "14px", "lineHeight", "Infinity"), null, null, null));
+        BlockElement root = container("root", 0, 0, 12, 0, text);
+
+        PaginationResult result = engine.paginate(root, PageFormat.A4);
+
+        assertEquals(0, BlockMeasurer.length("Infinity", 14, 0));
+        assertEquals(BlockMeasurer.MAX_LENGTH, BlockMeasurer.length("1e9px", 14, 0));
+        double expected = 2 * BlockMeasurer.MAX_LENGTH + 14 * BlockMeasurer.DEFAULT_LINE_HEIGHT;
+        assertEquals(expected, measurer.measure(text, 500), 0.001);
+        assertEquals((int) Math.ceil(expected / result.getContentHeight()), result.getPages().size());
+    }
+
+    @Test
+    @DisplayName("Огромная координата y ограничивается сеткой, а лишние страницы отклоняются")
+    void paginate_shouldRejectTooManyPages() {
+        BlockElement root = container("root", 0, 0, 12, 0, block("far", 0, Integer.MAX_VALUE, 12, 1));
+
+        assertThrows(IllegalStateException.class, () -> engine.paginate(root, PageFormat.A4));
+    }
+
+    private static List<String> keys(List<PagedBlock> page) {
+        return page.stream().map(PagedBlock::getKey).toList();
+    }
+
+    private static BlockElement container(String key, int x, int y, int w, int h, BlockElement... children) {
+        BlockElement block = block(key, x, y, w, h);
+        block.setChildren(List.of(children));
+        return block;
+    }
+
+    private static BlockElement block(String key, int x, int y, int w, int h) {
+        BlockElement block = new BlockElement();
+        block.setName(key);
+        block.setLayout(new Layout(null, key, x, y, w, h, null, null, null, null, null, null, null, null, null, null));
+        return block;
+    }
+}
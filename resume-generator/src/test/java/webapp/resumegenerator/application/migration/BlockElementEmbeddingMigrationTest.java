@@ -0,0 +1,104 @@
+package webapp.resumegenerator.application.migration;
+
+import com.mongodb.DBRef;
+import org.bson.Document;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Тестирование миграции блоков на встроенное хранение")
+class BlockElementEmbeddingMigrationTest {
+
+    @Test
+    @DisplayName("Ссылки на props, layout и дочерние блоки заменяются встроенными документами")
+    void embed_shouldReplaceReferencesWithDocuments() {
+        UUID rootId = UUID.randomUUID();
+        UUID childId = UUID.randomUUID();
+        UUID propsId = UUID.randomUUID();
+        UUID layoutId = UUID.randomUUID();
+        Document props = new Document("_id", propsId).append("text", "Опыт работы");
+        Document layout = new Document("_id", layoutId).append("i", "child").append("x", 1);
+        Document child = new Document("_id", childId).append("name", "child")
+                .append("layout", new DBRef(BlockElementEmbeddingMigration.LAYOUTS, layoutId));
+        Document root = new Document("_id", rootId).append("name", "root")
+                .append("props", new DBRef(BlockElementEmbeddingMigration.PROPS, propsId))
+                .append("children", List.of(new DBRef(BlockElementEmbeddingMigration.BLOCKS, childId)));
+        Map<Object, Document> resolved = new HashMap<>(Map.of(
+                rootId, root, childId, child, propsId, props, layoutId, layout));
+        BlockElementEmbeddingMigration.EmbeddedChildren embeddedChildren =
+                new BlockElementEmbeddingMigration.EmbeddedChildren();
+
+        Document embedded = BlockElementEmbeddingMigration.embed(root, resolved, new HashSet<>(), embeddedChildren);
+
+        assertEquals(props, embedded.get("props"));
+        List<?> children = embedded.getList("children", Object.class);
+        assertEquals(1, children.size());
+        Document embeddedChild = (Document) children.get(0);
+        assertEquals("child", embeddedChild.getString("name"));
+        assertEquals(layout, embeddedChild.get("layout"));
+        assertFalse(embedded.containsKey("layout"));
+        assertEquals(Set.of(childId), embeddedChildren.removable());
+    }
+
+    @Test
+    @DisplayName("Отсутствующие и циклические ссылки отбрасываются")
+    void embed_shouldDropMissingAndCyclicReferences() {
+        UUID rootId = UUID.randomUUID();
+        Document root = new Document("_id", rootId)
+                .append("layout", new DBRef(BlockElementEmbeddingMigration.LAYOUTS, UUID.randomUUID()))
+                .append("children", List.of(
+                        new DBRef(BlockElementEmbeddingMigration.BLOCKS, rootId),
+                        new DBRef(BlockElementEmbeddingMigration.BLOCKS, UUID.randomUUID())));
+        Map<Object, Document> resolved = new HashMap<>(Map.of(rootId, root));
+        BlockElementEmbeddingMigration.EmbeddedChildren embeddedChildren =
+                new BlockElementEmbeddingMigration.EmbeddedChildren();
+
+        Document embedded = BlockElementEmbeddingMigration.embed(root, resolved, new HashSet<>(), embeddedChildren);
+
+        assertFalse(embedded.containsKey("layout"));
+        assertTrue(embedded.getList("children", Object.class).isEmpty());
+        assertTrue(embeddedChildren.removable().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Запись журнала корня содержит встроенные и отброшенные как циклические блоки")
+    void embed_shouldDescribeRootInLogEntry() {
+        UUID rootId = UUID.randomUUID();
+        UUID childId = UUID.randomUUID();
+        Document child = new Document("_id", childId)
+                .append("children", List.of(new DBRef(BlockElementEmbeddingMigration.BLOCKS, rootId)));
+        Document root = new Document("_id", rootId)
+                .append("children", List.of(new DBRef(BlockElementEmbeddingMigration.BLOCKS, childId)));
+        Map<Object, Document> resolved = new HashMap<>(Map.of(rootId, root, childId, child));
+        BlockElementEmbeddingMigration.EmbeddedChildren embeddedChildren =
+                new BlockElementEmbeddingMigration.EmbeddedChildren();
+
+        BlockElementEmbeddingMigration.embed(root, resolved, new HashSet<>(), embeddedChildren);
+        Document entry = embeddedChildren.toLogEntry(rootId);
+
+        assertEquals(rootId, entry.get("_id"));
+        assertEquals(List.of(childId), entry.getList("embedded", Object.class));
+        assertEquals(List.of(rootId), entry.getList("cyclic", Object.class));
+    }
+
+    @Test
+    @DisplayName("Удаляются блоки, встроенные в любой корень, кроме оставшихся корнями из-за циклов")
+    void removable_shouldCombineLogEntriesOfAllRoots() {
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        UUID cyclic = UUID.randomUUID();
+        List<Document> embeddingLog = List.of(
+                new Document("_id", UUID.randomUUID()).append("embedded", List.of(first, cyclic))
+                        .append("cyclic", List.of()),
+                new Document("_id", UUID.randomUUID()).append("embedded", List.of(second))
+                        .append("cyclic", List.of(cyclic)));
+
+        assertEquals(Set.of(first, second), EmbeddedBlockCleanup.removable(embeddingLog));
+    }
+}
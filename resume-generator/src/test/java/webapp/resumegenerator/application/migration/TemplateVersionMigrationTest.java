@@ -0,0 +1,89 @@
+package webapp.resumegenerator.application.migration;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import webapp.resumegenerator.domain.model.Template;
+import webapp.resumegenerator.domain.model.TemplateVersion;
+import webapp.resumegenerator.domain.repository.TemplateRepository;
+import webapp.resumegenerator.domain.service.TemplateVersionService;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Тестирование переноса копий шаблонов в историю версий")
+class TemplateVersionMigrationTest {
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Mock
+    private TemplateRepository templateRepository;
+
+    @Mock
+    private TemplateVersionService templateVersionService;
+
+    @InjectMocks
+    private TemplateVersionMigration migration;
+
+    @Test
+    @DisplayName("Старые копии записываются в историю последней версии по возрастанию и удаляются")
+    void fold_shouldRecordOlderCopiesIntoLatestTemplate() {
+        Template latest = template(3);
+        Template second = template(2);
+        Template first = template(1);
+        when(templateRepository.findByNameOrderByVersionDesc("Классический"))
+                .thenReturn(List.of(latest, second, first));
+        when(templateVersionService.recordVersion(any())).thenAnswer(invocation -> TemplateVersion.builder()
+                .version(invocation.<Template>getArgument(0).getVersion()).build());
+
+        int folded = migration.fold("Классический");
+
+        assertEquals(2, folded);
+        ArgumentCaptor<Template> recorded = ArgumentCaptor.forClass(Template.class);
+        verify(templateVersionService, times(2)).recordVersion(recorded.capture());
+        assertEquals(List.of(1, 2), recorded.getAllValues().stream().map(Template::getVersion).toList());
+        assertTrue(recorded.getAllValues().stream().allMatch(version -> version.getId().equals(latest.getId())));
+        assertEquals("content-1", recorded.getAllValues().get(0).getContent());
+        verify(templateRepository).deleteById(first.getId());
+        verify(templateRepository).deleteById(second.getId());
+        verify(templateRepository, never()).deleteById(latest.getId());
+    }
+
+    @Test
+    @DisplayName("Разные шаблоны с одинаковым именем и версией не изменяются")
+    void fold_shouldSkipTemplatesWithRepeatedVersions() {
+        when(templateRepository.findByNameOrderByVersionDesc("Классический")).thenReturn(List.of(template(1),
+                template(1)));
+
+        assertEquals(0, migration.fold("Классический"));
+        verifyNoInteractions(templateVersionService);
+        verify(templateRepository, never()).deleteById(any());
+    }
+
+    @Test
+    @DisplayName("Копия, которую история уже обогнала, остаётся на месте")
+    void fold_shouldKeepCopyOlderThanRecordedHistory() {
+        Template latest = template(5);
+        Template copy = template(2);
+        when(templateRepository.findByNameOrderByVersionDesc("Классический")).thenReturn(List.of(latest, copy));
+        when(templateVersionService.recordVersion(any())).thenReturn(TemplateVersion.builder().version(4).build());
+
+        assertEquals(0, migration.fold("Классический"));
+        verify(templateRepository, never()).deleteById(any());
+    }
+
+    private static Template template(int version) {
+        return Template.builder().id(UUID.randomUUID()).name("Классический").description("Описание")
+                .content("content-" + version).date(LocalDateTime.of(2024, 1, version, 0, 0)).version(version).build();
+    }
+}
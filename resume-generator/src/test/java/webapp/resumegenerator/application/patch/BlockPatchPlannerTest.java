@@ -0,0 +1,172 @@
+package webapp.resumegenerator.application.patch;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.data.mongodb.core.query.Criteria;
+import webapp.resumegenerator.domain.model.BlockElement;
+import webapp.resumegenerator.domain.model.Layout;
+import webapp.resumegenerator.domain.model.LayoutDelta;
+import java.util.ArrayList;
+import java.util.List;
+import static org.junit.jupiter.api.Assertions.*;
+
+class BlockPatchPlannerTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private BlockPatchPlanner planner;
+
+    @BeforeEach
+    void setUp() {
+        MappingMongoConverter converter = new MappingMongoConverter(NoOpDbRefResolver.INSTANCE,
+                new MongoMappingContext());
+        converter.afterPropertiesSet();
+        planner = new BlockPatchPlanner(objectMapper, converter);
+    }
+
+    @Test
+    @DisplayName("Замена координаты вложенного элемента становится $set по пути в документе")
+    void fromJsonPatch_shouldSetNestedLayoutField() throws Exception {
+        BlockPatchPlan plan = planner.fromJsonPatch(patch("""
+                [{"op": "test", "path": "/revision", "value": 3},
+                 {"op": "replace", "path": "/children/1/children/0/layout/x", "value": 5},
+                 {"op": "add", "path": "/title", "value": "Опыт"}]
+                """));
+
+        Document set = (Document) plan.update().getUpdateObject().get("$set");
+        assertEquals(5, set.get("children.1.children.0.layout.x"));
+        assertEquals("Опыт", set.get("title"));
+        String conditions = conditions(plan.conditions());
+        assertTrue(conditions.contains("\"revision\": 3"));
+        assertTrue(conditions.contains("\"children.1.children.0.layout.x\": {\"$exists\": true}"));
+    }
+
+    @Test
+    @DisplayName("Необязательное поле раскладки удаляется через $unset")
+    void fromJsonPatch_shouldUnsetOptionalField() throws Exception {
+        BlockPatchPlan plan = planner.fromJsonPatch(patch("""
+                [{"op": "remove", "path": "/layout/minW"}]
+                """));
+
+        Document unset = (Document) plan.update().getUpdateObject().get("$unset");
+        assertTrue(unset.containsKey("layout.minW"));
+    }
+
+    @Test
+    @DisplayName("Настройки, обязательные поля и пересекающиеся пути частично не изменяются")
+    void fromJsonPatch_shouldRejectUnsupportedChanges() {
+        assertThrows(InvalidPatchException.class, () -> planner.fromJsonPatch(patch("""
+                [{"op": "replace", "path": "/props/style", "value": {}}]
+                """)));
+        assertThrows(InvalidPatchException.class, () -> planner.fromJsonPatch(patch("""
+                [{"op": "remove", "path": "/layout/x"}]
+                """)));
+        assertThrows(InvalidPatchException.class, () -> planner.fromJsonPatch(patch("""
+                [{"op": "replace", "path": "/layout", "value": {"i": "a"}},
+                 {"op": "replace", "path": "/layout/x", "value": 1}]
+                """)));
+        assertThrows(InvalidPatchException.class, () -> planner.fromJsonPatch(patch("""
+                [{"op": "move", "from": "/layout/x", "path": "/layout/y"}]
+                """)));
+    }
+
+    @Test
+    @DisplayName("Перемещение находит элемент по ключу i и меняет только его координаты")
+    void fromMoves_shouldSetCoordinatesOfMovedItems() {
+        BlockElement root = block("root");
+        BlockElement section = block("section");
+        BlockElement item = block("item");
+        section.setChildren(List.of(item));
+        root.setChildren(List.of(block("header"), section));
+        Layout moved = new Layout();
+        moved.setI("item");
+        moved.setX(2);
+        moved.setY(7);
+        moved.setW(4);
+        moved.setH(1);
+
+        BlockPatchPlan plan = planner.fromMoves(root, new LayoutDelta(9L, List.of(moved)));
+
+        Document set = (Document) plan.update().getUpdateObject().get("$set");
+        assertEquals(4, set.size());
+        assertEquals(7, set.get("children.1.children.0.layout.y"));
+        String conditions = conditions(plan.conditions());
+        assertTrue(conditions.contains("\"children.1.children.0.layout.i\": \"item\""));
+        assertTrue(conditions.contains("\"revision\": 9"));
+    }
+
+    @Test
+    @DisplayName("Добавление поля требует существования родителя, в том числе дочернего блока по индексу")
+    void fromJsonPatch_shouldRequireParentForAdd() throws Exception {
+        BlockPatchPlan plan = planner.fromJsonPatch(patch("""
+                [{"op": "add", "path": "/children/7/layout/minW", "value": 2},
+                 {"op": "add", "path": "/children/3/layout", "value": {"i": "a", "w": 1, "h": 1}}]
+                """));
+
+        String conditions = conditions(plan.conditions());
+        assertTrue(conditions.contains("\"children.7.layout\": {\"$exists\": true}"));
+        assertTrue(conditions.contains("\"children.3\": {\"$exists\": true}"));
+        assertFalse(conditions.contains("\"children.7.layout.minW\""));
+    }
+
+    @Test
+    @DisplayName("Перемещение с координатами вне сетки или без размеров отклоняется")
+    void fromMoves_shouldRejectInvalidCoordinates() {
+        BlockElement root = block("root");
+        root.setChildren(List.of(block("item")));
+        Layout withoutSize = new Layout();
+        withoutSize.setI("item");
+        Layout negative = new Layout();
+        negative.setI("item");
+        negative.setX(-1);
+        negative.setW(1);
+        negative.setH(1);
+        Layout tooLow = new Layout();
+        tooLow.setI("item");
+        tooLow.setY(Integer.MAX_VALUE);
+        tooLow.setW(1);
+        tooLow.setH(1);
+        List<Layout> withNull = new ArrayList<>();
+        withNull.add(null);
+
+        for (Layout item : List.of(withoutSize, negative, tooLow)) {
+            assertThrows(InvalidPatchException.class,
+                    () -> planner.fromMoves(root, new LayoutDelta(null, List.of(item))));
+        }
+        assertThrows(InvalidPatchException.class, () -> planner.fromMoves(root, new LayoutDelta(null, withNull)));
+    }
+
+    @Test
+    @DisplayName("Перемещение неизвестного элемента отклоняется")
+    void fromMoves_shouldRejectUnknownItem() {
+        Layout moved = new Layout();
+        moved.setI("missing");
+
+        assertThrows(InvalidPatchException.class,
+                () -> planner.fromMoves(block("root"), new LayoutDelta(null, List.of(moved))));
+    }
+
+    private JsonNode patch(String json) throws Exception {
+        return objectMapper.readTree(json);
+    }
+
+    private static String conditions(List<Criteria> conditions) {
+        return new Criteria().andOperator(conditions).getCriteriaObject().toJson();
+    }
+
+    private static BlockElement block(String key) {
+        Layout layout = new Layout();
+        layout.setI(key);
+        BlockElement block = new BlockElement();
+        block.setName(key);
+        block.setLayout(layout);
+        return block;
+    }
+}
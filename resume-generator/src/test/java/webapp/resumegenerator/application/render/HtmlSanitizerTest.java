@@ -0,0 +1,41 @@
+package webapp.resumegenerator.application.render;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class HtmlSanitizerTest {
+
+    @Test
+    @DisplayName("Остаются только разрешённые теги и атрибуты, теги HTML5 заменяются на div")
+    void sanitize_shouldKeepAllowedMarkupOnly() {
+        String html = HtmlSanitizer.sanitize("<html><head><base href=\"http://evil/\"><link href=\"x.css\">"
+                + "<script>alert(1)</script></head><body background=\"bg.png\" bgcolor=\"#fff\">"
+                + "<section class=\"cv\"><h1 style=\"color: red; background: url(a.png)\">Иван &amp; Ко</h1>"
+                + "<a href=\"http://evil/\">Ссылка</a><img src=\"photo.png\" width=\"80\">"
+                + "<iframe src=\"inner.html\"></iframe><form action=\"/submit\"><input type=\"image\" src=\"b.png\">"
+                + "<textarea>Текст поля</textarea></form></section></body></html>");
+
+        assertTrue(html.contains("<div class=\"cv\">"));
+        assertTrue(html.contains("<h1 style=\"color: red;\">Иван &amp; Ко</h1>"));
+        assertTrue(html.contains("<a>Ссылка</a>"));
+        assertTrue(html.contains("<img width=\"80\">"));
+        assertTrue(html.contains("bgcolor=\"#fff\""));
+        for (String removed : new String[] {"evil", "x.css", "alert", "bg.png", "a.png", "photo.png", "inner.html",
+                "/submit", "b.png", "Текст поля", "<input", "<form", "<iframe", "<base", "<link"}) {
+            assertFalse(html.contains(removed), removed);
+        }
+    }
+
+    @Test
+    @DisplayName("Из таблиц стилей удаляются at-правила, адреса, изображения и экранирование")
+    void sanitizeStyleSheet_shouldDropUnsafeRules() {
+        String css = HtmlSanitizer.sanitizeStyleSheet("@import url(http://evil/a.css); /* комментарий */"
+                + "h1 { color: #333; font-size: 20px } p { background: url(http://evil/p.png); margin: 0 }"
+                + "ul { list-style-image: url(b.png) } li { b\\61 ckground: u\\72l(c.png) }"
+                + "@media print { td { padding: 2px } }");
+
+        assertEquals("h1 { color: #333; font-size: 20px; }\np { margin: 0; }\ntd { padding: 2px; }\n", css);
+    }
+}
@@ -0,0 +1,98 @@
+package webapp.resumegenerator.application.render;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.util.unit.DataSize;
+import webapp.resumegenerator.infrastructure.cache.CacheInvalidationBus;
+import webapp.resumegenerator.infrastructure.cache.RenderResultRedisStore;
+
+@ExtendWith(MockitoExtension.class)
+class RenderResultCacheTest {
+
+    @Mock
+    private CacheInvalidationBus invalidationBus;
+
+    @Mock
+    private ObjectProvider<RenderResultRedisStore> store;
+
+    private RenderResultCache cache;
+
+    private final AtomicInteger renders = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        cache = new RenderResultCache(DataSize.ofMegabytes(1), invalidationBus, store);
+    }
+
+    @Test
+    @DisplayName("Повторный рендеринг тех же входных данных берётся из кэша")
+    void get_shouldRenderOncePerKey() {
+        RenderKey key = key(UUID.randomUUID(), "resume", null);
+
+        assertEquals("<p>1</p>", cache.get(key, this::render));
+        assertEquals("<p>1</p>", cache.get(key, this::render));
+        assertEquals(1, renders.get());
+    }
+
+    @Test
+    @DisplayName("Другие данные резюме дают новый ключ и новый рендеринг")
+    void get_shouldRenderAgainForDifferentResume() {
+        UUID templateId = UUID.randomUUID();
+
+        cache.get(key(templateId, "first", null), this::render);
+        cache.get(key(templateId, "second", null), this::render);
+
+        assertEquals(2, renders.get());
+    }
+
+    @Test
+    @DisplayName("Изменение шаблона удаляет только его результаты и рассылает инвалидацию")
+    void evictTemplate_shouldDropOnlyTemplateEntries() {
+        UUID changed = UUID.randomUUID();
+        UUID other = UUID.randomUUID();
+        cache.get(key(changed, "resume", null), this::render);
+        cache.get(key(other, "resume", null), this::render);
+
+        cache.evictTemplate(changed);
+        cache.get(key(changed, "resume", null), this::render);
+        cache.get(key(other, "resume", null), this::render);
+
+        assertEquals(3, renders.get());
+        verify(invalidationBus).publish(RenderResultCache.CACHE_NAME, "template:" + changed);
+    }
+
+    @Test
+    @DisplayName("Сообщение об изменении блока удаляет результаты с этим блоком")
+    void evictLocal_shouldDropBlockEntries() {
+        UUID templateId = UUID.randomUUID();
+        UUID blockId = UUID.randomUUID();
+        cache.get(key(templateId, "resume", blockId), this::render);
+        cache.get(key(templateId, "resume", null), this::render);
+
+        cache.evictLocal("block:" + blockId);
+        cache.get(key(templateId, "resume", blockId), this::render);
+        cache.get(key(templateId, "resume", null), this::render);
+
+        assertEquals(3, renders.get());
+        verify(invalidationBus, never()).publish(anyString(), anyString());
+    }
+
+    private String render() {
+        return "<p>" + renders.incrementAndGet() + "</p>";
+    }
+
+    private static RenderKey key(UUID templateId, String resume, UUID blockId) {
+        return new RenderKey(templateId, 1, ContentDigest.of("content"), ContentDigest.of(resume),
+                blockId, blockId == null ? null : "block");
+    }
+}
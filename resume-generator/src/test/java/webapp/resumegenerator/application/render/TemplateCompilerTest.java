@@ -0,0 +1,86 @@
+package webapp.resumegenerator.application.render;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import java.util.List;
+import java.util.Map;
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Тестирование компилятора шаблонов")
+class TemplateCompilerTest {
+
+    private final TemplateCompiler compiler = new TemplateCompiler();
+
+    @Test
+    @DisplayName("Подстановка значений с экранированием HTML")
+    void render_shouldEscapeVariables() {
+        CompiledTemplate template = compiler.compile("<h1>{{personalData.name}}</h1>{{{raw}}}{{& raw}}");
+
+        String html = template.render(Map.of(
+                "personalData", Map.of("name", "<Иван & Co>"),
+                "raw", "<b>x</b>"));
+
+        assertEquals("<h1>&lt;Иван &amp; Co&gt;</h1><b>x</b><b>x</b>", html);
+    }
+
+    @Test
+    @DisplayName("Секции: список, флаг и инвертированная секция")
+    void render_shouldRenderSections() {
+        CompiledTemplate template = compiler.compile(
+                "{{#experiences}}<li>{{company}} ({{title}})</li>{{/experiences}}"
+                        + "{{^hobbies}}нет хобби{{/hobbies}}{{#visible}}!{{/visible}}{{! комментарий }}");
+
+        String html = template.render(Map.of(
+                "experiences", List.of(Map.of("company", "A", "title", "Dev"), Map.of("company", "B")),
+                "title", "внешний",
+                "hobbies", List.of(),
+                "visible", true));
+
+        assertEquals("<li>A (Dev)</li><li>B (внешний)</li>нет хобби!", html);
+    }
+
+    @Test
+    @DisplayName("Точка обозначает текущий элемент списка")
+    void render_shouldResolveCurrentContext() {
+        CompiledTemplate template = compiler.compile("{{#skills}}[{{.}}]{{/skills}}");
+
+        assertEquals("[Java][SQL]", template.render(Map.of("skills", List.of("Java", "SQL"))));
+    }
+
+    @Test
+    @DisplayName("Отсутствующие значения рендерятся как пустая строка")
+    void render_shouldIgnoreMissingValues() {
+        CompiledTemplate template = compiler.compile("a{{missing.value}}b");
+
+        assertEquals("ab", template.render(null));
+    }
+
+    @Test
+    @DisplayName("Скомпилированная форма запоминает исходный контент")
+    void compile_shouldTrackSource() {
+        CompiledTemplate template = compiler.compile("{{name}}");
+
+        assertTrue(template.isCompiledFrom("{{name}}"));
+        assertFalse(template.isCompiledFrom("{{title}}"));
+        assertFalse(template.isCompiledFrom(null));
+    }
+
+    @Test
+    @DisplayName("Контент с совпадающим hashCode не считается исходным")
+    void compile_shouldNotTrustHashCollisions() {
+        CompiledTemplate template = compiler.compile("{{Aa}}");
+
+        assertEquals("{{Aa}}".hashCode(), "{{BB}}".hashCode());
+        assertFalse(template.isCompiledFrom("{{BB}}"));
+    }
+
+    @Test
+    @DisplayName("Синтаксические ошибки: незакрытый тег и несогласованные секции")
+    void compile_shouldRejectInvalidContent() {
+        assertThrows(TemplateSyntaxException.class, () -> compiler.compile("{{name"));
+        assertThrows(TemplateSyntaxException.class, () -> compiler.compile("{{#a}}x"));
+        assertThrows(TemplateSyntaxException.class, () -> compiler.compile("{{#a}}x{{/b}}"));
+        assertThrows(TemplateSyntaxException.class, () -> compiler.compile("{{/a}}"));
+        assertThrows(TemplateSyntaxException.class, () -> compiler.compile("{{}}"));
+    }
+}
@@ -0,0 +1,110 @@
+package webapp.resumegenerator.application.render;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Function;
+import javax.imageio.ImageIO;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class ThumbnailRendererTest {
+
+    private final ThumbnailRenderer renderer = new ThumbnailRenderer(794, 1123, 240);
+
+    @Test
+    @DisplayName("Миниатюра сохраняет пропорции страницы и содержит отрисованный текст")
+    void render_shouldProducePngWithPageProportions() throws IOException {
+        byte[] png = renderer.render("<html><body><h1 style=\"color:#000000\">Иван Иванов</h1></body></html>");
+
+        BufferedImage image = ImageIO.read(new ByteArrayInputStream(png));
+        assertEquals(240, image.getWidth());
+        assertEquals(1123 * 240 / 794, image.getHeight());
+        assertTrue(hasNonWhitePixel(image));
+    }
+
+    @Test
+    @DisplayName("Подключаемые таблицы стилей, изображения и встроенные объекты не загружаются")
+    void render_shouldIgnoreExternalResources() throws IOException {
+        assertNoRequests(origin -> "<html><head><link rel=\"stylesheet\" href=\"" + origin + "/style.css\">"
+                + "<style>@import url(" + origin + "/import.css);</style></head><body>"
+                + "<img src=\"" + origin + "/photo.png\" width=\"100\" height=\"50\">"
+                + "<object classid=\"java.lang.Thread\" data=\"" + origin + "/object\"></object></body></html>");
+    }
+
+    @Test
+    @DisplayName("Фреймы не загружают страницы")
+    void render_shouldNotLoadFrames() throws IOException {
+        assertNoRequests(origin -> "<html><frameset cols=\"50%,50%\"><frame src=\"" + origin + "/left.html\">"
+                + "<frame src=\"" + origin + "/right.html\"></frameset></html>");
+        assertNoRequests(origin -> "<html><body><p>Текст</p><iframe src=\"" + origin + "/inner.html\"></iframe>"
+                + "</body></html>");
+    }
+
+    @Test
+    @DisplayName("Фоновые изображения из CSS и атрибута background не загружаются")
+    void render_shouldNotLoadBackgroundImages() throws IOException {
+        assertNoRequests(origin -> "<html><body background=\"" + origin + "/body.png\"><p>Текст</p></body></html>");
+        assertNoRequests(origin -> "<html><head><style>p { background: url(" + origin + "/rule.png); color: #000 }"
+                + "</style></head><body><p>Текст</p><div style=\"background-image: url('" + origin + "/inline.png')\">"
+                + "Блок</div><ul style=\"list-style-image: url(" + origin + "/bullet.png)\"><li>Пункт</li></ul>"
+                + "</body></html>");
+    }
+
+    @Test
+    @DisplayName("Поля форм, в том числе с изображением, не загружают ресурсы")
+    void render_shouldNotLoadFormImages() throws IOException {
+        assertNoRequests(origin -> "<html><body><form action=\"" + origin + "/submit\"><input type=\"image\" src=\""
+                + origin + "/button.png\"><input type=\"text\" value=\"Иван\"></form></body></html>");
+    }
+
+    private static boolean hasNonWhitePixel(BufferedImage image) {
+        for (int y = 0; y < image.getHeight(); y++) {
+            for (int x = 0; x < image.getWidth(); x++) {
+                if ((image.getRGB(x, y) & 0xFFFFFF) != 0xFFFFFF) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Рендерит страницу со ссылками на локальный сервер и проверяет, что к нему не было обращений.
+     */
+    private void assertNoRequests(Function<String, String> page) throws IOException {
+        ServerSocket server = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+        String html = page.apply("http://127.0.0.1:" + server.getLocalPort());
+        List<String> requests = new CopyOnWriteArrayList<>();
+        Thread acceptor = Thread.ofVirtual().start(() -> {
+            while (!server.isClosed()) {
+                try (Socket socket = server.accept()) {
+                    socket.setSoTimeout(200);
+                    byte[] line = new byte[80];
+                    int length = socket.getInputStream().read(line);
+                    requests.add(length > 0 ? new String(line, 0, length).lines().findFirst().orElse("") : "");
+                } catch (IOException e) {
+                    return;
+                }
+            }
+        });
+        try {
+            BufferedImage image = ImageIO.read(new ByteArrayInputStream(renderer.render(html)));
+            assertEquals(240, image.getWidth());
+            Thread.sleep(200);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            server.close();
+            acceptor.interrupt();
+        }
+        assertEquals(List.of(), requests);
+    }
+}
@@ -0,0 +1,109 @@
+package webapp.resumegenerator.application.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mongodb.bulk.BulkWriteError;
+import org.bson.BsonDocument;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.BulkOperations.BulkMode;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import webapp.resumegenerator.domain.model.BlockElement;
+import webapp.resumegenerator.domain.model.BlockImportItemResult.Status;
+import webapp.resumegenerator.domain.model.BlockImportResult;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BlockElementImportServiceTest {
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Mock
+    private BulkOperations bulkOperations;
+
+    @Mock
+    private IndexOperations indexOperations;
+
+    private BlockElementImportService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new BlockElementImportService(mongoTemplate, new ObjectMapper(), 2);
+        when(mongoTemplate.indexOps(BlockElement.class)).thenReturn(indexOperations);
+    }
+
+    @Test
+    @DisplayName("Импорт: корректные строки сохраняются пакетами, ошибки возвращаются по каждой строке")
+    void importBlocks_shouldReturnPerItemResults() throws Exception {
+        when(mongoTemplate.bulkOps(BulkMode.UNORDERED, BlockElement.class)).thenReturn(bulkOperations);
+        when(bulkOperations.insert(anyList())).thenReturn(bulkOperations);
+        BulkOperationException duplicate = mock(BulkOperationException.class);
+        when(duplicate.getErrors()).thenReturn(List.of(new BulkWriteError(11000,
+                "E11000 duplicate key error collection: test_db.block_elements index: block_name_unique "
+                        + "dup key: { name: \"header\" }", new BsonDocument(), 1)));
+        when(bulkOperations.execute()).thenThrow(duplicate).thenReturn(null);
+        String ndjson = """
+                {"name":"header","title":"Шапка"}
+                {"name":"header","title":"Дубликат"}
+                not a json
+
+                {"title":"Без имени"}
+                {"name":"footer"}
+                """;
+
+        BlockImportResult result = service.importBlocks(
+                new ByteArrayInputStream(ndjson.getBytes(StandardCharsets.UTF_8)));
+
+        assertEquals(5, result.getTotal());
+        assertEquals(2, result.getCreated());
+        assertEquals(1, result.getDuplicates());
+        assertEquals(2, result.getInvalid());
+        assertEquals(Status.CREATED, result.getItems().get(0).getStatus());
+        assertEquals(Status.DUPLICATE, result.getItems().get(1).getStatus());
+        assertEquals(2, result.getItems().get(1).getLine());
+        assertEquals(Status.INVALID, result.getItems().get(2).getStatus());
+        assertEquals(3, result.getItems().get(2).getLine());
+        assertEquals(Status.INVALID, result.getItems().get(3).getStatus());
+        assertEquals(5, result.getItems().get(3).getLine());
+        assertEquals(Status.CREATED, result.getItems().get(4).getStatus());
+        verify(bulkOperations, times(2)).execute();
+        verify(indexOperations).ensureIndex(any());
+    }
+
+    @Test
+    @DisplayName("Импорт: совпадение идентификатора сообщается отдельно от совпадения имени")
+    void importBlocks_shouldReportIdConflictSeparately() throws Exception {
+        when(mongoTemplate.bulkOps(BulkMode.UNORDERED, BlockElement.class)).thenReturn(bulkOperations);
+        when(bulkOperations.insert(anyList())).thenReturn(bulkOperations);
+        BulkOperationException duplicate = mock(BulkOperationException.class);
+        when(duplicate.getErrors()).thenReturn(List.of(new BulkWriteError(11000,
+                "E11000 duplicate key error collection: test_db.block_elements index: _id_ "
+                        + "dup key: { _id: UUID(\"0b6a8f4e-6f1e-4c3a-9f59-1f1f6c3c2a10\") }", new BsonDocument(), 0)));
+        when(bulkOperations.execute()).thenThrow(duplicate);
+        String ndjson = """
+                {"id":"0b6a8f4e-6f1e-4c3a-9f59-1f1f6c3c2a10","name":"header"}
+                """;
+
+        BlockImportResult result = service.importBlocks(
+                new ByteArrayInputStream(ndjson.getBytes(StandardCharsets.UTF_8)));
+
+        assertEquals(0, result.getDuplicates());
+        assertEquals(1, result.getDuplicateIds());
+        assertEquals(Status.DUPLICATE_ID, result.getItems().get(0).getStatus());
+        assertEquals("Block with ID '0b6a8f4e-6f1e-4c3a-9f59-1f1f6c3c2a10' already exists",
+                result.getItems().get(0).getMessage());
+    }
+}
@@ -0,0 +1,197 @@
+package webapp.resumegenerator.application.service;
+
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.ServerAddress;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.bulk.BulkWriteResult;
+import com.mongodb.client.FindIterable;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoCursor;
+import com.mongodb.client.model.BulkWriteOptions;
+import com.mongodb.client.model.InsertOneModel;
+import com.mongodb.client.model.WriteModel;
+import org.bson.BsonBinary;
+import org.bson.BsonDocument;
+import org.bson.BsonString;
+import org.bson.Document;
+import org.bson.RawBsonDocument;
+import org.bson.codecs.BsonDocumentCodec;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import webapp.resumegenerator.application.service.CatalogArchiveService.Compression;
+import webapp.resumegenerator.application.service.CatalogArchiveService.ImportMode;
+import webapp.resumegenerator.domain.model.BlockElement;
+import webapp.resumegenerator.domain.model.CatalogImportResult;
+import webapp.resumegenerator.domain.model.Layout;
+import webapp.resumegenerator.domain.model.SectionElementProps;
+import webapp.resumegenerator.domain.model.Template;
+import webapp.resumegenerator.domain.model.TemplateVersion;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CatalogArchiveServiceTest {
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    private final ConcurrentMapCacheManager cacheManager = new ConcurrentMapCacheManager("templates",
+            "blockElements", "templateETags", "blockETags");
+
+    private CatalogArchiveService service;
+
+    @BeforeEach
+    void setUp() {
+        when(mongoTemplate.getCollectionName(Layout.class)).thenReturn("layouts");
+        when(mongoTemplate.getCollectionName(SectionElementProps.class)).thenReturn("section_element_props");
+        when(mongoTemplate.getCollectionName(BlockElement.class)).thenReturn("block_elements");
+        when(mongoTemplate.getCollectionName(Template.class)).thenReturn("templates");
+        when(mongoTemplate.getCollectionName(TemplateVersion.class)).thenReturn("template_versions");
+        service = new CatalogArchiveService(mongoTemplate, cacheManager, 2);
+    }
+
+    @Test
+    @DisplayName("Выгруженный архив загружается обратно без изменения документов, пакетами по коллекциям")
+    void exportThenImport_shouldRoundTripDocuments() throws Exception {
+        UUID templateId = UUID.randomUUID();
+        RawBsonDocument template = raw(new BsonDocument("_id", new BsonBinary(templateId))
+                .append("name", new BsonString("Классический")));
+        List<RawBsonDocument> blocks = List.of(
+                raw(new BsonDocument("_id", new BsonBinary(UUID.randomUUID())).append("name", new BsonString("a"))),
+                raw(new BsonDocument("_id", new BsonBinary(UUID.randomUUID())).append("name", new BsonString("b"))),
+                raw(new BsonDocument("_id", new BsonBinary(UUID.randomUUID())).append("name", new BsonString("c"))));
+        stubExport("style_sets", List.of());
+        stubExport("layouts", List.of());
+        stubExport("section_element_props", List.of());
+        stubExport("block_elements", blocks);
+        stubExport("templates", List.of(template));
+        stubExport("template_versions", List.of());
+        ByteArrayOutputStream archive = new ByteArrayOutputStream();
+
+        service.exportCatalog(archive, Compression.GZIP);
+
+        MongoCollection<BsonDocument> blockTarget = stubImport("block_elements");
+        MongoCollection<BsonDocument> templateTarget = stubImport("templates");
+        CatalogImportResult result = service.importCatalog(new ByteArrayInputStream(archive.toByteArray()),
+                ImportMode.INSERT);
+
+        assertEquals(4, result.getWritten());
+        assertEquals(3, result.getWrittenByCollection().get("block_elements"));
+        verify(blockTarget, times(2)).bulkWrite(anyList(), any(BulkWriteOptions.class));
+        ArgumentCaptor<List<WriteModel<BsonDocument>>> writes = ArgumentCaptor.captor();
+        verify(templateTarget).bulkWrite(writes.capture(), any(BulkWriteOptions.class));
+        BsonDocument imported = ((InsertOneModel<BsonDocument>) writes.getValue().get(0)).getDocument();
+        assertEquals(template, imported);
+        assertEquals(templateId, imported.getBinary("_id").asUuid());
+    }
+
+    @Test
+    @DisplayName("Совпадения идентификаторов учитываются как дубликаты, некорректные строки пропускаются")
+    void importCatalog_shouldCountDuplicatesAndInvalidLines() throws Exception {
+        MongoCollection<BsonDocument> target = stubImport("layouts");
+        when(target.bulkWrite(anyList(), any(BulkWriteOptions.class))).thenThrow(new MongoBulkWriteException(
+                BulkWriteResult.acknowledged(1, 0, 0, 0, List.of(), List.of()),
+                List.of(new BulkWriteError(11000, "E11000", new BsonDocument(), 0)),
+                null, new ServerAddress(), Set.of()));
+        String ndjson = """
+                {"format":"resum-catalog","version":1}
+                {"collection":"layouts","document":{"_id":"a","x":0}}
+                {"collection":"layouts","document":{"_id":"b","x":1}}
+                {"collection":"users","document":{"_id":"c"}}
+                {"collection":"layouts","document":{"x":2}}
+                not a json
+                """;
+
+        CatalogImportResult result = service.importCatalog(
+                new ByteArrayInputStream(ndjson.getBytes(StandardCharsets.UTF_8)), ImportMode.INSERT);
+
+        assertEquals(1, result.getWritten());
+        assertEquals(1, result.getDuplicates());
+        assertEquals(3, result.getInvalid());
+        assertEquals(3, result.getErrors().size());
+    }
+
+    @Test
+    @DisplayName("Кэши очищаются, даже если загрузка прервалась после записи части пакетов")
+    void importCatalog_shouldClearCachesWhenImportFails() {
+        MongoCollection<BsonDocument> target = stubImport("layouts");
+        when(target.bulkWrite(anyList(), any(BulkWriteOptions.class))).thenAnswer(invocation -> {
+            cacheManager.getCache("templates").put("cached", "stale");
+            return BulkWriteResult.acknowledged(2, 0, 0, 0, List.of(), List.of());
+        });
+        byte[] head = """
+                {"format":"resum-catalog","version":1}
+                {"collection":"layouts","document":{"_id":"a","x":0}}
+                {"collection":"layouts","document":{"_id":"b","x":1}}
+                {"collection":"layouts","document":{"_id":"c","x":2}}
+                """.getBytes(StandardCharsets.UTF_8);
+        InputStream archive = new SequenceInputStream(new ByteArrayInputStream(head), new InputStream() {
+            @Override
+            public int read() throws IOException {
+                throw new IOException("соединение разорвано");
+            }
+        });
+
+        assertThrows(IOException.class, () -> service.importCatalog(archive, ImportMode.INSERT));
+        verify(target).bulkWrite(anyList(), any(BulkWriteOptions.class));
+        assertNull(cacheManager.getCache("templates").get("cached"));
+    }
+
+    @Test
+    @DisplayName("Поток без заголовка архива отклоняется")
+    void importCatalog_shouldRejectForeignStream() {
+        byte[] ndjson = "{\"name\":\"header\"}\n".getBytes(StandardCharsets.UTF_8);
+
+        assertThrows(IllegalArgumentException.class,
+                () -> service.importCatalog(new ByteArrayInputStream(ndjson), ImportMode.INSERT));
+        verify(mongoTemplate, never()).getCollection(anyString());
+    }
+
+    @SuppressWarnings("unchecked")
+    private void stubExport(String name, List<RawBsonDocument> documents) {
+        MongoCollection<Document> collection = mock(MongoCollection.class);
+        MongoCollection<RawBsonDocument> raw = mock(MongoCollection.class);
+        FindIterable<RawBsonDocument> find = mock(FindIterable.class);
+        MongoCursor<RawBsonDocument> cursor = mock(MongoCursor.class);
+        Iterator<RawBsonDocument> iterator = documents.iterator();
+        when(mongoTemplate.getCollection(name)).thenReturn(collection);
+        when(collection.withDocumentClass(RawBsonDocument.class)).thenReturn(raw);
+        when(raw.find()).thenReturn(find);
+        when(find.batchSize(2)).thenReturn(find);
+        when(find.iterator()).thenReturn(cursor);
+        when(cursor.hasNext()).thenAnswer(invocation -> iterator.hasNext());
+        lenient().when(cursor.next()).thenAnswer(invocation -> iterator.next());
+    }
+
+    @SuppressWarnings("unchecked")
+    private MongoCollection<BsonDocument> stubImport(String name) {
+        MongoCollection<Document> collection = mock(MongoCollection.class);
+        MongoCollection<BsonDocument> target = mock(MongoCollection.class);
+        when(mongoTemplate.getCollection(name)).thenReturn(collection);
+        when(collection.withDocumentClass(BsonDocument.class)).thenReturn(target);
+        return target;
+    }
+
+    private static RawBsonDocument raw(BsonDocument document) {
+        return new RawBsonDocument(document, new BsonDocumentCodec());
+    }
+}
@@ -0,0 +1,151 @@
+package webapp.resumegenerator.application.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import webapp.resumegenerator.domain.model.RenderJobOutput;
+import webapp.resumegenerator.domain.model.RenderJobRequest;
+import webapp.resumegenerator.domain.model.RenderJobStatus;
+import webapp.resumegenerator.domain.model.RenderJobStatus.State;
+import webapp.resumegenerator.domain.service.RenderService;
+import webapp.resumegenerator.domain.service.TemplateService;
+import webapp.resumegenerator.infrastructure.client.ResumeAnalyzerClient;
+import webapp.resumegenerator.infrastructure.client.ResumeAnalyzerClient.ResumePage;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class RenderJobServiceImplTest {
+
+    private static final String TEMPLATE_ID = "5f0c6a52-4c1e-4d0e-9a57-8d2a1c2b3e4f";
+
+    @Mock
+    private TemplateService templateService;
+
+    @Mock
+    private RenderService renderService;
+
+    @Mock
+    private ResumeAnalyzerClient analyzerClient;
+
+    @TempDir
+    private Path outputRoot;
+
+    private RenderJobServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        service = new RenderJobServiceImpl(templateService, renderService, analyzerClient, outputRoot, 4, 2, 10);
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+    }
+
+    @Test
+    @DisplayName("Резюме из списка рендерятся в файлы каталога задания, отсутствующие учитываются как ошибки")
+    void submit_shouldRenderResumeIdsToDirectory() throws Exception {
+        when(analyzerClient.getResume("r1")).thenReturn(Map.of("name", "Анна"));
+        when(analyzerClient.getResume("r2")).thenReturn(Map.of("name", "Борис"));
+        when(analyzerClient.getResume("missing")).thenReturn(null);
+        when(renderService.renderTemplate(eq(TEMPLATE_ID), anyMap(), isNull()))
+                .thenAnswer(invocation -> "<p>" + invocation.<Map<String, Object>>getArgument(1).get("name") + "</p>");
+
+        RenderJobStatus status = awaitFinished(service.submit(RenderJobRequest.builder()
+                .templateId(TEMPLATE_ID)
+                .resumeIds(List.of("r1", "r2", "missing"))
+                .output(RenderJobOutput.DIRECTORY)
+                .build()));
+
+        assertEquals(State.COMPLETED, status.getState());
+        assertEquals(3, status.getTotal());
+        assertEquals(2, status.getCompleted());
+        assertEquals(1, status.getFailed());
+        Path directory = Path.of(status.getOutputDirectory());
+        assertEquals("<p>Анна</p>", Files.readString(directory.resolve("r1.html")));
+        assertFalse(Files.exists(directory.resolve("missing.html")));
+    }
+
+    @Test
+    @DisplayName("Резюме по поисковому запросу читаются страницами до последней")
+    void submit_shouldPageThroughSearchResults() throws Exception {
+        when(analyzerClient.searchResumes("java", 0, 2))
+                .thenReturn(new ResumePage(List.of(Map.of("id", "a"), Map.of("id", "b")), false));
+        when(analyzerClient.searchResumes("java", 1, 2))
+                .thenReturn(new ResumePage(List.of(Map.of("id", "c")), true));
+        when(renderService.renderTemplate(eq(TEMPLATE_ID), anyMap(), isNull())).thenReturn("<p></p>");
+
+        RenderJobStatus status = awaitFinished(service.submit(RenderJobRequest.builder()
+                .templateId(TEMPLATE_ID)
+                .query("java")
+                .build()));
+
+        assertEquals(State.COMPLETED, status.getState());
+        assertEquals(3, status.getTotal());
+        assertEquals(3, status.getCompleted());
+        assertNull(status.getOutputDirectory());
+        verify(analyzerClient, never()).getResume(anyString());
+    }
+
+    @Test
+    @DisplayName("Одновременно рендерится не больше резюме, чем задано в задании")
+    void submit_shouldBoundConcurrency() throws Exception {
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger peak = new AtomicInteger();
+        when(analyzerClient.getResume(anyString())).thenReturn(Map.of());
+        when(renderService.renderTemplate(eq(TEMPLATE_ID), anyMap(), isNull())).thenAnswer(invocation -> {
+            peak.accumulateAndGet(running.incrementAndGet(), Math::max);
+            Thread.sleep(5);
+            running.decrementAndGet();
+            return "";
+        });
+
+        RenderJobStatus status = awaitFinished(service.submit(RenderJobRequest.builder()
+                .templateId(TEMPLATE_ID)
+                .resumeIds(List.of("1", "2", "3", "4", "5", "6", "7", "8", "9", "10"))
+                .concurrency(2)
+                .build()));
+
+        assertEquals(10, status.getCompleted());
+        assertTrue(peak.get() <= 2);
+    }
+
+    @Test
+    @DisplayName("Задание с неизвестным шаблоном или без резюме не запускается")
+    void submit_shouldRejectInvalidRequests() {
+        when(templateService.getTemplateById("unknown")).thenThrow(new RuntimeException("Шаблон не найден"));
+
+        assertThrows(IllegalArgumentException.class, () -> service.submit(RenderJobRequest.builder()
+                .templateId("unknown").resumeIds(List.of("r1")).build()));
+        assertThrows(IllegalArgumentException.class, () -> service.submit(RenderJobRequest.builder()
+                .templateId(TEMPLATE_ID).build()));
+        assertTrue(service.getJobs().isEmpty());
+    }
+
+    private RenderJobStatus awaitFinished(RenderJobStatus submitted) throws InterruptedException {
+        for (int attempt = 0; attempt < 500; attempt++) {
+            RenderJobStatus status = service.getStatus(submitted.getId()).orElseThrow();
+            if (status.getState() != State.RUNNING) {
+                return status;
+            }
+            Thread.sleep(10);
+        }
+        return fail("Задание не завершилось");
+    }
+}
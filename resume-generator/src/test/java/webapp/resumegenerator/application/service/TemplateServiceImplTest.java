@@ -0,0 +1,118 @@
+package webapp.resumegenerator.application.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import webapp.resumegenerator.application.render.RenderResultCache;
+import org.springframework.dao.OptimisticLockingFailureException;
+import webapp.resumegenerator.domain.model.CursorPage;
+import webapp.resumegenerator.domain.model.Template;
+import webapp.resumegenerator.domain.model.TemplateCursor;
+import webapp.resumegenerator.domain.model.TemplateSummary;
+import webapp.resumegenerator.domain.repository.TemplateRepository;
+import webapp.resumegenerator.domain.service.TemplateNotFoundException;
+import webapp.resumegenerator.domain.service.TemplateVersionService;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TemplateServiceImplTest {
+
+    @Mock
+    private TemplateRepository templateRepository;
+
+    @Mock
+    private TemplateVersionService templateVersionService;
+
+    @Mock
+    private RenderResultCache renderResultCache;
+
+    @InjectMocks
+    private TemplateServiceImpl templateService;
+
+    @Test
+    @DisplayName("Курсорная пагинация: лишний шаблон даёт курсор следующей порции, подсчёт не выполняется")
+    void getTemplatesAfter_shouldReturnNextCursorWithoutCount() {
+        TemplateSummary first = template(LocalDateTime.of(2024, 1, 1, 0, 0));
+        TemplateSummary second = template(LocalDateTime.of(2024, 1, 2, 0, 0));
+        TemplateSummary third = template(LocalDateTime.of(2024, 1, 3, 0, 0));
+        when(templateRepository.findAfter(null, 3)).thenReturn(List.of(first, second, third));
+
+        CursorPage<TemplateSummary> page = templateService.getTemplatesAfter(null, 2, false);
+
+        assertEquals(List.of(first, second), page.getItems());
+        assertEquals(TemplateCursor.after(second), TemplateCursor.decode(page.getNextCursor()));
+        assertNull(page.getTotal());
+        verify(templateRepository, never()).estimateCount();
+    }
+
+    @Test
+    @DisplayName("Курсорная пагинация: последняя порция не содержит курсора")
+    void getTemplatesAfter_shouldEndOnLastPage() {
+        TemplateSummary last = template(LocalDateTime.of(2024, 1, 3, 0, 0));
+        TemplateCursor cursor = new TemplateCursor(LocalDateTime.of(2024, 1, 2, 0, 0), UUID.randomUUID());
+        when(templateRepository.findAfter(eq(cursor), anyInt())).thenReturn(List.of(last));
+        when(templateRepository.estimateCount()).thenReturn(3L);
+
+        CursorPage<TemplateSummary> page = templateService.getTemplatesAfter(cursor.encode(), 2, true);
+
+        assertEquals(List.of(last), page.getItems());
+        assertNull(page.getNextCursor());
+        assertEquals(3L, page.getTotal());
+    }
+
+    @Test
+    @DisplayName("Конфликт при создании версии не оставляет записи в истории версий")
+    void createNewTemplateVersion_shouldNotRecordHistoryOnConflict() {
+        Template template = Template.builder().id(UUID.randomUUID()).name("Template").description("Description")
+                .content("content").date(LocalDateTime.of(2024, 1, 1, 0, 0)).version(3).revision(7L).build();
+        when(templateRepository.replaceReturningPrevious(any()))
+                .thenThrow(new OptimisticLockingFailureException("conflict"));
+
+        assertThrows(OptimisticLockingFailureException.class, () -> templateService.createNewTemplateVersion(template));
+        verifyNoInteractions(templateVersionService);
+    }
+
+    @Test
+    @DisplayName("В историю версий записывается состояние шаблона до замены, а не переданная копия")
+    void createNewTemplateVersion_shouldRecordPreviousState() {
+        UUID id = UUID.randomUUID();
+        Template template = Template.builder().id(id).name("Template").description("Description")
+                .content("cached").date(LocalDateTime.of(2024, 1, 1, 0, 0)).version(3).revision(7L).build();
+        Template previous = Template.builder().id(id).name("Template").description("Description")
+                .content("stored").date(LocalDateTime.of(2024, 1, 1, 0, 0)).version(3).revision(7L).build();
+        when(templateRepository.replaceReturningPrevious(any())).thenReturn(previous);
+
+        Template created = templateService.createNewTemplateVersion(template);
+
+        assertEquals(4, created.getVersion());
+        verify(templateVersionService).recordVersion(previous);
+        verify(renderResultCache).evictTemplate(id);
+    }
+
+    @Test
+    @DisplayName("Обновление и удаление отсутствующего шаблона сообщают, что шаблон не найден")
+    void updateAndDelete_shouldReportMissingTemplate() {
+        String id = UUID.randomUUID().toString();
+        when(templateRepository.replaceIfCurrent(any())).thenReturn(null);
+        when(templateRepository.removeById(UUID.fromString(id))).thenReturn(false);
+
+        assertThrows(TemplateNotFoundException.class,
+                () -> templateService.updateTemplate(id, Template.builder().name("Template").build()));
+        assertThrows(TemplateNotFoundException.class, () -> templateService.deleteTemplate(id));
+        verifyNoInteractions(renderResultCache);
+    }
+
+    private static TemplateSummary template(LocalDateTime date) {
+        return new TemplateSummary(UUID.randomUUID(), "Template", "Description", date, 1);
+    }
+}
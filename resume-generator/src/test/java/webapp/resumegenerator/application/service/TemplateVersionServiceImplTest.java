@@ -0,0 +1,84 @@
+package webapp.resumegenerator.application.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import webapp.resumegenerator.domain.model.Template;
+import webapp.resumegenerator.domain.model.TemplateVersion;
+import webapp.resumegenerator.domain.repository.TemplateVersionRepository;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Stream;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TemplateVersionServiceImplTest {
+
+    private static final UUID TEMPLATE_ID = UUID.randomUUID();
+
+    @Mock
+    private TemplateVersionRepository templateVersionRepository;
+
+    private TemplateVersionServiceImpl templateVersionService;
+
+    @BeforeEach
+    void setUp() {
+        templateVersionService = new TemplateVersionServiceImpl(templateVersionRepository, 10);
+    }
+
+    @Test
+    @DisplayName("Повторная фиксация версии с тем же состоянием не изменяет историю")
+    void recordVersion_shouldKeepSameState() {
+        TemplateVersion recorded = snapshot(UUID.randomUUID(), 3, "content");
+        when(templateVersionRepository.findFirstByTemplateIdOrderByVersionDesc(TEMPLATE_ID))
+                .thenReturn(Optional.of(recorded));
+        when(templateVersionRepository.findByTemplateIdAndVersionLessThanEqualOrderByVersionDesc(TEMPLATE_ID, 3))
+                .thenReturn(Stream.of(recorded));
+
+        assertSame(recorded, templateVersionService.recordVersion(template(3, "content")));
+        verify(templateVersionRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("Запись той же версии с другим состоянием перезаписывается относительно предыдущей версии")
+    void recordVersion_shouldOverwriteStaleRecordOfSameVersion() {
+        UUID staleId = UUID.randomUUID();
+        TemplateVersion stale = snapshot(staleId, 3, "stale");
+        TemplateVersion previous = snapshot(UUID.randomUUID(), 2, "old");
+        when(templateVersionRepository.findFirstByTemplateIdOrderByVersionDesc(TEMPLATE_ID))
+                .thenReturn(Optional.of(stale));
+        when(templateVersionRepository.findByTemplateIdAndVersionLessThanEqualOrderByVersionDesc(TEMPLATE_ID, 3))
+                .thenReturn(Stream.of(stale));
+        when(templateVersionRepository.findFirstByTemplateIdAndVersionLessThanOrderByVersionDesc(TEMPLATE_ID, 3))
+                .thenReturn(Optional.of(previous));
+        when(templateVersionRepository.findByTemplateIdAndVersionLessThanEqualOrderByVersionDesc(TEMPLATE_ID, 2))
+                .thenReturn(Stream.of(previous));
+        when(templateVersionRepository.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        templateVersionService.recordVersion(template(3, "stored"));
+
+        ArgumentCaptor<TemplateVersion> saved = ArgumentCaptor.forClass(TemplateVersion.class);
+        verify(templateVersionRepository).save(saved.capture());
+        assertEquals(staleId, saved.getValue().getId());
+        assertEquals(3, saved.getValue().getVersion());
+        assertEquals("stored", saved.getValue().getContent());
+    }
+
+    private static Template template(int version, String content) {
+        return Template.builder().id(TEMPLATE_ID).name("Template").description("Description")
+                .content(content).date(LocalDateTime.of(2024, 1, 1, 0, 0)).version(version).build();
+    }
+
+    private static TemplateVersion snapshot(UUID id, int version, String content) {
+        return TemplateVersion.builder().id(id).templateId(TEMPLATE_ID).version(version).name("Template")
+                .description("Description").snapshot(true).chainLength(0).content(content)
+                .contentLength(content.length()).build();
+    }
+}
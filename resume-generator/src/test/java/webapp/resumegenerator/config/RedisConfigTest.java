@@ -0,0 +1,44 @@
+package webapp.resumegenerator.config;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.convert.ApplicationConversionService;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import webapp.resumegenerator.infrastructure.cache.RedisCacheCodecs;
+import java.time.Duration;
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Тестирование конфигурации кэшей Redis")
+class RedisConfigTest {
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withInitializer(context -> context.getBeanFactory()
+                    .setConversionService(ApplicationConversionService.getSharedInstance()))
+            .withUserConfiguration(RedisConfig.class)
+            .withPropertyValues("generator.cache.codec.compact-caches=templates");
+
+    @Test
+    @DisplayName("Время жизни и запрет кэширования null из spring.cache.redis применяются ко всем кэшам")
+    void cacheConfiguration_shouldApplyCacheProperties() {
+        contextRunner.withPropertyValues("spring.cache.redis.time-to-live=1h",
+                "spring.cache.redis.cache-null-values=false").run(context -> {
+            RedisCacheCodecs codecs = context.getBean(RedisCacheCodecs.class);
+            for (String cacheName : new String[] {"templates", "blockElements"}) {
+                RedisCacheConfiguration configuration = codecs.configurationFor(cacheName);
+                assertEquals(Duration.ofHours(1), configuration.getTtlFunction().getTimeToLive("key", "value"));
+                assertFalse(configuration.getAllowCacheNullValues());
+            }
+        });
+    }
+
+    @Test
+    @DisplayName("Без настроек записи не истекают, а null кэшируется, как в конфигурации по умолчанию")
+    void cacheConfiguration_shouldKeepDefaultsWithoutProperties() {
+        contextRunner.run(context -> {
+            RedisCacheConfiguration configuration = context.getBean(RedisCacheConfiguration.class);
+            assertEquals(Duration.ZERO, configuration.getTtlFunction().getTimeToLive("key", "value"));
+            assertTrue(configuration.getAllowCacheNullValues());
+        });
+    }
+}
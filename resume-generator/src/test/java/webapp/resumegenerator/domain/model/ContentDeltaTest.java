@@ -0,0 +1,46 @@
+package webapp.resumegenerator.domain.model;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+class ContentDeltaTest {
+
+    @Test
+    @DisplayName("Разница хранит только изменённый участок контента")
+    void testBetweenStoresOnlyChangedPart() {
+        ContentDelta delta = ContentDelta.between("<h1>{{name}}</h1><p>old</p>", "<h1>{{name}}</h1><p>new</p>");
+
+        assertEquals(20, delta.getOffset());
+        assertEquals(3, delta.getDeleteLength());
+        assertEquals("new", delta.getInsert());
+        assertEquals("<h1>{{name}}</h1><p>new</p>", delta.applyTo("<h1>{{name}}</h1><p>old</p>"));
+    }
+
+    @Test
+    @DisplayName("Применение разницы восстанавливает вставку, удаление и полную замену")
+    void testApplyToRestoresContent() {
+        String[][] cases = {
+                {"abc", "abXc"},
+                {"abXc", "abc"},
+                {"aaaa", "aaaaaa"},
+                {"", "content"},
+                {"content", ""},
+                {"first", "second"},
+                {"same", "same"}
+        };
+        for (String[] pair : cases) {
+            ContentDelta delta = ContentDelta.between(pair[0], pair[1]);
+            assertEquals(pair[1], delta.applyTo(pair[0]), pair[0] + " -> " + pair[1]);
+        }
+    }
+
+    @Test
+    @DisplayName("Разница для одинакового контента пуста")
+    void testBetweenSameContentIsEmpty() {
+        ContentDelta delta = ContentDelta.between("same", "same");
+
+        assertEquals(0, delta.getDeleteLength());
+        assertEquals(0, delta.size());
+    }
+}
@@ -0,0 +1,40 @@
+package webapp.resumegenerator.domain.model;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import static org.junit.jupiter.api.Assertions.*;
+
+class TemplateCursorTest {
+
+    @Test
+    @DisplayName("Курсор восстанавливается из закодированной строки")
+    void testEncodeDecodeRoundTrip() {
+        TemplateCursor cursor = new TemplateCursor(LocalDateTime.of(2024, 10, 4, 12, 30, 15, 123_000_000),
+                UUID.randomUUID());
+
+        String encoded = cursor.encode();
+
+        assertFalse(encoded.contains("|"), "Курсор должен быть непрозрачным");
+        assertEquals(cursor, TemplateCursor.decode(encoded));
+    }
+
+    @Test
+    @DisplayName("Курсор шаблона без даты кодируется и восстанавливается")
+    void testEncodeDecodeWithoutDate() {
+        UUID id = UUID.randomUUID();
+        TemplateSummary template = new TemplateSummary(id, "Template", "Description", null, 1);
+
+        TemplateCursor cursor = TemplateCursor.after(template);
+
+        assertEquals(new TemplateCursor(null, id), TemplateCursor.decode(cursor.encode()));
+    }
+
+    @Test
+    @DisplayName("Некорректный курсор отклоняется с IllegalArgumentException")
+    void testDecodeInvalidCursor() {
+        assertThrows(IllegalArgumentException.class, () -> TemplateCursor.decode("not a cursor"));
+        assertThrows(IllegalArgumentException.class, () -> TemplateCursor.decode("bm8tc2VwYXJhdG9y"));
+    }
+}
@@ -0,0 +1,72 @@
+package webapp.resumegenerator.domain.repository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import webapp.resumegenerator.domain.model.BlockElement;
+import webapp.resumegenerator.domain.model.Template;
+import java.util.List;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Тестирование создания индексов при старте")
+class MongoIndexInitializerTest {
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Mock
+    private IndexOperations indexOperations;
+
+    private MongoIndexInitializer initializer;
+
+    @BeforeEach
+    void setUp() {
+        MongoMappingContext mappingContext = new MongoMappingContext();
+        mappingContext.setSimpleTypeHolder(MongoCustomConversions.create(adapter -> { }).getSimpleTypeHolder());
+        mappingContext.afterPropertiesSet();
+        when(mongoTemplate.getConverter())
+                .thenReturn(new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, mappingContext));
+        initializer = new MongoIndexInitializer(mongoTemplate);
+    }
+
+    @Test
+    @DisplayName("Индексы, объявленные в моделях, создаются через ensureIndex")
+    void run_shouldEnsureDeclaredIndexes() {
+        when(mongoTemplate.indexOps(any(Class.class))).thenReturn(indexOperations);
+
+        initializer.run(null);
+
+        ArgumentCaptor<IndexDefinition> indexes = ArgumentCaptor.forClass(IndexDefinition.class);
+        verify(indexOperations, atLeastOnce()).ensureIndex(indexes.capture());
+        List<Object> names = indexes.getAllValues().stream().map(index -> index.getIndexOptions().get("name"))
+                .toList();
+        assertTrue(names.containsAll(List.of("date_id", "name_version", "template_version_unique",
+                "block_name_unique")), names.toString());
+    }
+
+    @Test
+    @DisplayName("Недоступная MongoDB не мешает запуску: создание индексов прекращается")
+    void run_shouldSkipWhenMongoIsUnavailable() {
+        when(mongoTemplate.indexOps(Template.class)).thenReturn(indexOperations);
+        when(indexOperations.ensureIndex(any())).thenThrow(new DataAccessResourceFailureException("timeout"));
+
+        assertDoesNotThrow(() -> initializer.run(null));
+        verify(indexOperations).ensureIndex(any());
+        verify(mongoTemplate, never()).indexOps(BlockElement.class);
+    }
+}
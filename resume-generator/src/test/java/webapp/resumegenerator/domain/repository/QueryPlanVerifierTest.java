@@ -0,0 +1,145 @@
+package webapp.resumegenerator.domain.repository;
+
+import com.mongodb.ExplainVerbosity;
+import com.mongodb.MongoClientSettings;
+import com.mongodb.client.FindIterable;
+import com.mongodb.client.MongoCollection;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.DbCallback;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class QueryPlanVerifierTest {
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Mock
+    private MongoCollection<Document> collection;
+
+    @Mock
+    private FindIterable<Document> find;
+
+    @Test
+    @DisplayName("Полный просмотр находится во вложенных стадиях и на шардах, отвергнутые планы не учитываются")
+    void hasCollectionScan_shouldInspectWinningPlanOnly() {
+        Document indexed = explain(new Document("stage", "FETCH")
+                .append("inputStage", new Document("stage", "IXSCAN").append("indexName", "name_version")));
+        Document sharded = explain(new Document("stage", "SHARD_MERGE").append("shards", List.of(
+                new Document("winningPlan", new Document("stage", "IXSCAN")),
+                new Document("winningPlan", new Document("stage", "SORT")
+                        .append("inputStage", new Document("stage", "COLLSCAN"))))));
+        Document rejectedScan = new Document("queryPlanner", new Document("winningPlan", new Document("stage", "IXSCAN"))
+                .append("rejectedPlans", List.of(new Document("stage", "COLLSCAN"))));
+
+        assertFalse(QueryPlanVerifier.hasCollectionScan(indexed));
+        assertTrue(QueryPlanVerifier.hasCollectionScan(sharded));
+        assertFalse(QueryPlanVerifier.hasCollectionScan(rejectedScan));
+    }
+
+    @Test
+    @DisplayName("Запуск прерывается, если запрос репозитория просматривает коллекцию целиком")
+    void run_shouldFailOnCollectionScan() {
+        stubExplain(explain(new Document("stage", "COLLSCAN")));
+
+        IllegalStateException error = assertThrows(IllegalStateException.class,
+                () -> new QueryPlanVerifier(mongoTemplate).run(null));
+
+        assertTrue(error.getMessage().contains("TemplateRepository.findByNameOrderByVersionDesc"));
+        assertTrue(error.getMessage().contains("BlockElementRepository.findByName"));
+    }
+
+    @Test
+    @DisplayName("Запросы по индексам проходят проверку")
+    void verify_shouldPassWhenAllQueriesUseIndexes() {
+        stubExplain(explain(new Document("stage", "IXSCAN")));
+
+        QueryPlanVerifier verifier = new QueryPlanVerifier(mongoTemplate);
+
+        assertTrue(verifier.verify().isEmpty());
+        verify(find, times(verifier.queries().size())).explain(ExplainVerbosity.QUERY_PLANNER);
+    }
+
+    @Test
+    @DisplayName("Проверяются все методы репозиториев с условием, запросы строятся как в Spring Data")
+    void queries_shouldCoverRepositoryMethods() {
+        stubConverter();
+
+        Map<String, QueryPlanVerifier.PlannedQuery> queries = new QueryPlanVerifier(mongoTemplate).queries();
+
+        assertTrue(queries.keySet().containsAll(List.of(
+                "TemplateRepository.findByNameOrderByVersionDesc",
+                "BlockElementRepository.findByName",
+                "BlockElementRepository.existsByName",
+                "TemplateVersionRepository.findByTemplateIdOrderByVersionDesc",
+                "TemplateVersionRepository.findByTemplateIdAndVersionLessThanOrderByVersionDesc",
+                "TemplateVersionRepository.findFirstByTemplateIdOrderByVersionDesc",
+                "TemplateVersionRepository.findByTemplateIdAndVersionLessThanEqualOrderByVersionDesc",
+                "CustomTemplateRepository.suggestNames (infix)",
+                "CustomTemplateRepository.findByName (short)",
+                "CustomTemplateRepository.findSummariesByDate")));
+        QueryPlanVerifier.PlannedQuery history =
+                queries.get("TemplateVersionRepository.findByTemplateIdAndVersionLessThanOrderByVersionDesc");
+        assertEquals(Document.parse("{'version': -1}"), history.query().getSortObject());
+        assertEquals(10, history.query().getQueryObject().get("version", Document.class).get("$lt"));
+        Object shortName = queries.get("CustomTemplateRepository.findByName (short)").query().getQueryObject()
+                .get("nameLower");
+        assertTrue(shortName.toString().startsWith("^"), "короткая подстрока ищется только в начале имени");
+    }
+
+    @Test
+    @DisplayName("Каждый метод пользовательских репозиториев проверяется или явно отнесён к запросам без условия")
+    void customQueries_shouldCoverEveryCustomMethod() {
+        Map<String, QueryPlanVerifier.PlannedQuery> queries = QueryPlanVerifier.customQueries();
+
+        Stream.of(CustomTemplateRepository.class, CustomBlockElementRepository.class)
+                .flatMap(repository -> Arrays.stream(repository.getDeclaredMethods())
+                        .map(method -> repository.getSimpleName() + "." + method.getName()))
+                .forEach(name -> assertTrue(queries.containsKey(name)
+                        || QueryPlanVerifier.UNVERIFIED_CUSTOM_METHODS.contains(name), name));
+    }
+
+    private void stubExplain(Document plan) {
+        stubConverter();
+        when(mongoTemplate.getCollection(anyString())).thenReturn(collection);
+        when(collection.find(any(Bson.class))).thenReturn(find);
+        when(find.sort(any())).thenReturn(find);
+        lenient().when(find.limit(anyInt())).thenReturn(find);
+        when(find.explain(ExplainVerbosity.QUERY_PLANNER)).thenReturn(plan);
+    }
+
+    private void stubConverter() {
+        MongoCustomConversions conversions = MongoCustomConversions.create(adapter -> { });
+        MongoMappingContext mappingContext = new MongoMappingContext();
+        mappingContext.setSimpleTypeHolder(conversions.getSimpleTypeHolder());
+        mappingContext.afterPropertiesSet();
+        MappingMongoConverter converter = new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, mappingContext);
+        converter.setCustomConversions(conversions);
+        converter.afterPropertiesSet();
+        when(mongoTemplate.getConverter()).thenReturn(converter);
+        doReturn(MongoClientSettings.getDefaultCodecRegistry()).when(mongoTemplate).execute(any(DbCallback.class));
+    }
+
+    private static Document explain(Document winningPlan) {
+        return new Document("queryPlanner", new Document("winningPlan", winningPlan));
+    }
+}
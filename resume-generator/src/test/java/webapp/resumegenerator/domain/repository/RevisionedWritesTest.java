@@ -0,0 +1,167 @@
+package webapp.resumegenerator.domain.repository;
+
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.FindAndReplaceOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import webapp.resumegenerator.domain.model.BlockElement;
+import java.util.UUID;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RevisionedWritesTest {
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    private BlockElement block;
+
+    @BeforeEach
+    void setUp() {
+        block = new BlockElement();
+        block.setId(UUID.randomUUID());
+        block.setName("Опыт работы");
+    }
+
+    @Test
+    @DisplayName("Совпавшая ревизия: документ заменяется одним запросом и получает следующую ревизию")
+    void replace_shouldWriteOnce_whenRevisionMatches() {
+        block.setRevision(4L);
+        when(mongoTemplate.findAndReplace(any(Query.class), eq(block), any(FindAndReplaceOptions.class)))
+                .thenAnswer(invocation -> invocation.getArgument(1));
+
+        BlockElement saved = RevisionedWrites.replace(mongoTemplate, block, document -> { });
+
+        assertSame(block, saved);
+        assertEquals(5L, saved.getRevision());
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate).findAndReplace(query.capture(), eq(block), any(FindAndReplaceOptions.class));
+        assertTrue(query.getValue().getQueryObject().toJson().contains("\"revision\": 4"));
+        verify(mongoTemplate, never()).exists(any(Query.class), any(Class.class));
+    }
+
+    @Test
+    @DisplayName("Устаревшая ревизия: выбрасывается конфликт, ревизия сущности не меняется")
+    void replace_shouldThrowConflict_whenRevisionIsStale() {
+        block.setRevision(4L);
+        when(mongoTemplate.findAndReplace(any(Query.class), eq(block), any(FindAndReplaceOptions.class)))
+                .thenReturn(null);
+        when(mongoTemplate.exists(any(Query.class), eq(BlockElement.class))).thenReturn(true);
+
+        assertThrows(OptimisticLockingFailureException.class,
+                () -> RevisionedWrites.replace(mongoTemplate, block, document -> { }));
+
+        assertEquals(4L, block.getRevision());
+    }
+
+    @Test
+    @DisplayName("Отсутствующий документ: возвращается null без конфликта")
+    void replace_shouldReturnNull_whenDocumentIsMissing() {
+        block.setRevision(4L);
+        when(mongoTemplate.findAndReplace(any(Query.class), eq(block), any(FindAndReplaceOptions.class)))
+                .thenReturn(null);
+        when(mongoTemplate.exists(any(Query.class), eq(BlockElement.class))).thenReturn(false);
+
+        assertNull(RevisionedWrites.replace(mongoTemplate, block, document -> { }));
+    }
+
+    @Test
+    @DisplayName("Замена с прежним состоянием: возвращается документ до замены, без ревизии ожидается ревизия 0")
+    void replaceReturningPrevious_shouldReturnPreviousDocument() {
+        BlockElement previous = new BlockElement();
+        when(mongoTemplate.findAndReplace(any(Query.class), eq(block), any(FindAndReplaceOptions.class)))
+                .thenReturn(previous);
+
+        assertSame(previous, RevisionedWrites.replaceReturningPrevious(mongoTemplate, block));
+
+        assertEquals(1L, block.getRevision());
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        ArgumentCaptor<FindAndReplaceOptions> options = ArgumentCaptor.forClass(FindAndReplaceOptions.class);
+        verify(mongoTemplate).findAndReplace(query.capture(), eq(block), options.capture());
+        assertTrue(query.getValue().getQueryObject().toJson().contains("$in"));
+        assertFalse(options.getValue().isReturnNew());
+    }
+
+    @Test
+    @DisplayName("Ревизия 0 подходит и документу без поля ревизии, записанному до её появления")
+    void replace_shouldMatchLegacyDocument_whenRevisionIsZero() {
+        block.setRevision(0L);
+        when(mongoTemplate.findAndReplace(any(Query.class), eq(block), any(FindAndReplaceOptions.class)))
+                .thenAnswer(invocation -> invocation.getArgument(1));
+
+        BlockElement saved = RevisionedWrites.replace(mongoTemplate, block, document -> { });
+
+        assertEquals(1L, saved.getRevision());
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate).findAndReplace(query.capture(), eq(block), any(FindAndReplaceOptions.class));
+        assertTrue(query.getValue().getQueryObject().toJson().contains("$in"));
+    }
+
+    @Test
+    @DisplayName("Ревизия не передана: документ записывается одной операцией с увеличением ревизии")
+    void replace_shouldOverwriteInOneOperation_whenClientSentNone() {
+        useConverter();
+        block.setTitle(null);
+        when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class),
+                eq(BlockElement.class))).thenAnswer(invocation -> {
+                    block.setRevision(8L);
+                    return block;
+                });
+
+        BlockElement saved = RevisionedWrites.replace(mongoTemplate, block,
+                document -> document.put("derived", true));
+
+        assertEquals(8L, saved.getRevision());
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        verify(mongoTemplate).findAndModify(any(Query.class), update.capture(), any(FindAndModifyOptions.class),
+                eq(BlockElement.class));
+        Document operations = update.getValue().getUpdateObject();
+        assertEquals(new Document(RevisionedWrites.REVISION, 1), operations.get("$inc"));
+        Document set = operations.get("$set", Document.class);
+        assertEquals("Опыт работы", set.get("name"));
+        assertEquals(true, set.get("derived"));
+        assertFalse(set.containsKey("_id"));
+        Document unset = operations.get("$unset", Document.class);
+        assertTrue(unset.containsKey("title"));
+        assertFalse(unset.containsKey(RevisionedWrites.REVISION));
+        verify(mongoTemplate, never()).findOne(any(Query.class), any(Class.class), anyString());
+        verify(mongoTemplate, never()).findAndReplace(any(Query.class), any(), any(FindAndReplaceOptions.class));
+    }
+
+    @Test
+    @DisplayName("Ревизия не передана, документа нет: возвращается null")
+    void replace_shouldReturnNull_whenClientSentNoneAndDocumentIsMissing() {
+        useConverter();
+        when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class),
+                eq(BlockElement.class))).thenReturn(null);
+
+        assertNull(RevisionedWrites.replace(mongoTemplate, block, document -> { }));
+    }
+
+    private void useConverter() {
+        MongoMappingContext mappingContext = new MongoMappingContext();
+        mappingContext.setSimpleTypeHolder(MongoCustomConversions.create(adapter -> { }).getSimpleTypeHolder());
+        mappingContext.afterPropertiesSet();
+        MappingMongoConverter converter = new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, mappingContext);
+        converter.afterPropertiesSet();
+        when(mongoTemplate.getConverter()).thenReturn(converter);
+    }
+}
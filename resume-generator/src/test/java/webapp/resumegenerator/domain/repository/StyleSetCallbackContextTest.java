@@ -0,0 +1,47 @@
+package webapp.resumegenerator.domain.repository;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.autoconfigure.data.mongo.MongoDataAutoConfiguration;
+import org.springframework.boot.autoconfigure.data.mongo.MongoReactiveDataAutoConfiguration;
+import org.springframework.boot.autoconfigure.mongo.MongoAutoConfiguration;
+import org.springframework.boot.autoconfigure.mongo.MongoReactiveAutoConfiguration;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import webapp.resumegenerator.domain.repository.reactive.ReactiveStyleSetCallback;
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Тестирование регистрации обработчика наборов стилей в контексте MongoDB")
+class StyleSetCallbackContextTest {
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withConfiguration(AutoConfigurations.of(MongoAutoConfiguration.class, MongoDataAutoConfiguration.class))
+            .withBean(StyleSetStore.class)
+            .withBean(StyleSetCallback.class);
+
+    @Test
+    @DisplayName("Контекст с реактивным обработчиком и ReactiveMongoTemplate создаётся без циклической зависимости")
+    void reactiveContext_shouldStartWithoutCircularReference() {
+        contextRunner
+                .withConfiguration(AutoConfigurations.of(MongoReactiveAutoConfiguration.class,
+                        MongoReactiveDataAutoConfiguration.class))
+                .withBean(ReactiveStyleSetCallback.class)
+                .run(context -> {
+                    assertNull(context.getStartupFailure());
+                    assertNotNull(context.getBean(ReactiveMongoTemplate.class));
+                    assertNotNull(context.getBean(ReactiveStyleSetCallback.class));
+                });
+    }
+
+    @Test
+    @DisplayName("Контекст с обработчиком и MongoTemplate создаётся без циклической зависимости")
+    void context_shouldStartWithoutCircularReference() {
+        contextRunner.run(context -> {
+            assertNull(context.getStartupFailure());
+            assertNotNull(context.getBean(MongoTemplate.class));
+            assertNotNull(context.getBean(StyleSetCallback.class));
+        });
+    }
+}
@@ -0,0 +1,135 @@
+package webapp.resumegenerator.domain.repository;
+
+import com.mongodb.client.FindIterable;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoCursor;
+import com.mongodb.client.model.BulkWriteOptions;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import webapp.resumegenerator.domain.model.BlockElement;
+import webapp.resumegenerator.domain.model.SectionElementProps;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Тестирование общих наборов стилей блоков")
+class StyleSetStoreTest {
+
+    private static final Map<String, String> STYLE = Map.of("color", "#333", "fontSize", "14px");
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Mock
+    private MongoCollection<Document> collection;
+
+    private StyleSetStore store;
+
+    @BeforeEach
+    void setUp() {
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        beanFactory.registerSingleton("mongoTemplate", mongoTemplate);
+        store = new StyleSetStore(beanFactory.getBeanProvider(MongoTemplate.class), 100);
+    }
+
+    @Test
+    @DisplayName("Одинаковые карты стилей всего дерева заменяются одной ссылкой и сохраняются один раз")
+    void extract_shouldReplaceEqualStylesWithSingleReference() {
+        when(mongoTemplate.getCollection(StyleSetStore.COLLECTION)).thenReturn(collection);
+        Document child = blockDocument(new Document("color", "#333").append("fontSize", "14px"));
+        Document root = blockDocument(new Document("fontSize", "14px").append("color", "#333"))
+                .append("children", List.of(child));
+
+        assertTrue(store.extract(root));
+
+        Document rootProps = root.get("props", Document.class);
+        Document childProps = child.get("props", Document.class);
+        assertFalse(rootProps.containsKey("style"));
+        assertEquals(StyleSetStore.digest(STYLE), rootProps.getString("styleRef"));
+        assertEquals(rootProps.getString("styleRef"), childProps.getString("styleRef"));
+        verify(collection).bulkWrite(argThat(writes -> writes.size() == 1), any(BulkWriteOptions.class));
+    }
+
+    @Test
+    @DisplayName("Известный набор повторно не записывается, а блоки получают общий экземпляр карты")
+    void resolve_shouldShareInternedInstance() {
+        when(mongoTemplate.getCollection(StyleSetStore.COLLECTION)).thenReturn(collection);
+        store.extract(blockDocument(new Document(STYLE)));
+        Map<String, String> shared = store.intern(STYLE);
+        Document first = blockDocument(new Document(STYLE));
+        Document second = blockDocument(new Document(STYLE));
+        store.extract(first);
+        store.extract(second);
+        BlockElement firstBlock = block(null);
+        BlockElement secondBlock = block(null);
+
+        store.resolve(firstBlock, first);
+        store.resolve(secondBlock, second);
+
+        verify(collection, times(1)).bulkWrite(anyList(), any(BulkWriteOptions.class));
+        verify(collection, never()).find(any(Bson.class));
+        assertEquals(STYLE, shared);
+        assertSame(shared, firstBlock.getProps().getStyle());
+        assertSame(shared, secondBlock.getProps().getStyle());
+    }
+
+    @Test
+    @DisplayName("Неизвестные наборы загружаются из style_sets одним запросом")
+    @SuppressWarnings("unchecked")
+    void resolve_shouldLoadMissingSets() {
+        String digest = StyleSetStore.digest(STYLE);
+        FindIterable<Document> found = mock(FindIterable.class);
+        MongoCursor<Document> cursor = mock(MongoCursor.class);
+        when(mongoTemplate.getCollection(StyleSetStore.COLLECTION)).thenReturn(collection);
+        when(collection.find(any(Bson.class))).thenReturn(found);
+        when(found.iterator()).thenReturn(cursor);
+        when(cursor.hasNext()).thenReturn(true, false);
+        when(cursor.next()).thenReturn(new Document("_id", digest).append("style", new Document(STYLE)));
+        Document document = new Document("props", new Document("styleRef", digest).append("textStyleRef", digest));
+        BlockElement block = block(null);
+
+        store.resolve(block, document);
+
+        verify(collection, times(1)).find(any(Bson.class));
+        assertEquals(STYLE, block.getProps().getStyle());
+        assertSame(block.getProps().getStyle(), block.getProps().getTextStyle());
+    }
+
+    @Test
+    @DisplayName("Встроенные карты старых документов тоже заменяются общими неизменяемыми экземплярами")
+    void resolve_shouldInternInlineStyles() {
+        BlockElement child = block(Map.of("fontSize", "14px", "color", "#333"));
+        BlockElement root = block(Map.of("color", "#333", "fontSize", "14px"));
+        root.setChildren(new ArrayList<>(List.of(child)));
+        Document document = new Document("props", new Document("style", new Document(STYLE)))
+                .append("children", List.of(new Document("props", new Document("style", new Document(STYLE)))));
+
+        store.resolve(root, document);
+
+        assertSame(root.getProps().getStyle(), child.getProps().getStyle());
+        assertThrows(UnsupportedOperationException.class, () -> root.getProps().getStyle().put("color", "red"));
+        verifyNoInteractions(mongoTemplate);
+    }
+
+    private static Document blockDocument(Document style) {
+        return new Document("props", new Document("text", "Опыт работы").append("style", style));
+    }
+
+    private static BlockElement block(Map<String, String> style) {
+        BlockElement block = new BlockElement();
+        block.setProps(new SectionElementProps("key", "Опыт работы", null, null, null, null, style));
+        return block;
+    }
+}
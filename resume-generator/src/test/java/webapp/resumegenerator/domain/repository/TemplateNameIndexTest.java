@@ -0,0 +1,43 @@
+package webapp.resumegenerator.domain.repository;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import java.util.List;
+import java.util.regex.Pattern;
+import static org.junit.jupiter.api.Assertions.*;
+
+class TemplateNameIndexTest {
+
+    @Test
+    @DisplayName("Нормализация приводит имя к нижнему регистру и схлопывает пробелы")
+    void testNormalize() {
+        assertEquals("резюме разработчика", TemplateNameIndex.normalize("  Резюме   РАЗРАБОТЧИКА "));
+        assertEquals("елка", TemplateNameIndex.normalize("Ёлка"));
+        assertEquals("", TemplateNameIndex.normalize(null));
+    }
+
+    @Test
+    @DisplayName("Имя раскладывается на различные триграммы, короткое имя — на одну n-грамму")
+    void testGrams() {
+        assertEquals(List.of("ban", "ana", "nan"), TemplateNameIndex.grams("banana"));
+        assertEquals(List.of("cv"), TemplateNameIndex.grams("cv"));
+        assertEquals(List.of(), TemplateNameIndex.grams(""));
+    }
+
+    @Test
+    @DisplayName("Все триграммы подстроки входят в триграммы имени")
+    void testSubstringGramsAreContained() {
+        List<String> nameGrams = TemplateNameIndex.grams(TemplateNameIndex.normalize("Senior Java Developer"));
+
+        assertTrue(nameGrams.containsAll(TemplateNameIndex.grams("java dev")));
+    }
+
+    @Test
+    @DisplayName("Спецсимволы регулярных выражений экранируются")
+    void testEscape() {
+        String name = "c++ (senior) [v1.0]";
+
+        assertTrue(Pattern.compile(TemplateNameIndex.prefixRegex(name)).matcher(name + " tail").find());
+        assertFalse(Pattern.compile(TemplateNameIndex.escape("a.c")).matcher("abc").find());
+    }
+}
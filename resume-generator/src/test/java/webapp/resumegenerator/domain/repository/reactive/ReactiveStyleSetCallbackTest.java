@@ -0,0 +1,109 @@
+package webapp.resumegenerator.domain.repository.reactive;
+
+import com.mongodb.reactivestreams.client.FindPublisher;
+import com.mongodb.reactivestreams.client.MongoCollection;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.reactivestreams.Subscriber;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import webapp.resumegenerator.domain.model.BlockElement;
+import webapp.resumegenerator.domain.model.SectionElementProps;
+import webapp.resumegenerator.domain.repository.StyleSetStore;
+import java.util.Map;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Тестирование реактивного обработчика наборов стилей")
+class ReactiveStyleSetCallbackTest {
+
+    private static final Map<String, String> STYLE = Map.of("color", "#333", "fontSize", "14px");
+
+    @Mock
+    private ReactiveMongoTemplate reactiveMongoTemplate;
+
+    @Mock
+    private MongoCollection<Document> collection;
+
+    private StyleSetStore store;
+
+    private ReactiveStyleSetCallback callback;
+
+    @BeforeEach
+    void setUp() {
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        beanFactory.registerSingleton("mongoTemplate", mock(MongoTemplate.class));
+        beanFactory.registerSingleton("reactiveMongoTemplate", reactiveMongoTemplate);
+        store = new StyleSetStore(beanFactory.getBeanProvider(MongoTemplate.class), 100);
+        callback = new ReactiveStyleSetCallback(store, beanFactory.getBeanProvider(ReactiveMongoTemplate.class));
+    }
+
+    @Test
+    @DisplayName("Известные наборы подставляются синхронно, без обращения к БД")
+    void onAfterConvert_shouldResolveInternedSetsWithoutQuery() {
+        Document document = blockDocument();
+        store.prepareExtraction(document).complete();
+        BlockElement block = block();
+
+        Mono<BlockElement> resolved = Mono.from(callback.onAfterConvert(block, document, "block_elements"));
+
+        assertSame(store.intern(STYLE), block.getProps().getStyle());
+        assertSame(block, resolved.block());
+        verifyNoInteractions(reactiveMongoTemplate);
+    }
+
+    @Test
+    @DisplayName("Недостающие наборы загружаются через реактивный драйвер")
+    @SuppressWarnings("unchecked")
+    void onAfterConvert_shouldLoadMissingSetsReactively() {
+        String digest = "d1";
+        FindPublisher<Document> found = mock(FindPublisher.class);
+        doAnswer(invocation -> {
+            Flux.just(new Document("_id", digest).append("style", new Document(STYLE)))
+                    .subscribe(invocation.<Subscriber<Document>>getArgument(0));
+            return null;
+        }).when(found).subscribe(any());
+        when(reactiveMongoTemplate.getCollection(StyleSetStore.COLLECTION)).thenReturn(Mono.just(collection));
+        when(collection.find(any(Bson.class))).thenReturn(found);
+        BlockElement block = block();
+
+        Mono.from(callback.onAfterConvert(block, new Document("props", new Document("styleRef", digest)),
+                "block_elements")).block();
+
+        assertEquals(STYLE, block.getProps().getStyle());
+        verify(collection, times(1)).find(any(Bson.class));
+    }
+
+    @Test
+    @DisplayName("Уже сохранённые наборы при записи не отправляются в БД")
+    void extract_shouldSkipPersistedSets() {
+        store.prepareExtraction(blockDocument()).complete();
+        Document document = blockDocument();
+
+        callback.extract(document).block();
+
+        assertTrue(document.get("props", Document.class).containsKey("styleRef"));
+        verifyNoInteractions(reactiveMongoTemplate);
+    }
+
+    private static Document blockDocument() {
+        return new Document("props", new Document("text", "Опыт работы").append("style", new Document(STYLE)));
+    }
+
+    private static BlockElement block() {
+        BlockElement block = new BlockElement();
+        block.setProps(new SectionElementProps("key", "Опыт работы", null, null, null, null, null));
+        return block;
+    }
+}
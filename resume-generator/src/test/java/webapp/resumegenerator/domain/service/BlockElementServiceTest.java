@@ -7,7 +7,16 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.mongodb.core.query.Update;
+import webapp.resumegenerator.application.patch.BlockPatchPlan;
+import webapp.resumegenerator.application.patch.BlockPatchPlanner;
+import webapp.resumegenerator.application.render.RenderResultCache;
 import webapp.resumegenerator.domain.model.BlockElement;
+import webapp.resumegenerator.domain.model.Layout;
+import webapp.resumegenerator.domain.model.LayoutDelta;
 import webapp.resumegenerator.domain.repository.BlockElementRepository;
 import java.util.List;
 import java.util.Optional;
@@ -21,6 +30,12 @@ class BlockElementServiceTest {
     @Mock
     private BlockElementRepository repository;
 
+    @Mock
+    private RenderResultCache renderResultCache;
+
+    @Mock
+    private BlockPatchPlanner patchPlanner;
+
     @InjectMocks
     private BlockElementService service;
 
@@ -63,55 +78,104 @@ class BlockElementServiceTest {
     }
 
     @Test
-    @DisplayName("Обновление блока: должен обновить блок, если блок существует")
+    @DisplayName("Обновление блока: должен заменить блок одной условной операцией, если блок существует")
     void updateBlock_shouldUpdateBlock_whenBlockExists() {
         BlockElement updatedBlock = new BlockElement();
         updatedBlock.setName("Updated Block");
+        updatedBlock.setRevision(3L);
 
-        when(repository.findById(blockId)).thenReturn(Optional.of(blockElement));
-        when(repository.save(blockElement)).thenReturn(blockElement);
+        when(repository.replaceIfCurrent(updatedBlock)).thenReturn(updatedBlock);
 
         BlockElement result = service.updateBlock(blockId, updatedBlock);
 
         assertNotNull(result);
         assertEquals("Updated Block", result.getName());
-        verify(repository).findById(blockId);
-        verify(repository).save(blockElement);
+        assertEquals(blockId, result.getId());
+        verify(repository, never()).findById(any());
+        verify(renderResultCache).evictBlock(blockId);
     }
 
     @Test
     @DisplayName("Обновление блока: должен выбросить исключение, если блок не существует")
     void updateBlock_shouldThrowException_whenBlockDoesNotExist() {
-        when(repository.findById(blockId)).thenReturn(Optional.empty());
+        when(repository.replaceIfCurrent(blockElement)).thenReturn(null);
 
         Exception exception = assertThrows(IllegalArgumentException.class, () -> service.updateBlock(blockId, blockElement));
 
         assertEquals("Block with ID '" + blockId + "' not found", exception.getMessage());
-        verify(repository).findById(blockId);
-        verify(repository, never()).save(any());
+        verify(renderResultCache, never()).evictBlock(any());
+    }
+
+    @Test
+    @DisplayName("Обновление блока: конфликт ревизий передаётся вызывающему без сброса кэша")
+    void updateBlock_shouldPropagateConflict_whenRevisionIsStale() {
+        blockElement.setRevision(1L);
+        when(repository.replaceIfCurrent(blockElement))
+                .thenThrow(new OptimisticLockingFailureException("stale"));
+
+        assertThrows(OptimisticLockingFailureException.class, () -> service.updateBlock(blockId, blockElement));
+
+        verify(renderResultCache, never()).evictBlock(any());
     }
 
     @Test
     @DisplayName("Удаление блока: должен удалить блок, если блок существует")
     void deleteBlock_shouldDeleteBlock_whenBlockExists() {
-        when(repository.findById(blockId)).thenReturn(Optional.of(blockElement));
+        when(repository.removeById(blockId)).thenReturn(true);
 
         service.deleteBlock(blockId);
 
-        verify(repository).findById(blockId);
-        verify(repository).delete(blockElement);
+        verify(repository, never()).findById(any());
+        verify(renderResultCache).evictBlock(blockId);
     }
 
     @Test
     @DisplayName("Удаление блока: должен выбросить исключение, если блок не существует")
     void deleteBlock_shouldThrowException_whenBlockDoesNotExist() {
-        when(repository.findById(blockId)).thenReturn(Optional.empty());
+        when(repository.removeById(blockId)).thenReturn(false);
 
         Exception exception = assertThrows(IllegalArgumentException.class, () -> service.deleteBlock(blockId));
 
         assertEquals("Block with ID '" + blockId + "' not found", exception.getMessage());
-        verify(repository).findById(blockId);
-        verify(repository, never()).delete(any());
+        verify(renderResultCache, never()).evictBlock(any());
+    }
+
+    @Test
+    @DisplayName("Частичное обновление: план применяется одним запросом и сбрасывает результаты рендеринга")
+    void patchBlock_shouldApplyPlan() {
+        JsonNode patch = JsonNodeFactory.instance.arrayNode();
+        BlockPatchPlan plan = new BlockPatchPlan(List.of(), new Update().set("layout.x", 1));
+        when(patchPlanner.fromJsonPatch(patch)).thenReturn(plan);
+        when(repository.updateIfMatches(blockId, plan.conditions(), plan.update())).thenReturn(blockElement);
+
+        assertSame(blockElement, service.patchBlock(blockId, patch));
+
+        verify(repository, never()).save(any());
+        verify(renderResultCache).evictBlock(blockId);
+    }
+
+    @Test
+    @DisplayName("Частичное обновление: невыполненные условия существующего блока означают конфликт")
+    void patchBlock_shouldThrowConflict_whenConditionsFail() {
+        JsonNode patch = JsonNodeFactory.instance.arrayNode();
+        BlockPatchPlan plan = new BlockPatchPlan(List.of(), new Update().set("layout.x", 1));
+        when(patchPlanner.fromJsonPatch(patch)).thenReturn(plan);
+        when(repository.updateIfMatches(blockId, plan.conditions(), plan.update())).thenReturn(null);
+        when(repository.existsById(blockId)).thenReturn(true);
+
+        assertThrows(OptimisticLockingFailureException.class, () -> service.patchBlock(blockId, patch));
+        verify(renderResultCache, never()).evictBlock(any());
+    }
+
+    @Test
+    @DisplayName("Перемещение: устаревшая ревизия отклоняется без записи")
+    void moveLayouts_shouldThrowConflict_whenRevisionIsStale() {
+        blockElement.setRevision(5L);
+        when(repository.findById(blockId)).thenReturn(Optional.of(blockElement));
+
+        assertThrows(OptimisticLockingFailureException.class,
+                () -> service.moveLayouts(blockId, new LayoutDelta(4L, List.of(new Layout()))));
+        verify(repository, never()).updateIfMatches(any(), any(), any());
     }
 
     @Test
@@ -0,0 +1,117 @@
+package webapp.resumegenerator.infrastructure.cache;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import webapp.rediscodec.CompactRedisSerializer;
+import webapp.resumegenerator.domain.model.BlockElement;
+import webapp.resumegenerator.domain.model.Layout;
+import webapp.resumegenerator.domain.model.SectionElementProps;
+import webapp.resumegenerator.domain.model.Template;
+
+/**
+ * Сравнение форматов значений кэшей Redis: размер значения и процессорное время
+ * сериализации и чтения для JSON, Smile и Smile со сжатием LZ4.
+ * Запуск: {@code ./gradlew cacheCodecBenchmark}. Число итераций задаётся первым аргументом.
+ */
+public final class CacheCodecBenchmark {
+
+    private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+
+    private static volatile long blackhole;
+
+    private CacheCodecBenchmark() {
+    }
+
+    public static void main(String[] args) {
+        int iterations = args.length > 0 ? Integer.parseInt(args[0]) : 20_000;
+        Map<String, RedisSerializer<Object>> codecs = new LinkedHashMap<>();
+        codecs.put("json", new GenericJackson2JsonRedisSerializer());
+        codecs.put("smile", new CompactRedisSerializer(-1, RedisCacheCodecs.APPLICATION_PACKAGE));
+        codecs.put("smile+lz4", new CompactRedisSerializer(1024, RedisCacheCodecs.APPLICATION_PACKAGE));
+
+        Map<String, Object> payloads = new LinkedHashMap<>();
+        payloads.put("template", template());
+        payloads.put("block tree", blockTree(3, 4));
+        payloads.put("resume", resume());
+
+        System.out.printf("%-12s %-10s %10s %14s %14s%n", "payload", "codec", "bytes", "write ns/op", "read ns/op");
+        payloads.forEach((payloadName, payload) -> codecs.forEach((codecName, codec) -> {
+            byte[] bytes = codec.serialize(payload);
+            measure(codec, payload, bytes, iterations / 2);
+            long[] cpu = measure(codec, payload, bytes, iterations);
+            System.out.printf("%-12s %-10s %10d %14d %14d%n", payloadName, codecName, bytes.length,
+                    cpu[0] / iterations, cpu[1] / iterations);
+        }));
+    }
+
+    private static long[] measure(RedisSerializer<Object> codec, Object payload, byte[] bytes, int iterations) {
+        long sink = 0;
+        long start = THREADS.getCurrentThreadCpuTime();
+        for (int i = 0; i < iterations; i++) {
+            sink += codec.serialize(payload).length;
+        }
+        long written = THREADS.getCurrentThreadCpuTime();
+        for (int i = 0; i < iterations; i++) {
+            sink += codec.deserialize(bytes) == null ? 0 : 1;
+        }
+        long read = THREADS.getCurrentThreadCpuTime();
+        blackhole = sink;
+        return new long[] {written - start, read - written};
+    }
+
+    private static Template template() {
+        StringBuilder content = new StringBuilder("<html><body>");
+        for (int i = 0; i < 100; i++) {
+            content.append("<section class=\"experience\"><h2>{{experience.").append(i).append(".title}}</h2>")
+                    .append("<p>{{experience.").append(i).append(".description}}</p></section>");
+        }
+        content.append("</body></html>");
+        return Template.builder()
+                .id(UUID.randomUUID())
+                .name("Классический")
+                .description("Шаблон резюме с разделами опыта работы")
+                .content(content.toString())
+                .version(3)
+                .build();
+    }
+
+    private static BlockElement blockTree(int depth, int width) {
+        List<BlockElement> children = new ArrayList<>();
+        if (depth > 0) {
+            for (int i = 0; i < width; i++) {
+                children.add(blockTree(depth - 1, width));
+            }
+        }
+        Map<String, String> style = Map.of("color", "#333333", "fontSize", "14px", "margin", "0 0 8px 0");
+        SectionElementProps props = new SectionElementProps("section", "Опыт работы", style, style, style,
+                null, style);
+        Layout layout = new Layout(UUID.randomUUID(), "block", 0, depth, 12, 2, 1, 12, 1, 4,
+                false, false, true, true, List.of("se"), true);
+        return new BlockElement("section", "Раздел", "container", "user", 12, props, children, layout);
+    }
+
+    private static Map<String, Object> resume() {
+        List<Map<String, Object>> experience = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            experience.add(Map.of(
+                    "company", "Компания " + i,
+                    "position", "Разработчик",
+                    "startDate", "2020-01-01",
+                    "endDate", "2023-12-31",
+                    "description", "Разработка и сопровождение сервисов на Java и Spring Boot"));
+        }
+        Map<String, Object> resume = new LinkedHashMap<>();
+        resume.put("id", UUID.randomUUID().toString());
+        resume.put("personalData", Map.of("firstName", "Иван", "lastName", "Иванов", "email", "ivan@example.com"));
+        resume.put("experience", experience);
+        resume.put("skills", List.of("Java", "Spring", "MongoDB", "Redis", "Docker"));
+        return resume;
+    }
+}
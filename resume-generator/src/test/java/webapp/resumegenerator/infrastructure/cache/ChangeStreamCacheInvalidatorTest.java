@@ -0,0 +1,111 @@
+package webapp.resumegenerator.infrastructure.cache;
+
+import com.mongodb.client.model.changestream.OperationType;
+import org.bson.BsonBinary;
+import org.bson.BsonString;
+import org.bson.UuidRepresentation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.interceptor.SimpleKey;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import webapp.resumegenerator.application.etag.EntityTagRegistry;
+import webapp.resumegenerator.application.render.RenderResultCache;
+import webapp.resumegenerator.domain.model.BlockElement;
+import webapp.resumegenerator.domain.model.Template;
+import java.time.Duration;
+import java.util.UUID;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ChangeStreamCacheInvalidatorTest {
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Mock
+    private CacheManager cacheManager;
+
+    @Mock
+    private RenderResultCache renderResultCache;
+
+    @Mock
+    private TwoLevelCache cache;
+
+    private ChangeStreamCacheInvalidator invalidator;
+
+    @BeforeEach
+    void setUp() {
+        when(mongoTemplate.getCollectionName(Template.class)).thenReturn("templates");
+        when(mongoTemplate.getCollectionName(BlockElement.class)).thenReturn("block_elements");
+        invalidator = new ChangeStreamCacheInvalidator(mongoTemplate, cacheManager, renderResultCache,
+                Duration.ofSeconds(1), Duration.ofSeconds(5), Duration.ofSeconds(10));
+    }
+
+    @Test
+    @DisplayName("Изменение шаблона удаляет его записи и список шаблонов без рассылки сообщений")
+    void handle_shouldEvictTemplateEntriesQuietly() {
+        UUID id = UUID.randomUUID();
+        when(cacheManager.getCache(anyString())).thenReturn(cache);
+
+        invalidator.handle(OperationType.UPDATE, "templates", new BsonBinary(id, UuidRepresentation.JAVA_LEGACY));
+
+        verify(cacheManager, atLeastOnce()).getCache("templates");
+        verify(cacheManager).getCache(EntityTagRegistry.TEMPLATES);
+        verify(cache, times(2)).evictQuietly(id.toString());
+        verify(cache).evictQuietly(SimpleKey.EMPTY);
+        verify(cache, never()).evict(any());
+        verify(renderResultCache).evictTemplateQuietly(id);
+    }
+
+    @Test
+    @DisplayName("Удаление блока удаляет записи блока по UUID")
+    void handle_shouldEvictBlockEntries() {
+        UUID id = UUID.randomUUID();
+        when(cacheManager.getCache(anyString())).thenReturn(cache);
+
+        invalidator.handle(OperationType.DELETE, "block_elements", new BsonBinary(id));
+
+        verify(cacheManager, atLeastOnce()).getCache("blockElements");
+        verify(cacheManager).getCache(EntityTagRegistry.BLOCKS);
+        verify(cache, times(2)).evictQuietly(id);
+        verify(renderResultCache).evictBlockQuietly(id);
+        verify(renderResultCache, never()).evictTemplateQuietly(any());
+    }
+
+    @Test
+    @DisplayName("Удаление коллекции очищает кэши целиком")
+    void handle_shouldClearCachesOnDrop() {
+        when(cacheManager.getCache(anyString())).thenReturn(cache);
+
+        invalidator.handle(OperationType.DROP, "templates", null);
+
+        verify(cache, times(4)).clearQuietly();
+        verify(renderResultCache).clearLocal();
+    }
+
+    @Test
+    @DisplayName("События других коллекций и документы без UUID игнорируются")
+    void handle_shouldIgnoreForeignDocuments() {
+        invalidator.handle(OperationType.INSERT, "style_sets", new BsonBinary(UUID.randomUUID()));
+        invalidator.handle(OperationType.INSERT, "templates", new BsonString("not-a-uuid"));
+
+        verifyNoInteractions(cacheManager, renderResultCache);
+    }
+
+    @Test
+    @DisplayName("UUID читается из стандартного, унаследованного и строкового представлений")
+    void toUuid_shouldDecodeAllRepresentations() {
+        UUID id = UUID.randomUUID();
+
+        assertEquals(id, ChangeStreamCacheInvalidator.toUuid(new BsonBinary(id)));
+        assertEquals(id, ChangeStreamCacheInvalidator.toUuid(new BsonBinary(id, UuidRepresentation.JAVA_LEGACY)));
+        assertEquals(id, ChangeStreamCacheInvalidator.toUuid(new BsonString(id.toString())));
+        assertNull(ChangeStreamCacheInvalidator.toUuid(null));
+    }
+}
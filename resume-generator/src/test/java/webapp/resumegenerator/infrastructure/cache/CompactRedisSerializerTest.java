@@ -0,0 +1,75 @@
+package webapp.resumegenerator.infrastructure.cache;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import webapp.rediscodec.CompactRedisSerializer;
+import webapp.resumegenerator.domain.model.Template;
+
+/**
+ * Общий кодек {@link CompactRedisSerializer} с типами моделей генератора.
+ */
+class CompactRedisSerializerTest {
+
+    private final CompactRedisSerializer serializer =
+            new CompactRedisSerializer(1024, RedisCacheCodecs.APPLICATION_PACKAGE);
+
+    @Test
+    @DisplayName("Небольшое значение хранится в Smile без сжатия и восстанавливается с типом")
+    void serialize_shouldKeepSmallValuePlain() {
+        Template template = template("<p>{{name}}</p>");
+
+        byte[] value = serializer.serialize(template);
+
+        assertEquals(CompactRedisSerializer.SMILE, value[0]);
+        assertEquals(template, serializer.deserialize(value));
+    }
+
+    @Test
+    @DisplayName("Значение от порога сжимается LZ4 и занимает меньше JSON")
+    void serialize_shouldCompressLargeValue() {
+        Template template = template("<section><h2>Опыт работы</h2><p>{{experience}}</p></section>".repeat(200));
+        byte[] json = new GenericJackson2JsonRedisSerializer().serialize(Map.of("content", template.getContent()));
+
+        byte[] value = serializer.serialize(template);
+
+        assertEquals(CompactRedisSerializer.SMILE_LZ4, value[0]);
+        assertTrue(value.length < json.length / 5);
+        assertEquals(template, serializer.deserialize(value));
+    }
+
+    @Test
+    @DisplayName("Записи в JSON с типом в корне читаются с исходным типом")
+    void deserialize_shouldReadTypedLegacyJson() {
+        Template template = template("<p>{{name}}</p>");
+        template.setDate(null);
+        byte[] json = new GenericJackson2JsonRedisSerializer().serialize(template);
+
+        assertEquals(template, serializer.deserialize(json));
+    }
+
+    @Test
+    @DisplayName("Значения финальных типов восстанавливаются с типом корня и элементов")
+    void serialize_shouldKeepTypeOfFinalValues() {
+        List<Template> templates = List.of(template("<p>{{name}}</p>"), template("<p>{{email}}</p>"));
+
+        assertEquals(templates, serializer.deserialize(serializer.serialize(templates)));
+    }
+
+    private Template template(String content) {
+        return Template.builder()
+                .id(UUID.randomUUID())
+                .name("Базовый")
+                .description("Шаблон для проверки сериализации")
+                .content(content)
+                .date(LocalDateTime.of(2024, 12, 1, 10, 0))
+                .version(1)
+                .build();
+    }
+}
@@ -0,0 +1,36 @@
+package webapp.resumegenerator.infrastructure.cache;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class RenderResultRedisStoreTest {
+
+    @Test
+    @DisplayName("Короткий HTML хранится без сжатия")
+    void encode_shouldKeepSmallHtmlPlain() {
+        byte[] value = RenderResultRedisStore.encode("<p>Привет</p>", 1024);
+
+        assertEquals(RenderResultRedisStore.PLAIN, value[0]);
+        assertEquals("<p>Привет</p>", RenderResultRedisStore.decode(value));
+    }
+
+    @Test
+    @DisplayName("HTML от порога сжимается gzip и восстанавливается без потерь")
+    void encode_shouldCompressLargeHtml() {
+        String html = "<li>Опыт работы</li>".repeat(500);
+
+        byte[] value = RenderResultRedisStore.encode(html, 1024);
+
+        assertEquals(RenderResultRedisStore.GZIP, value[0]);
+        assertTrue(value.length < html.length() / 10);
+        assertEquals(html, RenderResultRedisStore.decode(value));
+    }
+
+    @Test
+    @DisplayName("Значение неизвестного формата отклоняется")
+    void decode_shouldRejectUnknownFormat() {
+        assertThrows(IllegalArgumentException.class, () -> RenderResultRedisStore.decode(new byte[] {7, 1}));
+    }
+}
@@ -0,0 +1,62 @@
+package webapp.resumegenerator.infrastructure.cache;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.ChannelTopic;
+import java.time.Duration;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RetryingRedisListenerContainerTest {
+
+    @Mock
+    private RedisConnectionFactory connectionFactory;
+
+    @Mock
+    private MessageListener listener;
+
+    private RetryingRedisListenerContainer container;
+
+    @AfterEach
+    void tearDown() throws Exception {
+        container.destroy();
+    }
+
+    @Test
+    @DisplayName("Недоступный Redis не прерывает запуск, подписка повторяется по расписанию")
+    void start_shouldRetryWhenRedisIsUnavailable() {
+        when(connectionFactory.getConnection()).thenThrow(new RedisConnectionFailureException("Connection refused"));
+        container = new RetryingRedisListenerContainer(Duration.ofMillis(50));
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(listener, new ChannelTopic("channel"));
+        container.afterPropertiesSet();
+
+        assertDoesNotThrow(container::start);
+
+        assertFalse(container.isRunning());
+        verify(connectionFactory, timeout(2000).atLeast(2)).getConnection();
+    }
+
+    @Test
+    @DisplayName("Остановка контейнера отменяет повторные попытки подписки")
+    void stop_shouldCancelRetries() {
+        when(connectionFactory.getConnection()).thenThrow(new RedisConnectionFailureException("Connection refused"));
+        container = new RetryingRedisListenerContainer(Duration.ofMillis(200));
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(listener, new ChannelTopic("channel"));
+        container.afterPropertiesSet();
+
+        container.start();
+        container.stop();
+
+        verify(connectionFactory, after(500).times(1)).getConnection();
+    }
+}
@@ -0,0 +1,58 @@
+package webapp.resumegenerator.infrastructure.cache;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+class ThumbnailDiskCacheTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("Сверх лимита вытесняется давно не использованная миниатюра")
+    void put_shouldEvictLeastRecentlyUsed() {
+        ThumbnailDiskCache cache = new ThumbnailDiskCache(directory, DataSize.ofBytes(250));
+        cache.put("a", new byte[100]);
+        cache.put("b", new byte[100]);
+        assertNotNull(cache.get("a"));
+
+        cache.put("c", new byte[100]);
+
+        assertNotNull(cache.get("a"));
+        assertNull(cache.get("b"));
+        assertNotNull(cache.get("c"));
+        assertFalse(Files.exists(directory.resolve("b.png")));
+        assertEquals(200, cache.size());
+    }
+
+    @Test
+    @DisplayName("После перезапуска кэш восстанавливается из каталога, временные файлы удаляются")
+    void constructor_shouldRestoreEntriesFromDirectory() throws Exception {
+        ThumbnailDiskCache cache = new ThumbnailDiskCache(directory, DataSize.ofKilobytes(1));
+        cache.put("template-1-abc", new byte[] {1, 2, 3});
+        Files.write(directory.resolve("template-2-def123.tmp"), new byte[] {9});
+
+        ThumbnailDiskCache restored = new ThumbnailDiskCache(directory, DataSize.ofKilobytes(1));
+
+        assertArrayEquals(new byte[] {1, 2, 3}, restored.get("template-1-abc"));
+        assertEquals(3, restored.size());
+        assertFalse(Files.exists(directory.resolve("template-2-def123.tmp")));
+    }
+
+    @Test
+    @DisplayName("Миниатюра больше всего кэша не сохраняется")
+    void put_shouldSkipOversizedValue() {
+        ThumbnailDiskCache cache = new ThumbnailDiskCache(directory, DataSize.ofBytes(10));
+
+        cache.put("large", new byte[11]);
+
+        assertNull(cache.get("large"));
+        assertEquals(0, cache.size());
+    }
+}
@@ -0,0 +1,107 @@
+package webapp.resumegenerator.infrastructure.cache;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import java.time.Duration;
+import java.util.UUID;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TwoLevelCacheTest {
+
+    @Mock
+    private CacheInvalidationBus invalidationBus;
+
+    private ConcurrentMapCache remote;
+
+    private TwoLevelCache cache;
+
+    @BeforeEach
+    void setUp() {
+        remote = new ConcurrentMapCache("templates");
+        cache = new TwoLevelCache(remote, 100, Duration.ofMinutes(5), invalidationBus);
+    }
+
+    @Test
+    @DisplayName("Повторное чтение обслуживается локальным уровнем без обращения к Redis")
+    void get_shouldServeRepeatedReadsFromLocalLevel() {
+        remote.put("id-1", "template");
+
+        assertEquals("template", cache.get("id-1", String.class));
+        remote.evict("id-1");
+
+        assertEquals("template", cache.get("id-1", String.class));
+        verifyNoInteractions(invalidationBus);
+    }
+
+    @Test
+    @DisplayName("UUID и его строковое представление указывают на одну локальную запись")
+    void get_shouldTreatUuidAndStringKeysAlike() {
+        UUID id = UUID.randomUUID();
+        cache.put(id, "template");
+        remote.evict(id);
+
+        assertEquals("template", cache.get(id.toString(), String.class));
+    }
+
+    @Test
+    @DisplayName("Удаление очищает оба уровня и рассылает инвалидацию")
+    void evict_shouldClearBothLevelsAndPublish() {
+        cache.put("id-1", "template");
+
+        cache.evict("id-1");
+
+        assertNull(cache.get("id-1"));
+        assertNull(remote.get("id-1"));
+        verify(invalidationBus).publish("templates", "id-1");
+    }
+
+    @Test
+    @DisplayName("Тихое удаление очищает оба уровня без рассылки инвалидации")
+    void evictQuietly_shouldClearBothLevelsWithoutPublishing() {
+        cache.put("id-1", "template");
+
+        cache.evictQuietly("id-1");
+
+        assertNull(cache.get("id-1"));
+        assertNull(remote.get("id-1"));
+        verifyNoInteractions(invalidationBus);
+    }
+
+    @Test
+    @DisplayName("Сообщение от другой реплики удаляет только локальную копию")
+    void evictLocal_shouldKeepRemoteEntry() {
+        cache.put("id-1", "template");
+        remote.put("id-1", "updated");
+
+        cache.evictLocal("id-1");
+
+        assertEquals("updated", cache.get("id-1", String.class));
+        verifyNoInteractions(invalidationBus);
+    }
+
+    @Test
+    @DisplayName("Очистка кэша рассылает инвалидацию без ключа")
+    void clear_shouldPublishWithoutKey() {
+        cache.put("id-1", "template");
+
+        cache.clear();
+
+        assertNull(cache.get("id-1"));
+        verify(invalidationBus).publish("templates", null);
+    }
+
+    @Test
+    @DisplayName("Загрузчик вызывается один раз, результат попадает в оба уровня")
+    void getWithLoader_shouldPopulateBothLevels() {
+        assertEquals("loaded", cache.get("id-1", () -> "loaded"));
+        assertEquals("loaded", cache.get("id-1", () -> fail("повторная загрузка")));
+        assertNotNull(remote.get("id-1"));
+    }
+}
@@ -0,0 +1,133 @@
+package webapp.resumegenerator.infrastructure.controller.reactive;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import webapp.resumegenerator.application.etag.EntityTagRegistry;
+import webapp.resumegenerator.domain.model.Template;
+import webapp.resumegenerator.domain.model.TemplateSummary;
+import webapp.resumegenerator.domain.service.TemplateService;
+import webapp.resumegenerator.domain.service.TemplateVersionService;
+import webapp.resumegenerator.domain.service.reactive.ReactiveTemplateService;
+import webapp.resumegenerator.infrastructure.cache.ReactiveRedisCache;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Тестирование реактивного контроллера шаблонов")
+class ReactiveTemplateControllerTest {
+
+    @Mock
+    private ReactiveTemplateService templateService;
+
+    @Mock
+    private TemplateService blockingTemplateService;
+
+    @Mock
+    private TemplateVersionService templateVersionService;
+
+    @Mock
+    private ReactiveRedisCache cache;
+
+    @InjectMocks
+    private ReactiveTemplateController controller;
+
+    private WebTestClient client;
+
+    @BeforeEach
+    void setUp() {
+        client = WebTestClient.bindToController(controller).build();
+    }
+
+    @Test
+    @DisplayName("Шаблон по ID возвращается с ETag, тег запоминается в кэше")
+    void getTemplateById_shouldReturnTemplateWithETag() {
+        UUID id = UUID.randomUUID();
+        Template template = new Template(id, "Template1", "Description1", "Content1", LocalDateTime.now(), 1);
+        String tag = EntityTagRegistry.templateTag(template);
+        when(templateService.getTemplateById(id.toString())).thenReturn(Mono.just(template));
+        when(cache.put(EntityTagRegistry.TEMPLATES, id.toString(), tag)).thenReturn(Mono.empty());
+
+        client.get().uri("/templates/{id}", id)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, tag)
+                .expectBody()
+                .jsonPath("$.name").isEqualTo("Template1");
+    }
+
+    @Test
+    @DisplayName("Известный тег из If-None-Match даёт 304 без чтения шаблона")
+    void getTemplateById_shouldReturnNotModifiedForKnownTag() {
+        String id = UUID.randomUUID().toString();
+        when(cache.peek(EntityTagRegistry.TEMPLATES, id, String.class)).thenReturn(Mono.just("\"tag\""));
+
+        client.get().uri("/templates/{id}", id)
+                .header(HttpHeaders.IF_NONE_MATCH, "\"tag\"")
+                .exchange()
+                .expectStatus().isNotModified()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, "\"tag\"");
+
+        verify(templateService, never()).getTemplateById(anyString());
+    }
+
+    @Test
+    @DisplayName("Отсутствующий шаблон даёт 404")
+    void getTemplateById_shouldReturnNotFound() {
+        String id = UUID.randomUUID().toString();
+        when(templateService.getTemplateById(id)).thenReturn(Mono.empty());
+
+        client.get().uri("/templates/{id}", id)
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+
+    @Test
+    @DisplayName("Устаревший If-Match даёт 412: ревизия из тега проверяется условной записью без чтения")
+    void updateTemplate_shouldRejectStaleIfMatch() {
+        UUID id = UUID.randomUUID();
+        Template edited = new Template(id, "Template1", "Description1", "Content1", LocalDateTime.now(), 2);
+        edited.setRevision(5L);
+        when(templateService.updateTemplate(eq(id.toString()), any(Template.class)))
+                .thenReturn(Mono.error(new OptimisticLockingFailureException("stale")));
+
+        client.put().uri("/templates/{id}", id)
+                .header(HttpHeaders.IF_MATCH, EntityTagRegistry.templateTag(edited))
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new Template(id, "Template1", "Description1", "Changed", LocalDateTime.now(), 2))
+                .exchange()
+                .expectStatus().isEqualTo(412);
+
+        verify(templateService).updateTemplate(eq(id.toString()), argThat(template -> template.getRevision() == 5L));
+        verify(templateService, never()).getTemplateById(any());
+    }
+
+    @Test
+    @DisplayName("Краткие представления шаблонов отдаются потоком NDJSON")
+    void streamTemplateSummaries_shouldWriteNdjson() {
+        TemplateSummary first = new TemplateSummary(UUID.randomUUID(), "First", "d", LocalDateTime.now(), 1);
+        TemplateSummary second = new TemplateSummary(UUID.randomUUID(), "Second", "d", LocalDateTime.now(), 1);
+        when(templateService.streamTemplateSummaries()).thenReturn(Flux.just(first, second));
+
+        client.get().uri("/templates/stream")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .expectBodyList(TemplateSummary.class)
+                .hasSize(2);
+    }
+}